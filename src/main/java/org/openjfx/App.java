@@ -1,10 +1,14 @@
 package org.openjfx;
 
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Application;
-import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.concurrent.Task;
+import javafx.concurrent.WorkerStateEvent;
+import javafx.event.EventHandler;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.input.Dragboard;
@@ -12,13 +16,40 @@ import javafx.scene.input.TransferMode;
 import javafx.scene.layout.*;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import javafx.util.Duration;
+import org.openjfx.diagnostics.InventoryMetrics;
+import org.openjfx.diagnostics.MetricsServer;
+import org.openjfx.diagnostics.Operation;
+import org.openjfx.diagnostics.PerformanceLog;
+import org.openjfx.diagnostics.TableRenderEvent;
 import org.openjfx.model.CertificateInfo;
+import org.openjfx.service.ArchiveScanner;
+import org.openjfx.service.CertificateQuery;
 import org.openjfx.service.CertificateService;
 import org.openjfx.service.ExportService;
+import org.openjfx.service.InventoryAggregator;
+import org.openjfx.service.InventoryService;
+import org.openjfx.service.InventorySnapshot;
+import org.openjfx.service.KeystoreEditService;
 import org.openjfx.service.KeystoreService;
+import org.openjfx.service.KeystoreSnapshot;
+import org.openjfx.service.CrlIndex;
+import org.openjfx.service.DetailsCache;
+import org.openjfx.service.EncodedCertificateStore;
+import org.openjfx.service.ReportService;
+import org.openjfx.service.ReportWriter;
+import org.openjfx.service.RevocationService;
+import org.openjfx.service.TlsChainFetcher;
 import org.openjfx.service.ServiceExceptions.CertificateLoadException;
+import org.openjfx.service.ServiceExceptions.CrlLoadException;
 import org.openjfx.service.ServiceExceptions.ExportException;
+import org.openjfx.service.ServiceExceptions.KeystoreEditException;
 import org.openjfx.service.ServiceExceptions.KeystoreLoadException;
+import org.openjfx.ui.DashboardPanel;
+import org.openjfx.ui.DetailsPane;
+import org.openjfx.ui.FxThreadMonitor;
+import org.openjfx.ui.PerformancePanel;
+import org.openjfx.ui.StallPanel;
 import org.openjfx.util.Dialogs;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,11 +58,12 @@ import javax.imageio.ImageIO;
 import java.awt.Image;
 import java.awt.Taskbar;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.security.KeyStore;
 import java.security.cert.Certificate;
 import java.security.cert.X509Certificate;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.function.IntFunction;
 
 /**
  * JavaFX App
@@ -43,16 +75,41 @@ public class App extends Application {
     private ProgressIndicator progressIndicator;
     private Label statusLabel;
 
-    private KeyStore currentKeyStore = null;
+    private KeyStore currentKeyStore = null; // edited on the FX thread; background tasks read currentSnapshot
+    private KeystoreSnapshot currentSnapshot = null; // immutable copy of currentKeyStore, republished after each edit
+    private int keystoreWriters = 0; // running save/convert tasks that still read currentKeyStore itself
+    private File currentFile = null;
     private boolean keystoreLoaded = false;
+    private boolean unsavedChanges = false;
     private String currentKeystoreType = null; // "JKS" or "PKCS12"
     private char[] currentKeystorePassword = null; // as entered when loading
     private char[] currentKeyPassword = null; // optional, may be empty
+    private String verificationNote = ""; // status suffix while the shown keystore is unverified or failed its check
+    private int loadGeneration = 0; // bumped by openFile; results of an earlier load are dropped
 
     private final ObservableList<TableRowData> tableData = FXCollections.observableArrayList();
+    private File currentSource = null; // file behind the rows currently shown (null for fetched chains)
+    private List<CertificateInfo> currentRows = List.of();
+    private InventorySnapshot.FileRecord currentRecord = null; // certificates of rows shown from the snapshot
+    private EncodedCertificateStore currentStore = null; // set instead of currentKeyStore in memory-bounded mode
+    private boolean memoryBounded = Boolean.getBoolean("keyt.memoryBounded");
+    private static final int DECODED_CERTIFICATE_CACHE = 256;
+
+    private final InventoryMetrics metrics = new InventoryMetrics();
+    private MetricsServer metricsServer = null; // started when -Dkeyt.metrics=[host:]port is set
+    private List<InventoryMetrics.Sample> metricSamples = List.of(); // contribution of the rows shown
+    private final InventoryAggregator aggregator = new InventoryAggregator(); // fed while entries load
+    private final TextField filterField = new TextField();
+    private CertificateQuery filter = null; // applied to the rows built by showRows
+    private List<TableRowData> allRows = List.of();
+    private List<CertificateInfo> allInfos = List.of(); // as marked in allRows
+    private int filterGeneration = 0;
 
     @Override
     public void start(Stage stage) {
+        // Watch the application thread for stalls (-Dkeyt.fx.stallThreshold=<ms>, 0 to disable)
+        long stallThreshold = Long.getLong("keyt.fx.stallThreshold", 100);
+        if (stallThreshold > 0) FxThreadMonitor.install(stallThreshold);
         // Set window title and icons (including macOS Dock/task bar)
         try {
             var iconUrl = getClass().getResource("/icon.png");
@@ -96,18 +153,47 @@ public class App extends Application {
                         ? javafx.scene.input.KeyCombination.META_DOWN
                         : javafx.scene.input.KeyCombination.CONTROL_DOWN
         ));
+        MenuItem fetchItem = new MenuItem("Fetch from Host…");
+        fetchItem.setOnAction(e -> Dialogs.promptForText(stage, "Fetch from Host", "TLS endpoints (host:port, separated by spaces or commas)", "")
+                .ifPresent(spec -> fetchFromHosts(spec, stage)));
+        MenuItem crlItem = new MenuItem("Load CRL…");
+        crlItem.setOnAction(e -> {
+            FileChooser chooser = new FileChooser();
+            chooser.setTitle("Load CRL");
+            chooser.getExtensionFilters().addAll(
+                    new FileChooser.ExtensionFilter("CRLs (*.crl, *.pem, *.der)", "*.crl", "*.pem", "*.der"),
+                    new FileChooser.ExtensionFilter("All Files", "*.*")
+            );
+            File f = chooser.showOpenDialog(stage);
+            if (f != null) loadCrl(f, stage);
+        });
         MenuItem exportItem = new MenuItem("Export");
         exportItem.setDisable(true);
         MenuItem convertItem = new MenuItem("Convert to PKCS12");
         convertItem.setDisable(true);
+        MenuItem reportItem = new MenuItem("Export Report…");
+        reportItem.setOnAction(e -> exportReport(stage));
         Menu fileMenu = new Menu("File");
-        fileMenu.getItems().addAll(openItem, new SeparatorMenuItem(), exportItem, convertItem);
+        fileMenu.getItems().addAll(openItem, fetchItem, crlItem, new SeparatorMenuItem(), exportItem, convertItem, reportItem);
+        fileMenu.setOnShowing(e -> reportItem.setDisable(tableData.isEmpty()));
 
         MenuItem aboutItem = new MenuItem("About");
         aboutItem.setOnAction(e -> org.openjfx.util.Dialogs.showAboutDialog(stage));
+        MenuItem performanceItem = new MenuItem("Performance…");
+        performanceItem.setOnAction(e -> new PerformancePanel(PerformanceLog.global()).show(stage));
+        MenuItem stallsItem = new MenuItem("FX Stalls…");
+        stallsItem.setDisable(FxThreadMonitor.detector() == null);
+        stallsItem.setOnAction(e -> new StallPanel(FxThreadMonitor.detector()).show(stage));
         Menu helpMenu = new Menu("Help");
-        helpMenu.getItems().add(aboutItem);
-        MenuBar menuBar = new MenuBar(fileMenu, helpMenu);
+        helpMenu.getItems().addAll(performanceItem, stallsItem, new SeparatorMenuItem(), aboutItem);
+        CheckMenuItem boundedItem = new CheckMenuItem("Memory-Bounded Mode");
+        boundedItem.setSelected(memoryBounded);
+        boundedItem.setOnAction(e -> memoryBounded = boundedItem.isSelected()); // applies to keystores opened afterwards
+        MenuItem dashboardItem = new MenuItem("Dashboard…");
+        dashboardItem.setOnAction(e -> new DashboardPanel(aggregator).show(stage));
+        Menu viewMenu = new Menu("View");
+        viewMenu.getItems().addAll(dashboardItem, new SeparatorMenuItem(), boundedItem);
+        MenuBar menuBar = new MenuBar(fileMenu, viewMenu, helpMenu);
 
         // Drag-and-drop zone just below the menu
         Label dropText = new Label("Drop a JKS or PKCS12 (.p12), or CERT/CRT/PEM/DER file here");
@@ -137,6 +223,9 @@ public class App extends Application {
         TableColumn<TableRowData, String> serialCol = new TableColumn<>("Serial Number");
         serialCol.setCellValueFactory(cell -> cell.getValue().serialNumberProperty());
 
+        TableColumn<TableRowData, String> revocationCol = new TableColumn<>("Revocation");
+        revocationCol.setCellValueFactory(cell -> cell.getValue().revocationProperty());
+
         // Set preferred widths so the table can overflow horizontally and show a scrollbar when needed
         aliasCol.setPrefWidth(200);
         entryTypeCol.setPrefWidth(140);
@@ -144,21 +233,31 @@ public class App extends Application {
         validUntilCol.setPrefWidth(170);
         sigAlgCol.setPrefWidth(240);
         serialCol.setPrefWidth(240);
+        revocationCol.setPrefWidth(110);
 
-        tableView.getColumns().addAll(aliasCol, entryTypeCol, validFromCol, validUntilCol, sigAlgCol, serialCol);
+        tableView.getColumns().addAll(aliasCol, entryTypeCol, validFromCol, validUntilCol, sigAlgCol, serialCol, revocationCol);
+        tableView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        menuBar.getMenus().add(1, buildEditMenu(stage, tableView));
 
         // Context menu on rows for export + double-click to show details (factored util)
+        SplitPane tableSplit = new SplitPane(tableView, detailsPane.getNode());
+        tableSplit.setDividerPositions(0.62);
+        SplitPane.setResizableWithParent(detailsPane.getNode(), false);
         org.openjfx.util.TableViewUtil.applyRowInteractions(
                 tableView,
                 exportItem::fire,
-                data -> { if (data != null) showCertificateDetails(stage, data); }
+                data -> { if (data != null && tableSplit.getDividerPositions()[0] > 0.95) tableSplit.setDividerPositions(0.62); }
         );
+        tableView.getSelectionModel().selectedItemProperty().addListener((obs, oldSel, newSel) -> {
+            if (newSel == null) detailsPane.clear();
+            else showDetails(newSel, tableView.getSelectionModel().getSelectedIndex(), tableView.getItems());
+        });
 
                 // Enable/disable menu items based on state
                 Runnable updateMenuEnabled = () -> {
                     boolean oneSelected = tableView.getSelectionModel().getSelectedItems().size() == 1;
                     exportItem.setDisable(!(keystoreLoaded && oneSelected));
-                    boolean canConvert = keystoreLoaded && "JKS".equals(currentKeystoreType);
+                    boolean canConvert = keystoreLoaded && currentKeyStore != null && "JKS".equals(currentKeystoreType);
                     convertItem.setDisable(!canConvert);
                 };
                 tableView.getSelectionModel().selectedItemProperty().addListener((obs, oldSel, newSel) -> updateMenuEnabled.run());
@@ -166,12 +265,12 @@ public class App extends Application {
                 // Export action: export selected entry's certificate to PEM or DER
                 exportItem.setOnAction(e -> {
                     TableRowData row = tableView.getSelectionModel().getSelectedItem();
-                    if (row == null || !keystoreLoaded || currentKeyStore == null) {
+                    if (row == null || !keystoreLoaded || (currentSnapshot == null && currentStore == null)) {
                         return;
                     }
                     String alias = row.aliasProperty().get();
                     try {
-                        Certificate cert = currentKeyStore.getCertificate(alias);
+                        Certificate cert = certificateFor(row).call();
                         if (cert == null) {
                             showError(stage, "No certificate found for alias: " + alias);
                             return;
@@ -213,17 +312,17 @@ public class App extends Application {
                         char[] ksPwd = (currentKeystorePassword != null) ? currentKeystorePassword : new char[0];
                         char[] keyPwd = (currentKeyPassword != null && currentKeyPassword.length > 0) ? currentKeyPassword : ksPwd;
 
+                        KeyStore source = currentKeyStore;
                         Task<Void> task = new Task<>() {
                             @Override
                             protected Void call() throws Exception {
-                                KeyStore p12 = keystoreService.convertToPkcs12(currentKeyStore, ksPwd, keyPwd);
-                                try (FileOutputStream fos = new FileOutputStream(out)) {
-                                    p12.store(fos, ksPwd);
-                                }
+                                KeyStore p12 = keystoreService.convertToPkcs12(source, ksPwd, keyPwd);
+                                exportService.exportKeystore(p12, out.toPath(), ksPwd);
                                 return null;
                             }
                         };
-                        task.setOnFailed(ev -> Platform.runLater(() -> showException(stage, "Failed to convert to PKCS12", task.getException())));
+                        task.setOnFailed(ev -> FxThreadMonitor.runLater(() -> showException(stage, "Failed to convert to PKCS12", task.getException())));
+                        holdEditsWhile(task);
                         showProgressWhile(task);
                         new Thread(task, "convert-keystore").start();
                     } catch (Exception ex) {
@@ -238,6 +337,7 @@ public class App extends Application {
             chooser.getExtensionFilters().addAll(
                     new FileChooser.ExtensionFilter("Keystores (*.jks, *.ks, *.p12, *.pfx)", "*.jks", "*.ks", "*.p12", "*.pfx"),
                     new FileChooser.ExtensionFilter("Certificates (*.cert, *.crt, *.der, *.pem, *.p7b, *.p7c, *.spc)", "*.cert", "*.crt", "*.der", "*.pem", "*.p7b", "*.p7c", "*.spc"),
+                    new FileChooser.ExtensionFilter("Archives (*.jar, *.war, *.ear, *.zip, *.tar, *.tar.gz, *.tgz)", "*.jar", "*.war", "*.ear", "*.zip", "*.tar", "*.tar.gz", "*.tgz"),
                     new FileChooser.ExtensionFilter("All Files", "*.*")
             );
             File f = chooser.showOpenDialog(stage);
@@ -269,10 +369,13 @@ public class App extends Application {
             event.consume();
         });
 
-        // Layout: Menu at top, then drop zone, then table with progress indicator overlay
+        filterField.setPromptText("Filter, e.g. notAfter < now+30d and sigAlg ~ \"SHA1\" and keySize < 2048 (Enter to apply)");
+        filterField.setOnAction(e -> applyFilter(filterField.getText()));
+
+        // Layout: Menu at top, then drop zone, filter, then table with progress indicator overlay
         VBox content = new VBox(10);
-        content.getChildren().addAll(dropZone, tableView);
-        VBox.setVgrow(tableView, Priority.ALWAYS);
+        content.getChildren().addAll(dropZone, filterField, tableSplit);
+        VBox.setVgrow(tableSplit, Priority.ALWAYS);
 
         progressIndicator = new ProgressIndicator();
         progressIndicator.setMaxSize(90, 90);
@@ -284,12 +387,22 @@ public class App extends Application {
         statusLabel = new Label("Ready");
         statusLabel.setStyle("-fx-padding: 4 8 4 8; -fx-font-size: 11px; -fx-text-fill: #555;");
 
+        Label heapLabel = new Label();
+        heapLabel.setStyle(statusLabel.getStyle());
+        Region statusSpacer = new Region();
+        HBox.setHgrow(statusSpacer, Priority.ALWAYS);
+        HBox statusBar = new HBox(statusLabel, statusSpacer, heapLabel);
+        Timeline heapTimer = new Timeline(new KeyFrame(Duration.seconds(2), e -> heapLabel.setText(heapUsage())));
+        heapTimer.setCycleCount(Animation.INDEFINITE);
+        heapTimer.play();
+        heapLabel.setText(heapUsage());
+
         BorderPane root = new BorderPane();
         root.setTop(menuBar);
         root.setCenter(centerPane);
-        root.setBottom(statusLabel);
+        root.setBottom(statusBar);
 
-        var scene = new Scene(root, 640, 480);
+        var scene = new Scene(root, 1000, 560);
         stage.setScene(scene);
         stage.setTitle("KeyT");
         stage.show();
@@ -322,6 +435,194 @@ public class App extends Application {
         } catch (Exception ex) {
                     log.debug("CLI argument handling failed", ex);
                 }
+
+        String metricsSpec = System.getProperty("keyt.metrics");
+        if (metricsSpec != null && !metricsSpec.isBlank()) {
+            try {
+                metricsServer = MetricsServer.start(MetricsServer.parseAddress(metricsSpec), metrics, PerformanceLog.global());
+            } catch (Exception ex) {
+                log.debug("Metrics endpoint not started on {}", metricsSpec, ex);
+            }
+        }
+
+        // Files launched while this window is open are forwarded here instead of starting another JVM
+        SingleInstance instance = SingleInstance.primary();
+        if (instance != null) instance.setHandler(files -> FxThreadMonitor.runLater(() -> openForwarded(files, stage)));
+    }
+
+    @Override
+    public void stop() {
+        SingleInstance instance = SingleInstance.primary();
+        if (instance != null) instance.close();
+        if (metricsServer != null) metricsServer.close();
+        FxThreadMonitor.uninstall();
+    }
+
+    /** Bring the window to the front and open the first forwarded file, as for a command-line launch. */
+    private void openForwarded(List<String> files, Stage stage) {
+        stage.setIconified(false);
+        stage.toFront();
+        stage.requestFocus();
+        for (String path : files) {
+            if (path.startsWith("-")) continue;
+            openFile(new File(path), stage);
+            return;
+        }
+    }
+
+    /** Edit menu: in-memory edits on the loaded keystore, written back by a single atomic Save. */
+    private Menu buildEditMenu(Stage stage, TableView<TableRowData> tableView) {
+        MenuItem importItem = new MenuItem("Import Certificate…");
+        MenuItem renameItem = new MenuItem("Rename Alias…");
+        MenuItem replaceItem = new MenuItem("Replace Certificate…");
+        MenuItem deleteItem = new MenuItem("Delete Selected");
+        MenuItem expiredItem = new MenuItem("Remove Expired Entries");
+        MenuItem saveItem = new MenuItem("Save");
+        saveItem.setAccelerator(new javafx.scene.input.KeyCodeCombination(javafx.scene.input.KeyCode.S, javafx.scene.input.KeyCombination.SHORTCUT_DOWN));
+        Menu editMenu = new Menu("Edit");
+        editMenu.getItems().addAll(importItem, renameItem, replaceItem, deleteItem, expiredItem, new SeparatorMenuItem(), saveItem);
+        editMenu.setOnShowing(e -> {
+            int selected = tableView.getSelectionModel().getSelectedItems().size();
+            boolean editable = keystoreLoaded && currentKeyStore != null && keystoreWriters == 0;
+            importItem.setDisable(!editable);
+            renameItem.setDisable(!editable || selected != 1);
+            replaceItem.setDisable(!editable || selected != 1);
+            deleteItem.setDisable(!editable || selected == 0);
+            expiredItem.setDisable(!editable);
+            saveItem.setDisable(!editable || currentFile == null || !unsavedChanges);
+        });
+
+        importItem.setOnAction(e -> {
+            FileChooser chooser = new FileChooser();
+            chooser.setTitle("Import Certificate");
+            File f = chooser.showOpenDialog(stage);
+            if (f == null) return;
+            try {
+                List<X509Certificate> certs = certificateService.readCertificates(f);
+                KeystoreEditService.EditBatch batch = keystoreEditService.newBatch(currentKeyStore);
+                for (X509Certificate cert : certs) {
+                    String suggested = exportService.sanitizeAliasForFilename(cert.getSubjectX500Principal().getName()).toLowerCase(Locale.ROOT);
+                    Optional<String> alias = Dialogs.promptForText(stage, "Import Certificate", "Alias for " + cert.getSubjectX500Principal().getName(), suggested);
+                    if (alias.isEmpty()) return;
+                    batch.addCertificate(alias.get(), cert);
+                }
+                applyEdits(stage, batch);
+            } catch (Exception ex) {
+                showException(stage, "Failed to import certificate", ex);
+            }
+        });
+
+        renameItem.setOnAction(e -> {
+            TableRowData row = tableView.getSelectionModel().getSelectedItem();
+            if (row == null) return;
+            String from = row.aliasProperty().get();
+            Dialogs.promptForText(stage, "Rename Alias", "New alias for " + from, from).ifPresent(to ->
+                    applyEdits(stage, keystoreEditService.newBatch(currentKeyStore).renameAlias(from, to, editKeyPassword())));
+        });
+
+        replaceItem.setOnAction(e -> {
+            TableRowData row = tableView.getSelectionModel().getSelectedItem();
+            if (row == null) return;
+            FileChooser chooser = new FileChooser();
+            chooser.setTitle("Replace Certificate of " + row.aliasProperty().get());
+            File f = chooser.showOpenDialog(stage);
+            if (f == null) return;
+            try {
+                X509Certificate cert = certificateService.readCertificates(f).get(0);
+                applyEdits(stage, keystoreEditService.newBatch(currentKeyStore).replaceCertificate(row.aliasProperty().get(), cert, editKeyPassword()));
+            } catch (Exception ex) {
+                showException(stage, "Failed to replace certificate", ex);
+            }
+        });
+
+        deleteItem.setOnAction(e -> {
+            List<TableRowData> rows = new ArrayList<>(tableView.getSelectionModel().getSelectedItems());
+            if (rows.isEmpty() || !Dialogs.confirm(stage, "Delete Entries", "Delete " + rows.size() + " selected entr" + (rows.size() == 1 ? "y" : "ies") + "?")) return;
+            KeystoreEditService.EditBatch batch = keystoreEditService.newBatch(currentKeyStore);
+            for (TableRowData row : rows) batch.delete(row.aliasProperty().get());
+            applyEdits(stage, batch);
+        });
+
+        expiredItem.setOnAction(e -> {
+            try {
+                KeystoreEditService.EditBatch batch = keystoreEditService.newBatch(currentKeyStore);
+                List<String> expired = batch.deleteExpired(new Date());
+                if (expired.isEmpty()) {
+                    Dialogs.showInfo(stage, "Remove Expired Entries", "No expired entries.");
+                } else if (Dialogs.confirm(stage, "Remove Expired Entries", "Remove " + expired.size() + " expired entries?")) {
+                    applyEdits(stage, batch);
+                }
+            } catch (Exception ex) {
+                showException(stage, "Failed to remove expired entries", ex);
+            }
+        });
+
+        saveItem.setOnAction(e -> {
+            if (!keystoreLoaded || currentKeyStore == null || currentFile == null || !unsavedChanges) return;
+            char[] ksPwd = currentKeystorePassword != null ? currentKeystorePassword : new char[0];
+            KeyStore ks = currentKeyStore;
+            File target = currentFile;
+            Task<Void> task = new Task<>() {
+                @Override
+                protected Void call() throws Exception {
+                    keystoreEditService.save(ks, target.toPath(), ksPwd, true);
+                    return null;
+                }
+            };
+            showProgressWhile(task);
+            holdEditsWhile(task);
+            task.setOnFailed(ev -> FxThreadMonitor.runLater(() -> {
+                progressIndicator.setVisible(false);
+                showException(stage, "Failed to save keystore", task.getException());
+            }));
+            task.setOnSucceeded(ev -> FxThreadMonitor.runLater(() -> {
+                progressIndicator.setVisible(false);
+                unsavedChanges = false;
+                updateStatus(stage);
+            }));
+            new Thread(task, "save-keystore").start();
+        });
+        return editMenu;
+    }
+
+    private char[] editKeyPassword() {
+        if (currentKeyPassword != null && currentKeyPassword.length > 0) return currentKeyPassword;
+        return currentKeystorePassword != null ? currentKeystorePassword : new char[0];
+    }
+
+    /** Apply a batch to the in-memory keystore and refresh the table; the file is only written on Save. */
+    private void applyEdits(Stage stage, KeystoreEditService.EditBatch batch) {
+        if (batch.isEmpty()) return;
+        if (keystoreWriters > 0) {
+            showError(stage, "Wait for the running save or conversion to finish.");
+            return;
+        }
+        try {
+            batch.apply();
+        } catch (KeystoreEditException ex) {
+            // Batches are validated as a whole (key recovery included) before the first edit is applied
+            log.debug("Keystore edit failed", ex);
+            showError(stage, ex.getMessage());
+            return;
+        }
+        unsavedChanges = true;
+        try {
+            KeystoreSnapshot before = currentSnapshot;
+            currentSnapshot = keystoreService.snapshot(currentKeyStore);
+            if (before != null) aggregateChanges(before, currentSnapshot);
+            showRows(currentFile, currentSnapshot.entries());
+        } catch (KeystoreLoadException ex) {
+            showException(stage, "Failed to refresh entries", ex);
+        }
+        updateStatus(stage);
+    }
+
+    private void updateStatus(Stage stage) {
+        if (currentFile == null) return;
+        String type = currentKeystoreType == null ? "" : currentKeystoreType;
+        String modified = unsavedChanges ? " • Modified" : "";
+        statusLabel.setText("File: " + currentFile.getName() + " • Type: " + type + modified + verificationNote);
+        stage.setTitle("KeyT — " + currentFile.getName() + " [" + type + "]" + (unsavedChanges ? " *" : ""));
     }
 
     private Task<Void> getTask(Stage stage, File out, Certificate cert) {
@@ -337,13 +638,19 @@ public class App extends Application {
                 return null;
             }
         };
-        task.setOnFailed(ev -> Platform.runLater(() -> showException(stage, "Failed to export certificate", task.getException())));
+        task.setOnFailed(ev -> FxThreadMonitor.runLater(() -> showException(stage, "Failed to export certificate", task.getException())));
         return task;
     }
 
     private final KeystoreService keystoreService = new KeystoreService();
     private final CertificateService certificateService = new CertificateService();
     private final ExportService exportService = new ExportService();
+    private final KeystoreEditService keystoreEditService = new KeystoreEditService();
+    private final RevocationService revocationService = new RevocationService();
+    private final ReportService reportService = new ReportService(certificateService);
+    private final InventoryService inventoryService = new InventoryService();
+    private final ArchiveScanner archiveScanner = new ArchiveScanner(keystoreService, certificateService);
+    private final DetailsPane detailsPane = new DetailsPane(new DetailsCache(certificateService, 4096));
 
     /** Unified file open handler used by menu, drag-and-drop, and CLI. */
     private void openFile(File file, Stage owner) {
@@ -352,8 +659,12 @@ public class App extends Application {
             showError(owner, "File not found: " + file);
             return;
         }
+        loadGeneration++;
+        verificationNote = "";
         String lower = file.getName().toLowerCase(Locale.ROOT);
-        if (lower.endsWith(".jks") || lower.endsWith(".ks") || lower.endsWith(".p12") || lower.endsWith(".pfx")) {
+        if (archiveScanner.isArchive(file)) {
+            loadArchiveIntoTable(file, owner);
+        } else if (lower.endsWith(".jks") || lower.endsWith(".ks") || lower.endsWith(".p12") || lower.endsWith(".pfx")) {
             loadKeystoreIntoTable(file, owner);
         } else if (lower.endsWith(".cert") || lower.endsWith(".crt") || lower.endsWith(".pem") || lower.endsWith(".der") || lower.endsWith(".p7b") || lower.endsWith(".p7c") || lower.endsWith(".spc")) {
             loadCertificatesIntoTable(file, owner);
@@ -366,29 +677,98 @@ public class App extends Application {
     private void loadKeystoreIntoTable(File ksFile, Stage owner) {
         // Run background task for IO to keep UI responsive
         tableData.clear();
+        int generation = loadGeneration;
+        // JKS and plain PKCS12 stores are listed while the password dialog is open; the password then only
+        // verifies them in the background. Memory-bounded mode keeps the single load after the dialog.
+        Task<KeystoreService.UnverifiedKeystore> listing = memoryBounded ? null : listUnverified(ksFile, generation);
+        verificationNote = listing != null ? " • verifying…" : "";
         // Ask for keystore and key password immediately when a file is dropped
         Optional<org.openjfx.util.Dialogs.Passwords> pwOpt = org.openjfx.util.Dialogs.promptForKeystoreAndKeyPasswords(owner);
         if (pwOpt.isEmpty()) {
-            return; // user cancelled
+            // user cancelled; a store listed without the password stays shown, read-only
+            verificationNote = " • NOT VERIFIED (no password)";
+            if (ksFile.equals(currentFile) && currentSnapshot != null && !keystoreLoaded) {
+                statusLabel.setText("File: " + ksFile.getName() + " • Type: " + currentKeystoreType + verificationNote);
+            }
+            return;
         }
         org.openjfx.util.Dialogs.Passwords pw = pwOpt.get();
+        // The task works on copies, so the dialog's arrays can be cleared as soon as it has started
+        char[] ksPassword = pw.keystorePassword == null ? null : pw.keystorePassword.clone();
+        char[] keyPassword = pw.keyPassword == null ? null : pw.keyPassword.clone();
         Task<Void> task = new Task<>() {
             @Override
             protected Void call() throws Exception {
-                KeyStore ks = keystoreService.load(ksFile, pw.keystorePassword);
-                List<CertificateInfo> infos = keystoreService.listEntries(ks);
-                Platform.runLater(() -> {
-                    tableData.clear();
-                    for (CertificateInfo ci : infos) {
-                        tableData.add(new TableRowData(ci.getAlias(), ci.getEntryType(), ci.getValidFrom(), ci.getValidUntil(), ci.getSignatureAlgorithm(), ci.getSerialNumber()));
+                try {
+                    KeystoreService.UnverifiedKeystore listed = listing != null ? awaitListing(listing) : null;
+                    if (listed != null) {
+                        verifyListed(listed, ksPassword, keyPassword, generation, owner);
+                    } else {
+                        load();
                     }
+                    return null;
+                } finally {
+                    if (ksPassword != null) Arrays.fill(ksPassword, '\0');
+                    if (keyPassword != null) Arrays.fill(keyPassword, '\0');
+                }
+            }
+
+            private void load() throws Exception {
+                // An unchanged, previously seen keystore is shown from the snapshot while the KeyStore itself loads
+                InventorySnapshot.FileRecord cached = inventoryService.lookup(ksFile);
+                if (cached != null) {
+                    List<CertificateInfo> snapshotRows = cached.entries();
+                    FxThreadMonitor.runLater(() -> {
+                        if (generation != loadGeneration) return;
+                        currentKeyStore = null;
+                        currentSnapshot = null;
+                        currentStore = null;
+                        keystoreLoaded = false;
+                        currentRecord = cached;
+                        showRows(ksFile, snapshotRows);
+                        statusLabel.setText("File: " + ksFile.getName() + " • Type: " + cached.getType() + " (from snapshot)");
+                    });
+                }
+                KeyStore loaded = keystoreService.load(ksFile, ksPassword);
+                String loadedType = loaded.getType();
+                EncodedCertificateStore store = null;
+                if (memoryBounded) {
+                    // Keep only the encoded entries (mapped from the snapshot); the KeyStore becomes garbage here
+                    InventorySnapshot.FileRecord rec = cached != null ? cached : inventoryService.recordAndMap(ksFile, loaded);
+                    store = new EncodedCertificateStore(rec, DECODED_CERTIFICATE_CACHE);
+                } else if (cached == null) {
+                    rememberInBackground(() -> inventoryService.record(ksFile, loaded));
+                }
+                // Captured here, before the KeyStore is published to the FX thread and can be edited
+                InventoryAggregator.Feed feed = aggregator.newFeed();
+                KeystoreSnapshot snapshot = store == null ? keystoreService.snapshot(loaded, feed) : null;
+                List<CertificateInfo> infos = store != null ? store.entries() : snapshot.entries();
+                for (int i = 0; store != null && i < infos.size(); i++) feed.visit(infos.get(i), store.decode(i));
+                KeyStore ks = store == null ? loaded : null;
+                EncodedCertificateStore bounded = store;
+                char[] keptKsPassword = ksPassword == null ? null : ksPassword.clone();
+                char[] keptKeyPassword = keyPassword == null ? null : keyPassword.clone();
+                FxThreadMonitor.runLater(() -> {
+                    if (generation != loadGeneration) {
+                        // A newer file was opened meanwhile; this load must not replace it
+                        if (keptKsPassword != null) Arrays.fill(keptKsPassword, '\0');
+                        if (keptKeyPassword != null) Arrays.fill(keptKeyPassword, '\0');
+                        return;
+                    }
+                    verificationNote = "";
                     currentKeyStore = ks;
+                    currentSnapshot = snapshot;
+                    currentStore = bounded;
+                    currentRecord = bounded != null ? bounded.getRecord() : null;
+                    showRows(ksFile, infos);
+                    currentFile = ksFile;
                     keystoreLoaded = true;
+                    unsavedChanges = false;
                     String ext = ksFile.getName().toLowerCase(Locale.ROOT);
                     String detected = null;
                     try {
                         // Prefer the actual KeyStore type when available
-                        detected = (ks != null && ks.getType() != null) ? ks.getType() : null;
+                        detected = loadedType;
                     } catch (Exception ex) { log.debug("Could not read KeyStore type; continuing with extension inference", ex); }
                     if (detected == null || detected.isBlank()) {
                         // Fallback to common extensions
@@ -397,18 +777,23 @@ public class App extends Application {
                         else detected = "Unknown";
                     }
                     currentKeystoreType = detected.toUpperCase(java.util.Locale.ROOT);
-                    currentKeystorePassword = pw.keystorePassword == null ? null : pw.keystorePassword.clone();
-                    currentKeyPassword = pw.keyPassword == null ? null : pw.keyPassword.clone();
+                    currentKeystorePassword = keptKsPassword;
+                    currentKeyPassword = keptKeyPassword;
                 });
-                return null;
             }
         };
-        task.setOnFailed(ev -> Platform.runLater(() -> showException(owner, "Failed to load keystore", task.getException())));
-        task.setOnSucceeded(ev -> Platform.runLater(() -> {
-            if (ksFile != null) {
+        task.setOnFailed(ev -> FxThreadMonitor.runLater(() -> {
+            if (generation != loadGeneration) return;
+            verificationNote = "";
+            tableData.clear(); // drop rows shown from the snapshot, e.g. after a wrong password
+            aggregator.newFeed();
+            showException(owner, "Failed to load keystore", task.getException());
+        }));
+        task.setOnSucceeded(ev -> FxThreadMonitor.runLater(() -> {
+            if (ksFile != null && generation == loadGeneration) {
                 // Update status bar and window title
                 String type = currentKeystoreType == null ? "" : currentKeystoreType;
-                statusLabel.setText("File: " + ksFile.getName() + " • Type: " + type);
+                statusLabel.setText("File: " + ksFile.getName() + " • Type: " + type + (currentStore != null ? " • memory-bounded, read-only" : "") + verificationNote);
                 try {
                     owner.setTitle("KeyT — " + ksFile.getName() + " [" + type + "]");
                 } catch (Exception ex) { log.debug("Failed to update window title for keystore", ex); }
@@ -421,30 +806,442 @@ public class App extends Application {
         if (pw.keyPassword != null) Arrays.fill(pw.keyPassword, '\0');
     }
 
+    /**
+     * Start listing a keystore that is readable without its password (see {@link KeystoreService#openUnverified}).
+     * Its rows are shown read-only until {@link #verifyListed} succeeds; the task's value is null when the store
+     * needs the password to be listed.
+     */
+    private Task<KeystoreService.UnverifiedKeystore> listUnverified(File ksFile, int generation) {
+        Task<KeystoreService.UnverifiedKeystore> task = new Task<>() {
+            @Override
+            protected KeystoreService.UnverifiedKeystore call() throws Exception {
+                KeystoreService.UnverifiedKeystore opened = keystoreService.openUnverified(ksFile);
+                if (opened == null) return null;
+                KeystoreSnapshot snapshot = keystoreService.snapshot(opened.getKeyStore(), aggregator.newFeed());
+                FxThreadMonitor.runLater(() -> {
+                    if (generation != loadGeneration) return;
+                    currentKeyStore = null; // published by verifyListed
+                    currentSnapshot = snapshot;
+                    currentStore = null;
+                    currentRecord = null;
+                    keystoreLoaded = false;
+                    unsavedChanges = false;
+                    currentFile = ksFile;
+                    currentKeystoreType = snapshot.getType().toUpperCase(Locale.ROOT);
+                    showRows(ksFile, snapshot.entries());
+                    statusLabel.setText("File: " + ksFile.getName() + " • Type: " + currentKeystoreType + verificationNote);
+                });
+                return opened;
+            }
+        };
+        new Thread(task, "list-keystore").start();
+        return task;
+    }
+
+    /** The store {@code listing} opened, or null when it needs the password first or could not be listed. */
+    private static KeystoreService.UnverifiedKeystore awaitListing(Task<KeystoreService.UnverifiedKeystore> listing) throws InterruptedException {
+        try {
+            return listing.get();
+        } catch (java.util.concurrent.ExecutionException e) {
+            log.debug("Listing without password failed; loading with the password", e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * Check the password and integrity of a listed store (on a background thread). On success the verified
+     * KeyStore becomes editable; on failure the rows stay shown read-only and the store is flagged.
+     */
+    private void verifyListed(KeystoreService.UnverifiedKeystore listed, char[] ksPassword, char[] keyPassword, int generation, Stage owner) {
+        KeyStore verified;
+        try {
+            verified = keystoreService.verify(listed, ksPassword);
+        } catch (KeystoreLoadException ex) {
+            log.debug("Integrity check failed for {}", listed.getFile(), ex);
+            FxThreadMonitor.runLater(() -> {
+                if (generation != loadGeneration) return;
+                verificationNote = " • NOT VERIFIED: wrong password or modified file";
+                updateStatus(owner);
+            });
+            return;
+        }
+        File ksFile = listed.getFile();
+        if (inventoryService.lookup(ksFile) == null) rememberInBackground(() -> inventoryService.record(ksFile, verified));
+        boolean checked = ksPassword != null && ksPassword.length > 0;
+        char[] keptKsPassword = ksPassword == null ? null : ksPassword.clone();
+        char[] keptKeyPassword = keyPassword == null ? null : keyPassword.clone();
+        FxThreadMonitor.runLater(() -> {
+            if (generation != loadGeneration) return;
+            currentKeyStore = verified; // same bytes as the listed snapshot, so the rows stay as they are
+            keystoreLoaded = true;
+            verificationNote = checked ? "" : " • integrity not checked (empty password)";
+            currentKeystorePassword = keptKsPassword;
+            currentKeyPassword = keptKeyPassword;
+            updateStatus(owner);
+        });
+    }
+
+    /**
+     * List the keystores and certificate files inside an archive, streamed without extracting it, as one read-only
+     * table whose aliases carry the entry location. Every keystore in the archive is opened with the same password.
+     */
+    private void loadArchiveIntoTable(File archive, Stage owner) {
+        tableData.clear();
+        Optional<char[]> pwOpt = Dialogs.promptForPassword(owner, "Password for the keystores in " + archive.getName() + " (may be empty)");
+        if (pwOpt.isEmpty()) return;
+        char[] password = pwOpt.get();
+        Task<Void> task = new Task<>() {
+            @Override
+            protected Void call() throws Exception {
+                List<String> failures = new ArrayList<>();
+                KeystoreSnapshot snapshot;
+                try {
+                    snapshot = archiveScanner.snapshot(archive.toPath(), password, failures);
+                } finally {
+                    Arrays.fill(password, '\0');
+                }
+                List<CertificateInfo> infos = snapshot.entries();
+                aggregate(aggregator.newFeed(), snapshot);
+                FxThreadMonitor.runLater(() -> {
+                    currentKeyStore = null;
+                    currentSnapshot = snapshot;
+                    currentStore = null;
+                    currentRecord = null;
+                    showRows(archive, infos);
+                    currentFile = null;
+                    keystoreLoaded = true;
+                    unsavedChanges = false;
+                    currentKeystoreType = "Archive";
+                    currentKeystorePassword = null;
+                    currentKeyPassword = null;
+                    statusLabel.setText("File: " + archive.getName() + " • Type: Archive • read-only");
+                    owner.setTitle("KeyT — " + archive.getName() + " [Archive]");
+                    if (!failures.isEmpty()) Dialogs.showInfo(owner, "Open Archive", String.join("\n", failures));
+                });
+                return null;
+            }
+        };
+        showProgressWhile(task);
+        task.setOnFailed(ev -> FxThreadMonitor.runLater(() -> {
+            progressIndicator.setVisible(false);
+            showException(owner, "Failed to read archive", task.getException());
+        }));
+        new Thread(task, "load-archive").start();
+    }
+
+    /**
+     * Replace the table contents in one change (a single list event instead of one per row), marking revoked
+     * entries against the loaded CRLs. Runs on the FX thread.
+     */
+    private void showRows(File source, List<CertificateInfo> infos) {
+        currentSource = source;
+        currentRows = infos;
+        try (Operation op = Operation.start(new TableRenderEvent(), source)) {
+            List<TableRowData> rows = new ArrayList<>(infos.size());
+            List<CertificateInfo> marked = revocationService.mark(infos);
+            for (int i = 0; i < marked.size(); i++) {
+                CertificateInfo ci = marked.get(i);
+                TableRowData row = new TableRowData(ci.getAlias(), ci.getEntryType(), ci.getValidFrom(), ci.getValidUntil(), ci.getSignatureAlgorithm(), ci.getSerialNumber());
+                row.revocationProperty().set(ci.getRevocationStatus());
+                row.setSourceIndex(i);
+                rows.add(row);
+            }
+            allRows = rows;
+            allInfos = marked;
+            refilter();
+            op.entryCount(rows.size());
+        }
+        if (metricsServer != null) {
+            for (InventoryMetrics.Sample s : metricSamples) metrics.remove(s);
+            List<InventoryMetrics.Sample> samples = new ArrayList<>(infos.size());
+            // notAfter from the snapshot's certificates when these are its rows; otherwise the Valid Until column
+            KeystoreSnapshot snapshot = currentSnapshot != null && currentSnapshot.entries() == infos ? currentSnapshot : null;
+            for (int i = 0; i < infos.size(); i++) {
+                CertificateInfo ci = infos.get(i);
+                InventoryMetrics.Sample s = snapshot != null && snapshot.certificate(i) instanceof X509Certificate x509
+                        ? InventoryMetrics.sample(ci, x509.getNotAfter().getTime()) : InventoryMetrics.sample(ci);
+                metrics.add(s);
+                samples.add(s);
+            }
+            metricSamples = samples;
+        }
+    }
+
+    private static void aggregate(InventoryAggregator.Feed feed, KeystoreSnapshot snapshot) {
+        List<CertificateInfo> entries = snapshot.entries();
+        for (int i = 0; i < entries.size(); i++) feed.visit(entries.get(i), snapshot.certificate(i));
+    }
+
+    /** Move the dashboard counts from one state of the edited keystore to the next, touching only changed entries. */
+    private void aggregateChanges(KeystoreSnapshot before, KeystoreSnapshot after) {
+        List<CertificateInfo> old = before.entries();
+        for (int i = 0; i < old.size(); i++) {
+            if (!sameEntry(old.get(i), before.certificate(i), after)) aggregator.remove(old.get(i), before.certificate(i));
+        }
+        List<CertificateInfo> now = after.entries();
+        for (int i = 0; i < now.size(); i++) {
+            if (!sameEntry(now.get(i), after.certificate(i), before)) aggregator.add(now.get(i), after.certificate(i));
+        }
+    }
+
+    private static boolean sameEntry(CertificateInfo info, Certificate cert, KeystoreSnapshot other) {
+        String alias = info.getAlias();
+        return other.contains(alias) && Objects.equals(cert, other.certificate(alias))
+                && other.isKeyEntry(alias) == "Private Key".equals(info.getEntryType());
+    }
+
+    /** Compile the filter field's query and re-filter the rows; a malformed query is flagged on the field. */
+    private void applyFilter(String text) {
+        if (text == null || text.isBlank()) {
+            filter = null;
+        } else {
+            try {
+                filter = CertificateQuery.compile(text);
+            } catch (IllegalArgumentException ex) {
+                filterField.setStyle("-fx-border-color: #c62828;");
+                filterField.setTooltip(new Tooltip(ex.getMessage()));
+                return;
+            }
+        }
+        filterField.setStyle("");
+        filterField.setTooltip(null);
+        refilter();
+    }
+
+    /** Show the rows matching the filter; large inventories are matched in the background across cores. */
+    private void refilter() {
+        int generation = ++filterGeneration;
+        CertificateQuery query = filter;
+        List<TableRowData> rows = allRows;
+        if (query == null) {
+            tableData.setAll(rows);
+            return;
+        }
+        List<CertificateInfo> infos = allInfos;
+        IntFunction<Certificate> certificates = shownCertificates();
+        Task<int[]> task = new Task<>() {
+            @Override
+            protected int[] call() {
+                return query.matches(infos, certificates);
+            }
+        };
+        task.setOnSucceeded(ev -> {
+            if (generation != filterGeneration) return; // rows or query changed meanwhile
+            int[] matches = task.getValue();
+            List<TableRowData> shown = new ArrayList<>(matches.length);
+            for (int i : matches) shown.add(rows.get(i));
+            tableData.setAll(shown);
+            filterField.setTooltip(new Tooltip(matches.length + " of " + rows.size() + " entries match"));
+        });
+        task.setOnFailed(ev -> log.debug("Filter failed", task.getException()));
+        new Thread(task, "filter-rows").start();
+    }
+
+    /** Certificate of row i of the rows shown, for queries on certificate fields; null when it cannot be read. */
+    private IntFunction<Certificate> shownCertificates() {
+        KeystoreSnapshot snapshot = currentSnapshot;
+        EncodedCertificateStore store = currentStore;
+        InventorySnapshot.FileRecord record = currentRecord;
+        return i -> {
+            try {
+                if (snapshot != null) return snapshot.certificate(i);
+                if (store != null) return store.decode(i);
+                if (record != null) return record.certificate(i);
+            } catch (Exception ex) {
+                log.debug("Could not read certificate {} for filtering", i, ex);
+            }
+            return null;
+        };
+    }
+
+    /** Stream the loaded keystore or certificate file, with derived fields, to a CSV or JSON Lines report. */
+    private void exportReport(Stage owner) {
+        KeystoreSnapshot snapshot = currentSnapshot;
+        EncodedCertificateStore store = currentStore;
+        File source = currentSource;
+        if (snapshot == null && source == null) return;
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Report");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV (*.csv)", "*.csv"),
+                new FileChooser.ExtensionFilter("JSON Lines (*.jsonl)", "*.jsonl")
+        );
+        String base = source != null ? source.getName() : "inventory";
+        chooser.setInitialFileName(base + ".csv");
+        File out = chooser.showSaveDialog(owner);
+        if (out == null) return;
+        ReportWriter.Format format = ReportWriter.Format.forFileName(out.getName());
+        String sourceName = source != null ? source.getName() : ""; // fetched chains: the aliases name the endpoints
+        Task<Long> task = new Task<>() {
+            @Override
+            protected Long call() throws Exception {
+                return reportService.writeReport(out.toPath(), format, report -> {
+                    if (snapshot != null) {
+                        List<CertificateInfo> entries = snapshot.entries();
+                        for (int i = 0; i < entries.size(); i++) report.write(sourceName, revocationService.mark(entries.get(i)), snapshot.certificate(i));
+                    } else if (store != null) {
+                        List<CertificateInfo> entries = store.entries();
+                        for (int i = 0; i < entries.size(); i++) report.write(sourceName, revocationService.mark(entries.get(i)), store.decode(i));
+                    } else {
+                        certificateService.forEachCertificate(source, (info, cert) -> report.write(sourceName, revocationService.mark(info), cert));
+                    }
+                });
+            }
+        };
+        showProgressWhile(task);
+        task.setOnFailed(ev -> FxThreadMonitor.runLater(() -> {
+            progressIndicator.setVisible(false);
+            showException(owner, "Failed to export report", task.getException());
+        }));
+        new Thread(task, "export-report").start();
+    }
+
+    /** Index a CRL in the background and re-check the entries currently shown. */
+    private void loadCrl(File crlFile, Stage owner) {
+        Task<CrlIndex> task = new Task<>() {
+            @Override
+            protected CrlIndex call() throws Exception {
+                return revocationService.loadCrl(crlFile);
+            }
+        };
+        showProgressWhile(task);
+        task.setOnSucceeded(ev -> FxThreadMonitor.runLater(() -> {
+            progressIndicator.setVisible(false);
+            CrlIndex index = task.getValue();
+            showRows(currentSource, currentRows);
+            long revoked = allRows.stream().filter(r -> RevocationService.REVOKED.equals(r.revocationProperty().get())).count();
+            String stale = index.isStale(new Date()) ? "\nThe CRL is past its next update (" + index.getNextUpdate() + ")." : "";
+            Dialogs.showInfo(owner, "Load CRL", index.size() + " revoked serial(s) indexed from " + crlFile.getName()
+                    + ".\n" + revoked + " loaded entr" + (revoked == 1 ? "y is" : "ies are") + " revoked." + stale);
+        }));
+        task.setOnFailed(ev -> FxThreadMonitor.runLater(() -> {
+            progressIndicator.setVisible(false);
+            showException(owner, "Failed to load CRL", task.getException());
+        }));
+        new Thread(task, "load-crl").start();
+    }
+
+    /** Handshake with the given endpoints and show the presented chains (leaf first) as a transient keystore. */
+    private void fetchFromHosts(String spec, Stage owner) {
+        List<TlsChainFetcher.Endpoint> endpoints = new ArrayList<>();
+        try {
+            for (String part : spec.split("[,\\s]+")) {
+                if (!part.isBlank()) endpoints.add(TlsChainFetcher.parseEndpoint(part));
+            }
+        } catch (IllegalArgumentException ex) {
+            showError(owner, ex.getMessage());
+            return;
+        }
+        if (endpoints.isEmpty()) return;
+        tableData.clear();
+        Task<Void> task = new Task<>() {
+            @Override
+            protected Void call() throws Exception {
+                TlsChainFetcher fetcher = new TlsChainFetcher(5000, 10000);
+                List<TlsChainFetcher.FetchResult> results = fetcher.fetchAll(endpoints, 64);
+                KeyStore ks = fetcher.toKeyStore(results);
+                KeystoreSnapshot snapshot = keystoreService.snapshot(ks, aggregator.newFeed());
+                List<CertificateInfo> infos = snapshot.entries();
+                List<String> errors = new ArrayList<>();
+                for (TlsChainFetcher.FetchResult r : results) {
+                    if (!r.isSuccess()) errors.add(r.getEndpoint() + ": " + r.getError());
+                }
+                FxThreadMonitor.runLater(() -> {
+                    currentKeyStore = ks;
+                    currentSnapshot = snapshot;
+                    currentStore = null;
+                    currentRecord = null;
+                    showRows(null, infos);
+                    currentFile = null;
+                    keystoreLoaded = true;
+                    unsavedChanges = false;
+                    currentKeystoreType = "TLS";
+                    currentKeystorePassword = null;
+                    currentKeyPassword = null;
+                    String label = endpoints.size() == 1 ? endpoints.get(0).toString() : endpoints.size() + " endpoints";
+                    statusLabel.setText("Host: " + label + " • Type: TLS");
+                    owner.setTitle("KeyT — " + label + " [TLS]");
+                    if (!errors.isEmpty()) Dialogs.showInfo(owner, "Fetch from Host", String.join("\n", errors));
+                });
+                return null;
+            }
+        };
+        showProgressWhile(task);
+        task.setOnFailed(ev -> FxThreadMonitor.runLater(() -> {
+            progressIndicator.setVisible(false);
+            showException(owner, "Failed to fetch certificates", task.getException());
+        }));
+        new Thread(task, "fetch-tls").start();
+    }
+
+    /** Record a freshly parsed file (if {@code recorder} is given) and save the inventory snapshot off the FX thread. */
+    private void rememberInBackground(InventoryRecorder recorder) {
+        Thread t = new Thread(() -> {
+            try {
+                if (recorder != null) recorder.record();
+                inventoryService.save();
+            } catch (Exception ex) {
+                log.debug("Failed to update inventory snapshot", ex);
+            }
+        }, "inventory-save");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    @FunctionalInterface
+    private interface InventoryRecorder {
+        void record() throws Exception;
+    }
+
+    /** Disable editing until {@code task} finishes, for tasks that read {@link #currentKeyStore} off the FX thread. */
+    private void holdEditsWhile(Task<?> task) {
+        keystoreWriters++;
+        EventHandler<WorkerStateEvent> release = ev -> keystoreWriters--;
+        task.addEventHandler(WorkerStateEvent.WORKER_STATE_SUCCEEDED, release);
+        task.addEventHandler(WorkerStateEvent.WORKER_STATE_FAILED, release);
+        task.addEventHandler(WorkerStateEvent.WORKER_STATE_CANCELLED, release);
+    }
+
     private void showProgressWhile(Task<?> task) {
-        Platform.runLater(() -> progressIndicator.setVisible(true));
-        task.setOnSucceeded(e -> Platform.runLater(() -> progressIndicator.setVisible(false)));
-        task.setOnFailed(e -> Platform.runLater(() -> progressIndicator.setVisible(false)));
-        task.setOnCancelled(e -> Platform.runLater(() -> progressIndicator.setVisible(false)));
+        FxThreadMonitor.runLater(() -> progressIndicator.setVisible(true));
+        task.setOnSucceeded(e -> FxThreadMonitor.runLater(() -> progressIndicator.setVisible(false)));
+        task.setOnFailed(e -> FxThreadMonitor.runLater(() -> progressIndicator.setVisible(false)));
+        task.setOnCancelled(e -> FxThreadMonitor.runLater(() -> progressIndicator.setVisible(false)));
     }
 
     private void loadCertificatesIntoTable(File certFile, Stage owner) {
         tableData.clear();
         this.currentKeyStore = null;
+        this.currentSnapshot = null;
+        this.currentStore = null;
+        this.currentFile = null;
         this.keystoreLoaded = false;
+        this.unsavedChanges = false;
         this.currentKeystoreType = null;
         this.currentKeystorePassword = null;
         this.currentKeyPassword = null;
-        Task<List<CertificateInfo>> task = new Task<>() {
+        Task<InventorySnapshot.FileRecord> task = new Task<>() {
             @Override
-            protected List<CertificateInfo> call() throws Exception {
-                return certificateService.loadCertificates(certFile);
+            protected InventorySnapshot.FileRecord call() throws Exception {
+                InventorySnapshot.FileRecord cached = inventoryService.lookup(certFile);
+                InventorySnapshot.FileRecord record = cached;
+                if (record == null) {
+                    record = inventoryService.recordCertificates(certFile);
+                    rememberInBackground(null);
+                }
+                InventoryAggregator.Feed feed = aggregator.newFeed();
+                List<CertificateInfo> entries = record.entries();
+                for (int i = 0; i < entries.size(); i++) feed.visit(entries.get(i), record.certificate(i));
+                return record;
             }
         };
-        task.setOnSucceeded(e -> Platform.runLater(() -> {
-            tableData.clear();
-            for (CertificateInfo ci : task.getValue()) {
-                tableData.add(new TableRowData(ci.getAlias(), ci.getEntryType(), ci.getValidFrom(), ci.getValidUntil(), ci.getSignatureAlgorithm(), ci.getSerialNumber()));
+        task.setOnSucceeded(e -> FxThreadMonitor.runLater(() -> {
+            currentRecord = task.getValue();
+            try {
+                showRows(certFile, currentRecord.entries());
+            } catch (java.io.IOException ex) {
+                showException(owner, "Failed to load certificate", ex);
+                return;
             }
             if (certFile != null) {
                 // Update status bar and window title
@@ -456,108 +1253,55 @@ public class App extends Application {
                 } catch (Exception ex) { log.debug("Failed to update window title for cert file", ex); }
             }
         }));
-        task.setOnFailed(e -> Platform.runLater(() -> showException(owner, "Failed to load certificate", task.getException())));
+        task.setOnFailed(e -> FxThreadMonitor.runLater(() -> showException(owner, "Failed to load certificate", task.getException())));
         showProgressWhile(task);
         new Thread(task, "load-certificates").start();
     }
 
-    private void showCertificateDetails(Stage owner, TableRowData data) {
-        String alias = data.aliasProperty().get();
-        String entryType = data.entryTypeProperty().get();
-        String validFrom = data.validFromProperty().get();
-        String validUntil = data.validUntilProperty().get();
-        String sigAlg = data.signatureAlgorithmProperty().get();
-        String serial = data.serialNumberProperty().get();
+    /** Heap in use and the maximum heap, plus the decoded-certificate cache when a store is memory-bounded. */
+    private String heapUsage() {
+        Runtime rt = Runtime.getRuntime();
+        long usedMb = (rt.totalMemory() - rt.freeMemory()) >> 20;
+        String heap = "Heap: " + usedMb + " / " + (rt.maxMemory() >> 20) + " MB";
+        EncodedCertificateStore store = currentStore;
+        if (store == null) return heap;
+        return heap + " • " + (store.encodedSize() >> 10) + " KB encoded, " + store.cachedCount() + " decoded";
+    }
 
-        X509Certificate x509 = null;
-        try {
-            if (keystoreLoaded && currentKeyStore != null) {
-                Certificate c = currentKeyStore.getCertificate(alias);
-                if (c instanceof X509Certificate xc) {
-                    x509 = xc;
-                }
-            }
-        } catch (Exception ex) { log.debug("Failed to get certificate from keystore for details view", ex); }
-
-        String subject = x509 != null && x509.getSubjectX500Principal() != null ? x509.getSubjectX500Principal().getName() : "";
-        String issuer = x509 != null && x509.getIssuerX500Principal() != null ? x509.getIssuerX500Principal().getName() : "";
-
-        // Compute SANs, key usages, fingerprints when possible
-        String sans = "";
-        String keyUsage = "";
-        String extKeyUsage = "";
-        String basicConstraints = "";
-        String sha1 = "";
-        String sha256 = "";
-        String md5 = "";
-        if (x509 != null) {
-            try {
-                Collection<List<?>> altNames = x509.getSubjectAlternativeNames();
-                if (altNames != null) {
-                    List<String> parts = new ArrayList<>();
-                    for (List<?> item : altNames) {
-                        if (item.size() >= 2) {
-                            Object type = item.get(0);
-                            Object value = item.get(1);
-                            parts.add(String.valueOf(value));
-                        }
-                    }
-                    sans = String.join(", ", parts);
-                }
-            } catch (Exception ex) { log.debug("Failed to extract Subject Alternative Names", ex); }
-            boolean[] ku = x509.getKeyUsage();
-            if (ku != null) {
-                String[] names = new String[]{"digitalSignature","nonRepudiation","keyEncipherment","dataEncipherment","keyAgreement","keyCertSign","cRLSign","encipherOnly","decipherOnly"};
-                List<String> set = new ArrayList<>();
-                for (int i=0;i<ku.length && i<names.length;i++) if (ku[i]) set.add(names[i]);
-                keyUsage = String.join(", ", set);
-            }
-            try {
-                List<String> eku = x509.getExtendedKeyUsage();
-                if (eku != null) {
-                    extKeyUsage = String.join(", ", eku);
-                }
-            } catch (Exception ex) { log.debug("Failed to read Extended Key Usage", ex); }
-            int bc = x509.getBasicConstraints();
-            if (bc >= 0) basicConstraints = "CA: true, pathLen=" + bc; else basicConstraints = "CA: false";
-            try {
-                java.security.MessageDigest md1 = java.security.MessageDigest.getInstance("SHA-1");
-                java.security.MessageDigest md256 = java.security.MessageDigest.getInstance("SHA-256");
-                java.security.MessageDigest md5d = java.security.MessageDigest.getInstance("MD5");
-                byte[] enc = x509.getEncoded();
-                sha1 = org.openjfx.util.HexUtil.toColonHex(md1.digest(enc));
-                sha256 = org.openjfx.util.HexUtil.toColonHex(md256.digest(enc));
-                md5 = org.openjfx.util.HexUtil.toColonHex(md5d.digest(enc));
-            } catch (Exception ex) { log.debug("Failed to compute certificate fingerprints", ex); }
+    /** Show a row in the details pane and decode its neighbours ahead of keyboard navigation. */
+    private void showDetails(TableRowData row, int index, List<TableRowData> items) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("Entry Type:", row.entryTypeProperty().get());
+        fields.put("Valid From:", row.validFromProperty().get());
+        fields.put("Valid Until:", row.validUntilProperty().get());
+        fields.put("Signature Algorithm:", row.signatureAlgorithmProperty().get());
+        fields.put("Serial #:", row.serialNumberProperty().get());
+        fields.put("Revocation:", row.revocationProperty().get());
+        List<Callable<Certificate>> neighbours = new ArrayList<>(4);
+        for (int d : new int[] {1, -1, 2, -2}) {
+            int i = index + d;
+            if (i >= 0 && i < items.size()) neighbours.add(certificateFor(items.get(i)));
         }
-
-        Alert dlg = new Alert(Alert.AlertType.INFORMATION);
-        dlg.setTitle("Certificate Details");
-        dlg.setHeaderText(alias);
-        if (owner != null) dlg.initOwner(owner);
-        GridPane grid = new GridPane();
-        grid.setHgap(10);
-        grid.setVgap(6);
-        int r = 0;
-        grid.add(new Label("Entry Type:"), 0, r); grid.add(new Label(entryType), 1, r++);
-        if (!subject.isEmpty()) { grid.add(new Label("Subject:"), 0, r); grid.add(new Label(subject), 1, r++); }
-        if (!issuer.isEmpty()) { grid.add(new Label("Issuer:"), 0, r); grid.add(new Label(issuer), 1, r++); }
-        grid.add(new Label("Valid From:"), 0, r); grid.add(new Label(validFrom), 1, r++);
-        grid.add(new Label("Valid Until:"), 0, r); grid.add(new Label(validUntil), 1, r++);
-        grid.add(new Label("Signature Algorithm:"), 0, r); grid.add(new Label(sigAlg), 1, r++);
-        grid.add(new Label("Serial #:"), 0, r); grid.add(new Label(serial), 1, r++);
-        if (!sans.isEmpty()) { grid.add(new Label("SANs:"), 0, r); grid.add(new Label(sans), 1, r++); }
-        if (!keyUsage.isEmpty()) { grid.add(new Label("Key Usage:"), 0, r); grid.add(new Label(keyUsage), 1, r++); }
-        if (!extKeyUsage.isEmpty()) { grid.add(new Label("Ext Key Usage:"), 0, r); grid.add(new Label(extKeyUsage), 1, r++); }
-        if (!basicConstraints.isEmpty()) { grid.add(new Label("Basic Constraints:"), 0, r); grid.add(new Label(basicConstraints), 1, r++); }
-        if (!md5.isEmpty()) { final String v = md5; grid.add(new Label("MD5:"), 0, r); grid.add(new Label(v), 1, r); Button b = new Button("Copy"); b.setOnAction(ev -> org.openjfx.util.ClipboardUtil.copyToClipboard(v)); grid.add(b, 2, r++); }
-        if (!sha1.isEmpty()) { final String v = sha1; grid.add(new Label("SHA-1:"), 0, r); grid.add(new Label(v), 1, r); Button b = new Button("Copy"); b.setOnAction(ev -> org.openjfx.util.ClipboardUtil.copyToClipboard(v)); grid.add(b, 2, r++); }
-        if (!sha256.isEmpty()) { final String v = sha256; grid.add(new Label("SHA-256:"), 0, r); grid.add(new Label(v), 1, r); Button b = new Button("Copy"); b.setOnAction(ev -> org.openjfx.util.ClipboardUtil.copyToClipboard(v)); grid.add(b, 2, r++); }
-        dlg.getDialogPane().setContent(grid);
-        dlg.getButtonTypes().setAll(ButtonType.CLOSE);
-        dlg.showAndWait();
+        detailsPane.show(row.aliasProperty().get(), fields, certificateFor(row), neighbours);
     }
 
+    /**
+     * Resolves the certificate behind a row off the FX thread, from the keystore snapshot or the inventory record.
+     * Rows are resolved by position: archive snapshots can repeat an alias (e.g. bundles with equal subjects).
+     */
+    private Callable<Certificate> certificateFor(TableRowData row) {
+        KeystoreSnapshot snapshot = currentSnapshot;
+        EncodedCertificateStore store = currentStore;
+        InventorySnapshot.FileRecord record = currentRecord;
+        String alias = row.aliasProperty().get();
+        int index = row.getSourceIndex();
+        return () -> {
+            if (snapshot != null) return index >= 0 && index < snapshot.size() ? snapshot.certificate(index) : snapshot.certificate(alias);
+            if (store != null) return store.certificate(index);
+            if (record != null && index >= 0 && index < record.getEntryCount()) return record.certificate(index);
+            return null;
+        };
+    }
 
     private void showException(Stage owner, String context, Throwable t) {
         // Log full stack at debug for diagnostics; concise message to user
@@ -571,6 +1315,8 @@ public class App extends Application {
             userMsg = context + ": Unable to open keystore. Check the password and file type.";
         } else if (t instanceof CertificateLoadException) {
             userMsg = context + ": Unable to parse certificate file. It may be unsupported or corrupted.";
+        } else if (t instanceof CrlLoadException) {
+            userMsg = context + ": Unable to parse CRL file. Expected a DER or PEM encoded X.509 CRL.";
         } else if (t instanceof ExportException) {
             userMsg = context + ": Unable to write file. Verify destination and permissions.";
         } else if (root != null && root.getMessage() != null && root.getMessage().toLowerCase(java.util.Locale.ROOT).contains("password")) {
@@ -595,6 +1341,8 @@ public class App extends Application {
         private final javafx.beans.property.SimpleStringProperty validUntil = new javafx.beans.property.SimpleStringProperty();
         private final javafx.beans.property.SimpleStringProperty signatureAlgorithm = new javafx.beans.property.SimpleStringProperty();
         private final javafx.beans.property.SimpleStringProperty serialNumber = new javafx.beans.property.SimpleStringProperty();
+        private final javafx.beans.property.SimpleStringProperty revocation = new javafx.beans.property.SimpleStringProperty("");
+        private int sourceIndex = -1;
 
         public TableRowData(String alias, String entryType, String validFrom, String validUntil, String signatureAlgorithm, String serialNumber) {
             this.alias.set(alias);
@@ -610,5 +1358,9 @@ public class App extends Application {
         public javafx.beans.property.SimpleStringProperty validUntilProperty() { return validUntil; }
         public javafx.beans.property.SimpleStringProperty signatureAlgorithmProperty() { return signatureAlgorithm; }
         public javafx.beans.property.SimpleStringProperty serialNumberProperty() { return serialNumber; }
+        public javafx.beans.property.SimpleStringProperty revocationProperty() { return revocation; }
+        /** Position of the entry in the list it was created from, used to find its certificate in a snapshot record. */
+        public int getSourceIndex() { return sourceIndex; }
+        public void setSourceIndex(int sourceIndex) { this.sourceIndex = sourceIndex; }
     }
 }
\ No newline at end of file
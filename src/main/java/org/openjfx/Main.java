@@ -1,12 +1,36 @@
 package org.openjfx;
 
 import javafx.application.Application;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
 
 /**
  * Plain launcher class to avoid JavaFX launcher checks that require module-path.
+ * Hands the arguments to an already running KeyT instead of starting a second one (see {@link SingleInstance}).
  */
 public final class Main {
+
+    private static final Logger log = LoggerFactory.getLogger(Main.class);
+
     public static void main(String[] args) {
+        if (SingleInstance.isEnabled()) {
+            Path dir = SingleInstance.defaultDirectory();
+            try {
+                SingleInstance instance = SingleInstance.acquire(dir);
+                if (instance == null) {
+                    if (SingleInstance.forward(dir, Arrays.asList(args), 3000)) return;
+                    log.debug("Running instance did not answer, starting a new one");
+                } else {
+                    SingleInstance.setPrimary(instance);
+                }
+            } catch (IOException e) {
+                log.debug("Single-instance setup failed, starting standalone", e);
+            }
+        }
         Application.launch(App.class, args);
     }
 }
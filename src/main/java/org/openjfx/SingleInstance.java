@@ -0,0 +1,215 @@
+package org.openjfx;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Keeps one KeyT window per user. The first process takes an exclusive lock on {@code instance.lock} under
+ * {@code ~/.keyt} ({@code -Dkeyt.instance.dir}) and listens on a loopback port published, with a random
+ * token, in {@code instance.port}. Later launches find the lock taken, send their file arguments to that
+ * port and exit, so opening a file from the desktop costs a socket round trip instead of a JVM and JavaFX
+ * start. The lock is released by the OS when the owning process dies, so a stale port file never blocks a
+ * new primary. Disabled with {@code -Dkeyt.singleInstance=false}.
+ */
+public final class SingleInstance implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(SingleInstance.class);
+
+    private static final String LOCK_FILE = "instance.lock";
+    private static final String PORT_FILE = "instance.port";
+    private static final String ACK = "OK";
+
+    private static volatile SingleInstance primary;
+
+    private final Path directory;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final ServerSocket server;
+    private final String token;
+    private final List<List<String>> pending = new ArrayList<>();
+    private Consumer<List<String>> handler;
+
+    private SingleInstance(Path directory, FileChannel lockChannel, FileLock lock, ServerSocket server, String token) {
+        this.directory = directory;
+        this.lockChannel = lockChannel;
+        this.lock = lock;
+        this.server = server;
+        this.token = token;
+    }
+
+    public static boolean isEnabled() {
+        return !"false".equalsIgnoreCase(System.getProperty("keyt.singleInstance"));
+    }
+
+    public static Path defaultDirectory() {
+        String configured = System.getProperty("keyt.instance.dir");
+        if (configured != null && !configured.isBlank()) return Path.of(configured);
+        return Path.of(System.getProperty("user.home"), ".keyt");
+    }
+
+    /** The instance registered by {@link Main} for this process, or null when running standalone. */
+    public static SingleInstance primary() { return primary; }
+
+    static void setPrimary(SingleInstance instance) { primary = instance; }
+
+    /**
+     * Become the primary instance: returns a listening instance, or null when another live process already
+     * holds the lock (then use {@link #forward}).
+     */
+    public static SingleInstance acquire(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null; // held by this JVM already
+        }
+        if (lock == null) {
+            channel.close();
+            return null;
+        }
+        try {
+            ServerSocket server = new ServerSocket();
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 16);
+            byte[] secret = new byte[16];
+            new SecureRandom().nextBytes(secret);
+            String token = HexFormat.of().formatHex(secret);
+            Path portFile = directory.resolve(PORT_FILE);
+            Path tmp = directory.resolve(PORT_FILE + ".tmp");
+            Files.writeString(tmp, server.getLocalPort() + "\n" + token + "\n", StandardCharsets.US_ASCII);
+            Files.move(tmp, portFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            SingleInstance instance = new SingleInstance(directory, channel, lock, server, token);
+            Thread t = new Thread(instance::acceptLoop, "single-instance");
+            t.setDaemon(true);
+            t.start();
+            return instance;
+        } catch (IOException e) {
+            lock.release();
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Hand {@code args} to the primary instance, retrying for up to {@code timeoutMillis} while it is still
+     * starting. Relative paths are resolved against this process' working directory first. Returns false if
+     * no primary acknowledged them.
+     */
+    public static boolean forward(Path directory, List<String> args, int timeoutMillis) {
+        List<String> paths = new ArrayList<>(args.size());
+        for (String a : args) paths.add(a.startsWith("-") ? a : Path.of(a).toAbsolutePath().toString());
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            try {
+                List<String> port = Files.readAllLines(directory.resolve(PORT_FILE), StandardCharsets.US_ASCII);
+                try (Socket s = new Socket()) {
+                    s.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(port.get(0).trim())), 500);
+                    s.setSoTimeout(2000);
+                    Writer w = new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8);
+                    w.write(port.get(1).trim() + "\n");
+                    for (String p : paths) w.write(p + "\n");
+                    w.write("\n");
+                    w.flush();
+                    BufferedReader r = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+                    if (ACK.equals(r.readLine())) return true;
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("Forwarding to running instance failed", e);
+            }
+            if (System.currentTimeMillis() >= deadline) return false;
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Receive forwarded argument lists (on the listener thread). Lists that arrived before a handler was set
+     * are delivered immediately.
+     */
+    public void setHandler(Consumer<List<String>> handler) {
+        List<List<String>> queued;
+        synchronized (pending) {
+            this.handler = handler;
+            queued = new ArrayList<>(pending);
+            pending.clear();
+        }
+        for (List<String> args : queued) handler.accept(args);
+    }
+
+    private void acceptLoop() {
+        while (!server.isClosed()) {
+            try (Socket s = server.accept()) {
+                s.setSoTimeout(2000);
+                BufferedReader r = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+                if (!token.equals(r.readLine())) {
+                    log.debug("Rejected single-instance connection with a wrong token");
+                    continue;
+                }
+                List<String> args = new ArrayList<>();
+                for (String line = r.readLine(); line != null && !line.isEmpty(); line = r.readLine()) args.add(line);
+                Writer w = new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8);
+                w.write(ACK + "\n");
+                w.flush();
+                deliver(List.copyOf(args));
+            } catch (IOException e) {
+                if (!server.isClosed()) log.debug("Single-instance connection failed", e);
+            }
+        }
+    }
+
+    private void deliver(List<String> args) {
+        Consumer<List<String>> h;
+        synchronized (pending) {
+            h = handler;
+            if (h == null) pending.add(args);
+        }
+        if (h != null) {
+            try {
+                h.accept(args);
+            } catch (RuntimeException e) {
+                log.debug("Forwarded file handling failed", e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            server.close();
+            Files.deleteIfExists(directory.resolve(PORT_FILE));
+            lock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            log.debug("Releasing single-instance lock failed", e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package org.openjfx.asn1;
+
+import java.io.IOException;
+
+/** Malformed or unsupported DER input. */
+public class DerException extends IOException {
+    public DerException(String message) { super(message); }
+}
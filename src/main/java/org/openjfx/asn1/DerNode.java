@@ -0,0 +1,309 @@
+package org.openjfx.asn1;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One DER element located in a buffer: tag, offset, header and content length. Nodes are cheap descriptors;
+ * nothing below a node is decoded until {@link #children} is called, and then only the requested range of
+ * direct children, so arbitrarily large structures can be browsed one level and one slice at a time.
+ */
+public final class DerNode {
+
+    /** Longest value text produced by {@link #summary()}. */
+    public static final int MAX_SUMMARY = 120;
+
+    private static final Map<String, String> OID_NAMES = Map.ofEntries(
+            Map.entry("2.5.4.3", "commonName"),
+            Map.entry("2.5.4.5", "serialNumber"),
+            Map.entry("2.5.4.6", "countryName"),
+            Map.entry("2.5.4.7", "localityName"),
+            Map.entry("2.5.4.8", "stateOrProvinceName"),
+            Map.entry("2.5.4.10", "organizationName"),
+            Map.entry("2.5.4.11", "organizationalUnitName"),
+            Map.entry("1.2.840.113549.1.9.1", "emailAddress"),
+            Map.entry("1.2.840.113549.1.1.1", "rsaEncryption"),
+            Map.entry("1.2.840.113549.1.1.11", "sha256WithRSAEncryption"),
+            Map.entry("1.2.840.113549.1.1.12", "sha384WithRSAEncryption"),
+            Map.entry("1.2.840.113549.1.1.13", "sha512WithRSAEncryption"),
+            Map.entry("1.2.840.113549.1.1.5", "sha1WithRSAEncryption"),
+            Map.entry("1.2.840.113549.1.1.10", "rsassa-pss"),
+            Map.entry("1.2.840.10045.2.1", "ecPublicKey"),
+            Map.entry("1.2.840.10045.3.1.7", "prime256v1"),
+            Map.entry("1.3.132.0.34", "secp384r1"),
+            Map.entry("1.3.132.0.35", "secp521r1"),
+            Map.entry("1.2.840.10045.4.3.2", "ecdsa-with-SHA256"),
+            Map.entry("1.2.840.10045.4.3.3", "ecdsa-with-SHA384"),
+            Map.entry("1.2.840.10045.4.3.4", "ecdsa-with-SHA512"),
+            Map.entry("1.3.101.112", "Ed25519"),
+            Map.entry("1.3.101.113", "Ed448"),
+            Map.entry("2.5.29.14", "subjectKeyIdentifier"),
+            Map.entry("2.5.29.15", "keyUsage"),
+            Map.entry("2.5.29.17", "subjectAltName"),
+            Map.entry("2.5.29.18", "issuerAltName"),
+            Map.entry("2.5.29.19", "basicConstraints"),
+            Map.entry("2.5.29.20", "cRLNumber"),
+            Map.entry("2.5.29.21", "reasonCode"),
+            Map.entry("2.5.29.29", "certificateIssuer"),
+            Map.entry("2.5.29.31", "cRLDistributionPoints"),
+            Map.entry("2.5.29.32", "certificatePolicies"),
+            Map.entry("2.5.29.35", "authorityKeyIdentifier"),
+            Map.entry("2.5.29.37", "extKeyUsage"),
+            Map.entry("1.3.6.1.5.5.7.1.1", "authorityInfoAccess"),
+            Map.entry("1.3.6.1.5.5.7.3.1", "serverAuth"),
+            Map.entry("1.3.6.1.5.5.7.3.2", "clientAuth"),
+            Map.entry("1.3.6.1.5.5.7.3.3", "codeSigning"),
+            Map.entry("1.3.6.1.5.5.7.3.4", "emailProtection"),
+            Map.entry("1.3.6.1.5.5.7.48.1", "ocsp"),
+            Map.entry("1.3.6.1.5.5.7.48.2", "caIssuers"),
+            Map.entry("1.3.6.1.4.1.11129.2.4.2", "signedCertificateTimestampList"));
+
+    private final ByteBuffer buf;
+    private final int offset;
+    private final int tag;
+    private final int headerLength;
+    private final int length;
+    private final boolean encapsulating;
+
+    private DerNode(ByteBuffer buf, int offset, int tag, int headerLength, int length) {
+        this.buf = buf;
+        this.offset = offset;
+        this.tag = tag;
+        this.headerLength = headerLength;
+        this.length = length;
+        this.encapsulating = !isConstructed() && (tag == DerReader.OCTET_STRING || tag == DerReader.BIT_STRING) && wrapsDer();
+    }
+
+    /** The element starting at {@code offset}. */
+    public static DerNode at(ByteBuffer buf, int offset) throws DerException {
+        DerReader r = new DerReader(buf);
+        r.position(offset);
+        int tag = r.peekTag();
+        int len = r.readHeader(-1);
+        return new DerNode(buf, offset, tag, r.position() - offset, len);
+    }
+
+    /** The outermost element of an encoding, e.g. a certificate. */
+    public static DerNode root(byte[] der) throws DerException {
+        return at(ByteBuffer.wrap(der), 0);
+    }
+
+    public int getOffset() { return offset; }
+    public int getTag() { return tag; }
+    public int getHeaderLength() { return headerLength; }
+    public int getLength() { return length; }
+    public int getContentOffset() { return offset + headerLength; }
+    public int getEnd() { return offset + headerLength + length; }
+
+    public boolean isConstructed() { return (tag & 0x20) != 0; }
+
+    /** True for OCTET/BIT STRINGs whose content is itself exactly one DER element (e.g. extension values). */
+    public boolean isEncapsulating() { return encapsulating; }
+
+    /** True if {@link #children} can return anything. */
+    public boolean hasChildren() { return (isConstructed() || encapsulating) && length > 0; }
+
+    /**
+     * Up to {@code max} direct children, starting with the child that begins at byte {@code from} (use
+     * {@link #firstChildOffset()} for the first one). Only the headers of the returned children are read.
+     */
+    public List<DerNode> children(int from, int max) throws DerException {
+        List<DerNode> out = new ArrayList<>(Math.min(max, 64));
+        int end = getEnd();
+        int p = from;
+        while (p < end && out.size() < max) {
+            DerNode child = at(buf, p);
+            if (child.getEnd() > end) throw new DerException("Element at offset " + p + " exceeds its parent");
+            out.add(child);
+            p = child.getEnd();
+        }
+        return out;
+    }
+
+    /** Offset of the first child: the content start, or one byte later for the unused-bits octet of a BIT STRING. */
+    public int firstChildOffset() {
+        return getContentOffset() + (tag == DerReader.BIT_STRING ? 1 : 0);
+    }
+
+    /**
+     * Offsets of every {@code step}-th direct child between byte {@code from} (a child offset) and {@code to},
+     * plus {@code to} itself, for splitting large sequences into ranges. Reads child headers only.
+     */
+    public int[] childOffsets(int from, int to, int step) throws DerException {
+        List<Integer> marks = new ArrayList<>();
+        int p = from;
+        int n = 0;
+        while (p < to) {
+            if (n % step == 0) marks.add(p);
+            p = at(buf, p).getEnd();
+            n++;
+        }
+        marks.add(to);
+        int[] out = new int[marks.size()];
+        for (int i = 0; i < out.length; i++) out[i] = marks.get(i);
+        return out;
+    }
+
+    /** Number of direct children (header reads only). */
+    public int childCount() throws DerException {
+        if (!hasChildren()) return 0;
+        int count = 0;
+        int end = getEnd();
+        int p = firstChildOffset();
+        while (p < end) {
+            p = at(buf, p).getEnd();
+            count++;
+        }
+        return count;
+    }
+
+    /** Universal tag name, or the class and number for context-specific/application/private tags. */
+    public String tagName() {
+        int cls = tag & 0xC0;
+        int number = tag & 0x1F;
+        if (cls == 0x80) return "[" + number + "]";
+        if (cls == 0x40) return "[APPLICATION " + number + "]";
+        if (cls == 0xC0) return "[PRIVATE " + number + "]";
+        switch (number) {
+            case 0x01: return "BOOLEAN";
+            case 0x02: return "INTEGER";
+            case 0x03: return "BIT STRING";
+            case 0x04: return "OCTET STRING";
+            case 0x05: return "NULL";
+            case 0x06: return "OBJECT IDENTIFIER";
+            case 0x0A: return "ENUMERATED";
+            case 0x0C: return "UTF8String";
+            case 0x10: return "SEQUENCE";
+            case 0x11: return "SET";
+            case 0x12: return "NumericString";
+            case 0x13: return "PrintableString";
+            case 0x14: return "T61String";
+            case 0x16: return "IA5String";
+            case 0x17: return "UTCTime";
+            case 0x18: return "GeneralizedTime";
+            case 0x1E: return "BMPString";
+            default: return String.format(Locale.ROOT, "[UNIVERSAL %d]", number);
+        }
+    }
+
+    /** Short rendering of a primitive value (at most {@link #MAX_SUMMARY} characters); empty for constructed nodes. */
+    public String summary() {
+        if (isConstructed()) return "";
+        try {
+            int cls = tag & 0xC0;
+            if (cls == 0x80) return printable() ? text(StandardCharsets.US_ASCII) : hex();
+            if (cls != 0) return hex();
+            switch (tag) {
+                case DerReader.BOOLEAN: return length == 1 && buf.get(getContentOffset()) != 0 ? "true" : "false";
+                case DerReader.INTEGER:
+                case 0x0A:
+                    return length <= 16 ? new BigInteger(content(length)).toString() : hex();
+                case DerReader.NULL: return "";
+                case DerReader.OBJECT_IDENTIFIER: {
+                    String oid = oid();
+                    String name = OID_NAMES.get(oid);
+                    return name != null ? oid + " (" + name + ")" : oid;
+                }
+                case DerReader.UTC_TIME:
+                case DerReader.GENERALIZED_TIME: {
+                    DerReader r = new DerReader(buf);
+                    r.position(offset);
+                    return Instant.ofEpochMilli(r.readTime()).toString();
+                }
+                case 0x0C: return text(StandardCharsets.UTF_8);
+                case 0x12: case 0x13: case 0x14: case 0x16: return text(StandardCharsets.ISO_8859_1);
+                case 0x1E: return text(StandardCharsets.UTF_16BE);
+                case DerReader.BIT_STRING:
+                    if (encapsulating) return "encapsulates";
+                    return (length > 0 ? (length - 1) * 8 - (buf.get(getContentOffset()) & 0xFF) : 0) + " bits " + hex();
+                case DerReader.OCTET_STRING:
+                    return encapsulating ? "encapsulates" : hex();
+                default: return hex();
+            }
+        } catch (DerException | RuntimeException e) {
+            return hex();
+        }
+    }
+
+    /** Dotted form of an OBJECT IDENTIFIER's content. */
+    public String oid() {
+        StringBuilder sb = new StringBuilder();
+        long value = 0;
+        boolean first = true;
+        for (int i = 0; i < length; i++) {
+            int b = buf.get(getContentOffset() + i) & 0xFF;
+            value = (value << 7) | (b & 0x7F);
+            if ((b & 0x80) == 0) {
+                if (first) {
+                    int arc = value < 40 ? 0 : value < 80 ? 1 : 2;
+                    sb.append(arc).append('.').append(value - 40L * arc);
+                    first = false;
+                } else {
+                    sb.append('.').append(value);
+                }
+                value = 0;
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        String s = summary();
+        return tagName() + " @" + offset + " len " + length + (s.isEmpty() ? "" : "  " + s);
+    }
+
+    private boolean wrapsDer() {
+        int start = firstChildOffset();
+        int end = getEnd();
+        if (start >= end) return false;
+        int t = buf.get(start) & 0xFF;
+        if (t != DerReader.SEQUENCE && t != DerReader.SET && t != DerReader.OCTET_STRING && t != DerReader.BIT_STRING
+                && t != DerReader.INTEGER && t != DerReader.BOOLEAN) return false;
+        try {
+            return at(buf, start).getEnd() == end;
+        } catch (DerException e) {
+            return false;
+        }
+    }
+
+    private boolean printable() {
+        int n = Math.min(length, MAX_SUMMARY);
+        for (int i = 0; i < n; i++) {
+            int b = buf.get(getContentOffset() + i) & 0xFF;
+            if (b < 0x20 || b > 0x7E) return false;
+        }
+        return length > 0;
+    }
+
+    private byte[] content(int n) {
+        byte[] out = new byte[n];
+        buf.get(getContentOffset(), out);
+        return out;
+    }
+
+    private String text(Charset cs) {
+        // Decode a little more than needed so the cut never lands inside a multi-byte character
+        int n = Math.min(length, MAX_SUMMARY * 4);
+        String s = new String(content(n), cs);
+        return s.length() > MAX_SUMMARY ? s.substring(0, MAX_SUMMARY - 1) + "…" : s;
+    }
+
+    private String hex() {
+        int shown = Math.min(length, (MAX_SUMMARY - 1) / 3);
+        StringBuilder sb = new StringBuilder(shown * 3 + 1);
+        for (int i = 0; i < shown; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(String.format(Locale.ROOT, "%02X", buf.get(getContentOffset() + i)));
+        }
+        if (shown < length) sb.append('…');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,160 @@
+package org.openjfx.asn1;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Forward-only cursor over a DER encoding held in a {@link ByteBuffer} (heap or memory-mapped).
+ * <p>
+ * Elements are walked in place, without building an object tree, so very large structures such as the
+ * revokedCertificates sequence of a CRL can be streamed with constant memory. Only what DER allows is
+ * accepted: single-byte tags and definite lengths.
+ */
+public final class DerReader {
+
+    public static final int BOOLEAN = 0x01;
+    public static final int INTEGER = 0x02;
+    public static final int BIT_STRING = 0x03;
+    public static final int OCTET_STRING = 0x04;
+    public static final int NULL = 0x05;
+    public static final int OBJECT_IDENTIFIER = 0x06;
+    public static final int UTC_TIME = 0x17;
+    public static final int GENERALIZED_TIME = 0x18;
+    public static final int SEQUENCE = 0x30;
+    public static final int SET = 0x31;
+
+    private final ByteBuffer buf;
+    private int pos;
+
+    public DerReader(ByteBuffer buf) {
+        this.buf = buf;
+        this.pos = buf.position();
+    }
+
+    public DerReader(byte[] data) {
+        this(ByteBuffer.wrap(data));
+    }
+
+    public int position() { return pos; }
+
+    public void position(int newPosition) { pos = newPosition; }
+
+    public int limit() { return buf.limit(); }
+
+    /** True while the cursor is before {@code end} (the value returned by {@link #enter}). */
+    public boolean hasMore(int end) { return pos < end; }
+
+    /** Byte at an absolute offset, e.g. to hash the content of an element without copying it. */
+    public int byteAt(int index) { return buf.get(index) & 0xFF; }
+
+    public int peekTag() throws DerException {
+        require(1);
+        return buf.get(pos) & 0xFF;
+    }
+
+    /**
+     * Read the tag and length of the next element (any tag when {@code expectedTag} is negative) and return the
+     * content length; the cursor is left on the first content byte.
+     */
+    public int readHeader(int expectedTag) throws DerException {
+        int start = pos;
+        int tag = peekTag();
+        if (expectedTag >= 0 && tag != expectedTag) {
+            throw new DerException(String.format("Expected tag 0x%02X but found 0x%02X at offset %d", expectedTag, tag, start));
+        }
+        if ((tag & 0x1F) == 0x1F) throw new DerException("High tag numbers are not supported (offset " + start + ")");
+        pos++;
+        require(1);
+        int first = buf.get(pos++) & 0xFF;
+        long len;
+        if (first < 0x80) {
+            len = first;
+        } else {
+            int n = first & 0x7F;
+            if (n == 0) throw new DerException("Indefinite length is not allowed in DER (offset " + start + ")");
+            if (n > 4) throw new DerException("Length field too large (offset " + start + ")");
+            require(n);
+            len = 0;
+            for (int i = 0; i < n; i++) len = (len << 8) | (buf.get(pos++) & 0xFF);
+        }
+        if (len > buf.limit() - pos) throw new DerException("Element at offset " + start + " exceeds the input");
+        return (int) len;
+    }
+
+    /** Step into a constructed element and return the offset at which its content ends. */
+    public int enter(int expectedTag) throws DerException {
+        int len = readHeader(expectedTag);
+        return pos + len;
+    }
+
+    /** Skip the next element, including its header. */
+    public void skip() throws DerException {
+        int len = readHeader(-1);
+        pos += len;
+    }
+
+    /** The complete encoding (header and content) of the next element. */
+    public byte[] readRaw() throws DerException {
+        int start = pos;
+        skip();
+        return copy(start, pos);
+    }
+
+    /** The content bytes of the next element. */
+    public byte[] readContent(int expectedTag) throws DerException {
+        int len = readHeader(expectedTag);
+        int start = pos;
+        pos += len;
+        return copy(start, pos);
+    }
+
+    /** Read a UTCTime or GeneralizedTime as epoch milliseconds. */
+    public long readTime() throws DerException {
+        int tag = peekTag();
+        if (tag != UTC_TIME && tag != GENERALIZED_TIME) {
+            throw new DerException(String.format("Expected a time but found tag 0x%02X at offset %d", tag, pos));
+        }
+        String s = new String(readContent(tag), StandardCharsets.US_ASCII);
+        try {
+            int i;
+            int year;
+            if (tag == UTC_TIME) {
+                year = Integer.parseInt(s.substring(0, 2));
+                year += year >= 50 ? 1900 : 2000;
+                i = 2;
+            } else {
+                year = Integer.parseInt(s.substring(0, 4));
+                i = 4;
+            }
+            LocalDateTime t = LocalDateTime.of(year,
+                    Integer.parseInt(s.substring(i, i + 2)),
+                    Integer.parseInt(s.substring(i + 2, i + 4)),
+                    Integer.parseInt(s.substring(i + 4, i + 6)),
+                    Integer.parseInt(s.substring(i + 6, i + 8)),
+                    Integer.parseInt(s.substring(i + 8, i + 10)));
+            long millis = t.toEpochSecond(ZoneOffset.UTC) * 1000;
+            int frac = i + 10;
+            if (frac < s.length() && s.charAt(frac) == '.') {
+                int end = frac + 1;
+                while (end < s.length() && Character.isDigit(s.charAt(end))) end++;
+                String digits = (s.substring(frac + 1, end) + "000").substring(0, 3);
+                millis += Integer.parseInt(digits);
+            }
+            return millis;
+        } catch (RuntimeException e) {
+            throw new DerException("Invalid time value: " + s);
+        }
+    }
+
+    private byte[] copy(int from, int to) {
+        byte[] out = new byte[to - from];
+        buf.get(from, out);
+        return out;
+    }
+
+    private void require(int n) throws DerException {
+        if (pos + n > buf.limit()) throw new DerException("Unexpected end of input at offset " + pos);
+    }
+}
@@ -0,0 +1,139 @@
+package org.openjfx.asn1;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Minimal DER encoder, the writing counterpart of {@link DerReader}. Each method returns the complete
+ * encoding (tag, length, content) of one element, so structures are built bottom-up by nesting calls,
+ * e.g. {@code sequence(oid("2.5.29.19"), octetString(...))}.
+ */
+public final class DerWriter {
+
+    private static final DateTimeFormatter UTC_TIME = DateTimeFormatter.ofPattern("yyMMddHHmmss'Z'", Locale.ROOT);
+    private static final DateTimeFormatter GENERALIZED_TIME = DateTimeFormatter.ofPattern("yyyyMMddHHmmss'Z'", Locale.ROOT);
+
+    private DerWriter() {}
+
+    /** An element with the given (single-byte) tag around {@code content}. */
+    public static byte[] tlv(int tag, byte[] content) {
+        int len = content.length;
+        int lenBytes = len < 0x80 ? 0 : len < 0x100 ? 1 : len < 0x10000 ? 2 : len < 0x1000000 ? 3 : 4;
+        byte[] out = new byte[2 + lenBytes + len];
+        out[0] = (byte) tag;
+        if (lenBytes == 0) {
+            out[1] = (byte) len;
+        } else {
+            out[1] = (byte) (0x80 | lenBytes);
+            for (int i = 0; i < lenBytes; i++) out[2 + i] = (byte) (len >>> (8 * (lenBytes - 1 - i)));
+        }
+        System.arraycopy(content, 0, out, 2 + lenBytes, len);
+        return out;
+    }
+
+    public static byte[] sequence(byte[]... elements) {
+        return tlv(DerReader.SEQUENCE, concat(elements));
+    }
+
+    public static byte[] set(byte[]... elements) {
+        return tlv(DerReader.SET, concat(elements));
+    }
+
+    /** Context-specific constructed tag {@code [number]} around complete elements (EXPLICIT tagging). */
+    public static byte[] explicit(int number, byte[]... elements) {
+        return tlv(0xA0 | number, concat(elements));
+    }
+
+    /** Context-specific primitive tag {@code [number]} around raw content (IMPLICIT tagging, e.g. GeneralName). */
+    public static byte[] implicit(int number, byte[] content) {
+        return tlv(0x80 | number, content);
+    }
+
+    public static byte[] integer(BigInteger value) {
+        return tlv(DerReader.INTEGER, value.toByteArray());
+    }
+
+    public static byte[] integer(long value) {
+        return integer(BigInteger.valueOf(value));
+    }
+
+    public static byte[] bool(boolean value) {
+        return tlv(DerReader.BOOLEAN, new byte[] {(byte) (value ? 0xFF : 0x00)});
+    }
+
+    public static byte[] nul() {
+        return new byte[] {DerReader.NULL, 0};
+    }
+
+    public static byte[] octetString(byte[] content) {
+        return tlv(DerReader.OCTET_STRING, content);
+    }
+
+    /** BIT STRING with no unused bits. */
+    public static byte[] bitString(byte[] bits) {
+        byte[] content = new byte[bits.length + 1];
+        System.arraycopy(bits, 0, content, 1, bits.length);
+        return tlv(DerReader.BIT_STRING, content);
+    }
+
+    /** BIT STRING holding the named bits {@code 0..n} as in KeyUsage, with trailing zero bits trimmed. */
+    public static byte[] namedBits(boolean... bits) {
+        int last = bits.length - 1;
+        while (last >= 0 && !bits[last]) last--;
+        if (last < 0) return tlv(DerReader.BIT_STRING, new byte[] {0});
+        byte[] content = new byte[1 + last / 8 + 1];
+        for (int i = 0; i <= last; i++) {
+            if (bits[i]) content[1 + i / 8] |= (byte) (0x80 >>> (i % 8));
+        }
+        content[0] = (byte) (7 - last % 8);
+        return tlv(DerReader.BIT_STRING, content);
+    }
+
+    public static byte[] utf8(String s) {
+        return tlv(0x0C, s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static byte[] oid(String dotted) {
+        String[] arcs = dotted.split("\\.");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeBase128(out, Long.parseLong(arcs[0]) * 40 + Long.parseLong(arcs[1]));
+        for (int i = 2; i < arcs.length; i++) writeBase128(out, Long.parseLong(arcs[i]));
+        return tlv(DerReader.OBJECT_IDENTIFIER, out.toByteArray());
+    }
+
+    /** UTCTime up to 2049, GeneralizedTime from 2050 on, as RFC 5280 requires for certificate validity. */
+    public static byte[] time(long epochMillis) {
+        ZonedDateTime t = Instant.ofEpochMilli(epochMillis).atZone(ZoneOffset.UTC);
+        if (t.getYear() >= 1950 && t.getYear() < 2050) {
+            return tlv(DerReader.UTC_TIME, UTC_TIME.format(t).getBytes(StandardCharsets.US_ASCII));
+        }
+        return tlv(DerReader.GENERALIZED_TIME, GENERALIZED_TIME.format(t).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static byte[] concat(byte[]... parts) {
+        int len = 0;
+        for (byte[] p : parts) len += p.length;
+        byte[] out = new byte[len];
+        int pos = 0;
+        for (byte[] p : parts) {
+            System.arraycopy(p, 0, out, pos, p.length);
+            pos += p.length;
+        }
+        return out;
+    }
+
+    private static void writeBase128(ByteArrayOutputStream out, long value) {
+        int groups = 1;
+        for (long v = value >>> 7; v != 0; v >>>= 7) groups++;
+        for (int i = groups - 1; i >= 0; i--) {
+            int b = (int) ((value >>> (7 * i)) & 0x7F);
+            out.write(i > 0 ? b | 0x80 : b);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.openjfx.cli;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Minimal argument parser for the headless commands.
+ * Supports "--name value", "--name=value", boolean flags and positional arguments.
+ */
+public final class CliArgs {
+    private final Map<String, String> options = new HashMap<>();
+    private final List<String> positionals = new ArrayList<>();
+
+    private CliArgs() {}
+
+    /**
+     * Parse arguments; names in {@code flags} never consume a following value.
+     */
+    public static CliArgs parse(List<String> args, Set<String> flags) throws UsageException {
+        CliArgs parsed = new CliArgs();
+        for (int i = 0; i < args.size(); i++) {
+            String a = args.get(i);
+            if (a.startsWith("--") && a.length() > 2) {
+                String name = a.substring(2);
+                int eq = name.indexOf('=');
+                if (eq >= 0) {
+                    parsed.options.put(name.substring(0, eq), name.substring(eq + 1));
+                } else if (flags.contains(name)) {
+                    parsed.options.put(name, "true");
+                } else if (i + 1 < args.size()) {
+                    parsed.options.put(name, args.get(++i));
+                } else {
+                    throw new UsageException("Missing value for --" + name);
+                }
+            } else {
+                parsed.positionals.add(a);
+            }
+        }
+        return parsed;
+    }
+
+    public String option(String name) { return options.get(name); }
+
+    public String option(String name, String defaultValue) { return options.getOrDefault(name, defaultValue); }
+
+    public boolean flag(String name) { return "true".equalsIgnoreCase(options.get(name)); }
+
+    public int intOption(String name, int defaultValue) throws UsageException {
+        String v = options.get(name);
+        if (v == null) return defaultValue;
+        try {
+            return Integer.parseInt(v.trim());
+        } catch (NumberFormatException e) {
+            throw new UsageException("--" + name + " expects a number: " + v);
+        }
+    }
+
+    public List<String> positionals() { return Collections.unmodifiableList(positionals); }
+
+    /**
+     * Resolve a password from "--name" or "--name-env" (environment variable). Returns null when neither is set.
+     */
+    public char[] password(String name) throws UsageException {
+        String direct = options.get(name);
+        if (direct != null) return direct.toCharArray();
+        String env = options.get(name + "-env");
+        if (env != null) {
+            String v = System.getenv(env);
+            if (v == null) throw new UsageException("Environment variable not set: " + env);
+            return v.toCharArray();
+        }
+        return null;
+    }
+
+    /** Thrown for invalid command lines; reported with the command usage. */
+    public static class UsageException extends Exception {
+        public UsageException(String message) { super(message); }
+    }
+}
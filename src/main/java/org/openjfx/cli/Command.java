@@ -0,0 +1,18 @@
+package org.openjfx.cli;
+
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * A headless sub-command of {@link KeytCli}.
+ */
+public interface Command {
+    /** Name used on the command line, e.g. "list". */
+    String name();
+
+    /** One-line usage text shown by "help". */
+    String usage();
+
+    /** Run the command; returns the process exit code. */
+    int run(List<String> args, PrintStream out, PrintStream err) throws Exception;
+}
@@ -0,0 +1,68 @@
+package org.openjfx.cli;
+
+import org.openjfx.model.CertificateInfo;
+import org.openjfx.service.CertificateService;
+import org.openjfx.service.TlsChainFetcher;
+import org.openjfx.service.TlsChainFetcher.Endpoint;
+import org.openjfx.service.TlsChainFetcher.FetchResult;
+
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Performs TLS handshakes and prints the certificate chain each server presents.
+ */
+public class FetchCommand implements Command {
+
+    private final CertificateService certificateService = new CertificateService();
+
+    @Override
+    public String name() { return "fetch"; }
+
+    @Override
+    public String usage() {
+        return "fetch [--endpoints <file>] [--connect-timeout ms] [--handshake-timeout ms] [--concurrency N] <host:port>...";
+    }
+
+    @Override
+    public int run(List<String> args, PrintStream out, PrintStream err) throws Exception {
+        CliArgs a = CliArgs.parse(args, Set.of());
+        List<String> specs = new ArrayList<>(a.positionals());
+        String file = a.option("endpoints");
+        if (file != null) {
+            for (String line : Files.readAllLines(Path.of(file), StandardCharsets.UTF_8)) {
+                String l = line.trim();
+                if (!l.isEmpty() && !l.startsWith("#")) specs.add(l);
+            }
+        }
+        if (specs.isEmpty()) throw new CliArgs.UsageException("No endpoints given");
+        List<Endpoint> endpoints = new ArrayList<>(specs.size());
+        for (String spec : specs) {
+            try {
+                endpoints.add(TlsChainFetcher.parseEndpoint(spec));
+            } catch (IllegalArgumentException e) {
+                throw new CliArgs.UsageException(e.getMessage());
+            }
+        }
+
+        TlsChainFetcher fetcher = new TlsChainFetcher(a.intOption("connect-timeout", 5000), a.intOption("handshake-timeout", 10000));
+        int failures = 0;
+        for (FetchResult r : fetcher.fetchAll(endpoints, a.intOption("concurrency", 64))) {
+            if (!r.isSuccess()) {
+                failures++;
+                err.println(r.getEndpoint() + "\terror\t" + r.getError());
+            }
+            int depth = 0;
+            for (CertificateInfo ci : certificateService.describe(r.getChain(), r.getEndpoint().toString())) {
+                out.println(String.join("\t", r.getEndpoint().toString(), String.valueOf(depth++), ci.getAlias(),
+                        ci.getValidFrom(), ci.getValidUntil(), ci.getSignatureAlgorithm(), ci.getSerialNumber()));
+            }
+        }
+        return failures == 0 ? 0 : 1;
+    }
+}
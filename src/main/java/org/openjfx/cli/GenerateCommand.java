@@ -0,0 +1,87 @@
+package org.openjfx.cli;
+
+import org.openjfx.service.StoreGenerator;
+import org.openjfx.service.StoreGenerator.Format;
+import org.openjfx.service.StoreGenerator.KeyType;
+
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Generates a synthetic keystore or PEM bundle for load testing (see {@link StoreGenerator}).
+ */
+public class GenerateCommand implements Command {
+
+    private final StoreGenerator generator = new StoreGenerator();
+
+    @Override
+    public String name() { return "generate"; }
+
+    @Override
+    public String usage() {
+        return "generate --out <file> [--format jks|pkcs12|pem] [--entries N] [--key-type rsa|ec] [--key-size N] [--chain-depth N]"
+                + " [--sans N] [--validity-days N] [--validity-spread N] [--seed N] [--key-pool N] [--private-keys] [--threads N]"
+                + " [--password <pw> | --password-env <VAR>]";
+    }
+
+    @Override
+    public int run(List<String> args, PrintStream out, PrintStream err) throws Exception {
+        CliArgs a = CliArgs.parse(args, Set.of("private-keys"));
+        if (!a.positionals().isEmpty()) throw new CliArgs.UsageException("Unexpected argument: " + a.positionals().get(0));
+        String target = a.option("out");
+        if (target == null) throw new CliArgs.UsageException("--out is required");
+        Format format;
+        String f = a.option("format");
+        if (f != null) {
+            try {
+                format = Format.valueOf(f.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new CliArgs.UsageException("--format expects jks, pkcs12 or pem: " + f);
+            }
+        } else {
+            format = Format.forFileName(target);
+        }
+        KeyType keyType;
+        try {
+            keyType = KeyType.valueOf(a.option("key-type", "ec").toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new CliArgs.UsageException("--key-type expects rsa or ec: " + a.option("key-type"));
+        }
+        long seed;
+        try {
+            seed = Long.parseLong(a.option("seed", "1"));
+        } catch (NumberFormatException e) {
+            throw new CliArgs.UsageException("--seed expects a number: " + a.option("seed"));
+        }
+        StoreGenerator.Spec spec = new StoreGenerator.Spec()
+                .entries(a.intOption("entries", 1000))
+                .keyType(keyType)
+                .keySize(a.intOption("key-size", 0))
+                .chainDepth(a.intOption("chain-depth", 1))
+                .sanCount(a.intOption("sans", 1))
+                .validityDays(a.intOption("validity-days", 365))
+                .validitySpreadDays(a.intOption("validity-spread", 0))
+                .seed(seed)
+                .keyPool(a.intOption("key-pool", 0))
+                .privateKeys(a.flag("private-keys"));
+        if (spec.getChainDepth() < 1) throw new CliArgs.UsageException("--chain-depth must be at least 1");
+
+        char[] password = a.password("password");
+        if (password == null && format != Format.PEM) password = "changeit".toCharArray();
+        try {
+            long start = System.nanoTime();
+            StoreGenerator.Generated generated = generator.generate(spec, a.intOption("threads", 0));
+            long size = generator.write(generated, Path.of(target), format, password);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            err.println(generated.size() + " entries (" + generated.getCas().size() + " CAs) written to " + target
+                    + " (" + size + " bytes, " + millis + " ms)");
+            return 0;
+        } finally {
+            if (password != null) Arrays.fill(password, '\0');
+        }
+    }
+}
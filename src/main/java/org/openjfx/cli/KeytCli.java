@@ -0,0 +1,80 @@
+package org.openjfx.cli;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Headless entry point for the service layer (no JavaFX classes are referenced from here),
+ * suitable for scripts, cron jobs and the native-image build.
+ */
+public final class KeytCli {
+
+    private static final Logger log = LoggerFactory.getLogger(KeytCli.class);
+
+    private final Map<String, Command> commands = new LinkedHashMap<>();
+    private final PrintStream out;
+    private final PrintStream err;
+
+    public KeytCli(PrintStream out, PrintStream err) {
+        this.out = out;
+        this.err = err;
+        register(new ListCommand());
+        register(new MergeCommand());
+        register(new FetchCommand());
+        register(new ReportCommand());
+        register(new ScanCommand());
+        register(new GenerateCommand());
+        register(new MonitorCommand());
+        register(new RotateCommand());
+        register(new MatchCommand());
+    }
+
+    private void register(Command c) {
+        commands.put(c.name(), c);
+    }
+
+    public static void main(String[] args) {
+        System.exit(new KeytCli(System.out, System.err).run(args));
+    }
+
+    /** Run a command line and return the exit code (0 success, 1 failure, 2 usage error). */
+    public int run(String... args) {
+        if (args.length == 0 || "help".equals(args[0]) || "--help".equals(args[0])) {
+            printUsage(args.length == 0 ? err : out);
+            return args.length == 0 ? 2 : 0;
+        }
+        Command c = commands.get(args[0]);
+        if (c == null) {
+            err.println("Unknown command: " + args[0]);
+            printUsage(err);
+            return 2;
+        }
+        List<String> rest = Arrays.asList(args).subList(1, args.length);
+        try {
+            return c.run(rest, out, err);
+        } catch (CliArgs.UsageException e) {
+            err.println(e.getMessage());
+            err.println("usage: keyt " + c.usage());
+            return 2;
+        } catch (Exception e) {
+            log.debug("Command {} failed", c.name(), e);
+            Throwable root = e;
+            while (root.getCause() != null) root = root.getCause();
+            err.println(e.getMessage() + (root != e && root.getMessage() != null ? " (" + root.getMessage() + ")" : ""));
+            return 1;
+        }
+    }
+
+    private void printUsage(PrintStream ps) {
+        ps.println("usage: keyt <command> [options]");
+        for (Command c : commands.values()) {
+            ps.println("  " + c.usage());
+        }
+    }
+}
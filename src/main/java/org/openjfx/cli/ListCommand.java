@@ -0,0 +1,127 @@
+package org.openjfx.cli;
+
+import org.openjfx.model.CertificateInfo;
+import org.openjfx.service.ArchiveScanner;
+import org.openjfx.service.CertificateQuery;
+import org.openjfx.service.CertificateService;
+import org.openjfx.service.KeystoreService;
+import org.openjfx.service.LoadedEntry;
+import org.openjfx.service.RevocationService;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Lists the entries of keystores or certificate files, one tab-separated line per entry.
+ * With {@code --crl} a revocation status column is appended. Archives (JAR, WAR, ZIP, tar.gz) are scanned for
+ * the keystores and certificate files they contain, concurrently and after the loose files; their aliases
+ * are prefixed with the entry location. {@code --where} keeps only the entries matching a {@link CertificateQuery}.
+ */
+public class ListCommand implements Command {
+
+    private final KeystoreService keystoreService = new KeystoreService();
+    private final CertificateService certificateService = new CertificateService();
+    private final ArchiveScanner archiveScanner = new ArchiveScanner(keystoreService, certificateService);
+
+    @Override
+    public String name() { return "list"; }
+
+    @Override
+    public String usage() { return "list [--password <pw> | --password-env <VAR>] [--crl <file>[,<file>...]] [--where <query>] [--threads N] <file-or-archive>..."; }
+
+    @Override
+    public int run(List<String> args, PrintStream out, PrintStream err) throws Exception {
+        CliArgs a = CliArgs.parse(args, Set.of());
+        if (a.positionals().isEmpty()) throw new CliArgs.UsageException("No input files given");
+        RevocationService revocation = null;
+        String crls = a.option("crl");
+        if (crls != null) {
+            revocation = new RevocationService();
+            for (String crl : crls.split(",")) {
+                if (!crl.isBlank()) revocation.loadCrl(new File(crl.trim()));
+            }
+        }
+        CertificateQuery where = query(a.option("where"));
+        int threads = a.intOption("threads", 0);
+        char[] password = a.password("password");
+        try {
+            List<Path> archives = new ArrayList<>();
+            for (String path : a.positionals()) {
+                File file = new File(path);
+                if (!file.isFile()) {
+                    err.println("File not found: " + path);
+                    return 1;
+                }
+                if (archiveScanner.isArchive(file)) {
+                    archives.add(file.toPath());
+                    continue;
+                }
+                // Rows are printed as entries are decoded rather than after the whole file
+                try (Stream<LoadedEntry> entries = read(file, password)) {
+                    Iterator<LoadedEntry> it = entries.iterator();
+                    while (it.hasNext()) {
+                        LoadedEntry entry = it.next();
+                        print(out, entry.getInfo(), entry.getCertificate(), revocation, where);
+                    }
+                }
+            }
+            AtomicBoolean failed = new AtomicBoolean();
+            RevocationService marks = revocation;
+            archiveScanner.scanAll(archives, password, threads, new ArchiveScanner.ArchiveVisitor() {
+                @Override
+                public void entry(String location, CertificateInfo info, Certificate cert) {
+                    synchronized (out) {
+                        print(out, info.withAlias(location + "#" + info.getAlias()), cert, marks, where);
+                    }
+                }
+
+                @Override
+                public void failed(String location, Exception e) {
+                    failed.set(true);
+                    synchronized (err) {
+                        err.println("Cannot read " + location + ": " + e.getMessage());
+                    }
+                }
+            });
+            return failed.get() ? 1 : 0;
+        } finally {
+            if (password != null) Arrays.fill(password, '\0');
+        }
+    }
+
+    /** Compile {@code --where}, reporting syntax errors as usage errors; null when the option is absent. */
+    static CertificateQuery query(String where) throws CliArgs.UsageException {
+        if (where == null) return null;
+        try {
+            return CertificateQuery.compile(where);
+        } catch (IllegalArgumentException e) {
+            throw new CliArgs.UsageException("--where: " + e.getMessage());
+        }
+    }
+
+    private static void print(PrintStream out, CertificateInfo ci, Certificate cert, RevocationService revocation, CertificateQuery where) {
+        if (revocation != null) ci = revocation.mark(ci);
+        if (where != null && !where.test(ci, cert)) return;
+        String line = String.join("\t", ci.getAlias(), ci.getEntryType(), ci.getValidFrom(),
+                ci.getValidUntil(), ci.getSignatureAlgorithm(), ci.getSerialNumber());
+        out.println(revocation == null ? line : line + "\t" + (ci.getRevocationStatus().isEmpty() ? "-" : ci.getRevocationStatus()));
+    }
+
+    private Stream<LoadedEntry> read(File file, char[] password) throws Exception {
+        if (keystoreService.isKeystoreFile(file)) {
+            KeyStore ks = keystoreService.load(file, password);
+            return keystoreService.streamEntries(ks);
+        }
+        return certificateService.streamCertificates(file);
+    }
+}
@@ -0,0 +1,85 @@
+package org.openjfx.cli;
+
+import org.openjfx.service.ExportService;
+import org.openjfx.service.KeyMatchIndex;
+import org.openjfx.service.KeyMatchIndex.IndexedCertificate;
+import org.openjfx.service.KeyMatchIndex.IndexedKey;
+import org.openjfx.service.KeyMatchIndex.Match;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Pairs loose private keys with their certificates and keystore entries by public key. One line is printed per
+ * key (its source, the sources of its certificates and the subject); with {@code --out} the matched pairs are
+ * written to a new keystore, one key entry per key.
+ */
+public class MatchCommand implements Command {
+
+    private final ExportService exportService = new ExportService();
+
+    @Override
+    public String name() { return "match"; }
+
+    @Override
+    public String usage() {
+        return "match [--password <pw> | --password-env <VAR>] [--out <keystore> [--type JKS|PKCS12] "
+                + "[--out-password <pw> | --out-password-env <VAR>]] [--threads N] <file-or-dir>...";
+    }
+
+    @Override
+    public int run(List<String> args, PrintStream out, PrintStream err) throws Exception {
+        CliArgs a = CliArgs.parse(args, Set.of());
+        if (a.positionals().isEmpty()) throw new CliArgs.UsageException("No files or directories given");
+        List<Path> roots = new ArrayList<>();
+        for (String path : a.positionals()) {
+            Path p = Path.of(path);
+            if (!Files.exists(p)) {
+                err.println("File not found: " + path);
+                return 1;
+            }
+            roots.add(p);
+        }
+        String output = a.option("out");
+        String type = null;
+        if (output != null) {
+            String lower = output.toLowerCase(Locale.ROOT);
+            type = a.option("type", lower.endsWith(".jks") ? "JKS" : "PKCS12").toUpperCase(Locale.ROOT);
+        }
+        int threads = a.intOption("threads", 0);
+        char[] password = a.password("password");
+        char[] outPassword = a.password("out-password");
+        KeyMatchIndex index = new KeyMatchIndex();
+        try {
+            index.scan(roots, password, threads);
+            List<Match> matches = index.matches();
+            for (Match m : matches) {
+                String certs = m.getCertificates().stream().map(IndexedCertificate::getSource).collect(Collectors.joining(","));
+                out.println(m.getKey().getSource() + "\t" + certs + "\t" + m.getCertificate().getSubjectX500Principal().getName());
+            }
+            for (IndexedKey k : index.unmatchedKeys()) out.println(k.getSource() + (k.getPublicKey() == null ? "\t(public key not in file)\t" : "\t(no certificate)\t"));
+            for (Map.Entry<File, String> f : index.failures().entrySet()) err.println("failed " + f.getKey() + ": " + f.getValue());
+            err.println(index.keyCount() + " keys, " + matches.size() + " matched, " + index.certificateCount() + " certificates indexed");
+            if (output != null) {
+                if (outPassword == null) outPassword = password != null ? password.clone() : new char[0];
+                KeyStore ks = index.buildKeyStore(matches, type, outPassword);
+                exportService.exportKeystore(ks, Path.of(output), outPassword);
+                out.println("Wrote " + ks.size() + " key entries to " + output);
+            }
+            return index.failures().isEmpty() ? 0 : 1;
+        } finally {
+            if (password != null) Arrays.fill(password, '\0');
+            if (outPassword != null) Arrays.fill(outPassword, '\0');
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.openjfx.cli;
+
+import org.openjfx.service.KeystoreMergeService;
+import org.openjfx.service.KeystoreMergeService.ConflictPolicy;
+import org.openjfx.service.KeystoreMergeService.MergeResult;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Merges keystores into one, deduplicating by certificate fingerprint.
+ */
+public class MergeCommand implements Command {
+
+    private final KeystoreMergeService mergeService = new KeystoreMergeService();
+
+    @Override
+    public String name() { return "merge"; }
+
+    @Override
+    public String usage() {
+        return "merge --out <file> [--type JKS|PKCS12] [--password <pw>] [--out-password <pw>] "
+                + "[--on-conflict skip|rename|overwrite|fail] [--threads N] <keystore>...";
+    }
+
+    @Override
+    public int run(List<String> args, PrintStream out, PrintStream err) throws Exception {
+        CliArgs a = CliArgs.parse(args, Set.of());
+        String output = a.option("out");
+        if (output == null) throw new CliArgs.UsageException("--out is required");
+        if (a.positionals().isEmpty()) throw new CliArgs.UsageException("No input keystores given");
+        String lower = output.toLowerCase(Locale.ROOT);
+        String type = a.option("type", lower.endsWith(".p12") || lower.endsWith(".pfx") ? "PKCS12" : "JKS").toUpperCase(Locale.ROOT);
+        ConflictPolicy policy;
+        try {
+            policy = ConflictPolicy.valueOf(a.option("on-conflict", "rename").toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new CliArgs.UsageException("Unknown conflict policy: " + a.option("on-conflict"));
+        }
+        int threads = a.intOption("threads", 0);
+
+        List<File> sources = new ArrayList<>();
+        for (String p : a.positionals()) sources.add(new File(p));
+        char[] password = a.password("password");
+        char[] outPassword = a.password("out-password");
+        if (outPassword == null) outPassword = password != null ? password.clone() : new char[0];
+        try {
+            MergeResult result = mergeService.merge(sources, password, type, outPassword, policy, threads);
+            mergeService.write(result, Path.of(output), outPassword);
+            out.printf(Locale.ROOT, "Merged %d of %d keystores into %s: %d entries added, %d duplicates dropped%n",
+                    result.getSourcesMerged(), sources.size(), output, result.getAdded(), result.getDuplicates());
+            for (Map.Entry<String, String> r : result.getRenamed().entrySet()) out.println("renamed " + r.getKey() + " -> " + r.getValue());
+            for (String o : result.getOverwritten()) out.println("overwritten " + o);
+            for (Map.Entry<String, String> u : result.getUpgraded().entrySet()) out.println("key added to " + u.getKey() + " from " + u.getValue());
+            for (String s : result.getSkipped()) out.println("skipped " + s);
+            for (Map.Entry<File, String> f : result.getFailures().entrySet()) err.println("failed " + f.getKey() + ": " + f.getValue());
+            return result.getFailures().isEmpty() ? 0 : 1;
+        } finally {
+            if (password != null) Arrays.fill(password, '\0');
+            Arrays.fill(outPassword, '\0');
+        }
+    }
+}
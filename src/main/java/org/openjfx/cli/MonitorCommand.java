@@ -0,0 +1,105 @@
+package org.openjfx.cli;
+
+import org.openjfx.diagnostics.InventoryMetrics;
+import org.openjfx.diagnostics.MetricsServer;
+import org.openjfx.diagnostics.PerformanceLog;
+import org.openjfx.service.CertificateService;
+import org.openjfx.service.ExpiryMonitor;
+import org.openjfx.service.KeystoreService;
+
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps watching keystores and certificate files and prints a line whenever a certificate crosses an
+ * expiry threshold (see {@link ExpiryMonitor}). Runs until the process is stopped. With {@code --metrics} the
+ * monitored inventory is also served to Prometheus (see {@link MetricsServer}).
+ */
+public class MonitorCommand implements Command {
+
+    @Override
+    public String name() { return "monitor"; }
+
+    @Override
+    public String usage() {
+        return "monitor [--thresholds 30,14,7] [--tick-seconds N] [--metrics [host:]port] [--password <pw> | --password-env <VAR>] <file-or-dir>...";
+    }
+
+    @Override
+    public int run(List<String> args, PrintStream out, PrintStream err) throws Exception {
+        CliArgs a = CliArgs.parse(args, Set.of());
+        if (a.positionals().isEmpty()) throw new CliArgs.UsageException("No files or directories given");
+        List<Path> roots = new ArrayList<>();
+        for (String path : a.positionals()) {
+            Path p = Path.of(path);
+            if (!Files.exists(p)) {
+                err.println("File not found: " + path);
+                return 1;
+            }
+            roots.add(p);
+        }
+        List<Duration> thresholds = new ArrayList<>();
+        String spec = a.option("thresholds");
+        if (spec == null) {
+            thresholds.addAll(ExpiryMonitor.DEFAULT_THRESHOLDS);
+        } else {
+            for (String days : spec.split(",")) {
+                try {
+                    thresholds.add(Duration.ofDays(Long.parseLong(days.trim())));
+                } catch (NumberFormatException e) {
+                    throw new CliArgs.UsageException("--thresholds expects days, e.g. 30,14,7: " + spec);
+                }
+            }
+        }
+        int tickSeconds = a.intOption("tick-seconds", 60);
+        if (tickSeconds < 1) throw new CliArgs.UsageException("--tick-seconds must be at least 1");
+
+        InetSocketAddress metricsAddress = null;
+        String metricsSpec = a.option("metrics");
+        if (metricsSpec != null) {
+            try {
+                metricsAddress = MetricsServer.parseAddress(metricsSpec);
+            } catch (IllegalArgumentException e) {
+                throw new CliArgs.UsageException("--metrics " + e.getMessage());
+            }
+        }
+
+        char[] password = a.password("password");
+        ExpiryMonitor.Listener listener = new ExpiryMonitor.Listener() {
+            @Override
+            public void alert(ExpiryMonitor.Alert alert) {
+                out.println(alert);
+                out.flush();
+            }
+
+            @Override
+            public void failed(Path file, Exception e) {
+                err.println("Cannot read " + file + ": " + e.getMessage());
+            }
+        };
+        try (ExpiryMonitor monitor = new ExpiryMonitor(new KeystoreService(), new CertificateService(), thresholds,
+                tickSeconds * 1000L, System::currentTimeMillis, password, listener)) {
+            InventoryMetrics metrics = new InventoryMetrics();
+            monitor.setMetrics(metrics);
+            MetricsServer server = metricsAddress == null ? null : MetricsServer.start(metricsAddress, metrics, PerformanceLog.global());
+            try {
+                if (server != null) err.println("Serving metrics on port " + server.getPort() + " at /metrics");
+                for (Path root : roots) monitor.add(root);
+                err.println("Monitoring " + monitor.size() + " certificates");
+                monitor.run();
+                return 0;
+            } finally {
+                if (server != null) server.close();
+            }
+        } finally {
+            if (password != null) Arrays.fill(password, '\0');
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.openjfx.cli;
+
+import org.openjfx.model.CertificateInfo;
+import org.openjfx.service.ArchiveScanner;
+import org.openjfx.service.CertificateQuery;
+import org.openjfx.service.CertificateService;
+import org.openjfx.service.KeystoreService;
+import org.openjfx.service.ReportService;
+import org.openjfx.service.ReportWriter;
+import org.openjfx.service.RevocationService;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Streams an inventory report (CSV or JSON Lines) of keystores and certificate files to a file or stdout.
+ * Keystores and certificate files inside archives are reported with their entry location as source; archives
+ * are scanned concurrently after the loose files. {@code --where} keeps only the entries matching a
+ * {@link CertificateQuery}.
+ */
+public class ReportCommand implements Command {
+
+    private final KeystoreService keystoreService = new KeystoreService();
+    private final CertificateService certificateService = new CertificateService();
+    private final ReportService reportService = new ReportService(certificateService);
+    private final ArchiveScanner archiveScanner = new ArchiveScanner(keystoreService, certificateService);
+
+    @Override
+    public String name() { return "report"; }
+
+    @Override
+    public String usage() {
+        return "report [--format csv|jsonl] [--out <file>] [--password <pw> | --password-env <VAR>] [--crl <file>[,<file>...]] [--where <query>] [--threads N] <file-or-archive>...";
+    }
+
+    @Override
+    public int run(List<String> args, PrintStream out, PrintStream err) throws Exception {
+        CliArgs a = CliArgs.parse(args, Set.of());
+        if (a.positionals().isEmpty()) throw new CliArgs.UsageException("No input files given");
+        for (String path : a.positionals()) {
+            if (!new File(path).isFile()) {
+                err.println("File not found: " + path);
+                return 1;
+            }
+        }
+        String target = a.option("out");
+        ReportWriter.Format format;
+        String f = a.option("format");
+        if (f != null) {
+            try {
+                format = ReportWriter.Format.valueOf(f.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new CliArgs.UsageException("--format expects csv or jsonl: " + f);
+            }
+        } else {
+            format = target != null ? ReportWriter.Format.forFileName(target) : ReportWriter.Format.CSV;
+        }
+        RevocationService revocation = new RevocationService();
+        String crls = a.option("crl");
+        if (crls != null) {
+            for (String crl : crls.split(",")) {
+                if (!crl.isBlank()) revocation.loadCrl(new File(crl.trim()));
+            }
+        }
+
+        CertificateQuery where = ListCommand.query(a.option("where"));
+        int threads = a.intOption("threads", 0);
+        char[] password = a.password("password");
+        AtomicBoolean failed = new AtomicBoolean();
+        try {
+            ReportService.ReportSource source = report -> {
+                List<Path> archives = new ArrayList<>();
+                for (String path : a.positionals()) {
+                    File file = new File(path);
+                    if (archiveScanner.isArchive(file)) {
+                        archives.add(file.toPath());
+                    } else if (keystoreService.isKeystoreFile(file)) {
+                        KeyStore ks = keystoreService.load(file, password);
+                        keystoreService.forEachEntry(ks, (info, cert) -> write(report, where, path, revocation.mark(info), cert));
+                    } else {
+                        certificateService.forEachCertificate(file, (info, cert) -> write(report, where, path, revocation.mark(info), cert));
+                    }
+                }
+                archiveScanner.scanAll(archives, password, threads, new ArchiveScanner.ArchiveVisitor() {
+                    @Override
+                    public void entry(String location, CertificateInfo info, Certificate cert) throws Exception {
+                        synchronized (report) {
+                            write(report, where, location, revocation.mark(info), cert);
+                        }
+                    }
+
+                    @Override
+                    public void failed(String location, Exception e) {
+                        failed.set(true);
+                        synchronized (err) {
+                            err.println("Cannot read " + location + ": " + e.getMessage());
+                        }
+                    }
+                });
+            };
+            if (target != null) {
+                long rows = reportService.writeReport(Path.of(target), format, source);
+                err.println(rows + " rows written to " + target);
+            } else {
+                BufferedWriter w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+                ReportWriter report = reportService.newWriter(w, format);
+                source.writeTo(report);
+                report.flush();
+            }
+            return failed.get() ? 1 : 0;
+        } finally {
+            if (password != null) Arrays.fill(password, '\0');
+        }
+    }
+
+    private static void write(ReportWriter report, CertificateQuery where, String source, CertificateInfo info, Certificate cert) throws IOException {
+        if (where == null || where.test(info, cert)) report.write(source, info, cert);
+    }
+}
@@ -0,0 +1,65 @@
+package org.openjfx.cli;
+
+import org.openjfx.service.PasswordRotationService;
+import org.openjfx.service.PasswordRotationService.Outcome;
+import org.openjfx.service.PasswordRotationService.Passwords;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Changes the store and key passwords of many keystores, rewriting each one atomically. Files are rotated
+ * concurrently; one line is printed per file and the exit code is 1 when any file could not be rotated.
+ */
+public class RotateCommand implements Command {
+
+    private final PasswordRotationService rotationService = new PasswordRotationService();
+
+    @Override
+    public String name() { return "rotate"; }
+
+    @Override
+    public String usage() {
+        return "rotate [--password <pw> | --password-env <VAR>] [--key-password <pw>] --new-password <pw> | --new-password-env <VAR> "
+                + "[--new-key-password <pw>] [--backup] [--threads N] <keystore>...";
+    }
+
+    @Override
+    public int run(List<String> args, PrintStream out, PrintStream err) throws Exception {
+        CliArgs a = CliArgs.parse(args, Set.of("backup"));
+        if (a.positionals().isEmpty()) throw new CliArgs.UsageException("No input keystores given");
+        int threads = a.intOption("threads", 0);
+        List<File> files = new ArrayList<>();
+        for (String p : a.positionals()) {
+            File file = new File(p);
+            if (!file.isFile()) {
+                err.println("File not found: " + p);
+                return 1;
+            }
+            files.add(file);
+        }
+        char[] newPassword = a.password("new-password");
+        if (newPassword == null) throw new CliArgs.UsageException("--new-password or --new-password-env is required");
+        Passwords passwords = new Passwords(a.password("password"), a.password("key-password"), newPassword, a.password("new-key-password"));
+        List<Outcome> outcomes;
+        try {
+            outcomes = rotationService.rotate(files, passwords, a.flag("backup"), threads);
+        } finally {
+            passwords.wipe();
+        }
+        int failed = 0;
+        for (Outcome o : outcomes) {
+            if (o.isSuccess()) {
+                out.println("rotated " + o.getFile() + ": " + o.getKeysRotated() + " key entr" + (o.getKeysRotated() == 1 ? "y" : "ies"));
+            } else {
+                failed++;
+                err.println("failed " + o.getFile() + ": " + o.getError());
+            }
+        }
+        if (failed > 0) err.println(failed + " of " + outcomes.size() + " keystores were left unchanged");
+        return failed == 0 ? 0 : 1;
+    }
+}
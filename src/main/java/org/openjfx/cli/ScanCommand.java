@@ -0,0 +1,68 @@
+package org.openjfx.cli;
+
+import org.openjfx.service.CertificateService;
+import org.openjfx.service.InventoryService;
+import org.openjfx.service.InventoryService.ScanResult;
+import org.openjfx.service.InventorySnapshot.FileRecord;
+import org.openjfx.service.KeystoreService;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rescans files and directories against the persistent inventory snapshot: only files whose size, mtime or
+ * content changed since the last scan are parsed again.
+ */
+public class ScanCommand implements Command {
+
+    @Override
+    public String name() { return "scan"; }
+
+    @Override
+    public String usage() {
+        return "scan [--snapshot <file>] [--password <pw> | --password-env <VAR>] [--threads N] <file-or-dir>...";
+    }
+
+    @Override
+    public int run(List<String> args, PrintStream out, PrintStream err) throws Exception {
+        CliArgs a = CliArgs.parse(args, Set.of());
+        if (a.positionals().isEmpty()) throw new CliArgs.UsageException("No files or directories given");
+        List<Path> roots = new ArrayList<>();
+        for (String path : a.positionals()) {
+            Path p = Path.of(path);
+            if (!Files.exists(p)) {
+                err.println("File not found: " + path);
+                return 1;
+            }
+            roots.add(p);
+        }
+        String snapshot = a.option("snapshot");
+        InventoryService inventory = new InventoryService(
+                snapshot != null ? Path.of(snapshot) : InventoryService.defaultSnapshotFile(),
+                new KeystoreService(), new CertificateService());
+        int threads = a.intOption("threads", 0);
+        char[] password = a.password("password");
+        try {
+            ScanResult result = inventory.rescan(roots, password, threads);
+            for (Map.Entry<File, FileRecord> e : result.getFiles().entrySet()) {
+                out.println(e.getKey().getPath() + "\t" + e.getValue().getEntryCount());
+            }
+            for (Map.Entry<File, String> e : result.getFailures().entrySet()) {
+                out.println(e.getKey().getPath() + "\tfailed: " + e.getValue());
+            }
+            err.println(result.getFiles().size() + " files (" + result.getReused() + " from snapshot, "
+                    + result.getParsed() + " parsed, " + result.getFailures().size() + " failed, "
+                    + result.getRemoved() + " removed)");
+            return result.getFailures().isEmpty() ? 0 : 1;
+        } finally {
+            if (password != null) Arrays.fill(password, '\0');
+        }
+    }
+}
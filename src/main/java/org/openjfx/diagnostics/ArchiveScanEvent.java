@@ -0,0 +1,11 @@
+package org.openjfx.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.openjfx.ArchiveScan")
+@Label("Archive Scan")
+@Description("Streaming the keystores and certificates out of a JAR, WAR, ZIP or tar archive")
+public class ArchiveScanEvent extends KeytEvent {
+}
@@ -0,0 +1,11 @@
+package org.openjfx.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.openjfx.CertificateParse")
+@Label("Certificate Parse")
+@Description("Parsing X.509 certificates (PEM/DER/PKCS7) from a file")
+public class CertificateParseEvent extends KeytEvent {
+}
@@ -0,0 +1,11 @@
+package org.openjfx.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.openjfx.Convert")
+@Label("Convert to PKCS12")
+@Description("Copying keystore entries into a new PKCS12 keystore")
+public class ConvertEvent extends KeytEvent {
+}
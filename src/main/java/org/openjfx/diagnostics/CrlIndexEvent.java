@@ -0,0 +1,11 @@
+package org.openjfx.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.openjfx.CrlIndex")
+@Label("CRL Index")
+@Description("Building or opening the hashed serial-number index of a CRL")
+public class CrlIndexEvent extends KeytEvent {
+}
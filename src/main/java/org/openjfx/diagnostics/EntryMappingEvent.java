@@ -0,0 +1,11 @@
+package org.openjfx.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.openjfx.EntryMapping")
+@Label("Entry Mapping")
+@Description("Mapping keystore entries or certificates to CertificateInfo rows")
+public class EntryMappingEvent extends KeytEvent {
+}
@@ -0,0 +1,11 @@
+package org.openjfx.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.openjfx.Export")
+@Label("Export")
+@Description("Writing a certificate or keystore to disk")
+public class ExportEvent extends KeytEvent {
+}
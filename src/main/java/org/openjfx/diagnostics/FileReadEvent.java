@@ -0,0 +1,11 @@
+package org.openjfx.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.openjfx.FileRead")
+@Label("File Read")
+@Description("Reading keystore or certificate file bytes from disk")
+public class FileReadEvent extends KeytEvent {
+}
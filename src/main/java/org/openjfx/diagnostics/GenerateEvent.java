@@ -0,0 +1,11 @@
+package org.openjfx.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.openjfx.Generate")
+@Label("Generate")
+@Description("Generating synthetic keys and certificates for load testing")
+public class GenerateEvent extends KeytEvent {
+}
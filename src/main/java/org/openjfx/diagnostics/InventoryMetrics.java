@@ -0,0 +1,197 @@
+package org.openjfx.diagnostics;
+
+import org.openjfx.model.CertificateInfo;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prometheus gauges over the monitored certificates (by days to expiry, signature algorithm and entry type)
+ * and latency histograms of the timed {@link Operation} phases. Counters are updated as certificates are
+ * added and removed, so {@link #scrape} only walks the distinct algorithms, entry types and expiry days,
+ * never the certificates themselves. Thread-safe.
+ */
+public final class InventoryMetrics {
+
+    /** Upper bounds (days to expiry, inclusive) of the expiry buckets after "expired"; the rest is "later". */
+    private static final int[] EXPIRY_BUCKETS = {7, 30, 90, 365};
+    private static final double[] LATENCY_BUCKETS = {0.001, 0.005, 0.01, 0.05, 0.1, 0.5, 1, 5, 10};
+    private static final long NO_EXPIRY = Long.MIN_VALUE;
+    private static final DateTimeFormatter ROW_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm z");
+
+    private final ConcurrentNavigableMap<Long, Long> byExpiryDay = new ConcurrentSkipListMap<>();
+    private final Map<String, Long> bySignatureAlgorithm = new ConcurrentHashMap<>();
+    private final Map<String, Long> byEntryType = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> latencies = new ConcurrentHashMap<>();
+    private final LongAdder total = new LongAdder();
+
+    /** What one certificate contributes to the gauges; pass the same instance to {@link #add} and {@link #remove}. */
+    public static final class Sample {
+        private final String signatureAlgorithm;
+        private final String entryType;
+        private final long expiryDay;
+
+        private Sample(String signatureAlgorithm, String entryType, long expiryDay) {
+            this.signatureAlgorithm = signatureAlgorithm;
+            this.entryType = entryType;
+            this.expiryDay = expiryDay;
+        }
+    }
+
+    /** The contribution of a certificate expiring at {@code notAfterMillis}; counted once passed to {@link #add}. */
+    public static Sample sample(CertificateInfo info, long notAfterMillis) {
+        return new Sample(info.getSignatureAlgorithm(), info.getEntryType(), Math.floorDiv(notAfterMillis, 86_400_000L));
+    }
+
+    /**
+     * The contribution of a table row, for entries whose certificate is not at hand. The "Valid Until" column
+     * ("yyyy-MM-dd HH:mm z", local zone) is converted to the same UTC instant {@link #sample(CertificateInfo, long)}
+     * counts from, so both place a certificate on the same expiry day; entries without a date only count towards
+     * algorithm and type.
+     */
+    public static Sample sample(CertificateInfo info) {
+        String until = info.getValidUntil();
+        if (until != null && until.length() >= 10) {
+            try {
+                return sample(info, ZonedDateTime.parse(until, ROW_DATE).toInstant().toEpochMilli());
+            } catch (DateTimeParseException e) {
+                // no time or zone: take the date as UTC
+            }
+            try {
+                return sample(info, LocalDate.parse(until.substring(0, 10)).toEpochDay() * 86_400_000L);
+            } catch (DateTimeParseException e) {
+                // not a date
+            }
+        }
+        return new Sample(info.getSignatureAlgorithm(), info.getEntryType(), NO_EXPIRY);
+    }
+
+    public void add(Sample s) {
+        adjust(s, 1);
+    }
+
+    public void remove(Sample s) {
+        if (s != null) adjust(s, -1);
+    }
+
+    /** Certificates currently counted. */
+    public long size() { return total.sum(); }
+
+    private void adjust(Sample s, long delta) {
+        total.add(delta);
+        if (s.expiryDay != NO_EXPIRY) byExpiryDay.merge(s.expiryDay, delta, InventoryMetrics::sumOrRemove);
+        bySignatureAlgorithm.merge(label(s.signatureAlgorithm), delta, InventoryMetrics::sumOrRemove);
+        byEntryType.merge(label(s.entryType), delta, InventoryMetrics::sumOrRemove);
+    }
+
+    private static Long sumOrRemove(Long a, Long b) {
+        long sum = a + b;
+        return sum == 0 ? null : sum;
+    }
+
+    private static String label(String v) {
+        return v == null || v.isEmpty() ? "unknown" : v;
+    }
+
+    /** Add a finished operation to the latency histogram of its phase (register with {@link PerformanceLog#addListener}). */
+    public void observe(OperationRecord r) {
+        latencies.computeIfAbsent(r.getPhase(), p -> new Histogram()).observe(r.getDurationNanos());
+    }
+
+    /** The metrics in the Prometheus text exposition format (version 0.0.4), with expiry days counted from {@code nowMillis}. */
+    public String scrape(long nowMillis) {
+        StringBuilder sb = new StringBuilder(2048);
+        sb.append("# HELP keyt_certificates Certificates currently loaded or monitored.\n");
+        sb.append("# TYPE keyt_certificates gauge\n");
+        sb.append("keyt_certificates ").append(total.sum()).append('\n');
+
+        long today = Math.floorDiv(nowMillis, 86_400_000L);
+        sb.append("# HELP keyt_certificates_by_expiry Certificates by days until notAfter.\n");
+        sb.append("# TYPE keyt_certificates_by_expiry gauge\n");
+        long from = Long.MIN_VALUE;
+        long to = today;
+        gauge(sb, "keyt_certificates_by_expiry", "bucket", "expired", sum(byExpiryDay.subMap(from, true, to, false)));
+        for (int days : EXPIRY_BUCKETS) {
+            from = to;
+            to = today + days + 1;
+            gauge(sb, "keyt_certificates_by_expiry", "bucket", days + "d", sum(byExpiryDay.subMap(from, true, to, false)));
+        }
+        gauge(sb, "keyt_certificates_by_expiry", "bucket", "later", sum(byExpiryDay.tailMap(to, true)));
+
+        sb.append("# HELP keyt_certificates_by_signature_algorithm Certificates by signature algorithm.\n");
+        sb.append("# TYPE keyt_certificates_by_signature_algorithm gauge\n");
+        for (Map.Entry<String, Long> e : bySignatureAlgorithm.entrySet()) {
+            gauge(sb, "keyt_certificates_by_signature_algorithm", "algorithm", e.getKey(), e.getValue());
+        }
+        sb.append("# HELP keyt_certificates_by_entry_type Certificates by keystore entry type.\n");
+        sb.append("# TYPE keyt_certificates_by_entry_type gauge\n");
+        for (Map.Entry<String, Long> e : byEntryType.entrySet()) {
+            gauge(sb, "keyt_certificates_by_entry_type", "type", e.getKey(), e.getValue());
+        }
+
+        sb.append("# HELP keyt_operation_duration_seconds Duration of load, parse, mapping and other timed phases.\n");
+        sb.append("# TYPE keyt_operation_duration_seconds histogram\n");
+        for (Map.Entry<String, Histogram> e : latencies.entrySet()) {
+            e.getValue().write(sb, phaseLabel(e.getKey()));
+        }
+        return sb.toString();
+    }
+
+    private static long sum(Map<Long, Long> days) {
+        long n = 0;
+        for (long v : days.values()) n += v;
+        return n;
+    }
+
+    private static void gauge(StringBuilder sb, String name, String label, String value, long count) {
+        sb.append(name).append('{').append(label).append("=\"").append(escape(value)).append("\"} ").append(count).append('\n');
+    }
+
+    /** "Keystore Load" -> "keystore_load". */
+    private static String phaseLabel(String phase) {
+        return phase.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "_");
+    }
+
+    private static String escape(String v) {
+        return v.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /** Fixed-bucket latency histogram; buckets are stored individually and made cumulative when written. */
+    private static final class Histogram {
+        private final LongAdder[] buckets = new LongAdder[LATENCY_BUCKETS.length + 1];
+        private final LongAdder sumNanos = new LongAdder();
+
+        Histogram() {
+            for (int i = 0; i < buckets.length; i++) buckets[i] = new LongAdder();
+        }
+
+        void observe(long nanos) {
+            double seconds = nanos / 1e9;
+            int i = 0;
+            while (i < LATENCY_BUCKETS.length && seconds > LATENCY_BUCKETS[i]) i++;
+            buckets[i].increment();
+            sumNanos.add(nanos);
+        }
+
+        void write(StringBuilder sb, String phase) {
+            long cumulative = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                cumulative += buckets[i].sum();
+                String le = i < LATENCY_BUCKETS.length ? String.valueOf(LATENCY_BUCKETS[i]) : "+Inf";
+                sb.append("keyt_operation_duration_seconds_bucket{phase=\"").append(phase).append("\",le=\"").append(le).append("\"} ")
+                        .append(cumulative).append('\n');
+            }
+            sb.append("keyt_operation_duration_seconds_sum{phase=\"").append(phase).append("\"} ")
+                    .append(String.format(Locale.ROOT, "%.6f", sumNanos.sum() / 1e9)).append('\n');
+            sb.append("keyt_operation_duration_seconds_count{phase=\"").append(phase).append("\"} ").append(cumulative).append('\n');
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.openjfx.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.openjfx.InventoryScan")
+@Label("Inventory Scan")
+@Description("Rescanning files against the persistent inventory snapshot")
+public class InventoryScanEvent extends KeytEvent {
+}
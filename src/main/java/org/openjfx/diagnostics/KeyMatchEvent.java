@@ -0,0 +1,11 @@
+package org.openjfx.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.openjfx.KeyMatch")
+@Label("Key Match")
+@Description("Indexing private keys and certificates by public key and pairing them")
+public class KeyMatchEvent extends KeytEvent {
+}
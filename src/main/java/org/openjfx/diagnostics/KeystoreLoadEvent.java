@@ -0,0 +1,11 @@
+package org.openjfx.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.openjfx.KeystoreLoad")
+@Label("Keystore Load")
+@Description("KeyStore.load: decoding and integrity (MAC/digest) check")
+public class KeystoreLoadEvent extends KeytEvent {
+}
@@ -0,0 +1,11 @@
+package org.openjfx.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.openjfx.KeystoreSave")
+@Label("Keystore Save")
+@Description("Applying a batch of edits and atomically rewriting the keystore file")
+public class KeystoreSaveEvent extends KeytEvent {
+}
@@ -0,0 +1,25 @@
+package org.openjfx.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Common fields of the KeyT Flight Recorder events. Subclasses only name the phase.
+ * Events are cheap no-ops unless a recording is running (e.g. -XX:StartFlightRecording).
+ */
+@Category("KeyT")
+@StackTrace(false)
+public abstract class KeytEvent extends Event {
+    @Label("File")
+    public String file;
+
+    @Label("File Size")
+    @DataAmount
+    public long fileSize;
+
+    @Label("Entry Count")
+    public int entryCount;
+}
@@ -0,0 +1,11 @@
+package org.openjfx.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.openjfx.Merge")
+@Label("Merge")
+@Description("Loading several keystores concurrently and merging their entries into one")
+public class MergeEvent extends KeytEvent {
+}
@@ -0,0 +1,100 @@
+package org.openjfx.diagnostics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Serves {@link InventoryMetrics} on {@code GET /metrics} for Prometheus, using the JDK's built-in HTTP server
+ * on a single daemon thread. While running, every operation recorded in the given {@link PerformanceLog} is
+ * added to the latency histograms.
+ */
+public final class MetricsServer implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricsServer.class);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final PerformanceLog performanceLog;
+    private final Consumer<OperationRecord> listener;
+
+    private MetricsServer(HttpServer server, ExecutorService executor, PerformanceLog performanceLog, Consumer<OperationRecord> listener) {
+        this.server = server;
+        this.executor = executor;
+        this.performanceLog = performanceLog;
+        this.listener = listener;
+    }
+
+    public static MetricsServer start(InetSocketAddress address, InventoryMetrics metrics, PerformanceLog performanceLog) throws IOException {
+        HttpServer server = HttpServer.create(address, 0);
+        server.createContext("/metrics", exchange -> serve(exchange, metrics));
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "metrics-http");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        Consumer<OperationRecord> listener = metrics::observe;
+        performanceLog.addListener(listener);
+        server.start();
+        log.debug("Serving metrics on {}", server.getAddress());
+        return new MetricsServer(server, executor, performanceLog, listener);
+    }
+
+    /**
+     * Parse "port" or "host:port"; without a host the server listens on all interfaces.
+     *
+     * @throws IllegalArgumentException for anything else
+     */
+    public static InetSocketAddress parseAddress(String spec) {
+        String s = spec.trim();
+        int colon = s.lastIndexOf(':');
+        String host = colon >= 0 ? s.substring(0, colon) : "";
+        try {
+            int port = Integer.parseInt(s.substring(colon + 1));
+            if (port < 0 || port > 65535) throw new IllegalArgumentException("Port out of range: " + spec);
+            return host.isEmpty() ? new InetSocketAddress(port) : new InetSocketAddress(host, port);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected [host:]port: " + spec);
+        }
+    }
+
+    /** The bound port (useful when started on port 0). */
+    public int getPort() { return server.getAddress().getPort(); }
+
+    @Override
+    public void close() {
+        performanceLog.removeListener(listener);
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void serve(HttpExchange exchange, InventoryMetrics metrics) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = metrics.scrape(System.currentTimeMillis()).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
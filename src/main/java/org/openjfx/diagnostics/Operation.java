@@ -0,0 +1,64 @@
+package org.openjfx.diagnostics;
+
+import jdk.jfr.Label;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Times one phase: begins a JFR event on start and, on close, commits it and appends an
+ * {@link OperationRecord} to the global {@link PerformanceLog}. Intended for try-with-resources:
+ * <pre>
+ * try (Operation op = Operation.start(new FileReadEvent(), file)) {
+ *     byte[] data = Files.readAllBytes(path);
+ *     op.fileSize(data.length);
+ * }
+ * </pre>
+ */
+public final class Operation implements AutoCloseable {
+
+    private final KeytEvent event;
+    private final long startNanos;
+
+    private Operation(KeytEvent event, String file) {
+        this.event = event;
+        this.event.file = file;
+        this.startNanos = System.nanoTime();
+        event.begin();
+    }
+
+    public static Operation start(KeytEvent event, File file) {
+        return new Operation(event, file == null ? null : file.getPath());
+    }
+
+    public static Operation start(KeytEvent event, Path file) {
+        return new Operation(event, file == null ? null : file.toString());
+    }
+
+    public static Operation start(KeytEvent event, String description) {
+        return new Operation(event, description);
+    }
+
+    public Operation fileSize(long bytes) {
+        event.fileSize = bytes;
+        return this;
+    }
+
+    public Operation entryCount(int count) {
+        event.entryCount = count;
+        return this;
+    }
+
+    @Override
+    public void close() {
+        long duration = System.nanoTime() - startNanos;
+        event.end();
+        if (event.shouldCommit()) {
+            event.commit();
+        }
+        Label label = event.getClass().getAnnotation(Label.class);
+        String phase = label != null ? label.value() : event.getClass().getSimpleName();
+        PerformanceLog.global().record(new OperationRecord(phase, event.file, event.fileSize, event.entryCount, duration, Instant.now()));
+    }
+}
@@ -0,0 +1,37 @@
+package org.openjfx.diagnostics;
+
+import java.time.Instant;
+
+/**
+ * One completed, timed operation as kept by {@link PerformanceLog}.
+ */
+public class OperationRecord {
+    private final String phase;
+    private final String file;
+    private final long fileSize;
+    private final int entryCount;
+    private final long durationNanos;
+    private final Instant finishedAt;
+
+    public OperationRecord(String phase, String file, long fileSize, int entryCount, long durationNanos, Instant finishedAt) {
+        this.phase = phase;
+        this.file = file;
+        this.fileSize = fileSize;
+        this.entryCount = entryCount;
+        this.durationNanos = durationNanos;
+        this.finishedAt = finishedAt;
+    }
+
+    public String getPhase() { return phase; }
+    public String getFile() { return file; }
+    public long getFileSize() { return fileSize; }
+    public int getEntryCount() { return entryCount; }
+    public long getDurationNanos() { return durationNanos; }
+    public double getDurationMillis() { return durationNanos / 1_000_000.0; }
+    public Instant getFinishedAt() { return finishedAt; }
+
+    @Override
+    public String toString() {
+        return String.format(java.util.Locale.ROOT, "%s %s (%d bytes, %d entries) %.2f ms", phase, file, fileSize, entryCount, getDurationMillis());
+    }
+}
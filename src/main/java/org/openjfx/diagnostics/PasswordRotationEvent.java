@@ -0,0 +1,11 @@
+package org.openjfx.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.openjfx.PasswordRotation")
+@Label("Password Rotation")
+@Description("Re-protecting the key entries of several keystores with a new password and rewriting them")
+public class PasswordRotationEvent extends KeytEvent {
+}
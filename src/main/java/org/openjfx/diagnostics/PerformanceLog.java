@@ -0,0 +1,87 @@
+package org.openjfx.diagnostics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Bounded in-memory history of the last N operations, shown by the performance panel.
+ * The capacity defaults to 256 and can be set with -Dkeyt.perf.history=N.
+ */
+public final class PerformanceLog {
+
+    private static final PerformanceLog GLOBAL = new PerformanceLog(Integer.getInteger("keyt.perf.history", 256));
+
+    private final int capacity;
+    private final ArrayDeque<OperationRecord> records;
+    private final List<Consumer<OperationRecord>> listeners = new CopyOnWriteArrayList<>();
+
+    public PerformanceLog(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.records = new ArrayDeque<>(this.capacity);
+    }
+
+    public static PerformanceLog global() { return GLOBAL; }
+
+    public void record(OperationRecord r) {
+        synchronized (records) {
+            if (records.size() == capacity) records.removeFirst();
+            records.addLast(r);
+        }
+        for (Consumer<OperationRecord> l : listeners) {
+            l.accept(r);
+        }
+    }
+
+    /** Oldest first. */
+    public List<OperationRecord> snapshot() {
+        synchronized (records) {
+            return new ArrayList<>(records);
+        }
+    }
+
+    public void clear() {
+        synchronized (records) {
+            records.clear();
+        }
+    }
+
+    /** Listeners are called on the recording thread. */
+    public void addListener(Consumer<OperationRecord> listener) { listeners.add(listener); }
+
+    public void removeListener(Consumer<OperationRecord> listener) { listeners.remove(listener); }
+
+    /** Per-phase count, total and max duration over the retained history, in first-seen order. */
+    public List<PhaseSummary> summarize() {
+        Map<String, PhaseSummary> byPhase = new LinkedHashMap<>();
+        for (OperationRecord r : snapshot()) {
+            byPhase.computeIfAbsent(r.getPhase(), PhaseSummary::new).add(r);
+        }
+        return new ArrayList<>(byPhase.values());
+    }
+
+    public static class PhaseSummary {
+        private final String phase;
+        private int count;
+        private long totalNanos;
+        private long maxNanos;
+
+        PhaseSummary(String phase) { this.phase = phase; }
+
+        void add(OperationRecord r) {
+            count++;
+            totalNanos += r.getDurationNanos();
+            maxNanos = Math.max(maxNanos, r.getDurationNanos());
+        }
+
+        public String getPhase() { return phase; }
+        public int getCount() { return count; }
+        public double getTotalMillis() { return totalNanos / 1_000_000.0; }
+        public double getAverageMillis() { return count == 0 ? 0 : totalNanos / 1_000_000.0 / count; }
+        public double getMaxMillis() { return maxNanos / 1_000_000.0; }
+    }
+}
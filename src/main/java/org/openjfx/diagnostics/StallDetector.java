@@ -0,0 +1,226 @@
+package org.openjfx.diagnostics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Watchdog for a single event thread (the JavaFX application thread). A daemon thread keeps one probe queued
+ * on the event thread; the time a probe waits before it runs is the latency of the event queue and of the
+ * pulses behind it. Callbacks wrapped with {@link #timed} are measured individually. While the event thread
+ * is busy for longer than the threshold its stack is sampled once, so each {@link Stall} names the code
+ * that blocked it. Stalls are kept in a bounded history, logged, and recorded in the {@link PerformanceLog}
+ * under the "FX Stall" phase.
+ * <p>
+ * A callback that opens a modal dialog runs a nested event loop until the dialog closes; the event thread keeps
+ * serving events meanwhile, so the callback's timer is suspended while a nested loop it started is running.
+ */
+public final class StallDetector implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(StallDetector.class);
+
+    /** Source of stalls found by the queue probe rather than a timed callback. */
+    public static final String EVENT_QUEUE = "event queue";
+
+    /** One period in which the event thread did not get to run queued work. */
+    public static final class Stall {
+        private final Instant at;
+        private final String source;
+        private final long durationNanos;
+        private final StackTraceElement[] stack;
+
+        Stall(Instant at, String source, long durationNanos, StackTraceElement[] stack) {
+            this.at = at;
+            this.source = source;
+            this.durationNanos = durationNanos;
+            this.stack = stack;
+        }
+
+        public Instant getAt() { return at; }
+        /** The timed callback's label, or {@link #EVENT_QUEUE}. */
+        public String getSource() { return source; }
+        public long getDurationNanos() { return durationNanos; }
+        public double getDurationMillis() { return durationNanos / 1_000_000.0; }
+        /** The event thread's stack while it was blocked; empty when the stall ended before it was sampled. */
+        public List<StackTraceElement> getStack() { return stack == null ? List.of() : List.of(stack); }
+
+        /** Multi-line description with the sampled stack, as logged. */
+        public String describe() {
+            StringBuilder sb = new StringBuilder(String.format(Locale.ROOT, "FX thread stalled for %.1f ms (%s)", getDurationMillis(), source));
+            for (StackTraceElement e : getStack()) sb.append("\n\tat ").append(e);
+            return sb.toString();
+        }
+    }
+
+    private final Thread eventThread;
+    private final Executor eventQueue;
+    private final long thresholdNanos;
+    private final long intervalMillis;
+    private final int capacity;
+    private final ArrayDeque<Stall> stalls;
+    private final List<Consumer<Stall>> listeners = new CopyOnWriteArrayList<>();
+    /** nanoTime the outstanding probe was queued, 0 when none is queued. */
+    private final AtomicLong probeQueuedAt = new AtomicLong();
+    private final BooleanSupplier nestedLoopRunning;
+    /** The running timed callback, null when none is running. */
+    private volatile Callback callback;
+    private volatile Sample sample;
+    /** nanoTime the last reported stall ended; the probe does not report the same blocked period again. */
+    private volatile long reportedUntil;
+    private volatile boolean running;
+    private Thread watchdog;
+
+    /** A timed callback in progress. */
+    private static final class Callback {
+        /** nanoTime the callback started, moved forward while it waits in a nested event loop. */
+        volatile long startedAt;
+        /** Started from a nested event loop; such loops belong to an enclosing callback. */
+        final boolean insideNestedLoop;
+
+        Callback(long startedAt, boolean insideNestedLoop) {
+            this.startedAt = startedAt;
+            this.insideNestedLoop = insideNestedLoop;
+        }
+    }
+
+    /** Stack of the event thread taken at {@code nanos}. */
+    private static final class Sample {
+        final long nanos;
+        final StackTraceElement[] stack;
+
+        Sample(long nanos, StackTraceElement[] stack) {
+            this.nanos = nanos;
+            this.stack = stack;
+        }
+    }
+
+    /**
+     * @param eventThread     the thread to watch
+     * @param eventQueue      queues work on that thread (e.g. {@code Platform::runLater})
+     * @param thresholdMillis stalls shorter than this are ignored
+     * @param capacity        number of stalls kept
+     */
+    public StallDetector(Thread eventThread, Executor eventQueue, long thresholdMillis, int capacity) {
+        this(eventThread, eventQueue, thresholdMillis, capacity, () -> false);
+    }
+
+    /**
+     * @param nestedLoopRunning whether the event thread is inside a nested event loop
+     *                          (e.g. {@code Platform::isNestedLoopRunning})
+     */
+    public StallDetector(Thread eventThread, Executor eventQueue, long thresholdMillis, int capacity, BooleanSupplier nestedLoopRunning) {
+        this.eventThread = eventThread;
+        this.nestedLoopRunning = nestedLoopRunning;
+        this.eventQueue = eventQueue;
+        this.thresholdNanos = Math.max(1, thresholdMillis) * 1_000_000L;
+        this.intervalMillis = Math.max(5, thresholdMillis / 4);
+        this.capacity = Math.max(1, capacity);
+        this.stalls = new ArrayDeque<>(this.capacity);
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        watchdog = new Thread(this::watch, "fx-stall-watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (watchdog != null) watchdog.interrupt();
+    }
+
+    /** Wrap a callback queued on the event thread so its run time is measured; {@code source} names it. */
+    public Runnable timed(String source, Runnable task) {
+        return () -> {
+            Callback outer = callback;
+            Callback current = new Callback(System.nanoTime(), nestedLoopRunning.getAsBoolean());
+            callback = current;
+            try {
+                task.run();
+            } finally {
+                long end = System.nanoTime();
+                // An enclosing callback is waiting in its nested loop; its timer resumes from here
+                if (outer != null) outer.startedAt = end;
+                callback = outer;
+                long start = current.startedAt;
+                if (end - start >= thresholdNanos) report(source, start, end);
+            }
+        };
+    }
+
+    /** Oldest first. */
+    public List<Stall> snapshot() {
+        synchronized (stalls) {
+            return new ArrayList<>(stalls);
+        }
+    }
+
+    public void clear() {
+        synchronized (stalls) {
+            stalls.clear();
+        }
+    }
+
+    /** Listeners are called on the event thread, right after the stall ended. */
+    public void addListener(Consumer<Stall> listener) { listeners.add(listener); }
+
+    public void removeListener(Consumer<Stall> listener) { listeners.remove(listener); }
+
+    private void watch() {
+        while (running) {
+            long now = System.nanoTime();
+            long queued = probeQueuedAt.get();
+            if (queued == 0) {
+                if (probeQueuedAt.compareAndSet(0, now)) eventQueue.execute(this::probe);
+            } else {
+                Callback c = callback;
+                if (c != null && !c.insideNestedLoop && nestedLoopRunning.getAsBoolean()) c.startedAt = now;
+                long busySince = c != null ? Math.min(queued, c.startedAt) : queued;
+                Sample s = sample;
+                if (now - busySince >= thresholdNanos && (s == null || s.nanos < busySince)) {
+                    sample = new Sample(now, eventThread.getStackTrace());
+                }
+            }
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void probe() {
+        long end = System.nanoTime();
+        long queued = probeQueuedAt.getAndSet(0);
+        if (queued == 0) return;
+        long start = Math.max(queued, reportedUntil);
+        if (end - start >= thresholdNanos) report(EVENT_QUEUE, start, end);
+    }
+
+    private void report(String source, long start, long end) {
+        Sample s = sample;
+        StackTraceElement[] stack = s != null && s.nanos >= start && s.nanos <= end ? s.stack : null;
+        Stall stall = new Stall(Instant.now(), source, end - start, stack);
+        reportedUntil = end;
+        synchronized (stalls) {
+            if (stalls.size() == capacity) stalls.removeFirst();
+            stalls.addLast(stall);
+        }
+        log.warn(stall.describe());
+        PerformanceLog.global().record(new OperationRecord("FX Stall", source, 0, 0, end - start, stall.getAt()));
+        for (Consumer<Stall> l : listeners) l.accept(stall);
+    }
+}
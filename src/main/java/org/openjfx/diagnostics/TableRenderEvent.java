@@ -0,0 +1,11 @@
+package org.openjfx.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.openjfx.TableRender")
+@Label("Table Render")
+@Description("Populating the JavaFX table with loaded rows")
+public class TableRenderEvent extends KeytEvent {
+}
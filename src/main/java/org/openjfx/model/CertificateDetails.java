@@ -0,0 +1,49 @@
+package org.openjfx.model;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Fields derived from a decoded X.509 certificate that are not part of the table row
+ * ({@link CertificateInfo}): names, subject alternative names, public key and fingerprints.
+ */
+public class CertificateDetails {
+    private final String subject;
+    private final String issuer;
+    private final List<String> subjectAlternativeNames; // "DNS:example.com", "IP:10.0.0.1", ...
+    private final String keyAlgorithm;
+    private final int keySize; // bits, 0 when unknown
+    private final String sha1Fingerprint;
+    private final String sha256Fingerprint;
+
+    public CertificateDetails(String subject, String issuer, List<String> subjectAlternativeNames, String keyAlgorithm, int keySize, String sha1Fingerprint, String sha256Fingerprint) {
+        this.subject = subject;
+        this.issuer = issuer;
+        this.subjectAlternativeNames = subjectAlternativeNames == null ? List.of() : List.copyOf(subjectAlternativeNames);
+        this.keyAlgorithm = keyAlgorithm;
+        this.keySize = keySize;
+        this.sha1Fingerprint = sha1Fingerprint;
+        this.sha256Fingerprint = sha256Fingerprint;
+    }
+
+    public String getSubject() { return subject; }
+    public String getIssuer() { return issuer; }
+    public List<String> getSubjectAlternativeNames() { return subjectAlternativeNames; }
+    public String getKeyAlgorithm() { return keyAlgorithm; }
+    public int getKeySize() { return keySize; }
+    public String getSha1Fingerprint() { return sha1Fingerprint; }
+    public String getSha256Fingerprint() { return sha256Fingerprint; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CertificateDetails)) return false;
+        CertificateDetails that = (CertificateDetails) o;
+        return keySize == that.keySize && Objects.equals(subject, that.subject) && Objects.equals(issuer, that.issuer) && Objects.equals(subjectAlternativeNames, that.subjectAlternativeNames) && Objects.equals(keyAlgorithm, that.keyAlgorithm) && Objects.equals(sha1Fingerprint, that.sha1Fingerprint) && Objects.equals(sha256Fingerprint, that.sha256Fingerprint);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(subject, issuer, subjectAlternativeNames, keyAlgorithm, keySize, sha1Fingerprint, sha256Fingerprint);
+    }
+}
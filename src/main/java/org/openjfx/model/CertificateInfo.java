@@ -9,14 +9,26 @@ public class CertificateInfo {
     private final String validUntil;
     private final String signatureAlgorithm;
     private final String serialNumber;
+    private final String issuer;
+    private final String revocationStatus;
 
     public CertificateInfo(String alias, String entryType, String validFrom, String validUntil, String signatureAlgorithm, String serialNumber) {
+        this(alias, entryType, validFrom, validUntil, signatureAlgorithm, serialNumber, "", "");
+    }
+
+    public CertificateInfo(String alias, String entryType, String validFrom, String validUntil, String signatureAlgorithm, String serialNumber, String issuer) {
+        this(alias, entryType, validFrom, validUntil, signatureAlgorithm, serialNumber, issuer, "");
+    }
+
+    private CertificateInfo(String alias, String entryType, String validFrom, String validUntil, String signatureAlgorithm, String serialNumber, String issuer, String revocationStatus) {
         this.alias = alias;
         this.entryType = entryType;
         this.validFrom = validFrom;
         this.validUntil = validUntil;
         this.signatureAlgorithm = signatureAlgorithm;
         this.serialNumber = serialNumber;
+        this.issuer = issuer;
+        this.revocationStatus = revocationStatus;
     }
 
     public String getAlias() { return alias; }
@@ -25,17 +37,30 @@ public class CertificateInfo {
     public String getValidUntil() { return validUntil; }
     public String getSignatureAlgorithm() { return signatureAlgorithm; }
     public String getSerialNumber() { return serialNumber; }
+    /** Issuer DN (RFC 2253), empty when the entry has no X.509 certificate. */
+    public String getIssuer() { return issuer; }
+    /** Result of the last revocation check, empty when no loaded CRL covers the issuer. */
+    public String getRevocationStatus() { return revocationStatus; }
+
+    public CertificateInfo withAlias(String newAlias) {
+        return new CertificateInfo(newAlias, entryType, validFrom, validUntil, signatureAlgorithm, serialNumber, issuer, revocationStatus);
+    }
+
+    public CertificateInfo withRevocationStatus(String status) {
+        return new CertificateInfo(alias, entryType, validFrom, validUntil, signatureAlgorithm, serialNumber, issuer, status == null ? "" : status);
+    }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof CertificateInfo)) return false;
         CertificateInfo that = (CertificateInfo) o;
-        return Objects.equals(alias, that.alias) && Objects.equals(entryType, that.entryType) && Objects.equals(validFrom, that.validFrom) && Objects.equals(validUntil, that.validUntil) && Objects.equals(signatureAlgorithm, that.signatureAlgorithm) && Objects.equals(serialNumber, that.serialNumber);
+        return Objects.equals(alias, that.alias) && Objects.equals(entryType, that.entryType) && Objects.equals(validFrom, that.validFrom) && Objects.equals(validUntil, that.validUntil) && Objects.equals(signatureAlgorithm, that.signatureAlgorithm) && Objects.equals(serialNumber, that.serialNumber)
+                && Objects.equals(issuer, that.issuer) && Objects.equals(revocationStatus, that.revocationStatus);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(alias, entryType, validFrom, validUntil, signatureAlgorithm, serialNumber);
+        return Objects.hash(alias, entryType, validFrom, validUntil, signatureAlgorithm, serialNumber, issuer, revocationStatus);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,30 @@
+package org.openjfx.model;
+
+import java.util.List;
+
+/**
+ * Everything the details pane shows for one certificate: the {@link CertificateDetails} plus the decoded
+ * key usage, extended key usage and basic constraints extensions and the MD5 fingerprint. Immutable, so
+ * instances can be cached and shared between threads.
+ */
+public class DecodedCertificate {
+    private final CertificateDetails details;
+    private final String md5Fingerprint;
+    private final List<String> keyUsage;
+    private final List<String> extendedKeyUsage;
+    private final String basicConstraints;
+
+    public DecodedCertificate(CertificateDetails details, String md5Fingerprint, List<String> keyUsage, List<String> extendedKeyUsage, String basicConstraints) {
+        this.details = details;
+        this.md5Fingerprint = md5Fingerprint;
+        this.keyUsage = keyUsage == null ? List.of() : List.copyOf(keyUsage);
+        this.extendedKeyUsage = extendedKeyUsage == null ? List.of() : List.copyOf(extendedKeyUsage);
+        this.basicConstraints = basicConstraints;
+    }
+
+    public CertificateDetails getDetails() { return details; }
+    public String getMd5Fingerprint() { return md5Fingerprint; }
+    public List<String> getKeyUsage() { return keyUsage; }
+    public List<String> getExtendedKeyUsage() { return extendedKeyUsage; }
+    public String getBasicConstraints() { return basicConstraints; }
+}
@@ -0,0 +1,244 @@
+package org.openjfx.service;
+
+import org.openjfx.diagnostics.ArchiveScanEvent;
+import org.openjfx.diagnostics.Operation;
+import org.openjfx.model.CertificateInfo;
+import org.openjfx.util.TarInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Finds keystores and certificate files inside JAR, WAR, EAR and ZIP archives and tar or tar.gz streams
+ * (e.g. container image layers) without extracting anything to disk. Archives are read sequentially;
+ * nested archives are opened on the enclosing entry's stream, keystores are loaded from an in-memory copy
+ * of their entry and certificate files are parsed straight from the stream. Entries are addressed like
+ * JAR URLs: {@code app.war!/WEB-INF/lib/client.jar!/truststore.jks}.
+ */
+public class ArchiveScanner {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveScanner.class);
+
+    private static final List<String> ZIP_EXTENSIONS = List.of(".jar", ".war", ".ear", ".zip");
+    private static final List<String> TAR_GZ_EXTENSIONS = List.of(".tar.gz", ".tgz");
+    /** Keystore entries are buffered in memory; larger ones are reported as failures instead. */
+    private static final int MAX_KEYSTORE_BYTES = 64 << 20;
+    private static final int MAX_DEPTH = 8;
+
+    /** Receives what was found; called concurrently when several archives are scanned at once. */
+    public interface ArchiveVisitor {
+        /** {@code cert} is null for keystore entries without a certificate (e.g. secret keys). */
+        void entry(String location, CertificateInfo info, Certificate cert) throws Exception;
+
+        /** An archive, or a keystore or certificate file inside it, could not be read. */
+        default void failed(String location, Exception e) { }
+    }
+
+    private final KeystoreService keystoreService;
+    private final CertificateService certificateService;
+
+    public ArchiveScanner(KeystoreService keystoreService, CertificateService certificateService) {
+        this.keystoreService = keystoreService;
+        this.certificateService = certificateService;
+    }
+
+    /** True for the archive extensions this scanner opens (.jar, .war, .ear, .zip, .tar, .tar.gz, .tgz). */
+    public boolean isArchive(File file) {
+        return isArchive(file.getName());
+    }
+
+    private static boolean isArchive(String name) {
+        String n = name.toLowerCase(Locale.ROOT);
+        return endsWithAny(n, ZIP_EXTENSIONS) || endsWithAny(n, TAR_GZ_EXTENSIONS) || n.endsWith(".tar");
+    }
+
+    /**
+     * Scan one archive, recursing into nested archives. Returns the number of keystores and certificate files
+     * found; entries that cannot be loaded go to {@link ArchiveVisitor#failed} and the scan continues.
+     *
+     * @throws IOException when the archive itself cannot be read
+     */
+    public int scan(Path archive, char[] password, ArchiveVisitor visitor) throws IOException {
+        try (Operation op = Operation.start(new ArchiveScanEvent(), archive);
+             InputStream in = new BufferedInputStream(Files.newInputStream(archive), 64 * 1024)) {
+            op.fileSize(Files.size(archive));
+            AtomicInteger certificates = new AtomicInteger();
+            ArchiveVisitor counting = new ArchiveVisitor() {
+                @Override
+                public void entry(String location, CertificateInfo info, Certificate cert) throws Exception {
+                    certificates.incrementAndGet();
+                    visitor.entry(location, info, cert);
+                }
+
+                @Override
+                public void failed(String location, Exception e) {
+                    visitor.failed(location, e);
+                }
+            };
+            int found = scanArchive(archive.toString(), archive.getFileName().toString(), in, password, counting, 0);
+            op.entryCount(certificates.get());
+            return found;
+        }
+    }
+
+    /**
+     * Scan archives concurrently on up to {@code threads} threads (0 for one per core). {@code visitor} must be
+     * thread-safe; archives that cannot be read are reported to {@link ArchiveVisitor#failed} under their path.
+     * Returns the number of keystores and certificate files found.
+     */
+    public int scanAll(List<Path> archives, char[] password, int threads, ArchiveVisitor visitor) throws InterruptedException {
+        if (archives.isEmpty()) return 0;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(poolSize, archives.size()), r -> {
+            Thread t = new Thread(r, "archive-scan");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<Integer>> scans = new ArrayList<>(archives.size());
+            for (Path archive : archives) scans.add(pool.submit(() -> scan(archive, password, visitor)));
+            int found = 0;
+            for (int i = 0; i < archives.size(); i++) {
+                try {
+                    found += scans.get(i).get();
+                } catch (ExecutionException e) {
+                    log.debug("Archive scan failed for {}", archives.get(i), e.getCause());
+                    Throwable cause = e.getCause();
+                    visitor.failed(archives.get(i).toString(), cause instanceof Exception ex ? ex : new IOException(cause));
+                }
+            }
+            return found;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Scan one archive into a read-only snapshot whose aliases are prefixed with the entry location
+     * ({@code location#alias}), as shown in the table. Certificate bundles can yield the same alias more than
+     * once, so callers resolve rows with {@link KeystoreSnapshot#certificate(int)}. Failed entries are added
+     * to {@code failures}.
+     */
+    public KeystoreSnapshot snapshot(Path archive, char[] password, List<String> failures) throws IOException {
+        List<CertificateInfo> infos = new ArrayList<>();
+        List<Boolean> keyEntries = new ArrayList<>();
+        List<Certificate> certificates = new ArrayList<>();
+        List<Certificate[]> chains = new ArrayList<>();
+        scan(archive, password, new ArchiveVisitor() {
+            @Override
+            public void entry(String location, CertificateInfo info, Certificate cert) {
+                String inner = location.substring(archive.toString().length() + 2);
+                infos.add(info.withAlias(inner + "#" + info.getAlias()));
+                keyEntries.add("Private Key".equals(info.getEntryType()));
+                certificates.add(cert);
+                chains.add(null);
+            }
+
+            @Override
+            public void failed(String location, Exception e) {
+                failures.add(location + ": " + e.getMessage());
+            }
+        });
+        return new KeystoreSnapshot("Archive", infos, keyEntries, certificates, chains);
+    }
+
+    private int scanArchive(String location, String name, InputStream in, char[] password, ArchiveVisitor visitor, int depth) throws IOException {
+        String n = name.toLowerCase(Locale.ROOT);
+        int found = 0;
+        // Closing the reader releases its inflater; nested archives get a stream that ignores the close
+        if (endsWithAny(n, ZIP_EXTENSIONS)) {
+            try (ZipInputStream zip = new ZipInputStream(in)) {
+                for (ZipEntry e = zip.getNextEntry(); e != null; e = zip.getNextEntry()) {
+                    if (!e.isDirectory()) found += scanEntry(location + "!/" + e.getName(), e.getName(), zip, password, visitor, depth);
+                }
+            }
+        } else {
+            try (TarInputStream tar = new TarInputStream(endsWithAny(n, TAR_GZ_EXTENSIONS) ? new GZIPInputStream(in, 64 * 1024) : in)) {
+                for (TarInputStream.Entry e = tar.nextEntry(); e != null; e = tar.nextEntry()) {
+                    if (e.isFile()) found += scanEntry(location + "!/" + e.getName(), e.getName(), tar, password, visitor, depth);
+                }
+            }
+        }
+        return found;
+    }
+
+    /** Handle one archive entry positioned on {@code in}; the stream is left open for the next entry. */
+    private int scanEntry(String location, String entryName, InputStream in, char[] password, ArchiveVisitor visitor, int depth) throws IOException {
+        File asFile = new File(entryName);
+        InputStream entry = new NonClosingInputStream(in);
+        if (isArchive(entryName)) {
+            if (depth + 1 >= MAX_DEPTH) {
+                visitor.failed(location, new IOException("Archives nested deeper than " + MAX_DEPTH + " levels"));
+                return 0;
+            }
+            try {
+                return scanArchive(location, entryName, entry, password, visitor, depth + 1);
+            } catch (IOException e) {
+                // A corrupt nested archive does not spoil the rest of the enclosing one
+                log.debug("Nested archive {} failed", location, e);
+                visitor.failed(location, e);
+                return 0;
+            }
+        }
+        if (keystoreService.isKeystoreFile(asFile)) {
+            byte[] data = entry.readNBytes(MAX_KEYSTORE_BYTES + 1);
+            if (data.length > MAX_KEYSTORE_BYTES) {
+                visitor.failed(location, new IOException("Keystore larger than " + (MAX_KEYSTORE_BYTES >> 20) + " MB"));
+                return 0;
+            }
+            try {
+                KeyStore ks = keystoreService.load(location, data, password);
+                keystoreService.forEachEntry(ks, (info, cert) -> visitor.entry(location, info, cert));
+                return 1;
+            } catch (Exception e) {
+                visitor.failed(location, e);
+                return 0;
+            }
+        }
+        if (certificateService.isCertificateFile(asFile)) {
+            try {
+                certificateService.forEachCertificate(entryName, entry, (info, cert) -> visitor.entry(location, info, cert));
+                return 1;
+            } catch (Exception e) {
+                visitor.failed(location, e);
+                return 0;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean endsWithAny(String name, List<String> extensions) {
+        for (String ext : extensions) {
+            if (name.endsWith(ext)) return true;
+        }
+        return false;
+    }
+
+    /** Lets nested readers be closed (releasing their inflaters) without closing the enclosing archive. */
+    private static final class NonClosingInputStream extends FilterInputStream {
+        NonClosingInputStream(InputStream in) { super(in); }
+
+        @Override
+        public void close() { }
+    }
+}
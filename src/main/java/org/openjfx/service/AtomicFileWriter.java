@@ -0,0 +1,79 @@
+package org.openjfx.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Crash-safe file replacement: content is written to a temp file in the target directory,
+ * fsynced, optionally the original is kept as "&lt;name&gt;.bak", and the temp file is then
+ * atomically renamed over the target. Readers see either the old or the new file, never a partial one.
+ */
+public final class AtomicFileWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(AtomicFileWriter.class);
+
+    private AtomicFileWriter() {}
+
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(OutputStream out) throws Exception;
+    }
+
+    /** Path of the backup kept next to {@code target}. */
+    public static Path backupPath(Path target) {
+        return target.resolveSibling(target.getFileName() + ".bak");
+    }
+
+    /**
+     * Replace {@code target} with the content produced by {@code writer}. Returns the number of bytes written.
+     */
+    public static long write(Path target, boolean keepBackup, ContentWriter writer) throws Exception {
+        Path abs = target.toAbsolutePath();
+        Path dir = abs.getParent();
+        Path tmp = Files.createTempFile(dir, "." + abs.getFileName(), ".tmp");
+        long size;
+        try {
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(ch), 64 * 1024);
+                writer.writeTo(out);
+                out.flush();
+                ch.force(true);
+                size = ch.size();
+            }
+            if (keepBackup && Files.exists(abs)) {
+                Files.copy(abs, backupPath(abs), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+            }
+            try {
+                Files.move(tmp, abs, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                log.debug("Atomic move not supported for {}, falling back to replace", abs, e);
+                Files.move(tmp, abs, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (Exception e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        syncDirectory(dir);
+        return size;
+    }
+
+    /** Persist the rename itself; not supported on every platform (e.g. Windows), so failures are only logged. */
+    private static void syncDirectory(Path dir) {
+        try (FileChannel ch = FileChannel.open(dir, StandardOpenOption.READ)) {
+            ch.force(true);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Directory sync not supported for {}", dir, e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.openjfx.service;
+
+import org.openjfx.model.CertificateInfo;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateEncodingException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Canonicalizes certificates by the SHA-256 of their encoding, so the same root CA read from hundreds of
+ * truststores or TLS chains is held as one {@link Certificate} and one set of row strings instead of one
+ * copy per source. Values are weakly referenced: a certificate is only kept while some loaded store, row or
+ * snapshot still uses it, and the map shrinks again when those are dropped.
+ * <p>
+ * Rows differ per source only in alias and entry type; interned rows share the date, algorithm, serial and
+ * issuer strings of the first row seen for the certificate.
+ */
+public final class CertificateInterner {
+
+    private static final CertificateInterner SHARED = new CertificateInterner();
+
+    private final Map<ByteBuffer, Ref<Certificate>> certificates = new ConcurrentHashMap<>();
+    private final Map<ByteBuffer, Ref<CertificateInfo>> infos = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> cleared = new ReferenceQueue<>();
+    private final AtomicLong deduplicated = new AtomicLong();
+
+    private static final class Ref<T> extends WeakReference<T> {
+        final ByteBuffer key;
+        final Map<ByteBuffer, Ref<T>> owner;
+
+        Ref(T value, ByteBuffer key, Map<ByteBuffer, Ref<T>> owner, ReferenceQueue<Object> queue) {
+            super(value, queue);
+            this.key = key;
+            this.owner = owner;
+        }
+    }
+
+    /** The process-wide interner used by the keystore and certificate services. */
+    public static CertificateInterner shared() { return SHARED; }
+
+    /** The canonical instance equal to {@code cert}; {@code cert} itself the first time it is seen. */
+    public Certificate intern(Certificate cert) {
+        if (cert == null) return null;
+        try {
+            return internCertificate(key(cert), cert);
+        } catch (CertificateEncodingException e) {
+            return cert; // not interned, still usable
+        }
+    }
+
+    /**
+     * Intern a certificate together with its row. The returned entry holds the canonical certificate and a
+     * row that reuses the canonical row's derived strings (or is the canonical row itself when equal).
+     */
+    public LoadedEntry intern(CertificateInfo info, Certificate cert) {
+        if (cert == null) return new LoadedEntry(info, null);
+        ByteBuffer key;
+        try {
+            key = key(cert);
+        } catch (CertificateEncodingException e) {
+            return new LoadedEntry(info, cert);
+        }
+        Certificate canonicalCert = internCertificate(key, cert);
+        CertificateInfo canonical = intern(infos, key, info);
+        if (canonical == info || canonical.equals(info)) return new LoadedEntry(canonical, canonicalCert);
+        if (!sameCertificateFields(canonical, info)) return new LoadedEntry(info, canonicalCert);
+        return new LoadedEntry(new CertificateInfo(info.getAlias(), info.getEntryType(), canonical.getValidFrom(), canonical.getValidUntil(),
+                canonical.getSignatureAlgorithm(), canonical.getSerialNumber(), canonical.getIssuer()), canonicalCert);
+    }
+
+    /** Distinct certificates currently held. */
+    public int size() {
+        expunge();
+        return certificates.size();
+    }
+
+    /** Number of decoded duplicates replaced by a canonical instance so far. */
+    public long deduplicated() { return deduplicated.get(); }
+
+    private Certificate internCertificate(ByteBuffer key, Certificate cert) {
+        Certificate canonical = intern(certificates, key, cert);
+        if (canonical != cert) deduplicated.incrementAndGet();
+        return canonical;
+    }
+
+    private <T> T intern(Map<ByteBuffer, Ref<T>> map, ByteBuffer key, T value) {
+        expunge();
+        while (true) {
+            Ref<T> ref = map.get(key);
+            T existing = ref != null ? ref.get() : null;
+            if (existing != null) return existing;
+            Ref<T> fresh = new Ref<>(value, key, map, cleared);
+            if (ref == null ? map.putIfAbsent(key, fresh) == null : map.replace(key, ref, fresh)) return value;
+        }
+    }
+
+    private void expunge() {
+        for (Object r; (r = cleared.poll()) != null; ) {
+            Ref<?> ref = (Ref<?>) r;
+            ref.owner.remove(ref.key, ref);
+        }
+    }
+
+    private static boolean sameCertificateFields(CertificateInfo a, CertificateInfo b) {
+        return Objects.equals(a.getValidFrom(), b.getValidFrom()) && Objects.equals(a.getValidUntil(), b.getValidUntil())
+                && Objects.equals(a.getSignatureAlgorithm(), b.getSignatureAlgorithm()) && Objects.equals(a.getSerialNumber(), b.getSerialNumber())
+                && Objects.equals(a.getIssuer(), b.getIssuer()) && Objects.equals(a.getRevocationStatus(), b.getRevocationStatus());
+    }
+
+    private static ByteBuffer key(Certificate cert) throws CertificateEncodingException {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(cert.getEncoded()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package org.openjfx.service;
+
+import org.openjfx.model.CertificateInfo;
+
+import javax.security.auth.x500.X500Principal;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateParsingException;
+import java.security.cert.X509Certificate;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.IntStream;
+
+/**
+ * A filter over certificate entries, e.g. {@code notAfter < now+30d and sigAlg ~ "SHA1" and keySize < 2048}.
+ * The query is parsed once into a tree of predicates over typed fields (text, instants, numbers), with values
+ * such as dates and patterns resolved at compile time; evaluating a row only extracts the fields the query
+ * references. A bare word or string searches alias, subject, issuer, signature algorithm and serial number.
+ *
+ * <pre>
+ * query      := or
+ * or         := and ("or" and)*
+ * and        := unary ("and" unary)*
+ * unary      := "not" unary | "(" or ")" | comparison | value
+ * comparison := field ("=" | "!=" | "&lt;" | "&lt;=" | "&gt;" | "&gt;=" | "~" | "!~") value
+ * value      := "quoted string" | word | date | now[+-]N(h|d|w|y)
+ * </pre>
+ *
+ * Text comparisons ignore case; {@code ~} is a case-insensitive regular expression search. Dates are
+ * {@code yyyy-MM-dd} (UTC). Compiled queries are immutable and can be evaluated from any thread.
+ */
+public final class CertificateQuery {
+
+    enum Kind { TEXT, INSTANT, NUMBER }
+
+    /** Queryable fields; names are matched ignoring case. */
+    public enum Field {
+        ALIAS(Kind.TEXT, false, "alias"),
+        ENTRY_TYPE(Kind.TEXT, false, "type", "entryType"),
+        NOT_BEFORE(Kind.INSTANT, false, "notBefore", "validFrom"),
+        NOT_AFTER(Kind.INSTANT, false, "notAfter", "validUntil", "expires"),
+        SIGNATURE_ALGORITHM(Kind.TEXT, false, "sigAlg", "signatureAlgorithm"),
+        SERIAL(Kind.TEXT, false, "serial", "serialNumber"),
+        ISSUER(Kind.TEXT, false, "issuer"),
+        REVOCATION(Kind.TEXT, false, "revocation"),
+        SUBJECT(Kind.TEXT, true, "subject"),
+        SAN(Kind.TEXT, true, "san"),
+        KEY_ALGORITHM(Kind.TEXT, true, "keyAlg", "keyAlgorithm"),
+        KEY_SIZE(Kind.NUMBER, true, "keySize");
+
+        final Kind kind;
+        /** Only available from the certificate, not from the table row. */
+        final boolean fromCertificate;
+        private final String[] names;
+
+        Field(Kind kind, boolean fromCertificate, String... names) {
+            this.kind = kind;
+            this.fromCertificate = fromCertificate;
+            this.names = names;
+        }
+
+        public String getName() { return names[0]; }
+
+        static Field byName(String name) {
+            for (Field f : values()) {
+                for (String n : f.names) {
+                    if (n.equalsIgnoreCase(name)) return f;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final long HOUR = 3_600_000L;
+    private static final long DAY = 24 * HOUR;
+    /** Below this many rows a parallel stream costs more than it saves. */
+    private static final int PARALLEL_THRESHOLD = 4096;
+    private static final long MISSING = Long.MIN_VALUE;
+    private static final List<Field> SEARCHED = List.of(Field.ALIAS, Field.SUBJECT, Field.ISSUER, Field.SIGNATURE_ALGORITHM, Field.SERIAL);
+
+    private final String text;
+    private final Predicate<Row> predicate;
+    private final Set<Field> fields;
+
+    private CertificateQuery(String text, Predicate<Row> predicate, Set<Field> fields) {
+        this.text = text;
+        this.predicate = predicate;
+        this.fields = fields;
+    }
+
+    /**
+     * Compile a query, resolving {@code now} to the current time.
+     *
+     * @throws IllegalArgumentException with the position of the problem when the query is malformed
+     */
+    public static CertificateQuery compile(String query) {
+        return compile(query, System.currentTimeMillis());
+    }
+
+    /** {@link #compile(String)} with {@code now} fixed to {@code nowMillis}. */
+    public static CertificateQuery compile(String query, long nowMillis) {
+        Parser parser = new Parser(query, nowMillis);
+        Predicate<Row> predicate = parser.parse();
+        return new CertificateQuery(query, predicate, parser.fields);
+    }
+
+    /** The fields this query reads. */
+    public Set<Field> fields() { return fields; }
+
+    /** True when the query reads a field that only the certificate carries (subject, SANs, key). */
+    public boolean needsCertificate() {
+        for (Field f : fields) {
+            if (f.fromCertificate) return true;
+        }
+        return false;
+    }
+
+    /** Test one entry; {@code cert} may be null, in which case certificate-only fields never match. */
+    public boolean test(CertificateInfo info, Certificate cert) {
+        return predicate.test(new Row(info, cert, fields));
+    }
+
+    /**
+     * Indexes of the matching entries, in order, evaluated across cores for large inputs. {@code certificates}
+     * supplies the certificate of entry i (or null) and is only called when {@link #needsCertificate()}; it must
+     * be thread-safe. Otherwise dates come from the rows' Valid From/Until, to the minute.
+     */
+    public int[] matches(List<CertificateInfo> infos, IntFunction<Certificate> certificates) {
+        boolean withCertificates = needsCertificate();
+        IntStream indexes = IntStream.range(0, infos.size());
+        if (infos.size() >= PARALLEL_THRESHOLD) indexes = indexes.parallel();
+        return indexes.filter(i -> test(infos.get(i), withCertificates ? certificates.apply(i) : null)).toArray();
+    }
+
+    @Override
+    public String toString() { return text; }
+
+    /** The typed values of one entry, extracted once for the fields the query reads. */
+    static final class Row {
+        private static final DateTimeFormatter ROW_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm z");
+
+        private final String[] text = new String[Field.values().length];
+        private final long[] numbers = new long[Field.values().length];
+
+        Row(CertificateInfo info, Certificate cert, Set<Field> fields) {
+            X509Certificate x509 = cert instanceof X509Certificate x ? x : null;
+            for (Field f : fields) {
+                switch (f) {
+                    case ALIAS -> text[f.ordinal()] = info.getAlias();
+                    case ENTRY_TYPE -> text[f.ordinal()] = info.getEntryType();
+                    case SIGNATURE_ALGORITHM -> text[f.ordinal()] = info.getSignatureAlgorithm();
+                    case SERIAL -> text[f.ordinal()] = info.getSerialNumber();
+                    case ISSUER -> text[f.ordinal()] = info.getIssuer();
+                    case REVOCATION -> text[f.ordinal()] = info.getRevocationStatus();
+                    case NOT_BEFORE -> numbers[f.ordinal()] = x509 != null ? x509.getNotBefore().getTime() : day(info.getValidFrom());
+                    case NOT_AFTER -> numbers[f.ordinal()] = x509 != null ? x509.getNotAfter().getTime() : day(info.getValidUntil());
+                    case SUBJECT -> text[f.ordinal()] = x509 == null ? null : x509.getSubjectX500Principal().getName(X500Principal.RFC2253);
+                    case SAN -> text[f.ordinal()] = x509 == null ? null : sans(x509);
+                    case KEY_ALGORITHM -> text[f.ordinal()] = x509 == null ? null : x509.getPublicKey().getAlgorithm();
+                    case KEY_SIZE -> {
+                        int size = x509 == null ? 0 : CertificateService.keySize(x509.getPublicKey());
+                        numbers[f.ordinal()] = size > 0 ? size : MISSING;
+                    }
+                }
+            }
+        }
+
+        String text(Field f) { return text[f.ordinal()]; }
+
+        long number(Field f) { return numbers[f.ordinal()]; }
+
+        /** Rows carry "yyyy-MM-dd HH:mm z"; a zone that does not parse falls back to the UTC day. */
+        private static long day(String value) {
+            if (value == null || value.length() < 10) return MISSING;
+            try {
+                return ZonedDateTime.parse(value, ROW_DATE).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                // fall through
+            }
+            try {
+                return LocalDate.parse(value.substring(0, 10)).toEpochDay() * DAY;
+            } catch (DateTimeParseException e) {
+                return MISSING;
+            }
+        }
+
+        private static String sans(X509Certificate cert) {
+            try {
+                Collection<List<?>> names = cert.getSubjectAlternativeNames();
+                if (names == null) return null;
+                StringBuilder sb = new StringBuilder();
+                for (List<?> name : names) {
+                    if (name.size() < 2 || !(name.get(1) instanceof String value)) continue;
+                    if (sb.length() > 0) sb.append(", ");
+                    sb.append(value);
+                }
+                return sb.toString();
+            } catch (CertificateParsingException e) {
+                return null;
+            }
+        }
+    }
+
+    /** Recursive-descent parser that builds the predicate tree directly. */
+    private static final class Parser {
+        private final String src;
+        private final long now;
+        private final Set<Field> fields = EnumSet.noneOf(Field.class);
+        private int pos;
+        private Token token;
+
+        Parser(String src, long now) {
+            this.src = src == null ? "" : src;
+            this.now = now;
+        }
+
+        Predicate<Row> parse() {
+            advance();
+            if (token.type == TokenType.END) throw error("Empty query");
+            Predicate<Row> p = or();
+            if (token.type != TokenType.END) throw error("Unexpected '" + token.text + "'");
+            return p;
+        }
+
+        private Predicate<Row> or() {
+            Predicate<Row> p = and();
+            while (token.isKeyword("or")) {
+                advance();
+                p = p.or(and());
+            }
+            return p;
+        }
+
+        private Predicate<Row> and() {
+            Predicate<Row> p = unary();
+            while (token.isKeyword("and")) {
+                advance();
+                p = p.and(unary());
+            }
+            return p;
+        }
+
+        private Predicate<Row> unary() {
+            if (token.isKeyword("not")) {
+                advance();
+                return unary().negate();
+            }
+            if (token.type == TokenType.LPAREN) {
+                advance();
+                Predicate<Row> p = or();
+                if (token.type != TokenType.RPAREN) throw error("Expected ')'");
+                advance();
+                return p;
+            }
+            if (token.type != TokenType.WORD && token.type != TokenType.STRING) throw error("Expected a field or search text");
+            Token first = token;
+            advance();
+            if (token.type != TokenType.OPERATOR) return search(first.text);
+            if (first.type != TokenType.WORD) throw error("Expected a field name before '" + token.text + "'", first.start);
+            Field field = Field.byName(first.text);
+            if (field == null) throw error("Unknown field '" + first.text + "'", first.start);
+            Token op = token;
+            advance();
+            if (token.type != TokenType.WORD && token.type != TokenType.STRING) throw error("Expected a value after '" + op.text + "'");
+            Token value = token;
+            advance();
+            fields.add(field);
+            return switch (field.kind) {
+                case TEXT -> textComparison(field, op, value);
+                case INSTANT -> numberComparison(field, op, instant(value));
+                case NUMBER -> numberComparison(field, op, number(value));
+            };
+        }
+
+        private Predicate<Row> search(String needle) {
+            fields.addAll(SEARCHED);
+            List<Field> searched = SEARCHED;
+            return r -> {
+                for (Field f : searched) {
+                    if (containsIgnoreCase(r.text(f), needle)) return true;
+                }
+                return false;
+            };
+        }
+
+        private Predicate<Row> textComparison(Field f, Token op, Token value) {
+            String v = value.text;
+            switch (op.text) {
+                case "=": return r -> r.text(f) != null && r.text(f).equalsIgnoreCase(v);
+                case "!=": return r -> r.text(f) != null && !r.text(f).equalsIgnoreCase(v);
+                case "~": return matcher(f, v, value.start);
+                case "!~": return matcher(f, v, value.start).negate();
+                default: throw error("'" + op.text + "' needs a date or number field; " + f.getName() + " is text", op.start);
+            }
+        }
+
+        /** Plain text is a substring test; anything with regex syntax becomes a precompiled pattern. */
+        private Predicate<Row> matcher(Field f, String v, int at) {
+            if (v.chars().noneMatch(c -> "\\^$.|?*+()[]{}".indexOf(c) >= 0)) return r -> containsIgnoreCase(r.text(f), v);
+            Pattern pattern;
+            try {
+                pattern = Pattern.compile(v, Pattern.CASE_INSENSITIVE);
+            } catch (PatternSyntaxException e) {
+                throw error("Invalid pattern: " + e.getDescription(), at);
+            }
+            return r -> r.text(f) != null && pattern.matcher(r.text(f)).find();
+        }
+
+        private Predicate<Row> numberComparison(Field f, Token op, long v) {
+            return switch (op.text) {
+                case "=" -> r -> r.number(f) != MISSING && r.number(f) == v;
+                case "!=" -> r -> r.number(f) != MISSING && r.number(f) != v;
+                case "<" -> r -> r.number(f) != MISSING && r.number(f) < v;
+                case "<=" -> r -> r.number(f) != MISSING && r.number(f) <= v;
+                case ">" -> r -> r.number(f) != MISSING && r.number(f) > v;
+                case ">=" -> r -> r.number(f) != MISSING && r.number(f) >= v;
+                default -> throw error("'" + op.text + "' needs a text field; " + f.getName() + " is not", op.start);
+            };
+        }
+
+        /** {@code now}, {@code now+30d}, {@code now-1y} or {@code yyyy-MM-dd} (UTC), as epoch millis. */
+        private long instant(Token value) {
+            String v = value.text.toLowerCase(Locale.ROOT);
+            if (v.startsWith("now")) {
+                if (v.length() == 3) return now;
+                char sign = v.charAt(3);
+                char unit = v.charAt(v.length() - 1);
+                long scale = switch (unit) {
+                    case 'h' -> HOUR;
+                    case 'd' -> DAY;
+                    case 'w' -> 7 * DAY;
+                    case 'y' -> 365 * DAY;
+                    default -> 0;
+                };
+                if ((sign == '+' || sign == '-') && scale > 0 && v.length() > 5) {
+                    try {
+                        long amount = Long.parseLong(v.substring(4, v.length() - 1));
+                        return sign == '+' ? now + amount * scale : now - amount * scale;
+                    } catch (NumberFormatException e) {
+                        // reported below
+                    }
+                }
+                throw error("Expected now, now+Nd or now-Nd (units h, d, w, y): " + value.text, value.start);
+            }
+            try {
+                return LocalDate.parse(value.text).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                throw error("Expected a date (yyyy-MM-dd) or now[+-]N(h|d|w|y): " + value.text, value.start);
+            }
+        }
+
+        private long number(Token value) {
+            try {
+                return Long.parseLong(value.text);
+            } catch (NumberFormatException e) {
+                throw error("Expected a number: " + value.text, value.start);
+            }
+        }
+
+        private void advance() {
+            while (pos < src.length() && Character.isWhitespace(src.charAt(pos))) pos++;
+            int start = pos;
+            if (pos >= src.length()) {
+                token = new Token(TokenType.END, "", start);
+                return;
+            }
+            char c = src.charAt(pos);
+            if (c == '(' || c == ')') {
+                pos++;
+                token = new Token(c == '(' ? TokenType.LPAREN : TokenType.RPAREN, String.valueOf(c), start);
+            } else if (c == '"' || c == '\'') {
+                StringBuilder sb = new StringBuilder();
+                pos++;
+                while (pos < src.length() && src.charAt(pos) != c) {
+                    char ch = src.charAt(pos++);
+                    if (ch == '\\' && pos < src.length()) ch = src.charAt(pos++);
+                    sb.append(ch);
+                }
+                if (pos >= src.length()) throw error("Unterminated string", start);
+                pos++;
+                token = new Token(TokenType.STRING, sb.toString(), start);
+            } else if ("=!<>~".indexOf(c) >= 0) {
+                String two = src.startsWith("!=", pos) || src.startsWith("!~", pos) || src.startsWith("<=", pos) || src.startsWith(">=", pos)
+                        ? src.substring(pos, pos + 2) : null;
+                if (two == null && c == '!') throw error("Expected != or !~", start);
+                String op = two != null ? two : String.valueOf(c);
+                pos += op.length();
+                token = new Token(TokenType.OPERATOR, op, start);
+            } else {
+                while (pos < src.length() && !Character.isWhitespace(src.charAt(pos)) && "()\"'=!<>~".indexOf(src.charAt(pos)) < 0) pos++;
+                token = new Token(TokenType.WORD, src.substring(start, pos), start);
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return error(message, token.start);
+        }
+
+        private IllegalArgumentException error(String message, int at) {
+            return new IllegalArgumentException(message + " (at position " + (at + 1) + ")");
+        }
+    }
+
+    private enum TokenType { WORD, STRING, OPERATOR, LPAREN, RPAREN, END }
+
+    private static final class Token {
+        final TokenType type;
+        final String text;
+        final int start;
+
+        Token(TokenType type, String text, int start) {
+            this.type = type;
+            this.text = text;
+            this.start = start;
+        }
+
+        boolean isKeyword(String keyword) {
+            return type == TokenType.WORD && text.equalsIgnoreCase(keyword);
+        }
+    }
+
+    private static boolean containsIgnoreCase(String haystack, String needle) {
+        if (haystack == null) return false;
+        int max = haystack.length() - needle.length();
+        for (int i = 0; i <= max; i++) {
+            if (haystack.regionMatches(true, i, needle, 0, needle.length())) return true;
+        }
+        return false;
+    }
+}
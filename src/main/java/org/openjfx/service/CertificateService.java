@@ -1,56 +1,409 @@
 package org.openjfx.service;
 
+import org.openjfx.diagnostics.CertificateParseEvent;
+import org.openjfx.diagnostics.EntryMappingEvent;
+import org.openjfx.diagnostics.FileReadEvent;
+import org.openjfx.diagnostics.Operation;
+import org.openjfx.model.CertificateDetails;
 import org.openjfx.model.CertificateInfo;
+import org.openjfx.model.DecodedCertificate;
 import org.openjfx.service.ServiceExceptions.CertificateLoadException;
+import org.openjfx.service.ServiceExceptions.EntryStreamException;
+import org.openjfx.util.HexUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.PublicKey;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
+import java.security.interfaces.DSAKey;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.EdECKey;
+import java.security.interfaces.RSAKey;
+import java.security.interfaces.XECKey;
+import java.security.spec.NamedParameterSpec;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class CertificateService {
 
     private static final Logger log = LoggerFactory.getLogger(CertificateService.class);
 
+    private static final List<String> CERTIFICATE_EXTENSIONS = List.of(".cert", ".crt", ".cer", ".der", ".pem", ".p7b", ".p7c", ".spc");
+    private static final byte[] PEM_BEGIN = "-----BEGIN".getBytes(StandardCharsets.US_ASCII);
+
+    /** True for the file extensions the UI offers as certificate files. */
+    public boolean isCertificateFile(File file) {
+        String name = file.getName().toLowerCase(Locale.ROOT);
+        for (String ext : CERTIFICATE_EXTENSIONS) {
+            if (name.endsWith(ext)) return true;
+        }
+        return false;
+    }
+
     /**
      * Load one or more X.509 certificates from a file (PEM/DER/PKCS7 bundle) and map them to CertificateInfo.
      */
     public List<CertificateInfo> loadCertificates(File file) throws CertificateLoadException {
-        String lower = file.getName().toLowerCase(java.util.Locale.ROOT);
-        try (FileInputStream fis = new FileInputStream(file)) {
-            CertificateFactory cf = CertificateFactory.getInstance("X.509");
-            // CertificateFactory.generateCertificates handles PEM bundles and PKCS7 (DER or PEM) automatically
-            Collection<? extends Certificate> certs = cf.generateCertificates(fis);
-            return mapCertificates(certs, file.getName());
+        try {
+            byte[] data;
+            try (Operation op = Operation.start(new FileReadEvent(), file)) {
+                data = Files.readAllBytes(file.toPath());
+                op.fileSize(data.length);
+            }
+            Collection<? extends Certificate> certs;
+            try (Operation op = Operation.start(new CertificateParseEvent(), file)) {
+                op.fileSize(data.length);
+                CertificateFactory cf = CertificateFactory.getInstance("X.509");
+                // CertificateFactory.generateCertificates handles PEM bundles and PKCS7 (DER or PEM) automatically
+                certs = cf.generateCertificates(new ByteArrayInputStream(data));
+                op.entryCount(certs.size());
+            }
+            try (Operation op = Operation.start(new EntryMappingEvent(), file)) {
+                List<CertificateInfo> infos = describe(certs, file.getName());
+                op.entryCount(infos.size());
+                return infos;
+            }
         } catch (Exception e) {
             log.debug("Certificate load failed for {}", file, e);
             throw new CertificateLoadException("Unable to load certificate(s): " + file.getName(), e);
         }
     }
 
+    /**
+     * Read the X.509 certificates of a file (PEM/DER/PKCS7 bundle) without mapping them, e.g. for import into a keystore.
+     */
+    public List<X509Certificate> readCertificates(File file) throws CertificateLoadException {
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            CertificateFactory cf = CertificateFactory.getInstance("X.509");
+            List<X509Certificate> result = new ArrayList<>();
+            for (Certificate c : cf.generateCertificates(in)) {
+                if (c instanceof X509Certificate x509) result.add((X509Certificate) CertificateInterner.shared().intern(x509));
+            }
+            if (result.isEmpty()) throw new CertificateLoadException("No X.509 certificates in " + file.getName());
+            return result;
+        } catch (CertificateLoadException e) {
+            throw e;
+        } catch (Exception e) {
+            log.debug("Certificate read failed for {}", file, e);
+            throw new CertificateLoadException("Unable to load certificate(s): " + file.getName(), e);
+        }
+    }
+
+    /**
+     * Map certificates obtained elsewhere (e.g. captured from a TLS handshake) to CertificateInfo rows.
+     * {@code sourceName} is used for the alias of certificates without a subject.
+     */
+    public List<CertificateInfo> describe(Collection<? extends Certificate> certs, String sourceName) {
+        return mapCertificates(certs, sourceName);
+    }
+
+    /**
+     * Parse a certificate file one certificate at a time and hand each to {@code visitor}, so bundles of any
+     * size are processed with constant memory. PKCS7 files are decoded as a whole.
+     */
+    public void forEachCertificate(File file, EntryVisitor visitor) throws CertificateLoadException {
+        try (Operation op = Operation.start(new CertificateParseEvent(), file);
+             InputStream in = new BufferedInputStream(Files.newInputStream(file.toPath()), 64 * 1024)) {
+            op.fileSize(file.length());
+            op.entryCount(parseEach(file.getName(), in, visitor));
+        } catch (CertificateLoadException e) {
+            throw e;
+        } catch (Exception e) {
+            log.debug("Certificate streaming failed for {}", file, e);
+            throw new CertificateLoadException("Unable to load certificate(s): " + file.getName(), e);
+        }
+    }
+
+    /**
+     * {@link #forEachCertificate(File, EntryVisitor)} for content that is not a file, e.g. an archive entry.
+     * {@code name} is used for PKCS7 detection and fallback aliases; {@code in} is read to its end but not closed.
+     */
+    public void forEachCertificate(String name, InputStream in, EntryVisitor visitor) throws CertificateLoadException {
+        try (Operation op = Operation.start(new CertificateParseEvent(), name)) {
+            op.entryCount(parseEach(name, new BufferedInputStream(in, 64 * 1024), visitor));
+        } catch (CertificateLoadException e) {
+            throw e;
+        } catch (Exception e) {
+            log.debug("Certificate streaming failed for {}", name, e);
+            throw new CertificateLoadException("Unable to load certificate(s): " + name, e);
+        }
+    }
+
+    private static int parseEach(String name, InputStream in, EntryVisitor visitor) throws Exception {
+        SimpleDateFormat fmt = new SimpleDateFormat("yyyy-MM-dd HH:mm z");
+        CertificateFactory cf = CertificateFactory.getInstance("X.509");
+        String fileName = name.substring(name.lastIndexOf('/') + 1);
+        int idx = 0;
+        if (isPkcs7(fileName, in)) {
+            for (Certificate cert : cf.generateCertificates(in)) {
+                if (cert instanceof X509Certificate x509) visit(visitor, toEntry(x509, fmt, fileName + "#" + ++idx));
+            }
+        } else {
+            while (nextCertificate(in)) {
+                Certificate cert = cf.generateCertificate(in);
+                if (cert instanceof X509Certificate x509) visit(visitor, toEntry(x509, fmt, fileName + "#" + ++idx));
+            }
+        }
+        if (idx == 0) throw new CertificateLoadException("No X.509 certificates in " + fileName);
+        return idx;
+    }
+
+    /**
+     * The certificates of a file as a lazy, ordered stream, parsed one at a time as the consumer pulls them
+     * (PKCS7 files are decoded as a whole on the first pull). The stream holds the file open and must be
+     * closed. Parse failures surface as {@link EntryStreamException} wrapping a {@link CertificateLoadException}.
+     */
+    public Stream<LoadedEntry> streamCertificates(File file) throws CertificateLoadException {
+        InputStream in;
+        try {
+            in = new BufferedInputStream(Files.newInputStream(file.toPath()), 64 * 1024);
+        } catch (IOException e) {
+            log.debug("Certificate streaming failed for {}", file, e);
+            throw new CertificateLoadException("Unable to load certificate(s): " + file.getName(), e);
+        }
+        return StreamSupport.stream(new CertificateSpliterator(file, in), false).onClose(() -> {
+            try {
+                in.close();
+            } catch (IOException e) {
+                log.debug("Closing {} failed", file, e);
+            }
+        });
+    }
+
+    /** {@link #streamCertificates} as a {@link java.util.concurrent.Flow.Publisher} delivering on {@code executor}. */
+    public EntryPublisher publishCertificates(File file, Executor executor) {
+        return new EntryPublisher(() -> streamCertificates(file), executor);
+    }
+
+    /** Pulls one certificate per {@link #tryAdvance}, mirroring the loop in {@link #forEachCertificate}. */
+    private static final class CertificateSpliterator extends Spliterators.AbstractSpliterator<LoadedEntry> {
+        private final File file;
+        private final InputStream in;
+        private final SimpleDateFormat fmt = new SimpleDateFormat("yyyy-MM-dd HH:mm z");
+        private CertificateFactory cf;
+        private Iterator<? extends Certificate> pkcs7;
+        private boolean plain;
+        private int idx;
+
+        CertificateSpliterator(File file, InputStream in) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.file = file;
+            this.in = in;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super LoadedEntry> action) {
+            X509Certificate next;
+            try {
+                next = next();
+            } catch (Exception e) {
+                log.debug("Certificate streaming failed for {}", file, e);
+                throw new EntryStreamException(new CertificateLoadException("Unable to load certificate(s): " + file.getName(), e));
+            }
+            if (next == null) {
+                if (idx == 0) throw new EntryStreamException(new CertificateLoadException("No X.509 certificates in " + file.getName()));
+                return false;
+            }
+            action.accept(toEntry(next, fmt, file.getName() + "#" + ++idx));
+            return true;
+        }
+
+        private X509Certificate next() throws Exception {
+            if (cf == null) {
+                cf = CertificateFactory.getInstance("X.509");
+                if (isPkcs7(file.getName(), in)) pkcs7 = cf.generateCertificates(in).iterator();
+                else plain = true;
+            }
+            if (plain) {
+                while (nextCertificate(in)) {
+                    if (cf.generateCertificate(in) instanceof X509Certificate x509) return x509;
+                }
+            } else {
+                while (pkcs7.hasNext()) {
+                    if (pkcs7.next() instanceof X509Certificate x509) return x509;
+                }
+            }
+            return null;
+        }
+    }
+
+    /** Derive the report/detail fields of a certificate: names, SANs, key algorithm and size, fingerprints. */
+    public CertificateDetails details(X509Certificate cert) {
+        List<String> sans = new ArrayList<>();
+        try {
+            Collection<List<?>> altNames = cert.getSubjectAlternativeNames();
+            if (altNames != null) {
+                for (List<?> item : altNames) {
+                    if (item.size() >= 2) sans.add(sanType(item.get(0)) + ":" + item.get(1));
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Failed to extract Subject Alternative Names", e);
+        }
+        String sha1 = "";
+        String sha256 = "";
+        try {
+            byte[] enc = cert.getEncoded();
+            sha1 = HexUtil.toColonHex(MessageDigest.getInstance("SHA-1").digest(enc));
+            sha256 = HexUtil.toColonHex(MessageDigest.getInstance("SHA-256").digest(enc));
+        } catch (Exception e) {
+            log.debug("Failed to compute certificate fingerprints", e);
+        }
+        PublicKey key = cert.getPublicKey();
+        return new CertificateDetails(cert.getSubjectX500Principal().getName(), cert.getIssuerX500Principal().getName(),
+                sans, key.getAlgorithm(), keySize(key), sha1, sha256);
+    }
+
+    private static final String[] KEY_USAGE_NAMES = {
+            "digitalSignature", "nonRepudiation", "keyEncipherment", "dataEncipherment", "keyAgreement",
+            "keyCertSign", "cRLSign", "encipherOnly", "decipherOnly"};
+
+    /** {@link #details} plus the key usage, extended key usage and basic constraints extensions, for the details pane. */
+    public DecodedCertificate decode(X509Certificate cert) {
+        CertificateDetails details = details(cert);
+        String md5 = "";
+        try {
+            md5 = HexUtil.toColonHex(MessageDigest.getInstance("MD5").digest(cert.getEncoded()));
+        } catch (Exception e) {
+            log.debug("Failed to compute MD5 fingerprint", e);
+        }
+        List<String> keyUsage = new ArrayList<>();
+        boolean[] ku = cert.getKeyUsage();
+        if (ku != null) {
+            for (int i = 0; i < ku.length && i < KEY_USAGE_NAMES.length; i++) {
+                if (ku[i]) keyUsage.add(KEY_USAGE_NAMES[i]);
+            }
+        }
+        List<String> extKeyUsage = List.of();
+        try {
+            List<String> eku = cert.getExtendedKeyUsage();
+            if (eku != null) extKeyUsage = eku;
+        } catch (Exception e) {
+            log.debug("Failed to read Extended Key Usage", e);
+        }
+        int bc = cert.getBasicConstraints();
+        String basicConstraints = bc >= 0 ? "CA: true, pathLen=" + (bc == Integer.MAX_VALUE ? "unlimited" : bc) : "CA: false";
+        return new DecodedCertificate(details, md5, keyUsage, extKeyUsage, basicConstraints);
+    }
+
     private List<CertificateInfo> mapCertificates(Collection<? extends Certificate> certs, String fileName) {
         List<CertificateInfo> list = new ArrayList<>();
         SimpleDateFormat fmt = new SimpleDateFormat("yyyy-MM-dd HH:mm z");
         int idx = 1;
         for (Certificate cert : certs) {
             if (cert instanceof X509Certificate x509) {
-                String alias = x509.getSubjectX500Principal() != null ? x509.getSubjectX500Principal().getName() : (fileName + "#" + idx);
-                String validFrom = fmt.format(x509.getNotBefore());
-                String validUntil = fmt.format(x509.getNotAfter());
-                String sigAlg = x509.getSigAlgName();
-                String serial = x509.getSerialNumber() != null ? x509.getSerialNumber().toString(16).toUpperCase(Locale.ROOT) : "";
-                list.add(new CertificateInfo(alias, "Certificate", validFrom, validUntil, sigAlg, serial));
+                list.add(toEntry(x509, fmt, fileName + "#" + idx).getInfo());
                 idx++;
             }
         }
         return list;
     }
+
+    /** Map a certificate to its row, sharing certificate and row strings with earlier copies (see {@link CertificateInterner}). */
+    private static LoadedEntry toEntry(X509Certificate x509, SimpleDateFormat fmt, String fallbackAlias) {
+        return CertificateInterner.shared().intern(toInfo(x509, fmt, fallbackAlias), x509);
+    }
+
+    private static void visit(EntryVisitor visitor, LoadedEntry entry) throws Exception {
+        visitor.visit(entry.getInfo(), entry.getCertificate());
+    }
+
+    private static CertificateInfo toInfo(X509Certificate x509, SimpleDateFormat fmt, String fallbackAlias) {
+        String alias = x509.getSubjectX500Principal() != null ? x509.getSubjectX500Principal().getName() : fallbackAlias;
+        String validFrom = fmt.format(x509.getNotBefore());
+        String validUntil = fmt.format(x509.getNotAfter());
+        String sigAlg = x509.getSigAlgName();
+        String serial = x509.getSerialNumber() != null ? x509.getSerialNumber().toString(16).toUpperCase(Locale.ROOT) : "";
+        return new CertificateInfo(alias, "Certificate", validFrom, validUntil, sigAlg, serial, x509.getIssuerX500Principal().getName());
+    }
+
+    private static boolean isPkcs7(String fileName, InputStream in) throws IOException {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".p7b") || name.endsWith(".p7c") || name.endsWith(".spc")) return true;
+        in.mark(64);
+        byte[] head = in.readNBytes(64);
+        in.reset();
+        return new String(head, StandardCharsets.US_ASCII).contains("-----BEGIN PKCS7");
+    }
+
+    /** Skip whitespace between concatenated certificates; false at end of input. */
+    /**
+     * Position {@code in} at the next certificate: a DER SEQUENCE, or the next "-----BEGIN" line with any text
+     * before it skipped (comments, OpenSSL "subject=" lines). False when none follows, so trailing text is
+     * accepted as {@link CertificateFactory#generateCertificates} accepts it.
+     */
+    private static boolean nextCertificate(InputStream in) throws IOException {
+        if (!skipWhitespace(in)) return false;
+        in.mark(1);
+        int first = in.read();
+        in.reset();
+        if (first == 0x30) return true;
+        while (true) {
+            in.mark(PEM_BEGIN.length);
+            int b = in.read();
+            if (b < 0) return false;
+            if (b != '-') continue;
+            byte[] rest = in.readNBytes(PEM_BEGIN.length - 1);
+            in.reset();
+            if (rest.length == PEM_BEGIN.length - 1 && Arrays.equals(rest, 0, rest.length, PEM_BEGIN, 1, PEM_BEGIN.length)) return true;
+            in.read(); // past this dash
+        }
+    }
+
+    private static boolean skipWhitespace(InputStream in) throws IOException {
+        while (true) {
+            in.mark(1);
+            int b = in.read();
+            if (b < 0) return false;
+            if (!Character.isWhitespace(b)) {
+                in.reset();
+                return true;
+            }
+        }
+    }
+
+    private static String sanType(Object type) {
+        int t = type instanceof Integer i ? i : -1;
+        switch (t) {
+            case 0: return "otherName";
+            case 1: return "email";
+            case 2: return "DNS";
+            case 4: return "DirName";
+            case 6: return "URI";
+            case 7: return "IP";
+            case 8: return "RID";
+            default: return String.valueOf(type);
+        }
+    }
+
+    /** Key size in bits (field size for EC), 0 when unknown. */
+    static int keySize(PublicKey key) {
+        if (key instanceof RSAKey rsa) return rsa.getModulus().bitLength();
+        if (key instanceof ECKey ec) return ec.getParams().getCurve().getField().getFieldSize();
+        if (key instanceof DSAKey dsa && dsa.getParams() != null) return dsa.getParams().getP().bitLength();
+        if (key instanceof EdECKey ed) return "Ed448".equalsIgnoreCase(ed.getParams().getName()) ? 456 : 255;
+        if (key instanceof XECKey xec && xec.getParams() instanceof NamedParameterSpec spec) return "X448".equalsIgnoreCase(spec.getName()) ? 448 : 255;
+        return 0;
+    }
 }
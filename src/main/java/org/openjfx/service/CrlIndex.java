@@ -0,0 +1,323 @@
+package org.openjfx.service;
+
+import org.openjfx.asn1.DerException;
+import org.openjfx.asn1.DerReader;
+
+import javax.security.auth.x500.X500Principal;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hashed, memory-mapped index of the serial numbers revoked by a CRL.
+ * <p>
+ * {@link #build} streams the revokedCertificates sequence straight from the (mapped) CRL, without materialising
+ * an {@code X509CRL}, into an open-addressing table of 64-bit keys. Each key hashes the canonical issuer DN
+ * together with the serial, so indirect CRLs (certificateIssuer entry extension) are covered and a lookup is a
+ * single probe sequence. The table is written to an index file and mapped read-only by {@link #open}, so a CRL
+ * with millions of entries is parsed once and then costs no heap between runs.
+ * <p>
+ * Keys are hashes: a lookup may report a serial as revoked with a probability of about n/2^64 for n entries.
+ * The CRL signature is not verified; only index CRLs from a source you trust.
+ */
+public final class CrlIndex {
+
+    private static final int MAGIC = 0x4B43524C; // "KCRL"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final long NO_NEXT_UPDATE = Long.MIN_VALUE;
+    private static final byte[] CERTIFICATE_ISSUER_OID = {0x55, 0x1D, 0x1D}; // 2.5.29.29
+    private static final int DIRECTORY_NAME = 0xA4; // [4] in GeneralName
+
+    private final Path file;
+    private final LongBuffer slots;
+    private final int mask;
+    private final int count;
+    private final long thisUpdate;
+    private final long nextUpdate;
+    private final byte[] sourceDigest;
+    private final Set<String> issuers;
+
+    private CrlIndex(Path file, LongBuffer slots, int count, long thisUpdate, long nextUpdate, byte[] sourceDigest, Set<String> issuers) {
+        this.file = file;
+        this.slots = slots;
+        this.mask = slots.capacity() - 1;
+        this.count = count;
+        this.thisUpdate = thisUpdate;
+        this.nextUpdate = nextUpdate;
+        this.sourceDigest = sourceDigest;
+        this.issuers = issuers;
+    }
+
+    /** SHA-256 of a CRL file, used to tell whether an existing index still matches its source. */
+    public static byte[] digest(Path crlFile) throws IOException {
+        return FileDigests.sha256(crlFile);
+    }
+
+    /** Parse a DER or PEM CRL and write its index to {@code indexFile} (replaced atomically), then open it. */
+    public static CrlIndex build(Path crlFile, Path indexFile) throws IOException {
+        byte[] digest = digest(crlFile);
+        ByteBuffer der = derContent(crlFile);
+        DerReader r = new DerReader(der);
+        r.enter(DerReader.SEQUENCE);                 // CertificateList
+        int tbsEnd = r.enter(DerReader.SEQUENCE);    // TBSCertList
+        if (r.peekTag() == DerReader.INTEGER) r.skip(); // version
+        r.skip();                                    // signature
+        Map<ByteBuffer, String> issuerNames = new HashMap<>();
+        Set<String> issuers = new LinkedHashSet<>();
+        String crlIssuer = canonicalName(r.readRaw(), issuerNames);
+        issuers.add(crlIssuer);
+        long thisUpdate = r.readTime();
+        long nextUpdate = NO_NEXT_UPDATE;
+        if (r.hasMore(tbsEnd) && (r.peekTag() == DerReader.UTC_TIME || r.peekTag() == DerReader.GENERALIZED_TIME)) {
+            nextUpdate = r.readTime();
+        }
+        int revokedStart = -1;
+        int revokedEnd = -1;
+        if (r.hasMore(tbsEnd) && r.peekTag() == DerReader.SEQUENCE) {
+            revokedEnd = r.enter(DerReader.SEQUENCE);
+            revokedStart = r.position();
+        }
+
+        // First pass only counts the entries so the table can be sized before anything is hashed
+        int entries = 0;
+        if (revokedStart >= 0) {
+            for (r.position(revokedStart); r.hasMore(revokedEnd); r.skip()) entries++;
+        }
+        int capacity = Integer.highestOneBit(Math.max(16, entries) * 2 - 1) << 1;
+        if (capacity <= 0 || capacity > (1 << 27)) throw new DerException("CRL has too many entries to index: " + entries);
+        int count = 0; // distinct (issuer, serial) keys; CRLs may list a serial more than once
+
+        Path tmp = Files.createTempFile(indexFile.toAbsolutePath().getParent(), indexFile.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // Issuers are only known after the second pass (indirect CRLs), so the table goes first
+                long slotsSize = (long) capacity * Long.BYTES;
+                MappedByteBuffer table = ch.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE, slotsSize);
+                LongBuffer slots = table.asLongBuffer();
+                int mask = capacity - 1;
+                if (revokedStart >= 0) {
+                    long issuerHash = issuerHash(crlIssuer);
+                    r.position(revokedStart);
+                    while (r.hasMore(revokedEnd)) {
+                        int entryEnd = r.enter(DerReader.SEQUENCE);
+                        int serialLen = r.readHeader(DerReader.INTEGER);
+                        int serialOffset = r.position();
+                        r.position(serialOffset + serialLen);
+                        r.skip(); // revocationDate
+                        if (r.hasMore(entryEnd) && r.peekTag() == DerReader.SEQUENCE) {
+                            String entryIssuer = certificateIssuer(r, issuerNames);
+                            if (entryIssuer != null) {
+                                // certificateIssuer applies to this entry and all following ones (RFC 5280 5.3.3)
+                                issuers.add(entryIssuer);
+                                issuerHash = issuerHash(entryIssuer);
+                            }
+                        }
+                        if (insert(slots, mask, serialKey(r, serialOffset, serialLen, issuerHash))) count++;
+                        r.position(entryEnd);
+                    }
+                }
+                table.force();
+                byte[] issuerBytes = String.join("\n", issuers).getBytes(StandardCharsets.UTF_8);
+                ByteBuffer trailer = ByteBuffer.allocate(Integer.BYTES + issuerBytes.length);
+                trailer.putInt(issuerBytes.length).put(issuerBytes).flip();
+                ch.write(trailer, HEADER_SIZE + slotsSize);
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(VERSION).putLong(thisUpdate).putLong(nextUpdate)
+                        .putInt(count).putInt(capacity).put(digest).flip();
+                ch.write(header, 0);
+                ch.force(true);
+            }
+            try {
+                Files.move(tmp, indexFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return open(indexFile);
+    }
+
+    /** Map an index file written by {@link #build}. */
+    public static CrlIndex open(Path indexFile) throws IOException {
+        try (FileChannel ch = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < HEADER_SIZE) throw new DerException("Not a CRL index: " + indexFile);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            ch.read(header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) throw new DerException("Not a CRL index: " + indexFile);
+            long thisUpdate = header.getLong();
+            long nextUpdate = header.getLong();
+            int count = header.getInt();
+            int capacity = header.getInt();
+            byte[] digest = new byte[32];
+            header.get(digest);
+            long slotsSize = (long) capacity * Long.BYTES;
+            if (Integer.bitCount(capacity) != 1 || HEADER_SIZE + slotsSize + Integer.BYTES > size) {
+                throw new DerException("Truncated CRL index: " + indexFile);
+            }
+            ByteBuffer trailer = ByteBuffer.allocate((int) (size - HEADER_SIZE - slotsSize));
+            ch.read(trailer, HEADER_SIZE + slotsSize);
+            trailer.flip();
+            byte[] issuerBytes = new byte[trailer.getInt()];
+            trailer.get(issuerBytes);
+            Set<String> issuers = new LinkedHashSet<>(Arrays.asList(new String(issuerBytes, StandardCharsets.UTF_8).split("\n")));
+            LongBuffer slots = ch.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, slotsSize).asLongBuffer();
+            return new CrlIndex(indexFile, slots, count, thisUpdate, nextUpdate, digest, Collections.unmodifiableSet(issuers));
+        }
+    }
+
+    /** Whether this CRL speaks for certificates of the given issuer (canonical DN, see {@link #canonicalIssuer}). */
+    public boolean covers(String canonicalIssuer) {
+        return issuers.contains(canonicalIssuer);
+    }
+
+    /** O(1) lookup of a serial for an issuer given as a canonical DN. */
+    public boolean isRevoked(String canonicalIssuer, BigInteger serial) {
+        byte[] s = serial.toByteArray();
+        long key = serialKey(new DerReader(s), 0, s.length, issuerHash(canonicalIssuer));
+        for (int i = (int) key & mask; ; i = (i + 1) & mask) {
+            long v = slots.get(i);
+            if (v == 0) return false;
+            if (v == key) return true;
+        }
+    }
+
+    /** The DN form used for lookups, e.g. {@code canonicalIssuer(cert.getIssuerX500Principal())}. */
+    public static String canonicalIssuer(X500Principal issuer) {
+        return issuer.getName(X500Principal.CANONICAL);
+    }
+
+    public Path getFile() { return file; }
+    public int size() { return count; }
+    public Set<String> getIssuers() { return issuers; }
+    public Date getThisUpdate() { return new Date(thisUpdate); }
+    public Date getNextUpdate() { return nextUpdate == NO_NEXT_UPDATE ? null : new Date(nextUpdate); }
+    public byte[] getSourceDigest() { return sourceDigest.clone(); }
+
+    /** True when the CRL has a nextUpdate before {@code now}, i.e. a newer CRL should have been published. */
+    public boolean isStale(Date now) {
+        return nextUpdate != NO_NEXT_UPDATE && nextUpdate < now.getTime();
+    }
+
+    private static boolean insert(LongBuffer slots, int mask, long key) {
+        for (int i = (int) key & mask; ; i = (i + 1) & mask) {
+            long v = slots.get(i);
+            if (v == key) return false;
+            if (v == 0) {
+                slots.put(i, key);
+                return true;
+            }
+        }
+    }
+
+    /** Returns the issuer of a certificateIssuer extension in the entry extensions at the cursor, or null. */
+    private static String certificateIssuer(DerReader r, Map<ByteBuffer, String> issuerNames) throws DerException {
+        int extsEnd = r.enter(DerReader.SEQUENCE);
+        while (r.hasMore(extsEnd)) {
+            int extEnd = r.enter(DerReader.SEQUENCE);
+            byte[] oid = r.readContent(DerReader.OBJECT_IDENTIFIER);
+            if (Arrays.equals(oid, CERTIFICATE_ISSUER_OID)) {
+                if (r.peekTag() == DerReader.BOOLEAN) r.skip();
+                r.readHeader(DerReader.OCTET_STRING);
+                int namesEnd = r.enter(DerReader.SEQUENCE);
+                while (r.hasMore(namesEnd)) {
+                    if (r.peekTag() == DIRECTORY_NAME) {
+                        r.enter(DIRECTORY_NAME);
+                        return canonicalName(r.readRaw(), issuerNames);
+                    }
+                    r.skip();
+                }
+            }
+            r.position(extEnd);
+        }
+        return null;
+    }
+
+    private static String canonicalName(byte[] encodedName, Map<ByteBuffer, String> cache) throws DerException {
+        String name = cache.get(ByteBuffer.wrap(encodedName));
+        if (name == null) {
+            try {
+                name = canonicalIssuer(new X500Principal(encodedName));
+            } catch (IllegalArgumentException e) {
+                throw new DerException("Invalid issuer name: " + e.getMessage());
+            }
+            cache.put(ByteBuffer.wrap(encodedName), name);
+        }
+        return name;
+    }
+
+    private static ByteBuffer derContent(Path crlFile) throws IOException {
+        byte[] head = new byte[10];
+        try (InputStream in = Files.newInputStream(crlFile)) {
+            int n = in.readNBytes(head, 0, head.length);
+            if (n > 0 && head[0] == DerReader.SEQUENCE) {
+                try (FileChannel ch = FileChannel.open(crlFile, StandardOpenOption.READ)) {
+                    return ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+                }
+            }
+        }
+        String pem = Files.readString(crlFile, StandardCharsets.US_ASCII);
+        int begin = pem.indexOf("-----BEGIN X509 CRL-----");
+        int end = pem.indexOf("-----END X509 CRL-----");
+        if (begin < 0 || end < begin) throw new DerException("Not a DER or PEM encoded CRL: " + crlFile.getFileName());
+        String body = pem.substring(begin + "-----BEGIN X509 CRL-----".length(), end);
+        return ByteBuffer.wrap(Base64.getMimeDecoder().decode(body));
+    }
+
+    // Keys: FNV-1a over the serial's minimal two's-complement bytes, seeded with the issuer hash, then finalised
+    // with the MurmurHash3 mixer so the low bits used for the slot index are well distributed. 0 marks a free slot.
+
+    private static long issuerHash(String canonicalIssuer) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : canonicalIssuer.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long serialKey(DerReader r, int offset, int length, long issuerHash) {
+        // Tolerate non-minimal encodings (redundant leading zero bytes) seen in some CRLs
+        while (length > 1 && r.byteAt(offset) == 0 && (r.byteAt(offset + 1) & 0x80) == 0) {
+            offset++;
+            length--;
+        }
+        long h = 0xcbf29ce484222325L ^ issuerHash;
+        for (int i = 0; i < length; i++) {
+            h ^= r.byteAt(offset + i);
+            h *= 0x100000001b3L;
+        }
+        long k = mix(h);
+        return k == 0 ? 1 : k;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb53fe1a85b34L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
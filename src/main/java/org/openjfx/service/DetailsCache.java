@@ -0,0 +1,75 @@
+package org.openjfx.service;
+
+import org.openjfx.model.DecodedCertificate;
+import org.openjfx.util.HexUtil;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of {@link DecodedCertificate}s keyed by SHA-256 fingerprint, so moving back and forth
+ * through a table (or the same certificate appearing in several stores) decodes each certificate once.
+ * Thread-safe; decoding happens outside the lock.
+ */
+public class DetailsCache {
+
+    private final CertificateService certificateService;
+    private final Map<String, DecodedCertificate> entries;
+
+    public DetailsCache(CertificateService certificateService, int capacity) {
+        this.certificateService = certificateService;
+        this.entries = new LinkedHashMap<>(Math.min(capacity, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, DecodedCertificate> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /** The decoded model of {@code cert}, decoding and caching it on a miss. */
+    public DecodedCertificate get(X509Certificate cert) throws CertificateEncodingException {
+        String key = fingerprint(cert);
+        DecodedCertificate d;
+        synchronized (entries) {
+            d = entries.get(key);
+        }
+        if (d != null) return d;
+        d = certificateService.decode(cert);
+        synchronized (entries) {
+            DecodedCertificate raced = entries.putIfAbsent(key, d);
+            return raced != null ? raced : d;
+        }
+    }
+
+    /** True if {@code cert} is cached (does not change the LRU order). */
+    public boolean contains(X509Certificate cert) throws CertificateEncodingException {
+        String key = fingerprint(cert);
+        synchronized (entries) {
+            return entries.containsKey(key);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private static String fingerprint(X509Certificate cert) throws CertificateEncodingException {
+        try {
+            return HexUtil.toHex(MessageDigest.getInstance("SHA-256").digest(cert.getEncoded()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
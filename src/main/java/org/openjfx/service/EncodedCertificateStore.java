@@ -0,0 +1,83 @@
+package org.openjfx.service;
+
+import org.openjfx.model.CertificateInfo;
+import org.openjfx.service.InventorySnapshot.FileRecord;
+
+import java.io.IOException;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only view of a keystore for memory-bounded mode: entries and encoded certificates stay in an
+ * {@link InventorySnapshot} record (memory-mapped once the snapshot is saved), and {@link X509Certificate}
+ * objects are decoded on demand into a small LRU instead of being held for every entry as a
+ * {@link java.security.KeyStore} does.
+ */
+public class EncodedCertificateStore {
+
+    private final FileRecord record;
+    private final Map<String, Integer> aliases;
+    private final Map<Integer, X509Certificate> decoded;
+
+    public EncodedCertificateStore(FileRecord record, int cacheCapacity) throws IOException {
+        this.record = record;
+        List<CertificateInfo> entries = record.entries();
+        this.aliases = new HashMap<>(entries.size() * 4 / 3 + 1);
+        for (int i = 0; i < entries.size(); i++) aliases.putIfAbsent(entries.get(i).getAlias(), i);
+        this.decoded = new LinkedHashMap<>(Math.min(cacheCapacity, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, X509Certificate> eldest) {
+                return size() > cacheCapacity;
+            }
+        };
+    }
+
+    public FileRecord getRecord() { return record; }
+
+    public int size() { return record.getEntryCount(); }
+
+    public List<CertificateInfo> entries() throws IOException { return record.entries(); }
+
+    /** Index of {@code alias}, or -1. */
+    public int indexOf(String alias) {
+        Integer i = aliases.get(alias);
+        return i == null ? -1 : i;
+    }
+
+    /** Certificate of entry {@code index} through the LRU; null for entries without a certificate. */
+    public X509Certificate certificate(int index) throws IOException, CertificateException {
+        synchronized (decoded) {
+            X509Certificate c = decoded.get(index);
+            if (c != null) return c;
+        }
+        X509Certificate c = decode(index);
+        if (c == null) return null;
+        synchronized (decoded) {
+            decoded.put(index, c);
+        }
+        return c;
+    }
+
+    public X509Certificate certificate(String alias) throws IOException, CertificateException {
+        int i = indexOf(alias);
+        return i < 0 ? null : certificate(i);
+    }
+
+    /** Decode entry {@code index} without touching the cache, for one-pass walks such as reports. */
+    public X509Certificate decode(int index) throws IOException, CertificateException {
+        return (X509Certificate) record.certificate(index);
+    }
+
+    /** Bytes of encoded certificates held by the backing record. */
+    public long encodedSize() { return record.getEncodedSize(); }
+
+    public int cachedCount() {
+        synchronized (decoded) {
+            return decoded.size();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.openjfx.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * {@link Flow.Publisher} over a stream of entries. Each subscriber gets its own pass over the source, which
+ * is opened on the first request and decoded only as far as the subscriber has requested, so a slow
+ * consumer holds back decoding instead of buffering the whole store; cancelling closes the source.
+ * <p>
+ * To feed several consumers (table, search index, exporter, report) from a single decoding pass, use
+ * {@link #multicast}.
+ */
+public final class EntryPublisher implements Flow.Publisher<LoadedEntry> {
+
+    private static final Logger log = LoggerFactory.getLogger(EntryPublisher.class);
+
+    private final Callable<Stream<LoadedEntry>> source;
+    private final Executor executor;
+
+    /** {@code source} is called once per subscription; deliveries run on {@code executor}. */
+    public EntryPublisher(Callable<Stream<LoadedEntry>> source, Executor executor) {
+        this.source = source;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super LoadedEntry> subscriber) {
+        Subscription s = new Subscription(subscriber);
+        subscriber.onSubscribe(s);
+    }
+
+    /**
+     * Decode {@code source} once on the calling thread and deliver every entry to all {@code subscribers}.
+     * Each subscriber has a buffer of {@code bufferCapacity} entries; when the slowest one is full, decoding
+     * waits. Stops early once every subscriber has cancelled. Returns the number of entries decoded.
+     */
+    public static long multicast(Stream<LoadedEntry> source, int bufferCapacity, Executor executor,
+                                 List<? extends Flow.Subscriber<? super LoadedEntry>> subscribers) {
+        long count = 0;
+        try (SubmissionPublisher<LoadedEntry> publisher = new SubmissionPublisher<>(executor, bufferCapacity);
+             source) {
+            for (Flow.Subscriber<? super LoadedEntry> s : subscribers) publisher.subscribe(s);
+            Iterator<LoadedEntry> it = source.iterator();
+            try {
+                while (it.hasNext()) {
+                    if (publisher.getNumberOfSubscribers() == 0) break;
+                    publisher.submit(it.next());
+                    count++;
+                }
+            } catch (RuntimeException e) {
+                log.debug("Entry multicast failed after {} entries", count, e);
+                publisher.closeExceptionally(e);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Demand-driven drain loop: {@code wip} serializes drains so signals to the subscriber are never
+     * concurrent, whichever thread calls {@link #request} or {@link #cancel}.
+     */
+    private final class Subscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super LoadedEntry> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private boolean done;
+        private Stream<LoadedEntry> stream;
+        private Iterator<LoadedEntry> iterator;
+        private Throwable invalidRequest;
+
+        Subscription(Flow.Subscriber<? super LoadedEntry> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("request must be positive: " + n);
+            } else {
+                demand.accumulateAndGet(n, (a, b) -> a + b < 0 ? Long.MAX_VALUE : a + b);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) executor.execute(this::drain);
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!done) emit();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            try {
+                if (cancelled) {
+                    finish();
+                    return;
+                }
+                if (invalidRequest != null) {
+                    finish();
+                    subscriber.onError(invalidRequest);
+                    return;
+                }
+                if (iterator == null) {
+                    stream = source.call();
+                    iterator = stream.iterator();
+                }
+                while (demand.get() > 0 && !cancelled) {
+                    if (!iterator.hasNext()) {
+                        finish();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    subscriber.onNext(iterator.next());
+                    demand.decrementAndGet();
+                }
+                if (cancelled) finish();
+            } catch (Exception e) {
+                log.debug("Entry publisher failed", e);
+                finish();
+                subscriber.onError(e);
+            }
+        }
+
+        private void finish() {
+            done = true;
+            if (stream != null) stream.close();
+        }
+    }
+}
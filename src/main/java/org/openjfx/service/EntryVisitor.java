@@ -0,0 +1,15 @@
+package org.openjfx.service;
+
+import org.openjfx.model.CertificateInfo;
+
+import java.security.cert.Certificate;
+
+/**
+ * Receives entries one at a time while a keystore or certificate file is walked, so callers can process
+ * inventories without collecting them into a list first.
+ */
+@FunctionalInterface
+public interface EntryVisitor {
+    /** {@code cert} is null for entries without a certificate (e.g. secret keys). */
+    void visit(CertificateInfo info, Certificate cert) throws Exception;
+}
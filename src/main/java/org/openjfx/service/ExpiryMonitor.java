@@ -0,0 +1,320 @@
+package org.openjfx.service;
+
+import org.openjfx.diagnostics.InventoryMetrics;
+import org.openjfx.util.TimerWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Long-running expiry watch over keystores and certificate files. Each certificate has exactly one pending
+ * timer in a {@link TimerWheel}: the moment it crosses its next threshold (e.g. 30, 14 and 7 days before
+ * {@code notAfter}, then expiry). Between crossings nothing is rescanned; the loop blocks on the directory
+ * {@link WatchService} until the next wheel tick, and a changed file is reloaded on its own (after a short
+ * debounce) instead of everything. Only alias and {@code notAfter} are kept per certificate.
+ * <p>
+ * All state is confined to the thread calling {@link #run()}; register roots with {@link #add} before.
+ */
+public class ExpiryMonitor implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpiryMonitor.class);
+
+    public static final List<Duration> DEFAULT_THRESHOLDS = List.of(Duration.ofDays(30), Duration.ofDays(14), Duration.ofDays(7));
+
+    private static final int WHEEL_SIZE = 4096;
+    private static final long DEBOUNCE_MILLIS = 500;
+
+    /** Receives alerts on the monitor thread. */
+    public interface Listener {
+        void alert(Alert alert);
+
+        /** A watched file could not be read; its certificates are not monitored until it changes again. */
+        default void failed(Path file, Exception e) { }
+    }
+
+    /** A certificate crossed a threshold ({@link Duration#ZERO} when it expired). */
+    public static final class Alert {
+        private final Path file;
+        private final String alias;
+        private final long notAfter;
+        private final Duration threshold;
+
+        Alert(Path file, String alias, long notAfter, Duration threshold) {
+            this.file = file;
+            this.alias = alias;
+            this.notAfter = notAfter;
+            this.threshold = threshold;
+        }
+
+        public Path getFile() { return file; }
+        public String getAlias() { return alias; }
+        public Instant getNotAfter() { return Instant.ofEpochMilli(notAfter); }
+        public Duration getThreshold() { return threshold; }
+        public boolean isExpired() { return threshold.isZero(); }
+
+        @Override
+        public String toString() {
+            return (isExpired() ? "EXPIRED" : "WARN " + threshold.toDays() + "d") + "\t" + getNotAfter() + "\t" + file + "\t" + alias;
+        }
+    }
+
+    /** One monitored certificate; also the payload of its pending timer. */
+    private static final class Watched {
+        final Path file;
+        final String alias;
+        final long notAfter;
+        int alerted = -1; // highest level already reported
+        TimerWheel.Timer<Watched> timer;
+        InventoryMetrics.Sample sample;
+
+        Watched(Path file, String alias, long notAfter) {
+            this.file = file;
+            this.alias = alias;
+            this.notAfter = notAfter;
+        }
+
+        String key() { return alias + "\u0000" + notAfter; }
+    }
+
+    private final KeystoreService keystoreService;
+    private final CertificateService certificateService;
+    private final long[] levels; // offsets before notAfter, descending, ending with 0 (expiry)
+    private final LongSupplier clock;
+    private final Listener listener;
+    private final TimerWheel<Watched> wheel;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirs = new HashMap<>();
+    private final Set<Path> recursiveRoots = new HashSet<>();
+    private final Set<Path> explicitFiles = new HashSet<>();
+    private final Map<Path, List<Watched>> byFile = new HashMap<>();
+    private final Map<Path, Long> pendingReloads = new LinkedHashMap<>();
+    private char[] password;
+    private InventoryMetrics metrics;
+    private volatile boolean closed;
+
+    public ExpiryMonitor(KeystoreService keystoreService, CertificateService certificateService, List<Duration> thresholds,
+                         long tickMillis, LongSupplier clock, char[] password, Listener listener) throws IOException {
+        this.keystoreService = keystoreService;
+        this.certificateService = certificateService;
+        List<Long> offsets = thresholds.stream().map(Duration::toMillis).filter(m -> m > 0).distinct()
+                .sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        offsets.add(0L);
+        this.levels = offsets.stream().mapToLong(Long::longValue).toArray();
+        this.clock = clock;
+        this.listener = listener;
+        this.password = password == null ? null : password.clone();
+        this.wheel = new TimerWheel<>(tickMillis, WHEEL_SIZE, clock.getAsLong());
+        this.watchService = FileSystems.getDefault().newWatchService();
+    }
+
+    /** Keep {@code metrics} in step with the monitored certificates; set it before {@link #add}. */
+    public void setMetrics(InventoryMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /** Watch a keystore or certificate file, or every such file below a directory, and load them now. */
+    public void add(Path root) throws IOException {
+        Path p = root.toAbsolutePath().normalize();
+        if (Files.isDirectory(p)) {
+            recursiveRoots.add(p);
+            try (Stream<Path> walk = Files.walk(p)) {
+                for (Path d : walk.filter(Files::isDirectory).collect(Collectors.toList())) register(d);
+            }
+            try (Stream<Path> walk = Files.walk(p)) {
+                for (Path f : walk.filter(Files::isRegularFile).filter(this::isMonitoredFile).sorted().collect(Collectors.toList())) reload(f);
+            }
+        } else {
+            explicitFiles.add(p);
+            register(p.getParent());
+            reload(p);
+        }
+    }
+
+    /** Certificates currently monitored. */
+    public int size() {
+        int n = 0;
+        for (List<Watched> l : byFile.values()) n += l.size();
+        return n;
+    }
+
+    /** Fire every threshold crossed up to now. */
+    public int processDue() {
+        long now = clock.getAsLong();
+        return wheel.advance(now, w -> {
+            w.timer = null;
+            schedule(w, now);
+        });
+    }
+
+    /** Reload one file (or drop it if it is gone), keeping alerts already reported for unchanged certificates. */
+    public void reload(Path file) {
+        Path p = file.toAbsolutePath().normalize();
+        List<Watched> previous = byFile.remove(p);
+        Map<String, Integer> alerted = new HashMap<>();
+        if (previous != null) {
+            for (Watched w : previous) {
+                if (w.timer != null) wheel.cancel(w.timer);
+                if (metrics != null) metrics.remove(w.sample);
+                alerted.put(w.key(), w.alerted);
+            }
+        }
+        if (!Files.isRegularFile(p)) return;
+        List<Watched> loaded = new ArrayList<>();
+        try (Stream<LoadedEntry> entries = open(p.toFile())) {
+            Iterator<LoadedEntry> it = entries.iterator();
+            while (it.hasNext()) {
+                LoadedEntry e = it.next();
+                if (e.getCertificate() instanceof X509Certificate x509) {
+                    Watched w = new Watched(p, e.getInfo().getAlias(), x509.getNotAfter().getTime());
+                    // Counted only once the whole file has loaded, like the timers below
+                    if (metrics != null) w.sample = InventoryMetrics.sample(e.getInfo(), w.notAfter);
+                    loaded.add(w);
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Expiry monitor could not load {}", p, e);
+            listener.failed(p, e);
+            return;
+        }
+        long now = clock.getAsLong();
+        for (Watched w : loaded) {
+            w.alerted = alerted.getOrDefault(w.key(), -1);
+            if (w.sample != null) metrics.add(w.sample);
+            schedule(w, now);
+        }
+        byFile.put(p, loaded);
+    }
+
+    /** Block, reacting to file changes and threshold crossings, until {@link #close()}. */
+    public void run() {
+        while (!closed) {
+            long now = clock.getAsLong();
+            long wakeUp = wheel.nextTickMillis();
+            for (long due : pendingReloads.values()) wakeUp = Math.min(wakeUp, due);
+            try {
+                WatchKey key = watchService.poll(Math.max(1, wakeUp - now), TimeUnit.MILLISECONDS);
+                while (key != null) {
+                    handle(key);
+                    key = watchService.poll();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ClosedWatchServiceException e) {
+                return;
+            }
+            now = clock.getAsLong();
+            for (Iterator<Map.Entry<Path, Long>> it = pendingReloads.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<Path, Long> e = it.next();
+                if (e.getValue() <= now) {
+                    it.remove();
+                    reload(e.getKey());
+                }
+            }
+            processDue();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            log.debug("Closing watch service failed", e);
+        }
+        if (password != null) Arrays.fill(password, '\0');
+        password = null;
+    }
+
+    private void schedule(Watched w, long now) {
+        int level = -1;
+        while (level + 1 < levels.length && w.notAfter - levels[level + 1] <= now) level++;
+        if (level > w.alerted) {
+            w.alerted = level;
+            listener.alert(new Alert(w.file, w.alias, w.notAfter, Duration.ofMillis(levels[level])));
+        }
+        if (level + 1 < levels.length) w.timer = wheel.schedule(w.notAfter - levels[level + 1], w);
+    }
+
+    private void handle(WatchKey key) {
+        Path dir = watchedDirs.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (dir == null) continue;
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // Events were lost: reload everything we know below this directory
+                for (Path f : byFile.keySet()) if (f.startsWith(dir)) pendingReloads.put(f, clock.getAsLong() + DEBOUNCE_MILLIS);
+                continue;
+            }
+            Path child = dir.resolve((Path) event.context());
+            if (Files.isDirectory(child) && isUnderRecursiveRoot(child)) {
+                try {
+                    register(child);
+                    try (Stream<Path> walk = Files.walk(child)) {
+                        walk.filter(Files::isRegularFile).filter(this::isMonitoredFile)
+                                .forEach(f -> pendingReloads.put(f, clock.getAsLong() + DEBOUNCE_MILLIS));
+                    }
+                } catch (IOException e) {
+                    log.debug("Watching new directory {} failed", child, e);
+                }
+            } else if (explicitFiles.contains(child) || (isUnderRecursiveRoot(child) && isMonitoredFile(child)) || byFile.containsKey(child)) {
+                pendingReloads.put(child, clock.getAsLong() + DEBOUNCE_MILLIS);
+            }
+        }
+        if (!key.reset()) watchedDirs.remove(key);
+    }
+
+    private void register(Path dir) throws IOException {
+        if (watchedDirs.containsValue(dir)) return;
+        WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        watchedDirs.put(key, dir);
+    }
+
+    private boolean isUnderRecursiveRoot(Path p) {
+        for (Path root : recursiveRoots) if (p.startsWith(root)) return true;
+        return false;
+    }
+
+    private boolean isMonitoredFile(Path p) {
+        File f = p.toFile();
+        return keystoreService.isKeystoreFile(f) || certificateService.isCertificateFile(f);
+    }
+
+    private Stream<LoadedEntry> open(File file) throws Exception {
+        if (keystoreService.isKeystoreFile(file)) {
+            KeyStore ks = keystoreService.load(file, password);
+            return keystoreService.streamEntries(ks);
+        }
+        return certificateService.streamCertificates(file);
+    }
+}
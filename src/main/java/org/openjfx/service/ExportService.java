@@ -1,5 +1,7 @@
 package org.openjfx.service;
 
+import org.openjfx.diagnostics.ExportEvent;
+import org.openjfx.diagnostics.Operation;
 import org.openjfx.service.ServiceExceptions.ExportException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -7,6 +9,7 @@ import org.slf4j.LoggerFactory;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.KeyStore;
 import java.security.cert.Certificate;
 import java.util.Base64;
 
@@ -15,11 +18,12 @@ public class ExportService {
     private static final Logger log = LoggerFactory.getLogger(ExportService.class);
 
     public void exportCertificatePem(Certificate cert, Path output) throws ExportException {
-        try {
+        try (Operation op = Operation.start(new ExportEvent(), output)) {
             String pem = "-----BEGIN CERTIFICATE-----\n" +
                     Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(cert.getEncoded()) +
                     "\n-----END CERTIFICATE-----\n";
             Files.writeString(output, pem, StandardCharsets.US_ASCII);
+            op.fileSize(pem.length()).entryCount(1);
         } catch (Exception e) {
             log.debug("Export PEM failed to {}", output, e);
             throw new ExportException("Failed to export certificate to PEM", e);
@@ -27,14 +31,29 @@ public class ExportService {
     }
 
     public void exportCertificateDer(Certificate cert, Path output) throws ExportException {
-        try {
-            Files.write(output, cert.getEncoded());
+        try (Operation op = Operation.start(new ExportEvent(), output)) {
+            byte[] der = cert.getEncoded();
+            Files.write(output, der);
+            op.fileSize(der.length).entryCount(1);
         } catch (Exception e) {
             log.debug("Export DER failed to {}", output, e);
             throw new ExportException("Failed to export certificate to DER", e);
         }
     }
 
+    /**
+     * Write a keystore (e.g. the result of a PKCS12 conversion) to a file.
+     */
+    public void exportKeystore(KeyStore ks, Path output, char[] password) throws ExportException {
+        try (Operation op = Operation.start(new ExportEvent(), output)) {
+            long size = AtomicFileWriter.write(output, false, out -> ks.store(out, password));
+            op.fileSize(size).entryCount(ks.size());
+        } catch (Exception e) {
+            log.debug("Export keystore failed to {}", output, e);
+            throw new ExportException("Failed to write keystore", e);
+        }
+    }
+
     /**
      * Basic filename sanitization for aliases to safe-ish filenames.
      */
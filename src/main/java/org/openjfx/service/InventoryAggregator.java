@@ -0,0 +1,156 @@
+package org.openjfx.service;
+
+import org.openjfx.model.CertificateInfo;
+
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live group-by counts over the loaded entries: by issuer, signature algorithm, key algorithm and size, entry
+ * type and expiry month. Entries are counted as they are mapped and uncounted when removed, so the roll-ups
+ * are current while a large store is still loading and never have to be recomputed. Nothing is kept per
+ * entry; removing recomputes the groups from the same row and certificate. Thread-safe.
+ */
+public final class InventoryAggregator {
+
+    public enum Dimension {
+        ISSUER("Issuer"),
+        SIGNATURE_ALGORITHM("Signature Algorithm"),
+        KEY("Key"),
+        ENTRY_TYPE("Entry Type"),
+        EXPIRY_MONTH("Expiry Month");
+
+        private final String label;
+
+        Dimension(String label) { this.label = label; }
+
+        public String getLabel() { return label; }
+    }
+
+    /** One group and its current count. */
+    public static final class Group {
+        private final String key;
+        private final long count;
+
+        Group(String key, long count) {
+            this.key = key;
+            this.count = count;
+        }
+
+        public String getKey() { return key; }
+        public long getCount() { return count; }
+    }
+
+    private static final String NONE = "(none)";
+
+    private final Map<Dimension, Map<String, Long>> counts = new EnumMap<>(Dimension.class);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+    private long generation; // guarded by this
+
+    public InventoryAggregator() {
+        for (Dimension d : Dimension.values()) counts.put(d, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Feeds one load into the counts. Starting a feed clears the counts and retires earlier feeds, so a load
+     * that is superseded while still running no longer adds to the new inventory.
+     */
+    public final class Feed implements EntryVisitor {
+        private final long feedGeneration;
+
+        private Feed(long feedGeneration) { this.feedGeneration = feedGeneration; }
+
+        @Override
+        public void visit(CertificateInfo info, Certificate cert) {
+            adjust(info, cert, 1, feedGeneration);
+        }
+    }
+
+    public synchronized Feed newFeed() {
+        generation++;
+        for (Map<String, Long> groups : counts.values()) groups.clear();
+        total.set(0);
+        version.incrementAndGet();
+        return new Feed(generation);
+    }
+
+    public void add(CertificateInfo info, Certificate cert) {
+        adjust(info, cert, 1, -1);
+    }
+
+    /** Uncount an entry previously added with the same row and certificate. */
+    public void remove(CertificateInfo info, Certificate cert) {
+        adjust(info, cert, -1, -1);
+    }
+
+    /**
+     * Count or uncount one entry. A feed's generation (-1 for none) is checked under the lock {@link #newFeed}
+     * takes, so a retired feed cannot add to counts that were cleared after its check. The group keys are
+     * derived before taking the lock.
+     */
+    private void adjust(CertificateInfo info, Certificate cert, long delta, long feedGeneration) {
+        X509Certificate x509 = cert instanceof X509Certificate x ? x : null;
+        String key = x509 == null ? null : key(x509.getPublicKey());
+        String expiry = expiryMonth(info, x509);
+        synchronized (this) {
+            if (feedGeneration >= 0 && feedGeneration != generation) return;
+            bump(Dimension.ISSUER, info.getIssuer(), delta);
+            bump(Dimension.SIGNATURE_ALGORITHM, info.getSignatureAlgorithm(), delta);
+            bump(Dimension.KEY, key, delta);
+            bump(Dimension.ENTRY_TYPE, info.getEntryType(), delta);
+            bump(Dimension.EXPIRY_MONTH, expiry, delta);
+            total.addAndGet(delta);
+            version.incrementAndGet();
+        }
+    }
+
+    private void bump(Dimension d, String key, long delta) {
+        counts.get(d).merge(key == null || key.isEmpty() ? NONE : key, delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    private static String key(PublicKey key) {
+        int size = CertificateService.keySize(key);
+        return size > 0 ? key.getAlgorithm() + " " + size : key.getAlgorithm();
+    }
+
+    /** "yyyy-MM" (UTC) of notAfter, or of the row's "Valid Until" when there is no certificate. */
+    private static String expiryMonth(CertificateInfo info, X509Certificate cert) {
+        if (cert != null) return YearMonth.from(Instant.ofEpochMilli(cert.getNotAfter().getTime()).atOffset(ZoneOffset.UTC)).toString();
+        String until = info.getValidUntil();
+        return until != null && until.length() >= 7 ? until.substring(0, 7) : null;
+    }
+
+    /** Entries currently counted. */
+    public long total() { return total.get(); }
+
+    /** Changes with every add, remove and new feed; lets viewers skip refreshes when nothing changed. */
+    public long version() { return version.get(); }
+
+    /** The largest {@code limit} groups, by count (expiry months chronologically). */
+    public List<Group> top(Dimension d, int limit) {
+        List<Group> groups = new ArrayList<>();
+        for (Map.Entry<String, Long> e : counts.get(d).entrySet()) groups.add(new Group(e.getKey(), e.getValue()));
+        Comparator<Group> byCount = Comparator.comparingLong(Group::getCount).reversed().thenComparing(Group::getKey);
+        groups.sort(d == Dimension.EXPIRY_MONTH ? Comparator.comparing(Group::getKey) : byCount);
+        if (groups.size() <= limit) return groups;
+        if (d != Dimension.EXPIRY_MONTH) return new ArrayList<>(groups.subList(0, limit));
+        // Months: keep the most populated ones but show them in calendar order
+        List<Group> largest = new ArrayList<>(groups);
+        largest.sort(byCount);
+        largest = new ArrayList<>(largest.subList(0, limit));
+        largest.sort(Comparator.comparing(Group::getKey));
+        return largest;
+    }
+}
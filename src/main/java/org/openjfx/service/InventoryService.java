@@ -0,0 +1,243 @@
+package org.openjfx.service;
+
+import org.openjfx.diagnostics.InventoryScanEvent;
+import org.openjfx.diagnostics.Operation;
+import org.openjfx.model.CertificateInfo;
+import org.openjfx.service.InventorySnapshot.FileRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps an {@link InventorySnapshot} of every keystore and certificate file that was parsed, so unchanged
+ * files are served from the snapshot instead of being loaded and decoded again. A file is unchanged when
+ * path, size and mtime match; when only the mtime differs its SHA-256 decides. The snapshot lives in
+ * {@code ~/.keyt/inventory.snap} unless {@code -Dkeyt.snapshot} points elsewhere.
+ */
+public class InventoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryService.class);
+
+    private final Path snapshotFile;
+    private final KeystoreService keystoreService;
+    private final CertificateService certificateService;
+    private InventorySnapshot snapshot;
+
+    public InventoryService() {
+        this(defaultSnapshotFile(), new KeystoreService(), new CertificateService());
+    }
+
+    public InventoryService(Path snapshotFile, KeystoreService keystoreService, CertificateService certificateService) {
+        this.snapshotFile = snapshotFile;
+        this.keystoreService = keystoreService;
+        this.certificateService = certificateService;
+    }
+
+    public static Path defaultSnapshotFile() {
+        String configured = System.getProperty("keyt.snapshot");
+        if (configured != null && !configured.isBlank()) return Path.of(configured);
+        return Path.of(System.getProperty("user.home"), ".keyt", "inventory.snap");
+    }
+
+    private synchronized InventorySnapshot snapshot() {
+        if (snapshot == null) {
+            try {
+                snapshot = InventorySnapshot.open(snapshotFile);
+            } catch (IOException e) {
+                log.debug("Ignoring unreadable inventory snapshot {}", snapshotFile, e);
+                snapshot = InventorySnapshot.empty(snapshotFile);
+            }
+        }
+        return snapshot;
+    }
+
+    /** The snapshot record of {@code file} if the file is unchanged since it was recorded, otherwise null. */
+    public FileRecord lookup(File file) {
+        try {
+            InventorySnapshot snap = snapshot();
+            FileRecord r = snap.get(file.toPath());
+            if (r == null || !file.isFile()) return null;
+            long size = Files.size(file.toPath());
+            long mtime = Files.getLastModifiedTime(file.toPath()).toMillis();
+            if (r.getSize() != size) return null;
+            if (r.getMtime() == mtime) return r;
+            if (!Arrays.equals(r.getSha256(), FileDigests.sha256(file.toPath()))) return null;
+            // Touched but identical: remember the new mtime so the next lookup takes the fast path
+            FileRecord touched = r.withMtime(mtime);
+            snap.put(touched);
+            return touched;
+        } catch (IOException e) {
+            log.debug("Snapshot lookup failed for {}", file, e);
+            return null;
+        }
+    }
+
+    /** Record the entries of a keystore that was just loaded from {@code file}. */
+    public FileRecord record(File file, KeyStore ks) throws Exception {
+        List<CertificateInfo> infos = new ArrayList<>();
+        List<byte[]> encoded = new ArrayList<>();
+        keystoreService.forEachEntry(ks, (info, cert) -> {
+            infos.add(info);
+            encoded.add(cert == null ? null : cert.getEncoded());
+        });
+        return record(file, ks.getType(), infos, encoded);
+    }
+
+    /** Parse a certificate file and record its certificates. */
+    public FileRecord recordCertificates(File file) throws Exception {
+        List<CertificateInfo> infos = new ArrayList<>();
+        List<byte[]> encoded = new ArrayList<>();
+        certificateService.forEachCertificate(file, (info, cert) -> {
+            infos.add(info);
+            encoded.add(cert.getEncoded());
+        });
+        return record(file, "Certificates", infos, encoded);
+    }
+
+    private FileRecord record(File file, String type, List<CertificateInfo> infos, List<byte[]> encoded) throws Exception {
+        Path p = file.toPath();
+        long size = Files.size(p);
+        long mtime = Files.getLastModifiedTime(p).toMillis();
+        FileRecord r = InventorySnapshot.newRecord(p, size, mtime, FileDigests.sha256(p), type, infos, encoded);
+        snapshot().put(r);
+        return r;
+    }
+
+    /**
+     * Record a keystore and save the snapshot right away, returning the record backed by the mapped snapshot
+     * file, or the in-memory record if the snapshot could not be written.
+     */
+    public FileRecord recordAndMap(File file, KeyStore ks) throws Exception {
+        FileRecord r = record(file, ks);
+        save();
+        FileRecord mapped = lookup(file);
+        return mapped != null ? mapped : r;
+    }
+
+    /** Persist pending changes; failures only cost the next run a re-parse, so they are logged. */
+    public void save() {
+        InventorySnapshot snap = snapshot();
+        if (!snap.isDirty()) return;
+        try {
+            snap.save();
+        } catch (Exception e) {
+            log.debug("Saving inventory snapshot {} failed", snap.getFile(), e);
+        }
+    }
+
+    /**
+     * Rescan files and directories (recursively, keystore and certificate extensions only): unchanged files come
+     * from the snapshot, changed and new files are parsed concurrently, and records of files that disappeared
+     * below {@code roots} are dropped. Results keep the order in which files were found.
+     */
+    public ScanResult rescan(List<Path> roots, char[] password, int threads) throws IOException, InterruptedException {
+        List<File> files = new ArrayList<>();
+        for (Path root : roots) {
+            if (Files.isDirectory(root)) {
+                try (Stream<Path> walk = Files.walk(root)) {
+                    files.addAll(walk.filter(Files::isRegularFile).map(Path::toFile).filter(this::isInventoryFile).sorted().collect(Collectors.toList()));
+                }
+            } else {
+                files.add(root.toFile());
+            }
+        }
+        ScanResult result = new ScanResult();
+        try (Operation op = Operation.start(new InventoryScanEvent(), roots.size() == 1 ? roots.get(0).toString() : roots.size() + " roots")) {
+            List<File> changed = new ArrayList<>();
+            for (File f : files) {
+                FileRecord r = lookup(f);
+                if (r != null) {
+                    result.files.put(f, r);
+                    result.reused++;
+                } else {
+                    result.files.put(f, null);
+                    changed.add(f);
+                }
+            }
+            if (!changed.isEmpty()) {
+                int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+                ExecutorService pool = Executors.newFixedThreadPool(Math.min(poolSize, changed.size()), r -> {
+                    Thread t = new Thread(r, "inventory-parse");
+                    t.setDaemon(true);
+                    return t;
+                });
+                try {
+                    List<Future<FileRecord>> parses = new ArrayList<>(changed.size());
+                    for (File f : changed) parses.add(pool.submit(() -> parse(f, password)));
+                    for (int i = 0; i < changed.size(); i++) {
+                        File f = changed.get(i);
+                        try {
+                            result.files.put(f, parses.get(i).get());
+                            result.parsed++;
+                        } catch (ExecutionException e) {
+                            log.debug("Inventory parse failed for {}", f, e.getCause());
+                            result.files.remove(f);
+                            result.failures.put(f, e.getCause().getMessage());
+                        }
+                    }
+                } finally {
+                    pool.shutdownNow();
+                }
+            }
+            for (FileRecord r : snapshot().records()) {
+                Path p = Path.of(r.getPath());
+                if (!Files.exists(p) && roots.stream().anyMatch(root -> p.startsWith(root.toAbsolutePath().normalize()))) {
+                    snapshot().remove(p);
+                    result.removed++;
+                }
+            }
+            int entries = 0;
+            for (FileRecord r : result.files.values()) entries += r.getEntryCount();
+            op.entryCount(entries);
+        }
+        save();
+        return result;
+    }
+
+    /** Entries of one file: from the snapshot when unchanged, otherwise parsed (and recorded, not yet saved). */
+    public FileRecord open(File file, char[] password) throws Exception {
+        FileRecord r = lookup(file);
+        return r != null ? r : parse(file, password);
+    }
+
+    private FileRecord parse(File file, char[] password) throws Exception {
+        if (keystoreService.isKeystoreFile(file)) return record(file, keystoreService.load(file, password));
+        return recordCertificates(file);
+    }
+
+    private boolean isInventoryFile(File f) {
+        return keystoreService.isKeystoreFile(f) || certificateService.isCertificateFile(f);
+    }
+
+    /** Outcome of {@link #rescan}. */
+    public static class ScanResult {
+        private final Map<File, FileRecord> files = new LinkedHashMap<>();
+        private final Map<File, String> failures = new LinkedHashMap<>();
+        private int reused;
+        private int parsed;
+        private int removed;
+
+        public Map<File, FileRecord> getFiles() { return Collections.unmodifiableMap(files); }
+        public Map<File, String> getFailures() { return Collections.unmodifiableMap(failures); }
+        public int getReused() { return reused; }
+        public int getParsed() { return parsed; }
+        public int getRemoved() { return removed; }
+    }
+}
@@ -0,0 +1,281 @@
+package org.openjfx.service;
+
+import org.openjfx.model.CertificateInfo;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary snapshot of parsed inventory files: per file its entry metadata ({@link CertificateInfo}) and the
+ * encoded certificates, keyed by path and validated by size, mtime and SHA-256.
+ * <p>
+ * Layout: the per-file data blocks come first, followed by an index of file records and a fixed footer that
+ * points at the index. Opening a snapshot maps the file and reads only the index; a file's entries are
+ * decoded when it is looked up, and certificate bytes are sliced from the mapping on demand.
+ */
+public final class InventorySnapshot {
+
+    private static final int MAGIC = 0x4B534E50; // "KSNP"
+    private static final int VERSION = 1;
+    private static final int FOOTER_SIZE = Long.BYTES + Integer.BYTES * 2;
+
+    private final Path file;
+    private final Map<String, FileRecord> records = new LinkedHashMap<>();
+    private boolean dirty;
+
+    private InventorySnapshot(Path file) {
+        this.file = file;
+    }
+
+    /** Open the snapshot at {@code file}; a missing, foreign or truncated file yields an empty snapshot. */
+    public static InventorySnapshot open(Path file) throws IOException {
+        InventorySnapshot snapshot = new InventorySnapshot(file);
+        if (Files.isRegularFile(file)) snapshot.readIndex();
+        return snapshot;
+    }
+
+    /** An empty snapshot that will be written to {@code file} on {@link #save()}. */
+    public static InventorySnapshot empty(Path file) {
+        return new InventorySnapshot(file);
+    }
+
+    public Path getFile() { return file; }
+
+    public synchronized int size() { return records.size(); }
+
+    public synchronized Collection<FileRecord> records() {
+        return Collections.unmodifiableList(new ArrayList<>(records.values()));
+    }
+
+    /** The record for {@code path} regardless of whether it is still current. */
+    public synchronized FileRecord get(Path path) {
+        return records.get(key(path));
+    }
+
+    public synchronized void put(FileRecord record) {
+        records.put(record.path, record);
+        dirty = true;
+    }
+
+    public synchronized boolean remove(Path path) {
+        boolean removed = records.remove(key(path)) != null;
+        dirty |= removed;
+        return removed;
+    }
+
+    public synchronized boolean isDirty() { return dirty; }
+
+    /** Create a record from freshly parsed entries; {@code encoded.get(i)} is null for entries without certificate. */
+    public static FileRecord newRecord(Path path, long size, long mtime, byte[] sha256, String type,
+                                       List<CertificateInfo> entries, List<byte[]> encoded) throws IOException {
+        ByteArrayOutputStream meta = new ByteArrayOutputStream(entries.size() * 160);
+        ByteArrayOutputStream certs = new ByteArrayOutputStream(entries.size() * 700);
+        DataOutputStream out = new DataOutputStream(meta);
+        for (int i = 0; i < entries.size(); i++) {
+            CertificateInfo ci = entries.get(i);
+            out.writeUTF(ci.getAlias());
+            out.writeUTF(ci.getEntryType());
+            out.writeUTF(ci.getValidFrom());
+            out.writeUTF(ci.getValidUntil());
+            out.writeUTF(ci.getSignatureAlgorithm());
+            out.writeUTF(ci.getSerialNumber());
+            out.writeUTF(ci.getIssuer());
+            byte[] der = encoded.get(i);
+            out.writeInt(der == null ? -1 : certs.size());
+            out.writeInt(der == null ? 0 : der.length);
+            if (der != null) certs.write(der);
+        }
+        out.flush();
+        return new FileRecord(key(path), size, mtime, sha256, type, entries.size(),
+                ByteBuffer.wrap(meta.toByteArray()), ByteBuffer.wrap(certs.toByteArray()));
+    }
+
+    /** Write all records to the snapshot file (atomically) and remap it. */
+    public synchronized void save() throws Exception {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        List<FileRecord> current = new ArrayList<>(records.values());
+        AtomicFileWriter.write(file, false, os -> {
+            DataOutputStream out = new DataOutputStream(os);
+            long offset = 0;
+            long[] dataOffsets = new long[current.size()];
+            for (int i = 0; i < current.size(); i++) {
+                FileRecord r = current.get(i);
+                dataOffsets[i] = offset;
+                offset += writeBuffer(out, r.meta) + writeBuffer(out, r.certs);
+            }
+            long indexOffset = offset;
+            for (int i = 0; i < current.size(); i++) {
+                FileRecord r = current.get(i);
+                out.writeUTF(r.path);
+                out.writeLong(r.size);
+                out.writeLong(r.mtime);
+                out.write(r.sha256);
+                out.writeUTF(r.type);
+                out.writeInt(r.entryCount);
+                out.writeLong(dataOffsets[i]);
+                out.writeInt(r.meta.remaining());
+                out.writeInt(r.certs.remaining());
+            }
+            out.writeLong(indexOffset);
+            out.writeInt(current.size());
+            out.writeInt(MAGIC ^ VERSION);
+            out.flush();
+        });
+        records.clear();
+        readIndex();
+        dirty = false;
+    }
+
+    private static int writeBuffer(DataOutputStream out, ByteBuffer buf) throws IOException {
+        ByteBuffer b = buf.duplicate();
+        byte[] chunk = new byte[Math.min(64 * 1024, Math.max(1, b.remaining()))];
+        int total = b.remaining();
+        while (b.hasRemaining()) {
+            int n = Math.min(chunk.length, b.remaining());
+            b.get(chunk, 0, n);
+            out.write(chunk, 0, n);
+        }
+        return total;
+    }
+
+    private void readIndex() throws IOException {
+        MappedByteBuffer map;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() < FOOTER_SIZE || ch.size() > Integer.MAX_VALUE) return;
+            map = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        }
+        int limit = map.limit();
+        long indexOffset = map.getLong(limit - FOOTER_SIZE);
+        int count = map.getInt(limit - FOOTER_SIZE + Long.BYTES);
+        if (map.getInt(limit - Integer.BYTES) != (MAGIC ^ VERSION) || indexOffset < 0 || indexOffset > limit - FOOTER_SIZE) return;
+        byte[] index = new byte[(int) (limit - FOOTER_SIZE - indexOffset)];
+        map.get((int) indexOffset, index);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(index));
+        Map<String, FileRecord> read = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String path = in.readUTF();
+            long size = in.readLong();
+            long mtime = in.readLong();
+            byte[] sha256 = new byte[32];
+            in.readFully(sha256);
+            String type = in.readUTF();
+            int entryCount = in.readInt();
+            long dataOffset = in.readLong();
+            int metaLength = in.readInt();
+            int certsLength = in.readInt();
+            if (dataOffset + metaLength + certsLength > indexOffset) return; // corrupt: ignore the whole snapshot
+            ByteBuffer meta = map.slice((int) dataOffset, metaLength);
+            ByteBuffer certs = map.slice((int) dataOffset + metaLength, certsLength);
+            read.put(path, new FileRecord(path, size, mtime, sha256, type, entryCount, meta, certs));
+        }
+        records.putAll(read);
+    }
+
+    static String key(Path path) {
+        return path.toAbsolutePath().normalize().toString();
+    }
+
+    /** One inventoried file. Entry metadata is decoded on first access; certificate bytes stay in the mapping. */
+    public static final class FileRecord {
+        private final String path;
+        private final long size;
+        private final long mtime;
+        private final byte[] sha256;
+        private final String type;
+        private final int entryCount;
+        private final ByteBuffer meta;
+        private final ByteBuffer certs;
+        private List<CertificateInfo> entries;
+        private int[] certOffsets;
+        private int[] certLengths;
+
+        private FileRecord(String path, long size, long mtime, byte[] sha256, String type, int entryCount, ByteBuffer meta, ByteBuffer certs) {
+            this.path = path;
+            this.size = size;
+            this.mtime = mtime;
+            this.sha256 = sha256;
+            this.type = type;
+            this.entryCount = entryCount;
+            this.meta = meta;
+            this.certs = certs;
+        }
+
+        public String getPath() { return path; }
+        public long getSize() { return size; }
+        public long getMtime() { return mtime; }
+        public byte[] getSha256() { return sha256.clone(); }
+        /** Keystore type (JKS, PKCS12) or "Certificates" for certificate files. */
+        public String getType() { return type; }
+        public int getEntryCount() { return entryCount; }
+        /** Total size of the encoded certificates of this file. */
+        public long getEncodedSize() { return certs.remaining(); }
+
+        /** Copy of this record with a new mtime, for files touched without content changes. */
+        public FileRecord withMtime(long newMtime) {
+            return new FileRecord(path, size, newMtime, sha256, type, entryCount, meta, certs);
+        }
+
+        public synchronized List<CertificateInfo> entries() throws IOException {
+            if (entries == null) decode();
+            return entries;
+        }
+
+        /** Encoded certificate of entry {@code index}, or null when the entry has none. */
+        public byte[] encodedCertificate(int index) throws IOException {
+            synchronized (this) {
+                if (entries == null) decode();
+            }
+            if (certOffsets[index] < 0) return null;
+            byte[] der = new byte[certLengths[index]];
+            certs.get(certOffsets[index], der);
+            return der;
+        }
+
+        public Certificate certificate(int index) throws IOException, CertificateException {
+            byte[] der = encodedCertificate(index);
+            return der == null ? null : CertificateFactory.getInstance("X.509").generateCertificate(new ByteArrayInputStream(der));
+        }
+
+        private void decode() throws IOException {
+            byte[] bytes = new byte[meta.remaining()];
+            meta.duplicate().get(bytes);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            List<CertificateInfo> list = new ArrayList<>(entryCount);
+            int[] offsets = new int[entryCount];
+            int[] lengths = new int[entryCount];
+            for (int i = 0; i < entryCount; i++) {
+                String alias = in.readUTF();
+                String entryType = in.readUTF();
+                String validFrom = in.readUTF();
+                String validUntil = in.readUTF();
+                String sigAlg = in.readUTF();
+                String serial = in.readUTF();
+                String issuer = in.readUTF();
+                offsets[i] = in.readInt();
+                lengths[i] = in.readInt();
+                list.add(new CertificateInfo(alias, entryType, validFrom, validUntil, sigAlg, serial, issuer));
+            }
+            certOffsets = offsets;
+            certLengths = lengths;
+            entries = Collections.unmodifiableList(list);
+        }
+    }
+}
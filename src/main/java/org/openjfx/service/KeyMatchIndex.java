@@ -0,0 +1,399 @@
+package org.openjfx.service;
+
+import org.openjfx.diagnostics.KeyMatchEvent;
+import org.openjfx.diagnostics.Operation;
+import org.openjfx.service.PrivateKeyReader.PemBlock;
+import org.openjfx.service.ServiceExceptions.KeyLoadException;
+import org.openjfx.service.ServiceExceptions.KeystoreEditException;
+import org.openjfx.util.HexUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.security.auth.x500.X500Principal;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Pairs private keys with their certificates across loose files and keystores. Every certificate and every key
+ * is reduced to the SHA-256 of its SubjectPublicKeyInfo when it is added, so matching is one hash lookup per
+ * key instead of trying every key against every certificate. Keystore entries are indexed by their
+ * certificates under "file#alias" sources. Matched pairs can be written to a new keystore in bulk by
+ * {@link #buildKeyStore}, each key with a chain completed from the indexed certificates.
+ */
+public class KeyMatchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(KeyMatchIndex.class);
+    private static final int MAX_CHAIN = 10;
+    private static final List<String> KEY_EXTENSIONS = List.of(".key", ".p8", ".pk8");
+
+    /** A private key and where it was found; keys whose public key is unknown never match. */
+    public static final class IndexedKey {
+        private final String source;
+        private final KeyPair keyPair;
+        private final String spkiHash;
+
+        IndexedKey(String source, KeyPair keyPair, String spkiHash) {
+            this.source = source;
+            this.keyPair = keyPair;
+            this.spkiHash = spkiHash;
+        }
+
+        public String getSource() { return source; }
+        public PrivateKey getPrivateKey() { return keyPair.getPrivate(); }
+        /** Null when the file does not include the public key and it cannot be derived. */
+        public PublicKey getPublicKey() { return keyPair.getPublic(); }
+        public String getAlgorithm() { return keyPair.getPrivate().getAlgorithm(); }
+        /** Hex SHA-256 of the DER SubjectPublicKeyInfo, or null without a public key. */
+        public String getSpkiHash() { return spkiHash; }
+    }
+
+    /** A certificate and where it was found. */
+    public static final class IndexedCertificate {
+        private final String source;
+        private final X509Certificate certificate;
+        private final boolean keyEntry;
+
+        IndexedCertificate(String source, X509Certificate certificate, boolean keyEntry) {
+            this.source = source;
+            this.certificate = certificate;
+            this.keyEntry = keyEntry;
+        }
+
+        /** The file, or "file#alias" for keystore entries. */
+        public String getSource() { return source; }
+        public X509Certificate getCertificate() { return certificate; }
+        /** True for the certificate of a keystore key entry, i.e. the key is already stored with it. */
+        public boolean isKeyEntry() { return keyEntry; }
+    }
+
+    /** A key and every indexed certificate for its public key. */
+    public static final class Match {
+        private final IndexedKey key;
+        private final List<IndexedCertificate> certificates;
+
+        Match(IndexedKey key, List<IndexedCertificate> certificates) {
+            this.key = key;
+            this.certificates = certificates;
+        }
+
+        public IndexedKey getKey() { return key; }
+        public List<IndexedCertificate> getCertificates() { return certificates; }
+
+        /** The certificate that expires last, for keys that were certified more than once. */
+        public X509Certificate getCertificate() {
+            return certificates.stream().map(IndexedCertificate::getCertificate)
+                    .max(Comparator.comparing(X509Certificate::getNotAfter)).orElseThrow();
+        }
+    }
+
+    /** What one file contributed, collected off the index so files can be parsed concurrently. */
+    private static final class Parsed {
+        final List<IndexedKey> keys = new ArrayList<>();
+        final List<IndexedCertificate> certificates = new ArrayList<>();
+    }
+
+    private final KeystoreService keystoreService;
+    private final CertificateService certificateService;
+    private final Map<String, List<IndexedCertificate>> bySpki = new HashMap<>();
+    private final Map<X500Principal, List<X509Certificate>> bySubject = new HashMap<>();
+    private final List<IndexedKey> keys = new ArrayList<>();
+    private final Map<File, String> failures = new LinkedHashMap<>();
+    private int certificateCount;
+
+    public KeyMatchIndex() {
+        this(new KeystoreService(), new CertificateService());
+    }
+
+    public KeyMatchIndex(KeystoreService keystoreService, CertificateService certificateService) {
+        this.keystoreService = keystoreService;
+        this.certificateService = certificateService;
+    }
+
+    /** Hex SHA-256 of the DER SubjectPublicKeyInfo of {@code key}. */
+    public static String spkiHash(PublicKey key) {
+        try {
+            return HexUtil.toHex(MessageDigest.getInstance("SHA-256").digest(key.getEncoded()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public synchronized void addCertificate(String source, X509Certificate cert, boolean keyEntry) {
+        add(new IndexedCertificate(source, cert, keyEntry), spkiHash(cert.getPublicKey()));
+    }
+
+    public synchronized IndexedKey addKey(String source, KeyPair keyPair) {
+        IndexedKey key = indexedKey(source, keyPair);
+        keys.add(key);
+        return key;
+    }
+
+    /**
+     * Index the keys and certificates of one file: PEM files with any mix of key and certificate blocks, DER
+     * certificates and PKCS#8 keys, and keystores (by the certificates of their entries).
+     *
+     * @param password opens keystores and decrypts encrypted PKCS#8 keys
+     */
+    public void addFile(File file, char[] password) throws KeyLoadException {
+        add(parse(file, password));
+    }
+
+    /**
+     * Index every file under {@code roots} (directories are walked). Files are parsed concurrently and added in
+     * path order; files that cannot be read are recorded in {@link #failures()} and skipped.
+     *
+     * @param threads number of files parsed at once; values below 1 use the number of processors
+     */
+    public void scan(List<Path> roots, char[] password, int threads) throws IOException, InterruptedException {
+        List<File> files = new ArrayList<>();
+        for (Path root : roots) {
+            if (Files.isDirectory(root)) {
+                try (Stream<Path> walk = Files.walk(root)) {
+                    files.addAll(walk.filter(Files::isRegularFile).map(Path::toFile).filter(this::isCandidate).sorted().collect(Collectors.toList()));
+                }
+            } else {
+                files.add(root.toFile());
+            }
+        }
+        if (files.isEmpty()) return;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(poolSize, files.size()), r -> {
+            Thread t = new Thread(r, "key-match");
+            t.setDaemon(true);
+            return t;
+        });
+        try (Operation op = Operation.start(new KeyMatchEvent(), roots.size() == 1 ? roots.get(0).toString() : roots.size() + " roots")) {
+            List<Future<Parsed>> parsed = new ArrayList<>(files.size());
+            for (File f : files) parsed.add(pool.submit(() -> parse(f, password)));
+            for (int i = 0; i < files.size(); i++) {
+                try {
+                    add(parsed.get(i).get());
+                } catch (ExecutionException e) {
+                    log.debug("Key match indexing failed for {}", files.get(i), e.getCause());
+                    synchronized (this) {
+                        failures.put(files.get(i), e.getCause().getMessage());
+                    }
+                }
+            }
+            op.entryCount(keyCount() + certificateCount());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Keys with at least one certificate, in the order they were added. */
+    public synchronized List<Match> matches() {
+        List<Match> result = new ArrayList<>();
+        for (IndexedKey key : keys) {
+            List<IndexedCertificate> certs = key.getSpkiHash() == null ? null : bySpki.get(key.getSpkiHash());
+            if (certs != null) result.add(new Match(key, List.copyOf(certs)));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /** Keys for which no certificate was indexed, including keys whose public key is unknown. */
+    public synchronized List<IndexedKey> unmatchedKeys() {
+        return keys.stream().filter(k -> k.getSpkiHash() == null || !bySpki.containsKey(k.getSpkiHash())).collect(Collectors.toUnmodifiableList());
+    }
+
+    /** Indexed certificates for {@code key}'s public key; empty when none. */
+    public synchronized List<IndexedCertificate> certificatesFor(PublicKey key) {
+        return List.copyOf(bySpki.getOrDefault(spkiHash(key), List.of()));
+    }
+
+    public synchronized int keyCount() { return keys.size(); }
+
+    public synchronized int certificateCount() { return certificateCount; }
+
+    /** Files that could not be indexed and why. */
+    public synchronized Map<File, String> failures() { return Collections.unmodifiableMap(new LinkedHashMap<>(failures)); }
+
+    /**
+     * {@code leaf} followed by its issuers as far as they are indexed, each verified against the signature of
+     * the certificate below it.
+     */
+    public synchronized List<X509Certificate> chain(X509Certificate leaf) {
+        List<X509Certificate> chain = new ArrayList<>();
+        chain.add(leaf);
+        X509Certificate current = leaf;
+        while (chain.size() < MAX_CHAIN && !current.getIssuerX500Principal().equals(current.getSubjectX500Principal())) {
+            X509Certificate issuer = null;
+            for (X509Certificate candidate : bySubject.getOrDefault(current.getIssuerX500Principal(), List.of())) {
+                if (chain.contains(candidate)) continue;
+                try {
+                    current.verify(candidate.getPublicKey());
+                    issuer = candidate;
+                    break;
+                } catch (Exception e) {
+                    // same subject, different key
+                }
+            }
+            if (issuer == null) break;
+            chain.add(issuer);
+            current = issuer;
+        }
+        return chain;
+    }
+
+    /**
+     * A new keystore of {@code type} holding one key entry per match, protected by {@code password}. Aliases
+     * are derived from the key's file name and made unique.
+     */
+    public KeyStore buildKeyStore(List<Match> matches, String type, char[] password) throws KeystoreEditException {
+        try {
+            KeyStore ks = KeyStore.getInstance(type);
+            ks.load(null, null);
+            Set<String> aliases = new HashSet<>();
+            for (Match m : matches) {
+                String alias = uniqueAlias(alias(m.getKey().getSource()), aliases);
+                ks.setKeyEntry(alias, m.getKey().getPrivateKey(), password, chain(m.getCertificate()).toArray(new Certificate[0]));
+            }
+            return ks;
+        } catch (Exception e) {
+            log.debug("Building a {} keystore from {} key pairs failed", type, matches.size(), e);
+            throw new KeystoreEditException("Unable to build keystore: " + e.getMessage(), e);
+        }
+    }
+
+    private synchronized void add(Parsed parsed) {
+        for (IndexedCertificate c : parsed.certificates) add(c, spkiHash(c.getCertificate().getPublicKey()));
+        keys.addAll(parsed.keys);
+    }
+
+    private void add(IndexedCertificate cert, String hash) {
+        bySpki.computeIfAbsent(hash, h -> new ArrayList<>(1)).add(cert);
+        List<X509Certificate> sameSubject = bySubject.computeIfAbsent(cert.getCertificate().getSubjectX500Principal(), s -> new ArrayList<>(1));
+        if (!sameSubject.contains(cert.getCertificate())) sameSubject.add(cert.getCertificate());
+        certificateCount++;
+    }
+
+    private boolean isCandidate(File file) {
+        String name = file.getName().toLowerCase(Locale.ROOT);
+        return keystoreService.isKeystoreFile(file) || certificateService.isCertificateFile(file)
+                || KEY_EXTENSIONS.stream().anyMatch(name::endsWith);
+    }
+
+    private Parsed parse(File file, char[] password) throws KeyLoadException {
+        Parsed parsed = new Parsed();
+        byte[] data;
+        try {
+            data = Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            throw new KeyLoadException("Unable to read " + file.getName(), e);
+        }
+        String text = new String(data, StandardCharsets.ISO_8859_1);
+        if (text.contains("-----BEGIN ")) {
+            parsePem(file, text, password, parsed);
+        } else if (keystoreService.isKeystoreFile(file)) {
+            parseKeystore(file, password, parsed);
+        } else {
+            parseDer(file, data, parsed);
+        }
+        return parsed;
+    }
+
+    private static void parsePem(File file, String text, char[] password, Parsed parsed) throws KeyLoadException {
+        List<PemBlock> blocks = PrivateKeyReader.pemBlocks(text);
+        long keyBlocks = blocks.stream().filter(PemBlock::isPrivateKey).count();
+        int keyIndex = 0;
+        for (PemBlock block : blocks) {
+            if (block.isPrivateKey()) {
+                KeyPair pair = PrivateKeyReader.read(block, password);
+                String source = keyBlocks == 1 ? file.getPath() : file.getPath() + "#" + ++keyIndex;
+                parsed.keys.add(indexedKey(source, pair));
+            } else if (block.getLabel().equals("CERTIFICATE") || block.getLabel().equals("TRUSTED CERTIFICATE")) {
+                X509Certificate cert = certificate(block.getDer());
+                if (cert == null) throw new KeyLoadException("Invalid certificate in " + file.getName());
+                parsed.certificates.add(new IndexedCertificate(file.getPath(), cert, false));
+            }
+        }
+    }
+
+    private void parseKeystore(File file, char[] password, Parsed parsed) throws KeyLoadException {
+        try {
+            KeyStore ks = keystoreService.load(file, password);
+            for (Enumeration<String> e = ks.aliases(); e.hasMoreElements(); ) {
+                String alias = e.nextElement();
+                if (ks.getCertificate(alias) instanceof X509Certificate x509) {
+                    parsed.certificates.add(new IndexedCertificate(file.getPath() + "#" + alias, x509, ks.isKeyEntry(alias)));
+                }
+            }
+        } catch (Exception e) {
+            throw new KeyLoadException(e.getMessage(), e);
+        }
+    }
+
+    /** A DER file is a certificate, or else an unencrypted PKCS#8 key. */
+    private static void parseDer(File file, byte[] data, Parsed parsed) throws KeyLoadException {
+        X509Certificate cert = certificate(data);
+        if (cert != null) {
+            parsed.certificates.add(new IndexedCertificate(file.getPath(), cert, false));
+            return;
+        }
+        KeyPair pair = PrivateKeyReader.readPkcs8(data);
+        parsed.keys.add(indexedKey(file.getPath(), pair));
+    }
+
+    private static IndexedKey indexedKey(String source, KeyPair pair) {
+        return new IndexedKey(source, pair, pair.getPublic() == null ? null : spkiHash(pair.getPublic()));
+    }
+
+    private static X509Certificate certificate(byte[] der) {
+        try {
+            Certificate c = CertificateFactory.getInstance("X.509").generateCertificate(new ByteArrayInputStream(der));
+            return c instanceof X509Certificate x509 ? (X509Certificate) CertificateInterner.shared().intern(x509) : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /** "certs/www.example.com.key#2" becomes "www.example.com-2". */
+    private static String alias(String source) {
+        String name = source.substring(Math.max(source.lastIndexOf('/'), source.lastIndexOf(File.separatorChar)) + 1);
+        String suffix = "";
+        int hash = name.indexOf('#');
+        if (hash >= 0) {
+            suffix = "-" + name.substring(hash + 1);
+            name = name.substring(0, hash);
+        }
+        int dot = name.lastIndexOf('.');
+        if (dot > 0) name = name.substring(0, dot);
+        return (name + suffix).toLowerCase(Locale.ROOT);
+    }
+
+    private static String uniqueAlias(String alias, Set<String> taken) {
+        String candidate = alias;
+        for (int i = 2; !taken.add(candidate); i++) candidate = alias + "-" + i;
+        return candidate;
+    }
+}
@@ -0,0 +1,293 @@
+package org.openjfx.service;
+
+import org.openjfx.diagnostics.KeystoreSaveEvent;
+import org.openjfx.diagnostics.Operation;
+import org.openjfx.service.ServiceExceptions.ExportException;
+import org.openjfx.service.ServiceExceptions.KeystoreEditException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-place editing of a loaded keystore. Edits are collected in an {@link EditBatch}, validated together,
+ * applied to the in-memory KeyStore and then written back with a single atomic save, so a bulk change
+ * (e.g. removing thousands of expired entries) rewrites the file once.
+ */
+public class KeystoreEditService {
+
+    private static final Logger log = LoggerFactory.getLogger(KeystoreEditService.class);
+
+    public EditBatch newBatch(KeyStore ks) {
+        return new EditBatch(ks);
+    }
+
+    /**
+     * Serialize the keystore to a temp file, fsync it and atomically rename it over {@code target},
+     * keeping the previous file as "&lt;name&gt;.bak" when {@code keepBackup} is set.
+     */
+    public void save(KeyStore ks, Path target, char[] storePassword, boolean keepBackup) throws ExportException {
+        try (Operation op = Operation.start(new KeystoreSaveEvent(), target)) {
+            long size = AtomicFileWriter.write(target, keepBackup, out -> ks.store(out, storePassword));
+            op.fileSize(size).entryCount(ks.size());
+        } catch (Exception e) {
+            log.debug("Keystore save failed for {}", target, e);
+            throw new ExportException("Failed to save keystore: " + target.getFileName(), e);
+        }
+    }
+
+    /** Apply the batch and save once; a batch with no edits does not touch the file. */
+    public void applyAndSave(EditBatch batch, Path target, char[] storePassword, boolean keepBackup) throws KeystoreEditException, ExportException {
+        if (batch.isEmpty()) return;
+        batch.apply();
+        save(batch.keyStore, target, storePassword, keepBackup);
+    }
+
+    private interface Edit {
+        /**
+         * Validate against the entries as they will be after the edits checked so far, update them, and resolve
+         * everything {@link #apply} needs (recovered keys, updated chains), so apply cannot fail on a bad edit.
+         */
+        void check(KeyStore ks, Map<String, Simulated> entries) throws KeystoreEditException;
+
+        void apply(KeyStore ks) throws Exception;
+    }
+
+    /** An entry as it will be after the edits checked so far; key material is read from the KeyStore on demand. */
+    private static final class Simulated {
+        private final String liveAlias; // alias in the KeyStore before the batch; null for entries the batch creates
+        private final boolean keyEntry;
+        private Key key;
+        private Certificate[] chain;
+        private Certificate cert;
+
+        private Simulated(String liveAlias, boolean keyEntry) {
+            this.liveAlias = liveAlias;
+            this.keyEntry = keyEntry;
+        }
+
+        static Simulated ofKey(Key key, Certificate[] chain) {
+            Simulated s = new Simulated(null, true);
+            s.key = key;
+            s.chain = chain;
+            return s;
+        }
+
+        static Simulated ofCertificate(Certificate cert) {
+            Simulated s = new Simulated(null, false);
+            s.cert = cert;
+            return s;
+        }
+
+        Key key(KeyStore ks, String alias, char[] password) throws KeystoreEditException {
+            if (key == null) {
+                try {
+                    key = ks.getKey(liveAlias, password);
+                } catch (Exception e) {
+                    throw new KeystoreEditException("Key cannot be recovered for: " + alias + " (wrong key password?)", e);
+                }
+                if (key == null) throw new KeystoreEditException("Entry has no key: " + alias);
+            }
+            return key;
+        }
+
+        Certificate[] chain(KeyStore ks, String alias) throws KeystoreEditException {
+            if (chain == null) {
+                try {
+                    chain = ks.getCertificateChain(liveAlias);
+                } catch (KeyStoreException e) {
+                    throw new KeystoreEditException("Unable to read the certificate chain of: " + alias, e);
+                }
+                if (chain == null || chain.length == 0) throw new KeystoreEditException("Entry has no certificate chain: " + alias);
+            }
+            return chain;
+        }
+
+        Certificate certificate(KeyStore ks, String alias) throws KeystoreEditException {
+            if (cert == null) {
+                try {
+                    cert = ks.getCertificate(liveAlias);
+                } catch (KeyStoreException e) {
+                    throw new KeystoreEditException("Unable to read the certificate of: " + alias, e);
+                }
+            }
+            return cert;
+        }
+    }
+
+    /**
+     * Pending edits against one KeyStore. Aliases are compared case-insensitively, as both JKS and PKCS12 do.
+     * Key passwords passed in are used during {@link #apply()} and are not copied; callers wipe them afterwards.
+     */
+    public static class EditBatch {
+        private final KeyStore keyStore;
+        private final List<Edit> edits = new ArrayList<>();
+
+        EditBatch(KeyStore keyStore) {
+            this.keyStore = keyStore;
+        }
+
+        public int size() { return edits.size(); }
+
+        public boolean isEmpty() { return edits.isEmpty(); }
+
+        public EditBatch addCertificate(String alias, Certificate cert) {
+            edits.add(new Edit() {
+                public void check(KeyStore ks, Map<String, Simulated> entries) throws KeystoreEditException {
+                    requireAbsent(entries, alias);
+                    entries.put(norm(alias), Simulated.ofCertificate(cert));
+                }
+                public void apply(KeyStore ks) throws Exception { ks.setCertificateEntry(alias, cert); }
+            });
+            return this;
+        }
+
+        public EditBatch addKeyEntry(String alias, Key key, char[] keyPassword, Certificate[] chain) {
+            edits.add(new Edit() {
+                public void check(KeyStore ks, Map<String, Simulated> entries) throws KeystoreEditException {
+                    requireAbsent(entries, alias);
+                    if (chain == null || chain.length == 0) throw new KeystoreEditException("A certificate chain is required for key entry: " + alias);
+                    entries.put(norm(alias), Simulated.ofKey(key, chain));
+                }
+                public void apply(KeyStore ks) throws Exception { ks.setKeyEntry(alias, key, keyPassword, chain); }
+            });
+            return this;
+        }
+
+        public EditBatch delete(String alias) {
+            edits.add(new Edit() {
+                public void check(KeyStore ks, Map<String, Simulated> entries) throws KeystoreEditException {
+                    requirePresent(entries, alias);
+                    entries.remove(norm(alias));
+                }
+                public void apply(KeyStore ks) throws Exception { ks.deleteEntry(alias); }
+            });
+            return this;
+        }
+
+        /** Rename an entry; key entries are re-protected with {@code keyPassword}. */
+        public EditBatch renameAlias(String from, String to, char[] keyPassword) {
+            edits.add(new Edit() {
+                private Simulated moved;
+
+                public void check(KeyStore ks, Map<String, Simulated> entries) throws KeystoreEditException {
+                    requirePresent(entries, from);
+                    if (!norm(from).equals(norm(to))) requireAbsent(entries, to);
+                    Simulated entry = entries.remove(norm(from));
+                    moved = entry.keyEntry
+                            ? Simulated.ofKey(entry.key(ks, from, keyPassword), entry.chain(ks, from))
+                            : Simulated.ofCertificate(entry.certificate(ks, from));
+                    entries.put(norm(to), moved);
+                }
+                public void apply(KeyStore ks) throws Exception {
+                    ks.deleteEntry(from);
+                    if (moved.keyEntry) ks.setKeyEntry(to, moved.key, keyPassword, moved.chain);
+                    else ks.setCertificateEntry(to, moved.cert);
+                }
+            });
+            return this;
+        }
+
+        /**
+         * Replace the certificate of an entry. For key entries the new certificate must carry the entry's
+         * public key; it replaces the leaf of the chain (e.g. a renewed certificate for the same key).
+         */
+        public EditBatch replaceCertificate(String alias, Certificate cert, char[] keyPassword) {
+            edits.add(new Edit() {
+                private Key key;
+                private Certificate[] updated;
+
+                public void check(KeyStore ks, Map<String, Simulated> entries) throws KeystoreEditException {
+                    requirePresent(entries, alias);
+                    Simulated entry = entries.get(norm(alias));
+                    if (!entry.keyEntry) {
+                        entry.cert = cert;
+                        return;
+                    }
+                    Certificate[] chain = entry.chain(ks, alias);
+                    if (!chain[0].getPublicKey().equals(cert.getPublicKey())) {
+                        throw new KeystoreEditException("Certificate does not match the private key of: " + alias);
+                    }
+                    key = entry.key(ks, alias, keyPassword);
+                    updated = chain.clone();
+                    updated[0] = cert;
+                    entry.chain = updated;
+                }
+                public void apply(KeyStore ks) throws Exception {
+                    if (key != null) ks.setKeyEntry(alias, key, keyPassword, updated);
+                    else ks.setCertificateEntry(alias, cert);
+                }
+            });
+            return this;
+        }
+
+        /** Queue deletion of every entry whose certificate expired before {@code now}. Returns the aliases queued. */
+        public List<String> deleteExpired(Date now) throws KeystoreEditException {
+            List<String> expired = new ArrayList<>();
+            try {
+                for (Enumeration<String> e = keyStore.aliases(); e.hasMoreElements(); ) {
+                    String alias = e.nextElement();
+                    if (keyStore.getCertificate(alias) instanceof X509Certificate x509 && x509.getNotAfter().before(now)) {
+                        expired.add(alias);
+                    }
+                }
+            } catch (Exception e) {
+                throw new KeystoreEditException("Unable to scan keystore for expired entries", e);
+            }
+            for (String alias : expired) delete(alias);
+            return Collections.unmodifiableList(expired);
+        }
+
+        /**
+         * Validate all edits, then apply them to the KeyStore. Validation covers alias conflicts as well as key
+         * recovery and key/certificate matching, against the entries as earlier edits of the batch leave them,
+         * so nothing is applied if any edit is invalid.
+         */
+        public void apply() throws KeystoreEditException {
+            Map<String, Simulated> entries = new HashMap<>();
+            try {
+                for (Enumeration<String> e = keyStore.aliases(); e.hasMoreElements(); ) {
+                    String alias = e.nextElement();
+                    entries.put(norm(alias), new Simulated(alias, keyStore.isKeyEntry(alias)));
+                }
+            } catch (Exception e) {
+                throw new KeystoreEditException("Keystore is not loaded", e);
+            }
+            try {
+                for (Edit edit : edits) edit.check(keyStore, entries);
+                for (Edit edit : edits) edit.apply(keyStore);
+            } catch (KeystoreEditException e) {
+                throw e;
+            } catch (Exception e) {
+                log.debug("Applying keystore edit failed", e);
+                throw new KeystoreEditException("Unable to apply keystore edit", e);
+            } finally {
+                edits.clear();
+            }
+        }
+
+        private static String norm(String alias) { return alias.toLowerCase(Locale.ROOT); }
+
+        private static void requirePresent(Map<String, Simulated> entries, String alias) throws KeystoreEditException {
+            if (!entries.containsKey(norm(alias))) throw new KeystoreEditException("No such alias: " + alias);
+        }
+
+        private static void requireAbsent(Map<String, Simulated> entries, String alias) throws KeystoreEditException {
+            if (alias == null || alias.isBlank()) throw new KeystoreEditException("Alias must not be empty");
+            if (entries.containsKey(norm(alias))) throw new KeystoreEditException("Alias already exists: " + alias);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package org.openjfx.service;
+
+import org.openjfx.diagnostics.MergeEvent;
+import org.openjfx.diagnostics.Operation;
+import org.openjfx.service.ServiceExceptions.ExportException;
+import org.openjfx.service.ServiceExceptions.KeystoreLoadException;
+import org.openjfx.util.HexUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Merges many keystores into one. Sources are loaded concurrently through {@link KeystoreService#load},
+ * entries are deduplicated by the SHA-256 fingerprint of their certificate (a key entry replaces a trusted
+ * entry for the same certificate), and alias clashes between
+ * different certificates are resolved by a {@link ConflictPolicy}. Sources are merged in the order given,
+ * so the result does not depend on which load finishes first.
+ */
+public class KeystoreMergeService {
+
+    private static final Logger log = LoggerFactory.getLogger(KeystoreMergeService.class);
+
+    /** What to do when an alias is already taken by a different certificate. */
+    public enum ConflictPolicy {
+        /** Keep the entry merged first, drop the later one. */
+        SKIP,
+        /** Keep both; the later entry gets a "-2", "-3", … suffix. */
+        RENAME,
+        /** The later entry replaces the earlier one. */
+        OVERWRITE,
+        /** Abort the merge. */
+        FAIL
+    }
+
+    private final KeystoreService keystoreService;
+    private final ExportService exportService = new ExportService();
+
+    public KeystoreMergeService() {
+        this(new KeystoreService());
+    }
+
+    public KeystoreMergeService(KeystoreService keystoreService) {
+        this.keystoreService = keystoreService;
+    }
+
+    /**
+     * Merge {@code sources} into a new in-memory keystore of {@code outputType} (JKS or PKCS12).
+     *
+     * @param sourcePassword password of every source store (and of their key entries)
+     * @param outputPassword protection for key entries in the merged store
+     * @param threads        number of concurrent loads; values below 1 use the number of processors
+     */
+    public MergeResult merge(List<File> sources, char[] sourcePassword, String outputType, char[] outputPassword,
+                             ConflictPolicy policy, int threads) throws KeystoreLoadException {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(poolSize, Math.max(1, sources.size())), r -> {
+            Thread t = new Thread(r, "merge-load");
+            t.setDaemon(true);
+            return t;
+        });
+        try (Operation op = Operation.start(new MergeEvent(), sources.size() + " keystores")) {
+            List<Future<KeyStore>> loads = new ArrayList<>(sources.size());
+            for (File f : sources) {
+                loads.add(pool.submit(() -> keystoreService.load(f, sourcePassword)));
+            }
+            KeyStore out = KeyStore.getInstance(outputType);
+            out.load(null, null);
+            MergeResult result = new MergeResult(out);
+            Merger merger = new Merger(out, outputPassword, policy, result);
+            for (int i = 0; i < sources.size(); i++) {
+                File source = sources.get(i);
+                KeyStore ks;
+                try {
+                    ks = loads.get(i).get();
+                } catch (ExecutionException e) {
+                    log.debug("Merge source failed to load: {}", source, e.getCause());
+                    result.failures.put(source, e.getCause().getMessage());
+                    continue;
+                }
+                merger.mergeFrom(source, ks, sourcePassword);
+                loads.set(i, null); // let the source store be collected
+                result.sourcesMerged++;
+            }
+            op.entryCount(out.size());
+            return result;
+        } catch (KeystoreLoadException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KeystoreLoadException("Merge interrupted", e);
+        } catch (Exception e) {
+            log.debug("Keystore merge failed", e);
+            throw new KeystoreLoadException("Unable to merge keystores", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Write the merged store atomically; the format is the type it was merged into. */
+    public void write(MergeResult result, Path output, char[] outputPassword) throws ExportException {
+        exportService.exportKeystore(result.getKeyStore(), output, outputPassword);
+    }
+
+    private static final class Merger {
+        private final KeyStore out;
+        private final char[] outputPassword;
+        private final ConflictPolicy policy;
+        private final MergeResult result;
+        private final Map<String, String> aliasByFingerprint = new HashMap<>();
+        private final Map<String, String> fingerprintByAlias = new HashMap<>();
+        private final MessageDigest sha256;
+
+        Merger(KeyStore out, char[] outputPassword, ConflictPolicy policy, MergeResult result) throws Exception {
+            this.out = out;
+            this.outputPassword = outputPassword;
+            this.policy = policy;
+            this.result = result;
+            this.sha256 = MessageDigest.getInstance("SHA-256");
+        }
+
+        void mergeFrom(File source, KeyStore ks, char[] keyPassword) throws Exception {
+            for (Enumeration<String> e = ks.aliases(); e.hasMoreElements(); ) {
+                String alias = e.nextElement();
+                Certificate cert = ks.getCertificate(alias);
+                if (cert == null) continue;
+                String fp = HexUtil.toHex(sha256.digest(cert.getEncoded()));
+                String existing = aliasByFingerprint.get(fp);
+                // A key entry outranks a certificate-only entry for the same certificate: replace it in place
+                // instead of dropping the key as a duplicate.
+                if (existing != null && !(ks.isKeyEntry(alias) && !out.isKeyEntry(existing))) {
+                    result.duplicates++;
+                    continue;
+                }
+                Key key = null;
+                if (ks.isKeyEntry(alias)) {
+                    try {
+                        key = ks.getKey(alias, keyPassword);
+                    } catch (Exception ex) {
+                        log.debug("Key for {} in {} could not be recovered", alias, source, ex);
+                        result.skipped.add(source.getName() + ":" + alias + " (key not recoverable)");
+                        continue;
+                    }
+                }
+                if (existing != null) {
+                    out.deleteEntry(existing);
+                    setEntry(ks, alias, existing, key, cert);
+                    result.upgraded.put(existing, source.getName() + ":" + alias);
+                    continue;
+                }
+                String target = resolveAlias(source, alias);
+                if (target == null) continue;
+                if (out.containsAlias(target)) out.deleteEntry(target);
+                setEntry(ks, alias, target, key, cert);
+                String previous = fingerprintByAlias.put(norm(target), fp);
+                if (previous != null) aliasByFingerprint.remove(previous);
+                aliasByFingerprint.put(fp, target);
+                result.added++;
+            }
+        }
+
+        private void setEntry(KeyStore ks, String alias, String target, Key key, Certificate cert) throws Exception {
+            if (key != null) {
+                Certificate[] chain = ks.getCertificateChain(alias);
+                out.setKeyEntry(target, key, outputPassword, chain != null ? chain : new Certificate[]{cert});
+            } else {
+                out.setCertificateEntry(target, cert);
+            }
+        }
+
+        /** Returns the alias to use, or null to drop the entry. */
+        private String resolveAlias(File source, String alias) throws KeystoreLoadException {
+            if (!fingerprintByAlias.containsKey(norm(alias))) return alias;
+            switch (policy) {
+                case SKIP:
+                    result.skipped.add(source.getName() + ":" + alias + " (alias in use)");
+                    return null;
+                case OVERWRITE:
+                    result.overwritten.add(alias);
+                    return alias;
+                case RENAME:
+                    for (int n = 2; ; n++) {
+                        String candidate = alias + "-" + n;
+                        if (!fingerprintByAlias.containsKey(norm(candidate))) {
+                            result.renamed.put(source.getName() + ":" + alias, candidate);
+                            return candidate;
+                        }
+                    }
+                default:
+                    throw new KeystoreLoadException("Alias conflict for '" + alias + "' in " + source.getName());
+            }
+        }
+
+        private static String norm(String alias) { return alias.toLowerCase(Locale.ROOT); }
+    }
+
+    /** Outcome of a merge: the merged store plus counts and per-source problems. */
+    public static class MergeResult {
+        private final KeyStore keyStore;
+        private int sourcesMerged;
+        private int added;
+        private int duplicates;
+        private final List<String> skipped = new ArrayList<>();
+        private final List<String> overwritten = new ArrayList<>();
+        private final Map<String, String> renamed = new LinkedHashMap<>();
+        private final Map<String, String> upgraded = new LinkedHashMap<>();
+        private final Map<File, String> failures = new LinkedHashMap<>();
+
+        MergeResult(KeyStore keyStore) { this.keyStore = keyStore; }
+
+        public KeyStore getKeyStore() { return keyStore; }
+        public int getSourcesMerged() { return sourcesMerged; }
+        public int getAdded() { return added; }
+        public int getDuplicates() { return duplicates; }
+        public List<String> getSkipped() { return Collections.unmodifiableList(skipped); }
+        public List<String> getOverwritten() { return Collections.unmodifiableList(overwritten); }
+        public Map<String, String> getRenamed() { return Collections.unmodifiableMap(renamed); }
+        /** Certificate-only entries replaced by a key entry for the same certificate: merged alias to source entry. */
+        public Map<String, String> getUpgraded() { return Collections.unmodifiableMap(upgraded); }
+        public Map<File, String> getFailures() { return Collections.unmodifiableMap(failures); }
+    }
+}
@@ -1,21 +1,38 @@
 package org.openjfx.service;
 
+import org.openjfx.asn1.DerException;
+import org.openjfx.asn1.DerReader;
+import org.openjfx.asn1.DerWriter;
+import org.openjfx.diagnostics.ConvertEvent;
+import org.openjfx.diagnostics.EntryMappingEvent;
+import org.openjfx.diagnostics.KeystoreLoadEvent;
+import org.openjfx.diagnostics.FileReadEvent;
+import org.openjfx.diagnostics.Operation;
 import org.openjfx.model.CertificateInfo;
+import org.openjfx.service.ServiceExceptions.EntryStreamException;
 import org.openjfx.service.ServiceExceptions.KeystoreLoadException;
 import org.openjfx.service.keystore.KeystoreProviderStrategy;
 import org.openjfx.service.keystore.SunJksPkcs12Strategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.security.Key;
 import java.security.KeyStore;
+import java.security.KeyStoreException;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class KeystoreService {
 
@@ -25,17 +42,45 @@ public class KeystoreService {
             new SunJksPkcs12Strategy()
     );
 
+    private static final byte[] PKCS7_DATA = DerWriter.oid("1.2.840.113549.1.7.1");
+
+    /** A keystore listed without its password, with the bytes it was read from. */
+    public static final class UnverifiedKeystore {
+        private final File file;
+        private final byte[] data;
+        private final KeyStore keyStore;
+
+        UnverifiedKeystore(File file, byte[] data, KeyStore keyStore) {
+            this.file = file;
+            this.data = data;
+            this.keyStore = keyStore;
+        }
+
+        public File getFile() { return file; }
+        /** Entries and certificates are readable; key entries cannot be recovered and nothing is verified. */
+        public KeyStore getKeyStore() { return keyStore; }
+    }
+
+    /** True when one of the keystore strategies recognises the file (by extension). */
+    public boolean isKeystoreFile(File file) {
+        for (KeystoreProviderStrategy s : strategies) {
+            if (s.supports(file)) return true;
+        }
+        return false;
+    }
+
     public KeyStore load(File file, char[] ksPassword) throws KeystoreLoadException {
         try {
-            for (KeystoreProviderStrategy s : strategies) {
-                if (s.supports(file)) {
-                    return s.load(file, ksPassword);
-                }
+            // Read the bytes first so I/O and KeyStore.load (decoding + integrity check) are timed separately
+            byte[] data;
+            try (Operation op = Operation.start(new FileReadEvent(), file)) {
+                data = Files.readAllBytes(file.toPath());
+                op.fileSize(data.length);
             }
-            // Fallback to default JKS
-            try (FileInputStream fis = new FileInputStream(file)) {
-                KeyStore ks = KeyStore.getInstance("JKS");
-                ks.load(fis, (ksPassword != null && ksPassword.length > 0) ? ksPassword : null);
+            try (Operation op = Operation.start(new KeystoreLoadEvent(), file)) {
+                op.fileSize(data.length);
+                KeyStore ks = loadContent(file, new ByteArrayInputStream(data), ksPassword);
+                op.entryCount(ks.size());
                 return ks;
             }
         } catch (Exception e) {
@@ -44,29 +89,222 @@ public class KeystoreService {
         }
     }
 
+    /**
+     * Load a keystore held in memory, e.g. an entry read from an archive. {@code name} is the entry path; its
+     * extension selects the keystore type as for files.
+     */
+    public KeyStore load(String name, byte[] data, char[] ksPassword) throws KeystoreLoadException {
+        try (Operation op = Operation.start(new KeystoreLoadEvent(), name)) {
+            op.fileSize(data.length);
+            KeyStore ks = loadContent(new File(name), new ByteArrayInputStream(data), ksPassword);
+            op.entryCount(ks.size());
+            return ks;
+        } catch (Exception e) {
+            log.debug("Keystore load failed for {}", name, e);
+            throw new KeystoreLoadException("Unable to load keystore: " + name, e);
+        }
+    }
+
+    /**
+     * Open a keystore without its password, so its entries can be listed before the password is known. JKS and
+     * JCEKS stores are always readable this way (without a password the JDK skips the digest check); PKCS12
+     * stores only when none of their contents are encrypted, since certificates in encrypted bags would silently
+     * be missing. Returns null when the store needs its password to be listed. Nothing about the result is
+     * trusted until {@link #verify} succeeds.
+     */
+    public UnverifiedKeystore openUnverified(File file) throws KeystoreLoadException {
+        try {
+            byte[] data;
+            try (Operation op = Operation.start(new FileReadEvent(), file)) {
+                data = Files.readAllBytes(file.toPath());
+                op.fileSize(data.length);
+            }
+            if (!isJavaKeystore(data) && !hasOnlyPlainContents(data)) return null;
+            try (Operation op = Operation.start(new KeystoreLoadEvent(), file)) {
+                op.fileSize(data.length);
+                KeyStore ks = loadContent(file, new ByteArrayInputStream(data), null);
+                op.entryCount(ks.size());
+                return new UnverifiedKeystore(file, data, ks);
+            }
+        } catch (Exception e) {
+            log.debug("Keystore load without password failed for {}", file, e);
+            throw new KeystoreLoadException("Unable to load keystore: " + file.getName(), e);
+        }
+    }
+
+    /**
+     * Check the password and the MAC or digest of a store opened by {@link #openUnverified}, over the same bytes
+     * that were listed, and return the keystore loaded with the password. Fails like {@link #load} on a wrong
+     * password or a modified store. As with {@link #load}, an empty password loads without the check.
+     */
+    public KeyStore verify(UnverifiedKeystore store, char[] ksPassword) throws KeystoreLoadException {
+        try (Operation op = Operation.start(new KeystoreLoadEvent(), store.file)) {
+            op.fileSize(store.data.length);
+            KeyStore ks = loadContent(store.file, new ByteArrayInputStream(store.data), ksPassword);
+            op.entryCount(ks.size());
+            return ks;
+        } catch (Exception e) {
+            log.debug("Keystore verification failed for {}", store.file, e);
+            throw new KeystoreLoadException("Unable to verify keystore: " + store.file.getName(), e);
+        }
+    }
+
+    /** JKS (0xFEEDFEED) or JCEKS (0xCECECECE) magic. */
+    private static boolean isJavaKeystore(byte[] data) {
+        if (data.length < 4) return false;
+        int magic = ((data[0] & 0xFF) << 24) | ((data[1] & 0xFF) << 16) | ((data[2] & 0xFF) << 8) | (data[3] & 0xFF);
+        return magic == 0xFEEDFEED || magic == 0xCECECECE;
+    }
+
+    /**
+     * True for a PKCS12 PFX whose AuthenticatedSafe holds only plain data contents, i.e. no encryptedData or
+     * envelopedData that the JDK would skip without a password. Shrouded key bags are fine: they stay encrypted
+     * until the key is recovered. BER-encoded files are treated as encrypted.
+     */
+    static boolean hasOnlyPlainContents(byte[] pfx) {
+        try {
+            DerReader r = new DerReader(pfx);
+            r.enter(DerReader.SEQUENCE);
+            r.skip(); // version
+            r.enter(DerReader.SEQUENCE);
+            if (!Arrays.equals(r.readRaw(), PKCS7_DATA)) return false; // e.g. public-key integrity mode
+            r.enter(0xA0);
+            DerReader safe = new DerReader(r.readContent(DerReader.OCTET_STRING));
+            int end = safe.enter(DerReader.SEQUENCE);
+            while (safe.hasMore(end)) {
+                int next = safe.enter(DerReader.SEQUENCE);
+                if (!Arrays.equals(safe.readRaw(), PKCS7_DATA)) return false;
+                safe.position(next);
+            }
+            return true;
+        } catch (DerException e) {
+            return false;
+        }
+    }
+
+    private KeyStore loadContent(File file, InputStream in, char[] ksPassword) throws Exception {
+        for (KeystoreProviderStrategy s : strategies) {
+            if (s.supports(file)) {
+                return s.load(file, in, ksPassword);
+            }
+        }
+        // Fallback to default JKS
+        KeyStore ks = KeyStore.getInstance("JKS");
+        ks.load(in, (ksPassword != null && ksPassword.length > 0) ? ksPassword : null);
+        return ks;
+    }
+
     public List<CertificateInfo> listEntries(KeyStore ks) throws KeystoreLoadException {
         List<CertificateInfo> result = new ArrayList<>();
+        forEachEntry(ks, (info, cert) -> result.add(info));
+        return result;
+    }
+
+    /**
+     * Map the entries one by one and hand each to {@code visitor} together with its certificate, without
+     * collecting them (used for streaming reports of large stores).
+     */
+    public void forEachEntry(KeyStore ks, EntryVisitor visitor) throws KeystoreLoadException {
         SimpleDateFormat fmt = new SimpleDateFormat("yyyy-MM-dd HH:mm z");
+        try (Operation op = Operation.start(new EntryMappingEvent(), ks.getType())) {
+            int count = 0;
+            for (Enumeration<String> e = ks.aliases(); e.hasMoreElements(); ) {
+                LoadedEntry entry = toEntry(ks, e.nextElement(), fmt);
+                visitor.visit(entry.getInfo(), entry.getCertificate());
+                count++;
+            }
+            op.entryCount(count);
+        } catch (Exception e) {
+            log.debug("List entries failed", e);
+            throw new KeystoreLoadException("Unable to list entries", e);
+        }
+    }
+
+    /**
+     * The entries as a lazy, ordered stream: each entry is mapped when the consumer pulls it, so the first
+     * rows are available before the last alias is touched. Failures surface as
+     * {@link EntryStreamException} wrapping a {@link KeystoreLoadException}.
+     */
+    public Stream<LoadedEntry> streamEntries(KeyStore ks) throws KeystoreLoadException {
         try {
+            Enumeration<String> aliases = ks.aliases();
+            SimpleDateFormat fmt = new SimpleDateFormat("yyyy-MM-dd HH:mm z");
+            Spliterator<LoadedEntry> spliterator = new Spliterators.AbstractSpliterator<>(ks.size(),
+                    Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.SIZED) {
+                @Override
+                public boolean tryAdvance(Consumer<? super LoadedEntry> action) {
+                    if (!aliases.hasMoreElements()) return false;
+                    String alias = aliases.nextElement();
+                    try {
+                        action.accept(toEntry(ks, alias, fmt));
+                    } catch (KeyStoreException e) {
+                        log.debug("Mapping entry {} failed", alias, e);
+                        throw new EntryStreamException(new KeystoreLoadException("Unable to read entry: " + alias, e));
+                    }
+                    return true;
+                }
+            };
+            return StreamSupport.stream(spliterator, false);
+        } catch (KeyStoreException e) {
+            log.debug("List entries failed", e);
+            throw new KeystoreLoadException("Unable to list entries", e);
+        }
+    }
+
+    /** {@link #streamEntries} as a {@link java.util.concurrent.Flow.Publisher} delivering on {@code executor}. */
+    public EntryPublisher publishEntries(KeyStore ks, Executor executor) {
+        return new EntryPublisher(() -> streamEntries(ks), executor);
+    }
+
+    private static LoadedEntry toEntry(KeyStore ks, String alias, SimpleDateFormat fmt) throws KeyStoreException {
+        String entryType = ks.isKeyEntry(alias) ? "Private Key" : (ks.isCertificateEntry(alias) ? "Trusted Certificate" : "Unknown");
+        Certificate cert = ks.getCertificate(alias);
+        String validFrom = "";
+        String validUntil = "";
+        String sigAlg = "";
+        String serial = "";
+        String issuer = "";
+        if (cert instanceof X509Certificate x509) {
+            validFrom = fmt.format(x509.getNotBefore());
+            validUntil = fmt.format(x509.getNotAfter());
+            sigAlg = x509.getSigAlgName();
+            serial = x509.getSerialNumber() != null ? x509.getSerialNumber().toString(16).toUpperCase(Locale.ROOT) : "";
+            issuer = x509.getIssuerX500Principal().getName();
+        }
+        return CertificateInterner.shared().intern(new CertificateInfo(alias, entryType, validFrom, validUntil, sigAlg, serial, issuer), cert);
+    }
+
+    /**
+     * Capture an immutable {@link KeystoreSnapshot} of the entries, certificates and chains. Call it on the
+     * thread that loaded or edited {@code ks}; the snapshot can then be read from any thread.
+     */
+    public KeystoreSnapshot snapshot(KeyStore ks) throws KeystoreLoadException {
+        return snapshot(ks, null);
+    }
+
+    /** {@link #snapshot(KeyStore)}, handing each entry to {@code onEntry} as soon as it is mapped (e.g. for live roll-ups). */
+    public KeystoreSnapshot snapshot(KeyStore ks, EntryVisitor onEntry) throws KeystoreLoadException {
+        SimpleDateFormat fmt = new SimpleDateFormat("yyyy-MM-dd HH:mm z");
+        try (Operation op = Operation.start(new EntryMappingEvent(), ks.getType())) {
+            int size = ks.size();
+            List<CertificateInfo> infos = new ArrayList<>(size);
+            List<Boolean> keyEntries = new ArrayList<>(size);
+            List<Certificate> certificates = new ArrayList<>(size);
+            List<Certificate[]> chains = new ArrayList<>(size);
             for (Enumeration<String> e = ks.aliases(); e.hasMoreElements(); ) {
                 String alias = e.nextElement();
-                String entryType = ks.isKeyEntry(alias) ? "Private Key" : (ks.isCertificateEntry(alias) ? "Trusted Certificate" : "Unknown");
-                Certificate cert = ks.getCertificate(alias);
-                String validFrom = "";
-                String validUntil = "";
-                String sigAlg = "";
-                String serial = "";
-                if (cert instanceof X509Certificate x509) {
-                    validFrom = fmt.format(x509.getNotBefore());
-                    validUntil = fmt.format(x509.getNotAfter());
-                    sigAlg = x509.getSigAlgName();
-                    serial = x509.getSerialNumber() != null ? x509.getSerialNumber().toString(16).toUpperCase(Locale.ROOT) : "";
-                }
-                result.add(new CertificateInfo(alias, entryType, validFrom, validUntil, sigAlg, serial));
+                LoadedEntry entry = toEntry(ks, alias, fmt);
+                boolean keyEntry = ks.isKeyEntry(alias);
+                infos.add(entry.getInfo());
+                keyEntries.add(keyEntry);
+                certificates.add(entry.getCertificate());
+                chains.add(keyEntry ? ks.getCertificateChain(alias) : null);
+                if (onEntry != null) onEntry.visit(entry.getInfo(), entry.getCertificate());
             }
-            return result;
+            op.entryCount(infos.size());
+            return new KeystoreSnapshot(ks.getType(), infos, keyEntries, certificates, chains);
         } catch (Exception e) {
-            log.debug("List entries failed", e);
+            log.debug("Keystore snapshot failed", e);
             throw new KeystoreLoadException("Unable to list entries", e);
         }
     }
@@ -76,7 +314,7 @@ public class KeystoreService {
     }
 
     public KeyStore convertToPkcs12(KeyStore source, char[] ksPwd, char[] keyPwd) throws KeystoreLoadException {
-        try {
+        try (Operation op = Operation.start(new ConvertEvent(), source.getType() + " -> PKCS12")) {
             KeyStore p12 = KeyStore.getInstance("PKCS12");
             p12.load(null, null);
             char[] keyPassword = (keyPwd != null && keyPwd.length > 0) ? keyPwd : ((ksPwd != null) ? ksPwd : new char[0]);
@@ -102,6 +340,7 @@ public class KeystoreService {
                     }
                 }
             }
+            op.entryCount(p12.size());
             return p12;
         } catch (Exception e) {
             log.debug("Convert keystore to PKCS12 failed", e);
@@ -128,7 +367,7 @@ public class KeystoreService {
                 String validUntil = fmt.format(x509.getNotAfter());
                 String sigAlg = x509.getSigAlgName();
                 String serial = x509.getSerialNumber() != null ? x509.getSerialNumber().toString(16).toUpperCase(Locale.ROOT) : "";
-                list.add(new CertificateInfo(alias, "Certificate", validFrom, validUntil, sigAlg, serial));
+                list.add(new CertificateInfo(alias, "Certificate", validFrom, validUntil, sigAlg, serial, x509.getIssuerX500Principal().getName()));
                 idx++;
             }
         }
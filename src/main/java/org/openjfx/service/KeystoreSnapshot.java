@@ -0,0 +1,114 @@
+package org.openjfx.service;
+
+import org.openjfx.model.CertificateInfo;
+import org.openjfx.util.HexUtil;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable copy of a keystore's public content taken right after it is loaded or edited: entry rows,
+ * certificates and chains per alias. A {@link java.security.KeyStore} is not safe to read while another
+ * thread edits it; a snapshot can be handed to any number of background tasks (details, export, reports,
+ * search, fingerprinting) without locking, and edits simply publish a new snapshot.
+ * <p>
+ * Private keys are not captured, so conversion and saving still go through the KeyStore itself.
+ */
+public final class KeystoreSnapshot {
+
+    private static final class Entry {
+        final CertificateInfo info;
+        final boolean keyEntry;
+        final Certificate certificate;
+        final Certificate[] chain;
+
+        Entry(CertificateInfo info, boolean keyEntry, Certificate certificate, Certificate[] chain) {
+            this.info = info;
+            this.keyEntry = keyEntry;
+            this.certificate = certificate;
+            this.chain = chain;
+        }
+    }
+
+    private final String type;
+    private final List<CertificateInfo> entries;
+    private final List<String> aliases;
+    private final List<Entry> ordered;
+    private final Map<String, Entry> byAlias;
+
+    KeystoreSnapshot(String type, List<CertificateInfo> infos, List<Boolean> keyEntries, List<Certificate> certificates, List<Certificate[]> chains) {
+        this.type = type;
+        Map<String, Entry> map = new HashMap<>(infos.size() * 4 / 3 + 1);
+        List<String> names = new ArrayList<>(infos.size());
+        List<Entry> list = new ArrayList<>(infos.size());
+        for (int i = 0; i < infos.size(); i++) {
+            CertificateInfo info = infos.get(i);
+            Certificate[] chain = chains.get(i);
+            Entry e = new Entry(info, keyEntries.get(i), certificates.get(i), chain == null ? null : chain.clone());
+            map.putIfAbsent(key(info.getAlias()), e);
+            list.add(e);
+            names.add(info.getAlias());
+        }
+        this.entries = List.copyOf(infos);
+        this.aliases = Collections.unmodifiableList(names);
+        this.ordered = Collections.unmodifiableList(list);
+        this.byAlias = Map.copyOf(map);
+    }
+
+    public String getType() { return type; }
+
+    public int size() { return entries.size(); }
+
+    /** Rows in keystore order. */
+    public List<CertificateInfo> entries() { return entries; }
+
+    public List<String> aliases() { return aliases; }
+
+    /** Aliases are matched case-insensitively, as JKS and PKCS12 do. */
+    public boolean contains(String alias) { return byAlias.containsKey(key(alias)); }
+
+    public boolean isKeyEntry(String alias) {
+        Entry e = byAlias.get(key(alias));
+        return e != null && e.keyEntry;
+    }
+
+    /** The entry's certificate (the leaf for key entries), or null. */
+    public Certificate certificate(String alias) {
+        Entry e = byAlias.get(key(alias));
+        return e == null ? null : e.certificate;
+    }
+
+    /** Certificate of the entry at {@code index} in {@link #entries()} order, or null. */
+    public Certificate certificate(int index) {
+        return ordered.get(index).certificate;
+    }
+
+    /** A copy of a key entry's chain (leaf first), or null for trusted certificates and unknown aliases. */
+    public Certificate[] chain(String alias) {
+        Entry e = byAlias.get(key(alias));
+        return e == null || e.chain == null ? null : e.chain.clone();
+    }
+
+    /** Upper-case hex SHA-256 of the entry's certificate, or null when it has none. */
+    public String fingerprint(String alias) throws CertificateEncodingException {
+        Certificate c = certificate(alias);
+        if (c == null) return null;
+        try {
+            return HexUtil.toHex(MessageDigest.getInstance("SHA-256").digest(c.getEncoded()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String key(String alias) {
+        return alias.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,24 @@
+package org.openjfx.service;
+
+import org.openjfx.model.CertificateInfo;
+
+import java.security.cert.Certificate;
+
+/**
+ * One entry of a keystore or certificate file as emitted by the streaming APIs: the table row together
+ * with its certificate, the same pair an {@link EntryVisitor} receives.
+ */
+public final class LoadedEntry {
+    private final CertificateInfo info;
+    private final Certificate certificate;
+
+    public LoadedEntry(CertificateInfo info, Certificate certificate) {
+        this.info = info;
+        this.certificate = certificate;
+    }
+
+    public CertificateInfo getInfo() { return info; }
+
+    /** Null for entries without a certificate (e.g. secret keys). */
+    public Certificate getCertificate() { return certificate; }
+}
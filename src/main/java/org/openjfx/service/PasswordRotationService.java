@@ -0,0 +1,161 @@
+package org.openjfx.service;
+
+import org.openjfx.diagnostics.Operation;
+import org.openjfx.diagnostics.PasswordRotationEvent;
+import org.openjfx.service.ServiceExceptions.KeystoreEditException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Changes the store and key passwords of many keystores at once. Each file is loaded through
+ * {@link KeystoreService#load}, every key entry is recovered with the old key password and set again under the
+ * new one, and the store is written back atomically under the new store password by
+ * {@link KeystoreEditService#save}. Files are rotated concurrently on a bounded pool; a file that fails is
+ * left untouched and does not stop the others.
+ */
+public class PasswordRotationService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordRotationService.class);
+
+    /** Old and new store and key passwords. Key passwords default to the store password of the same side. */
+    public static final class Passwords {
+        private final char[] oldStore;
+        private final char[] oldKey;
+        private final char[] newStore;
+        private final char[] newKey;
+
+        public Passwords(char[] oldStore, char[] oldKey, char[] newStore, char[] newKey) {
+            this.oldStore = oldStore != null ? oldStore : new char[0];
+            this.oldKey = oldKey != null ? oldKey : this.oldStore;
+            this.newStore = newStore != null ? newStore : new char[0];
+            this.newKey = newKey != null ? newKey : this.newStore;
+        }
+
+        /** Private copies for one file, so they can be wiped as soon as that file is done. */
+        Passwords copy() {
+            return new Passwords(oldStore.clone(), oldKey.clone(), newStore.clone(), newKey.clone());
+        }
+
+        /** Overwrite every password with zeros. */
+        public void wipe() {
+            Arrays.fill(oldStore, '\0');
+            Arrays.fill(oldKey, '\0');
+            Arrays.fill(newStore, '\0');
+            Arrays.fill(newKey, '\0');
+        }
+    }
+
+    /** Outcome for one file. */
+    public static final class Outcome {
+        private final File file;
+        private final int keysRotated;
+        private final String error;
+
+        Outcome(File file, int keysRotated, String error) {
+            this.file = file;
+            this.keysRotated = keysRotated;
+            this.error = error;
+        }
+
+        public File getFile() { return file; }
+        public boolean isSuccess() { return error == null; }
+        /** Key entries re-protected with the new key password. */
+        public int getKeysRotated() { return keysRotated; }
+        /** Why the file was left unchanged; null on success. */
+        public String getError() { return error; }
+    }
+
+    private final KeystoreService keystoreService;
+    private final KeystoreEditService editService;
+
+    public PasswordRotationService() {
+        this(new KeystoreService(), new KeystoreEditService());
+    }
+
+    public PasswordRotationService(KeystoreService keystoreService, KeystoreEditService editService) {
+        this.keystoreService = keystoreService;
+        this.editService = editService;
+    }
+
+    /**
+     * Rotate the passwords of {@code files}. Outcomes are returned in the order of {@code files}. The caller's
+     * password arrays are only read; each file works on its own copies, which are wiped when it is written.
+     *
+     * @param keepBackup keep the previous file as "&lt;name&gt;.bak" (still protected by the old password)
+     * @param threads    number of files rotated at once; values below 1 use the number of processors
+     */
+    public List<Outcome> rotate(List<File> files, Passwords passwords, boolean keepBackup, int threads) throws InterruptedException {
+        if (files.isEmpty()) return List.of();
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(poolSize, files.size()), r -> {
+            Thread t = new Thread(r, "rotate-password");
+            t.setDaemon(true);
+            return t;
+        });
+        try (Operation op = Operation.start(new PasswordRotationEvent(), files.size() + " keystores")) {
+            List<Future<Integer>> rotations = new ArrayList<>(files.size());
+            for (File f : files) {
+                rotations.add(pool.submit(() -> {
+                    Passwords own = passwords.copy(); // only the files in flight hold copies
+                    try {
+                        return rotate(f, own, keepBackup);
+                    } finally {
+                        own.wipe();
+                    }
+                }));
+            }
+            List<Outcome> outcomes = new ArrayList<>(files.size());
+            int keys = 0;
+            for (int i = 0; i < files.size(); i++) {
+                try {
+                    int rotated = rotations.get(i).get();
+                    keys += rotated;
+                    outcomes.add(new Outcome(files.get(i), rotated, null));
+                } catch (ExecutionException e) {
+                    log.debug("Password rotation failed for {}", files.get(i), e.getCause());
+                    outcomes.add(new Outcome(files.get(i), 0, e.getCause().getMessage()));
+                }
+            }
+            op.entryCount(keys);
+            return Collections.unmodifiableList(outcomes);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Rotate one file; returns the number of key entries re-protected. */
+    private int rotate(File file, Passwords pw, boolean keepBackup) throws Exception {
+        KeyStore ks = keystoreService.load(file, pw.oldStore);
+        int keys = 0;
+        for (Enumeration<String> e = ks.aliases(); e.hasMoreElements(); ) {
+            String alias = e.nextElement();
+            if (!ks.isKeyEntry(alias)) continue;
+            Key key;
+            try {
+                key = ks.getKey(alias, pw.oldKey);
+            } catch (Exception ex) {
+                throw new KeystoreEditException("Key '" + alias + "' in " + file.getName() + " cannot be recovered with the old key password", ex);
+            }
+            if (key == null) throw new KeystoreEditException("Key '" + alias + "' in " + file.getName() + " has no key material");
+            Certificate[] chain = ks.getCertificateChain(alias);
+            ks.setKeyEntry(alias, key, pw.newKey, chain);
+            keys++;
+        }
+        editService.save(ks, file.toPath(), pw.newStore, keepBackup);
+        return keys;
+    }
+}
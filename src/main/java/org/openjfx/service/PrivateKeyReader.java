@@ -0,0 +1,267 @@
+package org.openjfx.service;
+
+import org.openjfx.asn1.DerException;
+import org.openjfx.asn1.DerReader;
+import org.openjfx.asn1.DerWriter;
+import org.openjfx.service.ServiceExceptions.KeyLoadException;
+
+import javax.crypto.Cipher;
+import javax.crypto.EncryptedPrivateKeyInfo;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.DSAParams;
+import java.security.interfaces.DSAPrivateKey;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.spec.DSAPublicKeySpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads private keys from PEM and DER encodings and recovers their public keys where the encoding allows. PKCS#8 ("PRIVATE KEY", and
+ * "ENCRYPTED PRIVATE KEY" given a password) and the traditional OpenSSL forms ("RSA PRIVATE KEY",
+ * "EC PRIVATE KEY", "DSA PRIVATE KEY") are understood; traditional keys are rewrapped as PKCS#8 so the JDK
+ * key factories decode them. Keys encrypted with the legacy OpenSSL scheme (a Proc-Type header) are rejected.
+ */
+public final class PrivateKeyReader {
+
+    /** PEM labels of private keys. */
+    public static final Set<String> KEY_LABELS = Set.of(
+            "PRIVATE KEY", "ENCRYPTED PRIVATE KEY", "RSA PRIVATE KEY", "EC PRIVATE KEY", "DSA PRIVATE KEY");
+
+    private static final String RSA = "1.2.840.113549.1.1.1";
+    private static final String EC = "1.2.840.10045.2.1";
+    private static final String DSA = "1.2.840.10040.4.1";
+
+    /** PKCS#8 algorithm OIDs and their key factory names. */
+    private static final Map<String, String> ALGORITHMS = Map.of(
+            RSA, "RSA",
+            "1.2.840.113549.1.1.10", "RSASSA-PSS",
+            EC, "EC",
+            DSA, "DSA",
+            "1.3.101.110", "X25519",
+            "1.3.101.111", "X448",
+            "1.3.101.112", "Ed25519",
+            "1.3.101.113", "Ed448");
+
+    private static final Pattern PEM = Pattern.compile("-----BEGIN ([A-Z0-9 ]+)-----(.*?)-----END \\1-----", Pattern.DOTALL);
+
+    /** One PEM block: its label and decoded content. */
+    public static final class PemBlock {
+        private final String label;
+        private final byte[] der;
+        private final boolean legacyEncrypted;
+
+        PemBlock(String label, byte[] der, boolean legacyEncrypted) {
+            this.label = label;
+            this.der = der;
+            this.legacyEncrypted = legacyEncrypted;
+        }
+
+        public String getLabel() { return label; }
+        public byte[] getDer() { return der; }
+        public boolean isPrivateKey() { return KEY_LABELS.contains(label); }
+    }
+
+    private PrivateKeyReader() {}
+
+    /** The PEM blocks of {@code text} in order; text outside the blocks is ignored. */
+    public static List<PemBlock> pemBlocks(String text) throws KeyLoadException {
+        List<PemBlock> blocks = new ArrayList<>();
+        Matcher m = PEM.matcher(text);
+        while (m.find()) {
+            StringBuilder base64 = new StringBuilder();
+            boolean encrypted = false;
+            for (String line : m.group(2).split("\\R")) {
+                if (line.indexOf(':') >= 0) {
+                    // RFC 1421 headers, e.g. "Proc-Type: 4,ENCRYPTED" and "DEK-Info: ..."
+                    if (line.startsWith("Proc-Type:") && line.contains("ENCRYPTED")) encrypted = true;
+                    continue;
+                }
+                base64.append(line.strip());
+            }
+            try {
+                blocks.add(new PemBlock(m.group(1), Base64.getDecoder().decode(base64.toString()), encrypted));
+            } catch (IllegalArgumentException e) {
+                throw new KeyLoadException("Invalid base64 in PEM block " + m.group(1), e);
+            }
+        }
+        return blocks;
+    }
+
+    /**
+     * Decode a private key PEM block together with its public key.
+     *
+     * @param password for "ENCRYPTED PRIVATE KEY" blocks; may be null otherwise
+     */
+    public static KeyPair read(PemBlock block, char[] password) throws KeyLoadException {
+        if (!block.isPrivateKey()) throw new KeyLoadException("Not a private key: " + block.getLabel());
+        if (block.legacyEncrypted) {
+            throw new KeyLoadException("Legacy OpenSSL key encryption is not supported; convert the key with 'openssl pkcs8 -topk8'");
+        }
+        byte[] der = block.getDer();
+        try {
+            switch (block.getLabel()) {
+                case "ENCRYPTED PRIVATE KEY":
+                    return decrypt(der, password);
+                case "RSA PRIVATE KEY":
+                    return readPkcs8(pkcs8(RSA, DerWriter.nul(), der));
+                case "EC PRIVATE KEY":
+                    return readPkcs8(pkcs8(EC, ecCurve(der), der));
+                case "DSA PRIVATE KEY":
+                    return readPkcs8(traditionalDsa(der));
+                default:
+                    return readPkcs8(der);
+            }
+        } catch (DerException e) {
+            throw new KeyLoadException("Malformed " + block.getLabel() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Decode an unencrypted PKCS#8 PrivateKeyInfo together with its public key. The public key is null when the
+     * encoding does not include it and it cannot be derived (e.g. an EC key without the SEC1 publicKey field,
+     * or an Ed25519 key without the RFC 5958 publicKey).
+     */
+    public static KeyPair readPkcs8(byte[] der) throws KeyLoadException {
+        try {
+            DerReader r = new DerReader(der);
+            int end = r.enter(DerReader.SEQUENCE);
+            r.skip(); // version
+            byte[] algorithmId = r.readRaw();
+            byte[] privateKey = r.readContent(DerReader.OCTET_STRING);
+            byte[] embeddedPublic = null;
+            while (r.hasMore(end)) {
+                // OneAsymmetricKey (RFC 5958): [0] attributes, [1] IMPLICIT BIT STRING publicKey
+                if (r.peekTag() == 0x81) embeddedPublic = r.readContent(0x81);
+                else r.skip();
+            }
+            DerReader a = new DerReader(algorithmId);
+            a.enter(DerReader.SEQUENCE);
+            String algorithm = algorithmName(a.readRaw());
+            // EC points are read from the encoding rather than computed, which would not run in constant time
+            if (embeddedPublic == null && algorithm.equals("EC")) embeddedPublic = sec1PublicKey(privateKey);
+            KeyFactory factory = KeyFactory.getInstance(algorithm);
+            PrivateKey key = factory.generatePrivate(new PKCS8EncodedKeySpec(der));
+            PublicKey pub = derivePublic(key);
+            if (pub == null && embeddedPublic != null) {
+                pub = factory.generatePublic(new X509EncodedKeySpec(DerWriter.sequence(algorithmId, DerWriter.tlv(DerReader.BIT_STRING, embeddedPublic))));
+            }
+            return new KeyPair(pub, key);
+        } catch (DerException e) {
+            throw new KeyLoadException("Malformed PKCS#8 key: " + e.getMessage(), e);
+        } catch (GeneralSecurityException e) {
+            throw new KeyLoadException("Unable to decode private key: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The public key of {@code key}, computed from the private key material: the RSA modulus and exponent or the
+     * DSA value {@code g^x mod p}. Null for other key types, whose public key must come from the encoding.
+     */
+    public static PublicKey derivePublic(PrivateKey key) throws GeneralSecurityException {
+        if (key instanceof RSAPrivateCrtKey rsa) {
+            return KeyFactory.getInstance(key.getAlgorithm()).generatePublic(
+                    new RSAPublicKeySpec(rsa.getModulus(), rsa.getPublicExponent(), rsa.getParams()));
+        }
+        if (key instanceof DSAPrivateKey dsa) {
+            DSAParams p = dsa.getParams();
+            BigInteger y = p.getG().modPow(dsa.getX(), p.getP());
+            return KeyFactory.getInstance("DSA").generatePublic(new DSAPublicKeySpec(y, p.getP(), p.getQ(), p.getG()));
+        }
+        return null;
+    }
+
+    private static KeyPair decrypt(byte[] der, char[] password) throws KeyLoadException {
+        if (password == null) throw new KeyLoadException("The private key is encrypted and no password was given");
+        PBEKeySpec spec = new PBEKeySpec(password);
+        try {
+            EncryptedPrivateKeyInfo info = new EncryptedPrivateKeyInfo(der);
+            AlgorithmParameters params = info.getAlgParameters();
+            // PBES2 names its cipher only in the parameters (e.g. PBEWithHmacSHA256AndAES_256)
+            String algorithm = "PBES2".equals(info.getAlgName()) || "1.2.840.113549.1.5.13".equals(info.getAlgName())
+                    ? params.toString() : info.getAlgName();
+            Cipher cipher = Cipher.getInstance(algorithm);
+            cipher.init(Cipher.DECRYPT_MODE, SecretKeyFactory.getInstance(algorithm).generateSecret(spec), params);
+            return readPkcs8(info.getKeySpec(cipher).getEncoded());
+        } catch (KeyLoadException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new KeyLoadException("Unable to decrypt the private key (wrong password?)", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    private static String algorithmName(byte[] oid) throws KeyLoadException {
+        for (Map.Entry<String, String> e : ALGORITHMS.entrySet()) {
+            if (Arrays.equals(oid, DerWriter.oid(e.getKey()))) return e.getValue();
+        }
+        throw new KeyLoadException("Unsupported private key algorithm");
+    }
+
+    private static byte[] pkcs8(String algorithmOid, byte[] parameters, byte[] privateKey) {
+        return DerWriter.sequence(DerWriter.integer(0), DerWriter.sequence(DerWriter.oid(algorithmOid), parameters),
+                DerWriter.octetString(privateKey));
+    }
+
+    /** The named curve OID of a SEC1 ECPrivateKey (its {@code [0]} parameters). */
+    private static byte[] ecCurve(byte[] sec1) throws DerException, KeyLoadException {
+        DerReader r = new DerReader(sec1);
+        int end = r.enter(DerReader.SEQUENCE);
+        r.skip(); // version
+        r.skip(); // privateKey
+        while (r.hasMore(end)) {
+            if (r.peekTag() == 0xA0) {
+                r.enter(0xA0);
+                return r.readRaw();
+            }
+            r.skip();
+        }
+        throw new KeyLoadException("EC PRIVATE KEY without curve parameters");
+    }
+
+    /** The content of a SEC1 ECPrivateKey's {@code [1]} publicKey BIT STRING, or null when it is absent. */
+    private static byte[] sec1PublicKey(byte[] sec1) throws DerException {
+        DerReader r = new DerReader(sec1);
+        int end = r.enter(DerReader.SEQUENCE);
+        r.skip(); // version
+        r.skip(); // privateKey
+        while (r.hasMore(end)) {
+            if (r.peekTag() == 0xA1) {
+                r.enter(0xA1);
+                return r.readContent(DerReader.BIT_STRING);
+            }
+            r.skip();
+        }
+        return null;
+    }
+
+    /** Rewrap OpenSSL's DSAPrivateKey (version, p, q, g, y, x) as PKCS#8. */
+    private static byte[] traditionalDsa(byte[] der) throws DerException {
+        DerReader r = new DerReader(der);
+        r.enter(DerReader.SEQUENCE);
+        r.skip(); // version
+        byte[] p = r.readRaw();
+        byte[] q = r.readRaw();
+        byte[] g = r.readRaw();
+        r.skip(); // y
+        byte[] x = r.readRaw();
+        return pkcs8(DSA, DerWriter.sequence(p, q, g), x);
+    }
+}
@@ -0,0 +1,66 @@
+package org.openjfx.service;
+
+import org.openjfx.diagnostics.ExportEvent;
+import org.openjfx.diagnostics.Operation;
+import org.openjfx.service.ServiceExceptions.ExportException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Inventory reports (CSV / JSON Lines) of keystores and certificate files. Rows are streamed from the
+ * source straight into the file through {@link AtomicFileWriter}'s buffered channel, so memory use does not
+ * grow with the inventory and a partially written report never replaces an existing one.
+ */
+public class ReportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportService.class);
+
+    private final CertificateService certificateService;
+
+    public ReportService() {
+        this(new CertificateService());
+    }
+
+    public ReportService(CertificateService certificateService) {
+        this.certificateService = certificateService;
+    }
+
+    /** Produces the rows of a report, e.g. by walking keystores with {@link KeystoreService#forEachEntry}. */
+    @FunctionalInterface
+    public interface ReportSource {
+        void writeTo(ReportWriter writer) throws Exception;
+    }
+
+    /** Write a report to {@code output}; returns the number of rows. */
+    public long writeReport(Path output, ReportWriter.Format format, ReportSource source) throws ExportException {
+        try (Operation op = Operation.start(new ExportEvent(), output)) {
+            long[] rows = new long[1];
+            long size = AtomicFileWriter.write(output, false, out -> {
+                Writer w = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+                ReportWriter report = new ReportWriter(w, format, certificateService);
+                source.writeTo(report);
+                report.flush();
+                rows[0] = report.getRows();
+            });
+            op.fileSize(size).entryCount((int) Math.min(rows[0], Integer.MAX_VALUE));
+            return rows[0];
+        } catch (Exception e) {
+            log.debug("Report export failed to {}", output, e);
+            throw new ExportException("Failed to write report", e);
+        }
+    }
+
+    /** A writer over {@code out} (e.g. stdout) for callers that manage the destination themselves. */
+    public ReportWriter newWriter(Writer out, ReportWriter.Format format) throws ExportException {
+        try {
+            return new ReportWriter(out, format, certificateService);
+        } catch (Exception e) {
+            throw new ExportException("Failed to start report", e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package org.openjfx.service;
+
+import org.openjfx.model.CertificateDetails;
+import org.openjfx.model.CertificateInfo;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes inventory rows as CSV (RFC 4180, with a header line) or JSON Lines, one row per call to
+ * {@link #write}. Nothing is buffered beyond the underlying writer, so reports can be produced while the
+ * inventory is still being scanned.
+ */
+public final class ReportWriter implements Closeable, Flushable {
+
+    public enum Format {
+        CSV, JSONL;
+
+        /** JSONL for ".jsonl"/".json"/".ndjson" names, CSV otherwise. */
+        public static Format forFileName(String name) {
+            String lower = name.toLowerCase(Locale.ROOT);
+            return lower.endsWith(".jsonl") || lower.endsWith(".json") || lower.endsWith(".ndjson") ? JSONL : CSV;
+        }
+    }
+
+    public static final List<String> COLUMNS = List.of(
+            "source", "alias", "entryType", "subject", "issuer", "serialNumber", "notBefore", "notAfter",
+            "signatureAlgorithm", "keyAlgorithm", "keySize", "subjectAlternativeNames", "sha1", "sha256", "revocation");
+
+    private final Writer out;
+    private final Format format;
+    private final CertificateService certificateService;
+    private final String[] values = new String[COLUMNS.size()];
+    private long rows;
+
+    public ReportWriter(Writer out, Format format, CertificateService certificateService) throws IOException {
+        this.out = out;
+        this.format = format;
+        this.certificateService = certificateService;
+        if (format == Format.CSV) {
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                if (i > 0) out.write(',');
+                out.write(COLUMNS.get(i));
+            }
+            out.write("\r\n");
+        }
+    }
+
+    /** Write one row; {@code source} names the file (or endpoint) the entry came from. */
+    public void write(String source, CertificateInfo info, Certificate cert) throws IOException {
+        values[0] = source;
+        values[1] = info.getAlias();
+        values[2] = info.getEntryType();
+        values[14] = info.getRevocationStatus();
+        X509Certificate x509 = cert instanceof X509Certificate c ? c : null;
+        CertificateDetails d = x509 != null ? certificateService.details(x509) : null;
+        if (d != null) {
+            values[3] = d.getSubject();
+            values[4] = d.getIssuer();
+            values[5] = info.getSerialNumber();
+            values[6] = x509.getNotBefore().toInstant().toString();
+            values[7] = x509.getNotAfter().toInstant().toString();
+            values[8] = info.getSignatureAlgorithm();
+            values[9] = d.getKeyAlgorithm();
+            values[10] = d.getKeySize() > 0 ? Integer.toString(d.getKeySize()) : "";
+            values[11] = String.join(";", d.getSubjectAlternativeNames());
+            values[12] = d.getSha1Fingerprint();
+            values[13] = d.getSha256Fingerprint();
+        } else {
+            for (int i = 3; i <= 13; i++) values[i] = "";
+        }
+        if (format == Format.CSV) writeCsv(); else writeJson(d);
+        rows++;
+    }
+
+    public long getRows() { return rows; }
+
+    @Override
+    public void flush() throws IOException { out.flush(); }
+
+    @Override
+    public void close() throws IOException { out.close(); }
+
+    private void writeCsv() throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) out.write(',');
+            String v = values[i] == null ? "" : values[i];
+            if (v.indexOf(',') >= 0 || v.indexOf('"') >= 0 || v.indexOf('\n') >= 0 || v.indexOf('\r') >= 0) {
+                out.write('"');
+                out.write(v.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(v);
+            }
+        }
+        out.write("\r\n");
+    }
+
+    private void writeJson(CertificateDetails details) throws IOException {
+        out.write('{');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) out.write(',');
+            out.write('"');
+            out.write(COLUMNS.get(i));
+            out.write("\":");
+            if (i == 10) {
+                out.write(values[i] == null || values[i].isEmpty() ? "null" : values[i]);
+            } else if (i == 11) {
+                out.write('[');
+                List<String> sans = details == null ? List.of() : details.getSubjectAlternativeNames();
+                for (int j = 0; j < sans.size(); j++) {
+                    if (j > 0) out.write(',');
+                    writeJsonString(sans.get(j));
+                }
+                out.write(']');
+            } else {
+                writeJsonString(values[i] == null ? "" : values[i]);
+            }
+        }
+        out.write("}\n");
+    }
+
+    private void writeJsonString(String s) throws IOException {
+        out.write('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': out.write("\\\""); break;
+                case '\\': out.write("\\\\"); break;
+                case '\n': out.write("\\n"); break;
+                case '\r': out.write("\\r"); break;
+                case '\t': out.write("\\t"); break;
+                default:
+                    if (c < 0x20) out.write(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                    else out.write(c);
+            }
+        }
+        out.write('"');
+    }
+}
@@ -0,0 +1,134 @@
+package org.openjfx.service;
+
+import org.openjfx.diagnostics.CrlIndexEvent;
+import org.openjfx.diagnostics.Operation;
+import org.openjfx.model.CertificateInfo;
+import org.openjfx.service.ServiceExceptions.CrlLoadException;
+import org.openjfx.util.HexUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.security.auth.x500.X500Principal;
+import java.io.File;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Marks certificates as revoked using the CRLs loaded so far. Each CRL is indexed once into a {@link CrlIndex}
+ * kept in a cache directory (keyed by the CRL's SHA-256), so reloading the same CRL in a later run only maps
+ * the existing index. The cache directory defaults to {@code ~/.keyt/crl-cache} ({@code -Dkeyt.crl.cache}).
+ */
+public class RevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(RevocationService.class);
+
+    public static final String REVOKED = "Revoked";
+    public static final String NOT_REVOKED = "Not revoked";
+
+    private final Path cacheDir;
+    private final List<CrlIndex> indexes = new CopyOnWriteArrayList<>();
+    private final Map<String, String> canonicalIssuers = new ConcurrentHashMap<>();
+
+    public RevocationService() {
+        this(defaultCacheDir());
+    }
+
+    public RevocationService(Path cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    public static Path defaultCacheDir() {
+        String configured = System.getProperty("keyt.crl.cache");
+        if (configured != null && !configured.isBlank()) return Path.of(configured);
+        return Path.of(System.getProperty("user.home"), ".keyt", "crl-cache");
+    }
+
+    /** Index a CRL (DER or PEM), reusing a cached index of identical content, and use it for later checks. */
+    public CrlIndex loadCrl(File crlFile) throws CrlLoadException {
+        try (Operation op = Operation.start(new CrlIndexEvent(), crlFile)) {
+            op.fileSize(crlFile.length());
+            byte[] digest = CrlIndex.digest(crlFile.toPath());
+            for (CrlIndex loaded : indexes) {
+                if (Arrays.equals(loaded.getSourceDigest(), digest)) return loaded;
+            }
+            Files.createDirectories(cacheDir);
+            Path indexFile = cacheDir.resolve(HexUtil.toHex(digest).toLowerCase(Locale.ROOT) + ".kcrl");
+            CrlIndex index = null;
+            if (Files.isRegularFile(indexFile)) {
+                try {
+                    index = CrlIndex.open(indexFile);
+                    if (!Arrays.equals(index.getSourceDigest(), digest)) index = null;
+                } catch (Exception e) {
+                    log.debug("Ignoring unreadable CRL index {}", indexFile, e);
+                    index = null;
+                }
+            }
+            if (index == null) {
+                index = CrlIndex.build(crlFile.toPath(), indexFile);
+            }
+            op.entryCount(index.size());
+            indexes.add(index);
+            return index;
+        } catch (Exception e) {
+            log.debug("CRL load failed for {}", crlFile, e);
+            throw new CrlLoadException("Unable to load CRL: " + crlFile.getName(), e);
+        }
+    }
+
+    public List<CrlIndex> getIndexes() {
+        return Collections.unmodifiableList(indexes);
+    }
+
+    public boolean hasCrls() {
+        return !indexes.isEmpty();
+    }
+
+    public void clear() {
+        indexes.clear();
+    }
+
+    /** {@link #REVOKED}, {@link #NOT_REVOKED}, or "" when no loaded CRL covers the certificate's issuer. */
+    public String status(X509Certificate cert) {
+        return status(CrlIndex.canonicalIssuer(cert.getIssuerX500Principal()), cert.getSerialNumber());
+    }
+
+    /** Return copies of {@code infos} carrying their revocation status (rows without issuer are left unchanged). */
+    public List<CertificateInfo> mark(List<CertificateInfo> infos) {
+        if (indexes.isEmpty()) return infos;
+        List<CertificateInfo> result = new ArrayList<>(infos.size());
+        for (CertificateInfo ci : infos) result.add(mark(ci));
+        return result;
+    }
+
+    /** Single-entry variant of {@link #mark(List)} for streaming callers. */
+    public CertificateInfo mark(CertificateInfo ci) {
+        if (indexes.isEmpty() || ci.getIssuer() == null || ci.getIssuer().isEmpty() || ci.getSerialNumber().isEmpty()) return ci;
+        try {
+            String issuer = canonicalIssuers.computeIfAbsent(ci.getIssuer(), dn -> CrlIndex.canonicalIssuer(new X500Principal(dn)));
+            return ci.withRevocationStatus(status(issuer, new BigInteger(ci.getSerialNumber(), 16)));
+        } catch (IllegalArgumentException e) {
+            log.debug("Cannot check revocation of {}", ci.getAlias(), e);
+            return ci;
+        }
+    }
+
+    private String status(String canonicalIssuer, BigInteger serial) {
+        boolean covered = false;
+        for (CrlIndex index : indexes) {
+            if (!index.covers(canonicalIssuer)) continue;
+            covered = true;
+            if (index.isRevoked(canonicalIssuer, serial)) return REVOKED;
+        }
+        return covered ? NOT_REVOKED : "";
+    }
+}
@@ -16,4 +16,27 @@ public class ServiceExceptions {
         public CertificateLoadException(String message, Throwable cause) { super(message, cause); }
         public CertificateLoadException(String message) { super(message); }
     }
-}
\ No newline at end of file
+    public static class KeystoreEditException extends Exception {
+        public KeystoreEditException(String message, Throwable cause) { super(message, cause); }
+        public KeystoreEditException(String message) { super(message); }
+    }
+    public static class CrlLoadException extends Exception {
+        public CrlLoadException(String message, Throwable cause) { super(message, cause); }
+        public CrlLoadException(String message) { super(message); }
+    }
+    public static class GenerateException extends Exception {
+        public GenerateException(String message, Throwable cause) { super(message, cause); }
+        public GenerateException(String message) { super(message); }
+    }
+    public static class KeyLoadException extends Exception {
+        public KeyLoadException(String message, Throwable cause) { super(message, cause); }
+        public KeyLoadException(String message) { super(message); }
+    }
+    /**
+     * Unchecked carrier for a typed exception raised while a {@link java.util.stream.Stream} of entries is
+     * consumed; {@link #getCause()} is the {@link KeystoreLoadException} or {@link CertificateLoadException}.
+     */
+    public static class EntryStreamException extends RuntimeException {
+        public EntryStreamException(Exception cause) { super(cause.getMessage(), cause); }
+    }
+}
@@ -0,0 +1,335 @@
+package org.openjfx.service;
+
+import org.openjfx.asn1.DerReader;
+import org.openjfx.asn1.DerWriter;
+import org.openjfx.diagnostics.GenerateEvent;
+import org.openjfx.diagnostics.Operation;
+import org.openjfx.service.ServiceExceptions.ExportException;
+import org.openjfx.service.ServiceExceptions.GenerateException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.security.auth.x500.X500Principal;
+import java.io.ByteArrayInputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.security.Signature;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates synthetic keystores and PEM bundles for benchmarks and load tests: N leaf certificates with
+ * RSA or EC keys, optionally issued below a root/intermediate chain, with SANs and spread-out validity.
+ * Keys and certificates are produced in parallel; every random choice comes from a per-entry PRNG seeded
+ * from {@link Spec#seed}, so the same spec (and base time) always yields the same certificates.
+ */
+public class StoreGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(StoreGenerator.class);
+
+    private static final long DAY = 24L * 60 * 60 * 1000;
+    private static final int BATCH = 64;
+
+    public enum KeyType { RSA, EC }
+
+    public enum Format {
+        JKS, PKCS12, PEM;
+
+        /** PEM for ".pem"/".crt", JKS for ".jks"/".ks", PKCS12 otherwise. */
+        public static Format forFileName(String name) {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (lower.endsWith(".pem") || lower.endsWith(".crt")) return PEM;
+            if (lower.endsWith(".jks") || lower.endsWith(".ks")) return JKS;
+            return PKCS12;
+        }
+    }
+
+    /** What to generate. Setters return {@code this}; unset values keep the defaults shown. */
+    public static final class Spec {
+        private int entries = 1000;
+        private KeyType keyType = KeyType.EC;
+        private int keySize; // 0: 2048 for RSA, 256 for EC
+        private int chainDepth = 1; // 1: self-signed leaves; 2: root + leaves; 3: root + intermediate + leaves; ...
+        private int sanCount;
+        private int validityDays = 365;
+        private int validitySpreadDays;
+        private long seed = 1;
+        private int keyPool; // 0: one key pair per entry
+        private boolean privateKeys;
+        private long baseTime = System.currentTimeMillis() / 1000 * 1000;
+
+        public Spec entries(int n) { this.entries = n; return this; }
+        public Spec keyType(KeyType t) { this.keyType = t; return this; }
+        public Spec keySize(int bits) { this.keySize = bits; return this; }
+        public Spec chainDepth(int depth) { this.chainDepth = depth; return this; }
+        public Spec sanCount(int n) { this.sanCount = n; return this; }
+        public Spec validityDays(int days) { this.validityDays = days; return this; }
+        /** notBefore is moved back by a random 0..days, so with a spread beyond the validity some entries are expired. */
+        public Spec validitySpreadDays(int days) { this.validitySpreadDays = days; return this; }
+        public Spec seed(long seed) { this.seed = seed; return this; }
+        /** Reuse this many key pairs round-robin instead of one per entry, e.g. to build 100k RSA entries quickly. */
+        public Spec keyPool(int n) { this.keyPool = n; return this; }
+        /** Store key entries (private key plus chain) instead of trusted certificate entries. */
+        public Spec privateKeys(boolean b) { this.privateKeys = b; return this; }
+        /** Reference time for validity; fixed by callers that need byte-identical output. */
+        public Spec baseTime(long epochMillis) { this.baseTime = epochMillis; return this; }
+
+        public int getEntries() { return entries; }
+        public int getChainDepth() { return chainDepth; }
+
+        int effectiveKeySize() {
+            if (keySize > 0) return keySize;
+            return keyType == KeyType.RSA ? 2048 : 256;
+        }
+    }
+
+    /** Generated material: the CA chain (root first) and one leaf (with its key) per entry. */
+    public static final class Generated {
+        private final List<X509Certificate> cas;
+        private final List<KeyPair> caKeys;
+        private final X509Certificate[] leaves;
+        private final KeyPair[] leafKeys;
+        private final boolean privateKeys;
+
+        private Generated(List<X509Certificate> cas, List<KeyPair> caKeys, X509Certificate[] leaves, KeyPair[] leafKeys, boolean privateKeys) {
+            this.cas = cas;
+            this.caKeys = caKeys;
+            this.leaves = leaves;
+            this.leafKeys = leafKeys;
+            this.privateKeys = privateKeys;
+        }
+
+        public List<X509Certificate> getCas() { return cas; }
+        public List<KeyPair> getCaKeys() { return caKeys; }
+        public int size() { return leaves.length; }
+        public X509Certificate getLeaf(int i) { return leaves[i]; }
+        public KeyPair getLeafKey(int i) { return leafKeys[i]; }
+        public String alias(int i) { return String.format(Locale.ROOT, "entry-%06d", i); }
+
+        /** Leaf first, root last. */
+        public Certificate[] chain(int i) {
+            Certificate[] chain = new Certificate[cas.size() + 1];
+            chain[0] = leaves[i];
+            for (int k = 0; k < cas.size(); k++) chain[k + 1] = cas.get(cas.size() - 1 - k);
+            return chain;
+        }
+    }
+
+    /** Generate keys and certificates on {@code threads} workers (processor count when below 1). */
+    public Generated generate(Spec spec, int threads) throws GenerateException {
+        if (spec.entries < 0 || spec.chainDepth < 1 || spec.sanCount < 0 || spec.validityDays < 1) {
+            throw new GenerateException("Invalid generator settings");
+        }
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(poolSize, r -> {
+            Thread t = new Thread(r, "generate");
+            t.setDaemon(true);
+            return t;
+        });
+        try (Operation op = Operation.start(new GenerateEvent(), spec.entries + " entries")) {
+            // CA chain first (sequential: each CA is signed by the previous one)
+            List<X509Certificate> cas = new ArrayList<>();
+            List<KeyPair> caKeys = new ArrayList<>();
+            for (int k = 0; k < spec.chainDepth - 1; k++) {
+                SecureRandom rnd = random(spec.seed, -1 - k);
+                KeyPair kp = newKeyPair(spec, rnd);
+                X500Principal subject = new X500Principal(k == 0 ? "CN=KeyT Synthetic Root CA,O=KeyT Synthetic"
+                        : "CN=KeyT Synthetic Intermediate CA " + k + ",O=KeyT Synthetic");
+                X509Certificate issuerCert = k == 0 ? null : cas.get(k - 1);
+                KeyPair issuerKey = k == 0 ? kp : caKeys.get(k - 1);
+                int pathLen = spec.chainDepth - 2 - k;
+                byte[] der = certificate(spec, rnd, subject, kp, issuerCert, issuerKey, true, pathLen, List.of(), spec.baseTime - 30 * DAY,
+                        Math.max(spec.validityDays, 3650) + 30);
+                cas.add(toCertificate(der));
+                caKeys.add(kp);
+            }
+
+            int keyCount = spec.keyPool > 0 ? Math.min(spec.keyPool, spec.entries) : spec.entries;
+            KeyPair[] keys = new KeyPair[keyCount];
+            runBatches(pool, keyCount, i -> keys[i] = newKeyPair(spec, random(spec.seed, i)));
+
+            X509Certificate[] leaves = new X509Certificate[spec.entries];
+            KeyPair[] leafKeys = new KeyPair[spec.entries];
+            X509Certificate issuerCert = cas.isEmpty() ? null : cas.get(cas.size() - 1);
+            KeyPair issuerKey = caKeys.isEmpty() ? null : caKeys.get(caKeys.size() - 1);
+            runBatches(pool, spec.entries, i -> {
+                SecureRandom rnd = random(spec.seed ^ 0x5DEECE66DL, i);
+                KeyPair kp = keys[i % keyCount];
+                String host = String.format(Locale.ROOT, "entry-%06d.example", i);
+                List<String> sans = new ArrayList<>(spec.sanCount);
+                for (int j = 0; j < spec.sanCount; j++) sans.add(j == 0 ? host : "san" + j + "." + host);
+                long notBefore = spec.baseTime - (spec.validitySpreadDays > 0 ? (long) rnd.nextInt(spec.validitySpreadDays + 1) * DAY : 0);
+                byte[] der = certificate(spec, rnd, new X500Principal("CN=" + host + ",OU=Load Test,O=KeyT Synthetic"), kp,
+                        issuerCert, issuerKey != null ? issuerKey : kp, false, -1, sans, notBefore, spec.validityDays);
+                leaves[i] = toCertificate(der);
+                leafKeys[i] = kp;
+            });
+            op.entryCount(spec.entries);
+            return new Generated(cas, caKeys, leaves, leafKeys, spec.privateKeys);
+        } catch (GenerateException e) {
+            throw e;
+        } catch (Exception e) {
+            log.debug("Generating synthetic store failed", e);
+            throw new GenerateException("Failed to generate certificates", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Write generated material: JKS/PKCS12 keystores hold one entry per leaf plus the CAs as trusted entries
+     * ("ca-0" is the root); PEM bundles list the leaves followed by the CAs. Returns the file size.
+     */
+    public long write(Generated g, Path output, Format format, char[] password) throws ExportException {
+        try (Operation op = Operation.start(new GenerateEvent(), output)) {
+            long size;
+            if (format == Format.PEM) {
+                size = AtomicFileWriter.write(output, false, out -> {
+                    Writer w = new OutputStreamWriter(out, StandardCharsets.US_ASCII);
+                    Base64.Encoder b64 = Base64.getMimeEncoder(64, new byte[] {'\n'});
+                    for (int i = 0; i < g.size(); i++) writePem(w, b64, g.getLeaf(i));
+                    for (X509Certificate ca : g.getCas()) writePem(w, b64, ca);
+                    w.flush();
+                });
+            } else {
+                KeyStore ks = KeyStore.getInstance(format.name());
+                ks.load(null, null);
+                for (int i = 0; i < g.size(); i++) {
+                    if (g.privateKeys) ks.setKeyEntry(g.alias(i), g.getLeafKey(i).getPrivate(), password, g.chain(i));
+                    else ks.setCertificateEntry(g.alias(i), g.getLeaf(i));
+                }
+                for (int k = 0; k < g.getCas().size(); k++) ks.setCertificateEntry("ca-" + k, g.getCas().get(k));
+                size = AtomicFileWriter.write(output, false, out -> ks.store(out, password));
+            }
+            op.fileSize(size).entryCount(g.size() + g.getCas().size());
+            return size;
+        } catch (Exception e) {
+            log.debug("Writing synthetic store to {} failed", output, e);
+            throw new ExportException("Failed to write generated store", e);
+        }
+    }
+
+    private static void writePem(Writer w, Base64.Encoder b64, X509Certificate cert) throws Exception {
+        w.write("-----BEGIN CERTIFICATE-----\n");
+        w.write(b64.encodeToString(cert.getEncoded()));
+        w.write("\n-----END CERTIFICATE-----\n");
+    }
+
+    @FunctionalInterface
+    private interface IndexTask {
+        void run(int index) throws Exception;
+    }
+
+    private static void runBatches(ExecutorService pool, int count, IndexTask task) throws Exception {
+        List<Future<?>> futures = new ArrayList<>();
+        for (int start = 0; start < count; start += BATCH) {
+            int from = start;
+            int to = Math.min(count, start + BATCH);
+            futures.add(pool.submit(() -> {
+                for (int i = from; i < to; i++) task.run(i);
+                return null;
+            }));
+        }
+        try {
+            for (Future<?> f : futures) f.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ex ? ex : e;
+        }
+    }
+
+    /** Deterministic PRNG for one entry: SHA1PRNG is fully determined by a seed set before first use. */
+    private static SecureRandom random(long seed, long index) throws Exception {
+        SecureRandom rnd = SecureRandom.getInstance("SHA1PRNG");
+        long mixed = seed * 0x9E3779B97F4A7C15L + index;
+        mixed ^= mixed >>> 31;
+        rnd.setSeed(BigInteger.valueOf(mixed).toByteArray());
+        return rnd;
+    }
+
+    private static KeyPair newKeyPair(Spec spec, SecureRandom rnd) throws Exception {
+        KeyPairGenerator kpg = KeyPairGenerator.getInstance(spec.keyType.name());
+        kpg.initialize(spec.effectiveKeySize(), rnd);
+        return kpg.generateKeyPair();
+    }
+
+    private static byte[] certificate(Spec spec, SecureRandom rnd, X500Principal subject, KeyPair key, X509Certificate issuerCert,
+                                      KeyPair issuerKey, boolean ca, int pathLen, List<String> sans, long notBefore, int validityDays) throws Exception {
+        boolean rsa = "RSA".equals(issuerKey.getPrivate().getAlgorithm());
+        String sigAlg = rsa ? "SHA256withRSA" : "SHA256withECDSA";
+        byte[] algId = rsa ? DerWriter.sequence(DerWriter.oid("1.2.840.113549.1.1.11"), DerWriter.nul())
+                : DerWriter.sequence(DerWriter.oid("1.2.840.10045.4.3.2"));
+        byte[] spki = key.getPublic().getEncoded();
+        byte[] keyId = keyIdentifier(spki);
+
+        List<byte[]> exts = new ArrayList<>();
+        if (ca) {
+            byte[] bc = pathLen >= 0 ? DerWriter.sequence(DerWriter.bool(true), DerWriter.integer(pathLen)) : DerWriter.sequence(DerWriter.bool(true));
+            exts.add(extension("2.5.29.19", true, bc));
+            exts.add(extension("2.5.29.15", true, DerWriter.namedBits(false, false, false, false, false, true, true)));
+        } else {
+            exts.add(extension("2.5.29.15", true, DerWriter.namedBits(true, false, rsa)));
+        }
+        if (!sans.isEmpty()) {
+            byte[][] names = new byte[sans.size()][];
+            for (int j = 0; j < names.length; j++) names[j] = DerWriter.implicit(2, sans.get(j).getBytes(StandardCharsets.US_ASCII));
+            exts.add(extension("2.5.29.17", false, DerWriter.sequence(names)));
+        }
+        exts.add(extension("2.5.29.14", false, DerWriter.octetString(keyId)));
+        if (issuerCert != null || !ca) {
+            byte[] issuerKeyId = issuerCert != null ? keyIdentifier(issuerCert.getPublicKey().getEncoded()) : keyId;
+            exts.add(extension("2.5.29.35", false, DerWriter.sequence(DerWriter.implicit(0, issuerKeyId))));
+        }
+
+        X500Principal issuer = issuerCert != null ? issuerCert.getSubjectX500Principal() : subject;
+        byte[] tbs = DerWriter.sequence(
+                DerWriter.explicit(0, DerWriter.integer(2)),
+                DerWriter.integer(new BigInteger(63, rnd).add(BigInteger.ONE)),
+                algId,
+                issuer.getEncoded(),
+                DerWriter.sequence(DerWriter.time(notBefore), DerWriter.time(notBefore + validityDays * DAY)),
+                subject.getEncoded(),
+                spki,
+                DerWriter.explicit(3, DerWriter.sequence(exts.toArray(new byte[0][]))));
+        Signature sig = Signature.getInstance(sigAlg);
+        sig.initSign(issuerKey.getPrivate(), rnd);
+        sig.update(tbs);
+        return DerWriter.sequence(tbs, algId, DerWriter.bitString(sig.sign()));
+    }
+
+    private static byte[] extension(String oid, boolean critical, byte[] value) {
+        return critical ? DerWriter.sequence(DerWriter.oid(oid), DerWriter.bool(true), DerWriter.octetString(value))
+                : DerWriter.sequence(DerWriter.oid(oid), DerWriter.octetString(value));
+    }
+
+    /** RFC 5280 method 1: SHA-1 of the subjectPublicKey bits. */
+    private static byte[] keyIdentifier(byte[] spki) throws Exception {
+        DerReader r = new DerReader(spki);
+        r.enter(DerReader.SEQUENCE);
+        r.skip();
+        byte[] bits = r.readContent(DerReader.BIT_STRING);
+        MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+        sha1.update(bits, 1, bits.length - 1);
+        return sha1.digest();
+    }
+
+    private static X509Certificate toCertificate(byte[] der) throws Exception {
+        return (X509Certificate) CertificateFactory.getInstance("X.509").generateCertificate(new ByteArrayInputStream(der));
+    }
+}
@@ -0,0 +1,310 @@
+package org.openjfx.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SNIHostName;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLPeerUnverifiedException;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509ExtendedTrustManager;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Fetches the certificate chains that TLS servers present. Completed handshakes report the session's peer
+ * chain; a trust-all TrustManager also captures the chain per socket, so chains are reported even when the
+ * handshake fails afterwards (e.g. the server requires a client certificate). Server certificates are never
+ * trusted for anything else.
+ * <p>
+ * Many endpoints are scanned concurrently: on a Java 21+ runtime each handshake runs on a virtual thread,
+ * otherwise on a fixed pool; in both cases at most {@code maxConcurrency} handshakes are in flight.
+ */
+public class TlsChainFetcher {
+
+    private static final Logger log = LoggerFactory.getLogger(TlsChainFetcher.class);
+    private static final Pattern IPV4 = Pattern.compile("^\\d{1,3}(\\.\\d{1,3}){3}$");
+
+    private static final ScheduledExecutorService DEADLINES = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "tls-deadline");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final int connectTimeoutMillis;
+    private final int handshakeTimeoutMillis;
+    private final CapturingTrustManager trustManager = new CapturingTrustManager();
+    private final SSLSocketFactory socketFactory;
+
+    public TlsChainFetcher(int connectTimeoutMillis, int handshakeTimeoutMillis) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.handshakeTimeoutMillis = handshakeTimeoutMillis;
+        try {
+            SSLContext ctx = SSLContext.getInstance("TLS");
+            ctx.init(null, new TrustManager[]{trustManager}, null);
+            this.socketFactory = ctx.getSocketFactory();
+        } catch (Exception e) {
+            throw new IllegalStateException("TLS is not available", e);
+        }
+    }
+
+    /** Parse "host:port", "[v6addr]:port" or "host" (port 443). */
+    public static Endpoint parseEndpoint(String spec) {
+        String s = spec.trim();
+        String host = s;
+        int port = 443;
+        if (s.startsWith("[")) {
+            int close = s.indexOf(']');
+            if (close < 0) throw new IllegalArgumentException("Invalid endpoint: " + spec);
+            host = s.substring(1, close);
+            if (close + 1 < s.length() && s.charAt(close + 1) == ':') port = Integer.parseInt(s.substring(close + 2));
+        } else if (s.indexOf(':') == s.lastIndexOf(':') && s.indexOf(':') > 0) {
+            host = s.substring(0, s.indexOf(':'));
+            port = Integer.parseInt(s.substring(s.indexOf(':') + 1));
+        }
+        if (host.isEmpty() || port < 1 || port > 65535) throw new IllegalArgumentException("Invalid endpoint: " + spec);
+        return new Endpoint(host, port);
+    }
+
+    /**
+     * Handshake with one endpoint; failures are reported in the result rather than thrown. The handshake
+     * timeout bounds the whole handshake, not just each read: the socket is closed when it runs out.
+     */
+    public FetchResult fetch(Endpoint endpoint) {
+        long start = System.nanoTime();
+        SSLSocket ssl = null;
+        AtomicBoolean expired = new AtomicBoolean();
+        ScheduledFuture<?> deadline = null;
+        try (Socket raw = new Socket()) {
+            raw.connect(new InetSocketAddress(endpoint.getHost(), endpoint.getPort()), connectTimeoutMillis);
+            raw.setSoTimeout(handshakeTimeoutMillis);
+            deadline = DEADLINES.schedule(() -> {
+                expired.set(true);
+                try { raw.close(); } catch (Exception e) { log.debug("Closing timed out socket failed", e); }
+            }, handshakeTimeoutMillis, TimeUnit.MILLISECONDS);
+            ssl = (SSLSocket) socketFactory.createSocket(raw, endpoint.getHost(), endpoint.getPort(), true);
+            if (!IPV4.matcher(endpoint.getHost()).matches() && !endpoint.getHost().contains(":")) {
+                SSLParameters params = ssl.getSSLParameters();
+                params.setServerNames(List.of(new SNIHostName(endpoint.getHost())));
+                ssl.setSSLParameters(params);
+            }
+            trustManager.register(ssl);
+            try {
+                ssl.startHandshake();
+                deadline.cancel(false);
+                // The session's peer certificates are set on resumed handshakes too, where the trust manager is
+                // never asked; invalidating the session makes the next fetch do a full handshake anyway.
+                SSLSession session = ssl.getSession();
+                X509Certificate[] chain = peerChain(session);
+                session.invalidate();
+                String error = chain.length == 0 ? "Server presented no certificate chain" : null;
+                return new FetchResult(endpoint, chain, session.getProtocol(), session.getCipherSuite(), error, System.nanoTime() - start);
+            } catch (Exception e) {
+                X509Certificate[] captured = trustManager.take(ssl);
+                log.debug("TLS handshake with {} failed", endpoint, e);
+                String error = expired.get() ? "Handshake timed out after " + handshakeTimeoutMillis + " ms" : describe(e);
+                return new FetchResult(endpoint, captured, null, null, error, System.nanoTime() - start);
+            }
+        } catch (Exception e) {
+            log.debug("Connect to {} failed", endpoint, e);
+            return new FetchResult(endpoint, null, null, null, describe(e), System.nanoTime() - start);
+        } finally {
+            if (deadline != null) deadline.cancel(false);
+            if (ssl != null) {
+                trustManager.take(ssl);
+                try { ssl.close(); } catch (Exception e) { log.debug("Closing TLS socket failed", e); }
+            }
+        }
+    }
+
+    private static X509Certificate[] peerChain(SSLSession session) {
+        try {
+            Certificate[] peer = session.getPeerCertificates();
+            List<X509Certificate> chain = new ArrayList<>(peer.length);
+            for (Certificate c : peer) {
+                if (c instanceof X509Certificate) chain.add((X509Certificate) c);
+            }
+            return chain.toArray(new X509Certificate[0]);
+        } catch (SSLPeerUnverifiedException e) {
+            return new X509Certificate[0];
+        }
+    }
+
+    /**
+     * Fetch chains from many endpoints concurrently. Results are returned in the order of {@code endpoints}.
+     */
+    public List<FetchResult> fetchAll(List<Endpoint> endpoints, int maxConcurrency) throws InterruptedException {
+        int limit = Math.max(1, maxConcurrency);
+        Semaphore permits = new Semaphore(limit);
+        ExecutorService executor = newExecutor(Math.min(limit, Math.max(1, endpoints.size())));
+        try {
+            List<Future<FetchResult>> futures = new ArrayList<>(endpoints.size());
+            for (Endpoint ep : endpoints) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return fetch(ep);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            List<FetchResult> results = new ArrayList<>(endpoints.size());
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    results.add(new FetchResult(endpoints.get(i), null, null, null, describe(e.getCause()), 0));
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Put the captured chains into an in-memory keystore (aliases "host:port [i]", leaf first) so they flow
+     * through {@link KeystoreService#listEntries} and the regular details/export paths.
+     */
+    public KeyStore toKeyStore(List<FetchResult> results) throws Exception {
+        KeyStore ks = KeyStore.getInstance("PKCS12");
+        ks.load(null, null);
+        for (FetchResult r : results) {
+            List<X509Certificate> chain = r.getChain();
+            for (int i = 0; i < chain.size(); i++) {
+                ks.setCertificateEntry(r.getEndpoint() + " [" + i + "]", chain.get(i));
+            }
+        }
+        return ks;
+    }
+
+    /** Virtual threads when the runtime has them (Java 21+), otherwise a fixed daemon pool. */
+    private static ExecutorService newExecutor(int platformThreads) {
+        try {
+            Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) m.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(platformThreads, r -> {
+                Thread t = new Thread(r, "tls-fetch");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    private static String describe(Throwable t) {
+        return t.getClass().getSimpleName() + (t.getMessage() != null ? ": " + t.getMessage() : "");
+    }
+
+    /** Accepts every server chain and remembers it for the socket that presented it. */
+    private static final class CapturingTrustManager extends X509ExtendedTrustManager {
+        private static final X509Certificate[] NONE = new X509Certificate[0];
+        private final Map<Socket, X509Certificate[]> captured = new ConcurrentHashMap<>();
+
+        void register(Socket socket) { captured.put(socket, NONE); }
+
+        X509Certificate[] take(Socket socket) {
+            X509Certificate[] chain = captured.remove(socket);
+            return chain == null ? NONE : chain;
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, Socket socket) {
+            if (socket != null && chain != null) captured.replace(socket, chain.clone());
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, SSLEngine engine) { }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) { }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, Socket socket) { }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, SSLEngine engine) { }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) { }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() { return NONE; }
+    }
+
+    public static class Endpoint {
+        private final String host;
+        private final int port;
+
+        public Endpoint(String host, int port) {
+            this.host = host;
+            this.port = port;
+        }
+
+        public String getHost() { return host; }
+        public int getPort() { return port; }
+
+        @Override
+        public String toString() { return (host.contains(":") ? "[" + host + "]" : host) + ":" + port; }
+    }
+
+    /** Chain (leaf first) and handshake details for one endpoint; {@code error} is null on success. */
+    public static class FetchResult {
+        private final Endpoint endpoint;
+        private final List<X509Certificate> chain;
+        private final String protocol;
+        private final String cipherSuite;
+        private final String error;
+        private final long durationNanos;
+
+        FetchResult(Endpoint endpoint, X509Certificate[] chain, String protocol, String cipherSuite, String error, long durationNanos) {
+            this.endpoint = endpoint;
+            this.chain = chain == null ? List.of() : Collections.unmodifiableList(Arrays.asList(intern(chain)));
+            this.protocol = protocol;
+            this.cipherSuite = cipherSuite;
+            this.error = error;
+            this.durationNanos = durationNanos;
+        }
+
+        /** Intermediates and roots repeat across endpoints; keep one instance of each. */
+        private static X509Certificate[] intern(X509Certificate[] chain) {
+            X509Certificate[] result = new X509Certificate[chain.length];
+            for (int i = 0; i < chain.length; i++) result[i] = (X509Certificate) CertificateInterner.shared().intern(chain[i]);
+            return result;
+        }
+
+        public Endpoint getEndpoint() { return endpoint; }
+        public List<X509Certificate> getChain() { return chain; }
+        public String getProtocol() { return protocol; }
+        public String getCipherSuite() { return cipherSuite; }
+        public String getError() { return error; }
+        public boolean isSuccess() { return error == null; }
+        public long getDurationMillis() { return durationNanos / 1_000_000; }
+    }
+}
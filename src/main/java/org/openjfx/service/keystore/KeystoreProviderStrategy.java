@@ -1,6 +1,8 @@
 package org.openjfx.service.keystore;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
 import java.security.KeyStore;
 
 /**
@@ -14,6 +16,13 @@ public interface KeystoreProviderStrategy {
     /** Returns a human-readable keystore type label (e.g., JKS, PKCS12). */
     String getType(File file);
 
+    /** Load a keystore from already-read content; the file is used for type detection only. */
+    KeyStore load(File file, InputStream in, char[] password) throws Exception;
+
     /** Load a keystore from the file using this strategy/provider. */
-    KeyStore load(File file, char[] password) throws Exception;
+    default KeyStore load(File file, char[] password) throws Exception {
+        try (FileInputStream fis = new FileInputStream(file)) {
+            return load(file, fis, password);
+        }
+    }
 }
@@ -1,7 +1,7 @@
 package org.openjfx.service.keystore;
 
 import java.io.File;
-import java.io.FileInputStream;
+import java.io.InputStream;
 import java.security.KeyStore;
 import java.util.Locale;
 
@@ -20,12 +20,9 @@ public class SunJksPkcs12Strategy implements KeystoreProviderStrategy {
     }
 
     @Override
-    public KeyStore load(File file, char[] password) throws Exception {
-        String type = getType(file);
-        try (FileInputStream fis = new FileInputStream(file)) {
-            KeyStore ks = KeyStore.getInstance(type);
-            ks.load(fis, (password != null && password.length > 0) ? password : null);
-            return ks;
-        }
+    public KeyStore load(File file, InputStream in, char[] password) throws Exception {
+        KeyStore ks = KeyStore.getInstance(getType(file));
+        ks.load(in, (password != null && password.length > 0) ? password : null);
+        return ks;
     }
 }
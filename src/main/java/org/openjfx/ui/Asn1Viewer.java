@@ -0,0 +1,133 @@
+package org.openjfx.ui;
+
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeView;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import org.openjfx.asn1.DerException;
+import org.openjfx.asn1.DerNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Window showing the DER structure of a certificate (or any DER blob) as a tree. Nodes are decoded when
+ * they are expanded, never up front, and sequences with more than {@link #CHUNK} children are split into
+ * nested index ranges, so even a certificate with tens of thousands of SANs opens instantly and the
+ * (virtualized) {@link TreeView} never holds more than {@link #CHUNK} items per expanded level.
+ */
+public class Asn1Viewer {
+
+    private static final Logger log = LoggerFactory.getLogger(Asn1Viewer.class);
+
+    /** Largest number of items a single expansion adds to the tree. */
+    static final int CHUNK = 256;
+
+    /**
+     * An element, a range of the children of {@code node} between two offsets (when {@code count >= 0}), or
+     * a decoding error below {@code node} (when {@code error} is set).
+     */
+    private record Row(DerNode node, int from, int to, int firstIndex, int count, String error) {
+        static Row element(DerNode node) { return new Row(node, -1, -1, -1, -1, null); }
+
+        static Row range(DerNode node, int from, int to, int firstIndex, int count) { return new Row(node, from, to, firstIndex, count, null); }
+
+        boolean isRange() { return count >= 0; }
+
+        boolean expandable() { return error == null && (isRange() || node.hasChildren()); }
+
+        @Override
+        public String toString() {
+            if (error != null) return "Malformed: " + error;
+            if (isRange()) return "[" + firstIndex + " … " + (firstIndex + count - 1) + "]  @" + from + " len " + (to - from);
+            return node.toString();
+        }
+    }
+
+    /** Tree item that reads its children from the DER buffer the first time they are requested. */
+    private static final class LazyItem extends TreeItem<Row> {
+        private boolean loaded;
+
+        LazyItem(Row row) { super(row); }
+
+        @Override
+        public boolean isLeaf() { return !getValue().expandable(); }
+
+        @Override
+        public ObservableList<TreeItem<Row>> getChildren() {
+            if (!loaded) {
+                loaded = true;
+                try {
+                    super.getChildren().setAll(load(getValue()));
+                } catch (DerException e) {
+                    log.debug("Failed to decode DER children at offset {}", getValue().node().getOffset(), e);
+                    super.getChildren().setAll(List.of(new TreeItem<>(new Row(getValue().node(), -1, -1, -1, -1, e.getMessage()))));
+                }
+            }
+            return super.getChildren();
+        }
+    }
+
+    public void show(Stage owner, String title, byte[] der) {
+        Label selection = new Label("Select a node to see its offsets");
+        TreeView<Row> tree = new TreeView<>();
+        try {
+            LazyItem root = new LazyItem(Row.element(DerNode.root(der)));
+            root.setExpanded(true);
+            tree.setRoot(root);
+        } catch (DerException e) {
+            log.debug("Not a DER encoding", e);
+            selection.setText("Not a DER encoding: " + e.getMessage());
+        }
+        tree.getSelectionModel().selectedItemProperty().addListener((obs, old, item) -> {
+            if (item == null || item.getValue() == null) return;
+            Row r = item.getValue();
+            if (r.error() != null) {
+                selection.setText(r.toString());
+            } else if (r.isRange()) {
+                selection.setText("Children " + r.firstIndex() + "–" + (r.firstIndex() + r.count() - 1) + " of " + r.node().tagName()
+                        + " • bytes " + r.from() + "–" + (r.to() - 1));
+            } else {
+                DerNode n = r.node();
+                selection.setText("Offset " + n.getOffset() + " • header " + n.getHeaderLength() + " • content " + n.getLength()
+                        + " (bytes " + n.getContentOffset() + "–" + (n.getEnd() - 1) + ")");
+            }
+        });
+
+        VBox root = new VBox(8, tree, selection);
+        root.setPadding(new Insets(10));
+        VBox.setVgrow(tree, Priority.ALWAYS);
+        Stage stage = new Stage();
+        stage.setTitle("ASN.1 Structure — " + title);
+        if (owner != null) stage.initOwner(owner);
+        stage.setScene(new Scene(root, 760, 560));
+        stage.show();
+    }
+
+    private static List<TreeItem<Row>> load(Row row) throws DerException {
+        DerNode node = row.node();
+        Row range = row.isRange() ? row : Row.range(node, node.firstChildOffset(), node.getEnd(), 0, node.childCount());
+        List<TreeItem<Row>> items = new ArrayList<>(Math.min(range.count(), CHUNK));
+        if (range.count() <= CHUNK) {
+            for (DerNode child : node.children(range.from(), range.count())) items.add(new LazyItem(Row.element(child)));
+            return items;
+        }
+        // Split into at most CHUNK sub-ranges of CHUNK^k children each
+        int step = CHUNK;
+        while ((range.count() + step - 1) / step > CHUNK) step *= CHUNK;
+        int[] marks = node.childOffsets(range.from(), range.to(), step);
+        for (int i = 0; i + 1 < marks.length; i++) {
+            int first = range.firstIndex() + i * step;
+            int count = Math.min(step, range.firstIndex() + range.count() - first);
+            items.add(new LazyItem(Row.range(node, marks[i], marks[i + 1], first, count)));
+        }
+        return items;
+    }
+}
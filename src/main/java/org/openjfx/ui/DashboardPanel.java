@@ -0,0 +1,101 @@
+package org.openjfx.ui;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import org.openjfx.service.InventoryAggregator;
+import org.openjfx.service.InventoryAggregator.Dimension;
+import org.openjfx.service.InventoryAggregator.Group;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Window with the top groups of the loaded entries per issuer, signature algorithm, key, entry type and expiry
+ * month. The counts are maintained by {@link InventoryAggregator} as entries load, so the window only polls
+ * them (a few times a second, and only when they changed) and fills in while a large store is still loading.
+ */
+public class DashboardPanel {
+
+    private static final int TOP = 20;
+    private static final Duration REFRESH = Duration.millis(250);
+
+    private final InventoryAggregator aggregator;
+    private final Map<Dimension, ObservableList<Group>> groups = new EnumMap<>(Dimension.class);
+    private final Label total = new Label();
+    private long shownVersion = -1;
+
+    public DashboardPanel(InventoryAggregator aggregator) {
+        this.aggregator = aggregator;
+    }
+
+    public void show(Stage owner) {
+        GridPane grid = new GridPane();
+        grid.setHgap(10);
+        grid.setVgap(10);
+        Dimension[] dimensions = Dimension.values();
+        for (int i = 0; i < dimensions.length; i++) {
+            Dimension d = dimensions[i];
+            ObservableList<Group> items = FXCollections.observableArrayList();
+            groups.put(d, items);
+            TableView<Group> table = new TableView<>(items);
+            table.getColumns().addAll(List.of(
+                    column(d.getLabel(), d == Dimension.ISSUER ? 300 : 200, Group::getKey),
+                    column("Count", 70, g -> String.valueOf(g.getCount()))
+            ));
+            table.setPrefHeight(200);
+            table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+            VBox cell = new VBox(4, new Label(d.getLabel()), table);
+            VBox.setVgrow(table, Priority.ALWAYS);
+            GridPane.setHgrow(cell, Priority.ALWAYS);
+            GridPane.setVgrow(cell, Priority.ALWAYS);
+            grid.add(cell, i % 2, i / 2);
+        }
+
+        VBox root = new VBox(8, total, grid);
+        root.setPadding(new Insets(10));
+        VBox.setVgrow(grid, Priority.ALWAYS);
+
+        Stage stage = new Stage();
+        stage.setTitle("Dashboard");
+        if (owner != null) stage.initOwner(owner);
+        stage.setScene(new Scene(root, 860, 700));
+
+        Timeline poll = new Timeline(new KeyFrame(REFRESH, e -> refresh()));
+        poll.setCycleCount(Animation.INDEFINITE);
+        stage.setOnShown(e -> poll.play());
+        stage.setOnHidden(e -> poll.stop());
+        refresh();
+        stage.show();
+    }
+
+    private void refresh() {
+        long version = aggregator.version();
+        if (version == shownVersion) return;
+        shownVersion = version;
+        for (Map.Entry<Dimension, ObservableList<Group>> e : groups.entrySet()) e.getValue().setAll(aggregator.top(e.getKey(), TOP));
+        total.setText(aggregator.total() + " entries (top " + TOP + " groups per column)");
+    }
+
+    private static <T> TableColumn<T, String> column(String title, double width, Function<T, String> value) {
+        TableColumn<T, String> col = new TableColumn<>(title);
+        col.setCellValueFactory(cell -> new ReadOnlyStringWrapper(value.apply(cell.getValue())));
+        col.setPrefWidth(width);
+        return col;
+    }
+}
@@ -0,0 +1,193 @@
+package org.openjfx.ui;
+
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import org.openjfx.model.CertificateDetails;
+import org.openjfx.model.DecodedCertificate;
+import org.openjfx.service.DetailsCache;
+import org.openjfx.util.ClipboardUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Docked pane showing the selected entry. The table fields are shown immediately; the certificate is
+ * resolved and decoded on a background thread through a {@link DetailsCache}, and the neighbouring rows
+ * are decoded ahead so arrowing through the table finds them cached. Only the latest selection is rendered:
+ * selections made while a decode is running collapse into one pending request.
+ */
+public class DetailsPane {
+
+    private static final Logger log = LoggerFactory.getLogger(DetailsPane.class);
+
+    /** SANs listed in the pane; certificates with more are browsed in the {@link Asn1Viewer}. */
+    private static final int MAX_SANS = 50;
+
+    private final DetailsCache cache;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "details-decode");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicReference<Request> pending = new AtomicReference<>();
+
+    private final Label header = new Label("No entry selected");
+    private final GridPane grid = new GridPane();
+    private final Label decodeStatus = new Label();
+    private final Button structureButton = new Button("ASN.1 Structure…");
+    private Callable<Certificate> current;
+    private final ScrollPane node;
+    private int nextRow;
+
+    private record Request(long generation, Callable<Certificate> certificate) {}
+
+    public DetailsPane(DetailsCache cache) {
+        this.cache = cache;
+        header.setStyle("-fx-font-weight: bold;");
+        header.setWrapText(true);
+        grid.setHgap(10);
+        grid.setVgap(6);
+        decodeStatus.setStyle("-fx-text-fill: #777;");
+        structureButton.setDisable(true);
+        structureButton.setOnAction(e -> showStructure());
+        VBox box = new VBox(8, header, grid, decodeStatus, structureButton);
+        box.setPadding(new Insets(10));
+        node = new ScrollPane(box);
+        node.setFitToWidth(true);
+        node.setMinWidth(0);
+    }
+
+    public Node getNode() { return node; }
+
+    /**
+     * Show an entry: {@code fields} (label to value) right away, then the decoded certificate once
+     * {@code certificate} has been resolved and decoded off the FX thread. {@code neighbours} are decoded
+     * into the cache afterwards. Call on the FX thread.
+     */
+    public void show(String title, Map<String, String> fields, Callable<Certificate> certificate, List<Callable<Certificate>> neighbours) {
+        long gen = generation.incrementAndGet();
+        header.setText(title);
+        grid.getChildren().clear();
+        nextRow = 0;
+        for (Map.Entry<String, String> f : fields.entrySet()) addRow(f.getKey(), f.getValue(), false);
+        decodeStatus.setText("Decoding…");
+        structureButton.setDisable(true);
+        current = certificate;
+        pending.set(new Request(gen, certificate));
+        worker.execute(this::drain);
+        for (Callable<Certificate> n : neighbours) {
+            worker.execute(() -> {
+                drain(); // a newer selection always goes before prefetching
+                if (gen != generation.get()) return;
+                try {
+                    if (n.call() instanceof X509Certificate x509 && !cache.contains(x509)) cache.get(x509);
+                } catch (Exception e) {
+                    log.debug("Prefetching certificate details failed", e);
+                }
+            });
+        }
+    }
+
+    /** Empty the pane, e.g. when the table is cleared. */
+    public void clear() {
+        generation.incrementAndGet();
+        pending.set(null);
+        header.setText("No entry selected");
+        grid.getChildren().clear();
+        nextRow = 0;
+        decodeStatus.setText("");
+        structureButton.setDisable(true);
+        current = null;
+    }
+
+    private void drain() {
+        Request req = pending.getAndSet(null);
+        if (req == null) return;
+        DecodedCertificate decoded = null;
+        String error = null;
+        try {
+            if (req.certificate().call() instanceof X509Certificate x509) decoded = cache.get(x509);
+        } catch (Exception e) {
+            log.debug("Decoding certificate details failed", e);
+            error = e.getMessage();
+        }
+        DecodedCertificate d = decoded;
+        String failure = error;
+        FxThreadMonitor.runLater(() -> {
+            if (req.generation() != generation.get()) return;
+            if (d == null) {
+                decodeStatus.setText(failure != null ? "Certificate unavailable: " + failure : "No certificate for this entry");
+                return;
+            }
+            decodeStatus.setText("");
+            structureButton.setDisable(false);
+            render(d);
+        });
+    }
+
+    private void render(DecodedCertificate d) {
+        CertificateDetails c = d.getDetails();
+        addRow("Subject:", c.getSubject(), false);
+        addRow("Issuer:", c.getIssuer(), false);
+        addRow("Public Key:", c.getKeyAlgorithm() + (c.getKeySize() > 0 ? " " + c.getKeySize() + " bits" : ""), false);
+        List<String> sans = c.getSubjectAlternativeNames();
+        if (sans.size() > MAX_SANS) {
+            addRow("SANs:", String.join(", ", sans.subList(0, MAX_SANS)) + " … and " + (sans.size() - MAX_SANS) + " more (see ASN.1 Structure)", false);
+        } else {
+            addRow("SANs:", String.join(", ", sans), false);
+        }
+        addRow("Key Usage:", String.join(", ", d.getKeyUsage()), false);
+        addRow("Ext Key Usage:", String.join(", ", d.getExtendedKeyUsage()), false);
+        addRow("Basic Constraints:", d.getBasicConstraints(), false);
+        addRow("MD5:", d.getMd5Fingerprint(), true);
+        addRow("SHA-1:", c.getSha1Fingerprint(), true);
+        addRow("SHA-256:", c.getSha256Fingerprint(), true);
+    }
+
+    /** Open the ASN.1 viewer for the shown certificate; the certificate is resolved off the FX thread. */
+    private void showStructure() {
+        Callable<Certificate> certificate = current;
+        String title = header.getText();
+        if (certificate == null) return;
+        worker.execute(() -> {
+            try {
+                Certificate c = certificate.call();
+                if (c == null) return;
+                byte[] der = c.getEncoded();
+                FxThreadMonitor.runLater(() -> new Asn1Viewer().show(node.getScene() != null ? (Stage) node.getScene().getWindow() : null, title, der));
+            } catch (Exception e) {
+                log.debug("Failed to open ASN.1 structure", e);
+            }
+        });
+    }
+
+    private void addRow(String name, String value, boolean copyable) {
+        if (value == null || value.isEmpty()) return;
+        int row = nextRow++;
+        Label v = new Label(value);
+        v.setWrapText(true);
+        grid.add(new Label(name), 0, row);
+        grid.add(v, 1, row);
+        if (copyable) {
+            Button b = new Button("Copy");
+            b.setOnAction(ev -> ClipboardUtil.copyToClipboard(value));
+            grid.add(b, 2, row);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.openjfx.ui;
+
+import javafx.application.Platform;
+import org.openjfx.diagnostics.StallDetector;
+
+/**
+ * Installs the {@link StallDetector} on the JavaFX application thread and queues UI work through it:
+ * {@link #runLater} is {@link Platform#runLater} with the callback timed and labelled with its call site.
+ */
+public final class FxThreadMonitor {
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+    private static volatile StallDetector detector;
+
+    private FxThreadMonitor() {}
+
+    /**
+     * Start watching the application thread; call on that thread. Stalls longer than {@code thresholdMillis}
+     * are reported.
+     */
+    public static synchronized StallDetector install(long thresholdMillis) {
+        if (detector == null) {
+            detector = new StallDetector(Thread.currentThread(), Platform::runLater, thresholdMillis, 256, Platform::isNestedLoopRunning);
+            detector.start();
+        }
+        return detector;
+    }
+
+    /** The installed detector, or null. */
+    public static StallDetector detector() { return detector; }
+
+    public static synchronized void uninstall() {
+        if (detector != null) detector.close();
+        detector = null;
+    }
+
+    /** {@link Platform#runLater}, timing the callback when a detector is installed. */
+    public static void runLater(Runnable task) {
+        StallDetector d = detector;
+        Platform.runLater(d == null ? task : d.timed(callSite(), task));
+    }
+
+    /** "Class.method:line" of the code that called {@link #runLater}. */
+    private static String callSite() {
+        return WALKER.walk(frames -> frames.skip(2).findFirst()
+                .map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1) + "." + f.getMethodName() + ":" + f.getLineNumber())
+                .orElse("runLater"));
+    }
+}
@@ -0,0 +1,115 @@
+package org.openjfx.ui;
+
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import org.openjfx.diagnostics.OperationRecord;
+import org.openjfx.diagnostics.PerformanceLog;
+import org.openjfx.diagnostics.PerformanceLog.PhaseSummary;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Window summarizing the last N timed operations (read, load, map, parse, render, convert, export).
+ * The same operations are emitted as JFR events in the "KeyT" category.
+ */
+public class PerformancePanel {
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final PerformanceLog log;
+    private final ObservableList<PhaseSummary> summaries = FXCollections.observableArrayList();
+    private final ObservableList<OperationRecord> recent = FXCollections.observableArrayList();
+    private boolean refreshPending;
+
+    public PerformancePanel(PerformanceLog log) {
+        this.log = log;
+    }
+
+    public void show(Stage owner) {
+        TableView<PhaseSummary> summaryTable = new TableView<>(summaries);
+        summaryTable.getColumns().addAll(List.of(
+                column("Phase", 160, PhaseSummary::getPhase),
+                column("Count", 70, s -> String.valueOf(s.getCount())),
+                column("Avg (ms)", 90, s -> millis(s.getAverageMillis())),
+                column("Max (ms)", 90, s -> millis(s.getMaxMillis())),
+                column("Total (ms)", 100, s -> millis(s.getTotalMillis()))
+        ));
+        summaryTable.setPrefHeight(180);
+
+        TableView<OperationRecord> recentTable = new TableView<>(recent);
+        recentTable.getColumns().addAll(List.of(
+                column("Time", 100, r -> TIME.format(r.getFinishedAt())),
+                column("Phase", 140, OperationRecord::getPhase),
+                column("Duration (ms)", 100, r -> millis(r.getDurationMillis())),
+                column("Entries", 70, r -> String.valueOf(r.getEntryCount())),
+                column("Size (bytes)", 100, r -> String.valueOf(r.getFileSize())),
+                column("File", 260, r -> r.getFile() == null ? "" : r.getFile())
+        ));
+
+        Button clear = new Button("Clear");
+        clear.setOnAction(e -> { log.clear(); refresh(); });
+        HBox buttons = new HBox(8, new Label("Most recent first. Record with -XX:StartFlightRecording for JFR captures."), clear);
+
+        VBox root = new VBox(8, new Label("Summary by phase"), summaryTable, new Label("Recent operations"), recentTable, buttons);
+        root.setPadding(new Insets(10));
+        VBox.setVgrow(recentTable, Priority.ALWAYS);
+
+        Stage stage = new Stage();
+        stage.setTitle("Performance");
+        if (owner != null) stage.initOwner(owner);
+        stage.setScene(new Scene(root, 760, 520));
+
+        Consumer<OperationRecord> listener = r -> scheduleRefresh();
+        log.addListener(listener);
+        stage.setOnHidden(e -> log.removeListener(listener));
+        refresh();
+        stage.show();
+    }
+
+    /** Coalesce bursts of records into one table refresh per pulse. */
+    private void scheduleRefresh() {
+        synchronized (this) {
+            if (refreshPending) return;
+            refreshPending = true;
+        }
+        FxThreadMonitor.runLater(() -> {
+            synchronized (this) { refreshPending = false; }
+            refresh();
+        });
+    }
+
+    private void refresh() {
+        summaries.setAll(log.summarize());
+        List<OperationRecord> records = log.snapshot();
+        Collections.reverse(records);
+        recent.setAll(records);
+    }
+
+    private static String millis(double ms) {
+        return String.format(Locale.ROOT, "%.2f", ms);
+    }
+
+    private static <T> TableColumn<T, String> column(String title, double width, Function<T, String> value) {
+        TableColumn<T, String> col = new TableColumn<>(title);
+        col.setCellValueFactory(cell -> new ReadOnlyStringWrapper(value.apply(cell.getValue())));
+        col.setPrefWidth(width);
+        return col;
+    }
+}
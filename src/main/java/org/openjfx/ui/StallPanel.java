@@ -0,0 +1,94 @@
+package org.openjfx.ui;
+
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.geometry.Orientation;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.SplitPane;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextArea;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import org.openjfx.diagnostics.StallDetector;
+import org.openjfx.diagnostics.StallDetector.Stall;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Window listing the recent stalls of the JavaFX application thread, most recent first, with the stack the
+ * thread was blocked in for the selected one.
+ */
+public class StallPanel {
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final StallDetector detector;
+    private final ObservableList<Stall> stalls = FXCollections.observableArrayList();
+
+    public StallPanel(StallDetector detector) {
+        this.detector = detector;
+    }
+
+    public void show(Stage owner) {
+        TableView<Stall> table = new TableView<>(stalls);
+        table.getColumns().addAll(List.of(
+                column("Time", 100, s -> TIME.format(s.getAt())),
+                column("Duration (ms)", 100, s -> String.format(Locale.ROOT, "%.1f", s.getDurationMillis())),
+                column("Source", 420, Stall::getSource)
+        ));
+        TextArea stack = new TextArea();
+        stack.setEditable(false);
+        stack.setStyle("-fx-font-family: monospace;");
+        table.getSelectionModel().selectedItemProperty().addListener((obs, old, s) -> stack.setText(s == null ? "" : s.describe()));
+
+        SplitPane split = new SplitPane(table, stack);
+        split.setOrientation(Orientation.VERTICAL);
+        split.setDividerPositions(0.45);
+
+        Button clear = new Button("Clear");
+        clear.setOnAction(e -> { detector.clear(); refresh(); });
+        HBox buttons = new HBox(8, new Label("Stalls are also logged and counted under \"FX Stall\" in Performance."), clear);
+
+        VBox root = new VBox(8, split, buttons);
+        root.setPadding(new Insets(10));
+        VBox.setVgrow(split, Priority.ALWAYS);
+
+        Stage stage = new Stage();
+        stage.setTitle("FX Stalls");
+        if (owner != null) stage.initOwner(owner);
+        stage.setScene(new Scene(root, 760, 520));
+
+        // Listeners run on the FX thread once the stall is over
+        Consumer<Stall> listener = s -> refresh();
+        detector.addListener(listener);
+        stage.setOnHidden(e -> detector.removeListener(listener));
+        refresh();
+        stage.show();
+    }
+
+    private void refresh() {
+        List<Stall> recent = detector.snapshot();
+        Collections.reverse(recent);
+        stalls.setAll(recent);
+    }
+
+    private static <T> TableColumn<T, String> column(String title, double width, Function<T, String> value) {
+        TableColumn<T, String> col = new TableColumn<>(title);
+        col.setCellValueFactory(cell -> new ReadOnlyStringWrapper(value.apply(cell.getValue())));
+        col.setPrefWidth(width);
+        return col;
+    }
+}
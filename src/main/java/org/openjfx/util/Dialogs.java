@@ -36,6 +36,22 @@ public final class Dialogs {
         return result.map(String::toCharArray);
     }
 
+    public static Optional<String> promptForText(Stage owner, String title, String header, String initialValue) {
+        TextInputDialog dialog = new TextInputDialog(initialValue == null ? "" : initialValue);
+        dialog.setTitle(title);
+        dialog.setHeaderText(header);
+        if (owner != null) dialog.initOwner(owner);
+        return dialog.showAndWait().map(String::trim).filter(s -> !s.isEmpty());
+    }
+
+    public static boolean confirm(Stage owner, String title, String message) {
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION, message, ButtonType.OK, ButtonType.CANCEL);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        if (owner != null) alert.initOwner(owner);
+        return alert.showAndWait().filter(b -> b == ButtonType.OK).isPresent();
+    }
+
     public static Optional<Passwords> promptForKeystoreAndKeyPasswords(Stage owner) {
         Dialog<Passwords> dialog = new Dialog<>();
         dialog.setTitle("Keystore Credentials");
@@ -0,0 +1,174 @@
+package org.openjfx.util;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sequential reader for ustar/GNU/pax tar streams, the counterpart of {@link java.util.zip.ZipInputStream}:
+ * {@link #nextEntry()} positions the stream at the next entry, whose content is then read from this stream
+ * until it returns -1. GNU long names and pax {@code path} records are honoured; other metadata is skipped.
+ */
+public final class TarInputStream extends FilterInputStream {
+
+    private static final int BLOCK = 512;
+    /** Largest GNU long name or pax header read into memory; the size comes from the archive. */
+    private static final int MAX_HEADER_DATA = 1 << 20;
+
+    /** Name, size and kind of one tar entry. */
+    public static final class Entry {
+        private final String name;
+        private final long size;
+        private final boolean file;
+
+        Entry(String name, long size, boolean file) {
+            this.name = name;
+            this.size = size;
+            this.file = file;
+        }
+
+        public String getName() { return name; }
+        public long getSize() { return size; }
+        /** True for regular files; directories, links and devices have no content to read. */
+        public boolean isFile() { return file; }
+    }
+
+    private final byte[] header = new byte[BLOCK];
+    private long remaining;
+    private long padding;
+
+    public TarInputStream(InputStream in) {
+        super(in);
+    }
+
+    /** Skip the rest of the current entry and read the next header; null at the end of the archive. */
+    public Entry nextEntry() throws IOException {
+        String longName = null;
+        while (true) {
+            skipFully(remaining + padding);
+            remaining = 0;
+            padding = 0;
+            int n = in.readNBytes(header, 0, BLOCK);
+            if (n == 0) return null;
+            if (n < BLOCK) throw new EOFException("Truncated tar header");
+            if (isZeroBlock()) return null;
+            long size = size();
+            char type = (char) header[156];
+            if (type == 'L' || type == 'x') {
+                if (size > MAX_HEADER_DATA) throw new IOException("Tar " + (type == 'L' ? "long name" : "pax header") + " of " + size + " bytes exceeds " + MAX_HEADER_DATA);
+                byte[] data = in.readNBytes((int) size);
+                if (data.length < size) throw new EOFException("Truncated tar entry");
+                skipFully(pad(size));
+                String value = type == 'L' ? cString(data, 0, data.length) : paxPath(data);
+                if (value != null) longName = value;
+                continue;
+            }
+            String name = longName != null ? longName : name();
+            boolean file = type == '0' || type == '\0' || type == '7';
+            remaining = file ? size : 0;
+            padding = file ? pad(size) : pad(size) + size;
+            return new Entry(name, size, file);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (remaining <= 0) return -1;
+        int b = in.read();
+        if (b < 0) throw new EOFException("Truncated tar entry");
+        remaining--;
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) return 0;
+        if (remaining <= 0) return -1;
+        int n = in.read(b, off, (int) Math.min(len, remaining));
+        if (n < 0) throw new EOFException("Truncated tar entry");
+        remaining -= n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = in.skip(Math.min(n, remaining));
+        remaining -= skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(in.available(), remaining);
+    }
+
+    @Override
+    public boolean markSupported() { return false; }
+
+    private void skipFully(long n) throws IOException {
+        in.skipNBytes(n);
+    }
+
+    private static long pad(long size) {
+        return (BLOCK - size % BLOCK) % BLOCK;
+    }
+
+    private boolean isZeroBlock() {
+        for (byte b : header) if (b != 0) return false;
+        return true;
+    }
+
+    private String name() {
+        String name = cString(header, 0, 100);
+        boolean ustar = "ustar".equals(cString(header, 257, 5));
+        String prefix = ustar ? cString(header, 345, 155) : "";
+        return prefix.isEmpty() ? name : prefix + "/" + name;
+    }
+
+    /** Octal, or base-256 (GNU) when the high bit of the first byte is set. */
+    private long size() throws IOException {
+        if ((header[124] & 0x80) != 0) {
+            long v = 0;
+            for (int i = 125; i < 136; i++) v = (v << 8) | (header[i] & 0xFF);
+            if (v < 0) throw new IOException("Invalid tar entry size");
+            return v;
+        }
+        String octal = cString(header, 124, 12).trim();
+        try {
+            return octal.isEmpty() ? 0 : Long.parseLong(octal, 8);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid tar entry size: " + octal);
+        }
+    }
+
+    /** The {@code path} value of pax records ("&lt;length&gt; key=value\n"...), or null; malformed records throw. */
+    private static String paxPath(byte[] data) throws IOException {
+        int pos = 0;
+        while (pos < data.length) {
+            int space = pos;
+            while (space < data.length && data[space] != ' ') space++;
+            int length;
+            try {
+                length = Integer.parseInt(new String(data, pos, space - pos, StandardCharsets.US_ASCII));
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed pax record length at offset " + pos);
+            }
+            // The record spans "<length> " up to and including its trailing newline
+            if (length <= 0 || pos + length > data.length || space >= pos + length - 1 || data[pos + length - 1] != '\n') {
+                throw new IOException("Malformed pax record at offset " + pos);
+            }
+            String record = new String(data, space + 1, pos + length - space - 2, StandardCharsets.UTF_8);
+            if (record.startsWith("path=")) return record.substring(5);
+            pos += length;
+        }
+        return null;
+    }
+
+    private static String cString(byte[] b, int off, int len) {
+        int end = off;
+        while (end < off + len && b[end] != 0) end++;
+        return new String(b, off, end - off, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,120 @@
+package org.openjfx.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel: timers are hashed by deadline tick into a fixed ring of buckets, so scheduling and
+ * cancelling are O(1) and advancing by one tick touches only one bucket, however many timers are pending
+ * (each timer carries the number of full rotations it still has to wait). Not thread-safe; the owner
+ * drives it from one thread.
+ */
+public final class TimerWheel<T> {
+
+    /** A scheduled timer; {@link #cancel()} removes it in O(1). */
+    public static final class Timer<T> {
+        private final long deadline;
+        private final T payload;
+        private long rounds;
+        private int bucket = -1;
+        private Timer<T> prev;
+        private Timer<T> next;
+
+        private Timer(long deadline, T payload) {
+            this.deadline = deadline;
+            this.payload = payload;
+        }
+
+        public long getDeadline() { return deadline; }
+
+        public T getPayload() { return payload; }
+
+        public boolean isPending() { return bucket >= 0; }
+    }
+
+    private final long tickMillis;
+    private final Timer<T>[] heads;
+    private long nextTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) throw new IllegalArgumentException("tick and wheel size must be positive");
+        this.tickMillis = tickMillis;
+        this.heads = (Timer<T>[]) new Timer<?>[wheelSize];
+        this.nextTick = ceilTick(startMillis);
+    }
+
+    /** Schedule {@code payload} to fire at the first tick at or after {@code deadlineMillis} (next tick if already past). */
+    public Timer<T> schedule(long deadlineMillis, T payload) {
+        Timer<T> t = new Timer<>(deadlineMillis, payload);
+        long tick = Math.max(ceilTick(deadlineMillis), nextTick);
+        t.rounds = (tick - nextTick) / heads.length;
+        link(t, (int) (tick % heads.length));
+        size++;
+        return t;
+    }
+
+    /** Remove a pending timer; false if it already fired or was cancelled. */
+    public boolean cancel(Timer<T> t) {
+        if (!t.isPending()) return false;
+        unlink(t);
+        size--;
+        return true;
+    }
+
+    /** Process every tick up to {@code nowMillis}, handing each due payload to {@code expired}. Returns the number fired. */
+    public int advance(long nowMillis, Consumer<? super T> expired) {
+        int fired = 0;
+        List<T> due = new ArrayList<>();
+        while (nextTick * tickMillis <= nowMillis) {
+            // Move on first, so timers scheduled from the callback land in a later tick
+            int b = (int) (nextTick++ % heads.length);
+            for (Timer<T> t = heads[b]; t != null; ) {
+                Timer<T> following = t.next;
+                if (t.rounds <= 0) {
+                    unlink(t);
+                    size--;
+                    due.add(t.payload);
+                } else {
+                    t.rounds--;
+                }
+                t = following;
+            }
+            // Callbacks run after the bucket walk, so they may schedule or cancel freely
+            for (T payload : due) expired.accept(payload);
+            fired += due.size();
+            due.clear();
+        }
+        return fired;
+    }
+
+    /** Time of the next tick, i.e. the earliest moment {@link #advance} can fire anything. */
+    public long nextTickMillis() { return nextTick * tickMillis; }
+
+    public long getTickMillis() { return tickMillis; }
+
+    public int size() { return size; }
+
+    private long ceilTick(long millis) {
+        return Math.floorDiv(millis + tickMillis - 1, tickMillis);
+    }
+
+    private void link(Timer<T> t, int bucket) {
+        t.bucket = bucket;
+        t.prev = null;
+        t.next = heads[bucket];
+        if (t.next != null) t.next.prev = t;
+        heads[bucket] = t;
+    }
+
+    private void unlink(Timer<T> t) {
+        if (t.prev != null) t.prev.next = t.next;
+        else heads[t.bucket] = t.next;
+        if (t.next != null) t.next.prev = t.prev;
+        t.prev = null;
+        t.next = null;
+        t.bucket = -1;
+    }
+}
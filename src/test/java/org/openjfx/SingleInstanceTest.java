@@ -0,0 +1,53 @@
+package org.openjfx;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleInstanceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void secondLaunchForwardsAbsolutePathsToPrimary() throws Exception {
+        assertFalse(SingleInstance.forward(dir, List.of("a.jks"), 0), "nothing to forward to yet");
+
+        SingleInstance primary = SingleInstance.acquire(dir);
+        assertNotNull(primary);
+        try {
+            assertNull(SingleInstance.acquire(dir), "lock is held");
+            BlockingQueue<List<String>> received = new LinkedBlockingQueue<>();
+
+            // Arrives before the window registered its handler
+            assertTrue(SingleInstance.forward(dir, List.of("early.p12"), 2000));
+            primary.setHandler(received::add);
+            assertEquals(List.of(Path.of("early.p12").toAbsolutePath().toString()), received.poll(5, TimeUnit.SECONDS));
+
+            String absolute = dir.resolve("store.jks").toString();
+            assertTrue(SingleInstance.forward(dir, List.of(absolute, "bundle.pem"), 2000));
+            assertEquals(List.of(absolute, Path.of("bundle.pem").toAbsolutePath().toString()), received.poll(5, TimeUnit.SECONDS));
+
+            // A port file with the wrong token is not accepted
+            Path portFile = dir.resolve("instance.port");
+            List<String> lines = Files.readAllLines(portFile);
+            Files.write(portFile, List.of(lines.get(0), "0000"));
+            assertFalse(SingleInstance.forward(dir, List.of(absolute), 300));
+            assertNull(received.poll(200, TimeUnit.MILLISECONDS));
+        } finally {
+            primary.close();
+        }
+
+        SingleInstance next = SingleInstance.acquire(dir);
+        assertNotNull(next, "lock is free again after close");
+        next.close();
+    }
+}
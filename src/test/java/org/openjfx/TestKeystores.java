@@ -0,0 +1,74 @@
+package org.openjfx;
+
+import org.openjfx.service.StoreGenerator;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test fixture: generates real keystores with the JDK keytool so tests do not depend on checked-in binaries.
+ */
+public final class TestKeystores {
+    private TestKeystores() {}
+
+    /** Create a keystore of the given type (JKS or PKCS12) holding one EC key pair per alias. */
+    public static Path generate(Path dir, String fileName, String type, String password, String... aliases) throws Exception {
+        Path ks = dir.resolve(fileName);
+        for (String alias : aliases) {
+            keytool("-genkeypair", "-alias", alias, "-keyalg", "EC", "-groupname", "secp256r1",
+                    "-dname", "CN=" + alias + ",O=KeyT Test", "-validity", "365",
+                    "-storetype", type, "-keystore", ks.toString(),
+                    "-storepass", password, "-keypass", password);
+        }
+        return ks;
+    }
+
+    /** Export an alias' certificate to a PEM file. */
+    public static Path exportPem(Path ks, String password, String alias, Path out) throws Exception {
+        keytool("-exportcert", "-rfc", "-alias", alias, "-keystore", ks.toString(), "-storepass", password, "-file", out.toString());
+        return out;
+    }
+
+    /** Import a certificate file as a trusted entry. */
+    public static void importTrusted(Path ks, String type, String password, String alias, Path cert) throws Exception {
+        keytool("-importcert", "-noprompt", "-alias", alias, "-file", cert.toString(),
+                "-storetype", type, "-keystore", ks.toString(), "-storepass", password);
+    }
+
+    /** Generate a CRL signed by {@code alias} that revokes the given serial numbers. */
+    public static Path generateCrl(Path ks, String password, String alias, Path out, BigInteger... serials) throws Exception {
+        List<String> args = new ArrayList<>(List.of("-gencrl", "-alias", alias, "-keystore", ks.toString(),
+                "-storepass", password, "-keypass", password, "-file", out.toString()));
+        for (BigInteger serial : serials) {
+            args.add("-id");
+            args.add(serial.toString());
+        }
+        keytool(args.toArray(new String[0]));
+        return out;
+    }
+
+    /** Write a synthetic store of {@code entries} EC certificates (format from the file name) with a fixed seed. */
+    public static Path synthetic(Path dir, String fileName, String password, int entries) throws Exception {
+        StoreGenerator generator = new StoreGenerator();
+        Path out = dir.resolve(fileName);
+        StoreGenerator.Spec spec = new StoreGenerator.Spec().entries(entries).sanCount(1).seed(42);
+        generator.write(generator.generate(spec, 0), out, StoreGenerator.Format.forFileName(fileName), password.toCharArray());
+        return out;
+    }
+
+    public static void keytool(String... args) throws Exception {
+        List<String> cmd = new ArrayList<>();
+        cmd.add(Path.of(System.getProperty("java.home"), "bin", "keytool").toString());
+        cmd.addAll(List.of(args));
+        Process p = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+        String output = new String(p.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        if (!p.waitFor(60, TimeUnit.SECONDS) || p.exitValue() != 0) {
+            throw new IOException("keytool failed: " + String.join(" ", args) + "\n" + output);
+        }
+    }
+}
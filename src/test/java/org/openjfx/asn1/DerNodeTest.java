@@ -0,0 +1,76 @@
+package org.openjfx.asn1;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjfx.TestKeystores;
+import org.openjfx.service.KeystoreService;
+
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DerNodeTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void walksCertificateWithThousandSansLazily() throws Exception {
+        StringJoiner san = new StringJoiner(",", "san=", "");
+        for (int i = 0; i < 1000; i++) san.add("dns:host" + i + ".example");
+        Path ksFile = dir.resolve("big.p12");
+        TestKeystores.keytool("-genkeypair", "-alias", "big", "-keyalg", "EC", "-groupname", "secp256r1",
+                "-dname", "CN=big,O=KeyT Test", "-ext", san.toString(), "-validity", "365",
+                "-storetype", "PKCS12", "-keystore", ksFile.toString(), "-storepass", "changeit", "-keypass", "changeit");
+        KeyStore ks = new KeystoreService().load(ksFile.toFile(), "changeit".toCharArray());
+        byte[] der = ks.getCertificate("big").getEncoded();
+
+        DerNode cert = DerNode.root(der);
+        assertEquals(DerReader.SEQUENCE, cert.getTag());
+        assertEquals(der.length, cert.getEnd());
+        List<DerNode> top = cert.children(cert.firstChildOffset(), 10);
+        assertEquals(3, top.size());
+        assertEquals(3, cert.childCount());
+        assertTrue(top.get(1).children(top.get(1).firstChildOffset(), 1).get(0).summary().contains("ecdsa-with-SHA256"));
+
+        DerNode tbs = top.get(0);
+        DerNode extensionsTagged = last(tbs);
+        assertEquals("[3]", extensionsTagged.tagName());
+        DerNode extensions = extensionsTagged.children(extensionsTagged.firstChildOffset(), 1).get(0);
+        DerNode sanValue = null;
+        for (DerNode ext : extensions.children(extensions.firstChildOffset(), 100)) {
+            List<DerNode> parts = ext.children(ext.firstChildOffset(), 3);
+            if (parts.get(0).summary().equals("2.5.29.17 (subjectAltName)")) sanValue = parts.get(parts.size() - 1);
+        }
+        assertNotNull(sanValue);
+        assertTrue(sanValue.isEncapsulating());
+        DerNode names = sanValue.children(sanValue.firstChildOffset(), 1).get(0);
+        assertEquals(1000, names.childCount());
+
+        int[] marks = names.childOffsets(names.firstChildOffset(), names.getEnd(), 256);
+        assertEquals(5, marks.length, "four ranges plus the end offset");
+        assertEquals(names.getEnd(), marks[4]);
+        List<DerNode> third = names.children(marks[2], 256);
+        assertEquals(256, third.size());
+        assertEquals("[2]", third.get(0).tagName());
+        assertEquals("host512.example", third.get(0).summary());
+        assertEquals(232, names.children(marks[3], 256).size());
+        assertTrue(third.get(0).toString().startsWith("[2] @" + marks[2] + " len 15"));
+    }
+
+    @Test
+    void rejectsTruncatedInput() throws Exception {
+        DerNode seq = DerNode.root(new byte[] {0x30, 0x06, 0x02, 0x01, 0x05, 0x02, 0x05, 0x01});
+        assertEquals("5", seq.children(seq.firstChildOffset(), 1).get(0).summary());
+        assertThrows(DerException.class, () -> seq.children(seq.firstChildOffset(), 10));
+        assertThrows(DerException.class, () -> DerNode.root(new byte[] {0x30, 0x05, 0x02}));
+    }
+
+    private static DerNode last(DerNode node) throws DerException {
+        List<DerNode> children = node.children(node.firstChildOffset(), Integer.MAX_VALUE);
+        return children.get(children.size() - 1);
+    }
+}
@@ -0,0 +1,42 @@
+package org.openjfx.cli;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjfx.TestKeystores;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Smoke test for the native executable built by the "native" profile (run by failsafe).
+ */
+public class KeytCliNativeIT {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void nativeBinaryListsGeneratedStores() throws Exception {
+        String binary = System.getProperty("keyt.native.binary");
+        assumeTrue(binary != null && Files.isExecutable(Path.of(binary)), "native binary not built");
+
+        Path jks = TestKeystores.generate(dir, "smoke.jks", "JKS", "changeit", "smoke-jks");
+        Path p12 = TestKeystores.generate(dir, "smoke.p12", "PKCS12", "changeit", "smoke-p12");
+        Path pem = TestKeystores.exportPem(p12, "changeit", "smoke-p12", dir.resolve("smoke.pem"));
+
+        Process p = new ProcessBuilder(binary, "list", "--password", "changeit", jks.toString(), p12.toString(), pem.toString())
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(p.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(p.waitFor(60, TimeUnit.SECONDS), "native binary timed out");
+        assertEquals(0, p.exitValue(), output);
+        assertTrue(output.contains("smoke-jks\tPrivate Key"), output);
+        assertTrue(output.contains("smoke-p12\tPrivate Key"), output);
+        assertTrue(output.contains("CN=smoke-p12"), output);
+    }
+}
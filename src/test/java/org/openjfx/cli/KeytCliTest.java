@@ -0,0 +1,97 @@
+package org.openjfx.cli;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjfx.TestKeystores;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeytCliTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void listsEntriesOfGeneratedStores() throws Exception {
+        Path jks = TestKeystores.generate(dir, "store.jks", "JKS", "changeit", "alpha", "beta");
+        Path p12 = TestKeystores.generate(dir, "store.p12", "PKCS12", "changeit", "gamma");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        KeytCli cli = new KeytCli(new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(err, true, StandardCharsets.UTF_8));
+
+        int code = cli.run("list", "--password", "changeit", jks.toString(), p12.toString());
+        String text = out.toString(StandardCharsets.UTF_8);
+        assertEquals(0, code, err.toString(StandardCharsets.UTF_8));
+        assertEquals(3, text.lines().count());
+        assertTrue(text.contains("alpha\tPrivate Key\t"));
+        assertTrue(text.contains("gamma\tPrivate Key\t"));
+    }
+
+    @Test
+    void streamsReportToStdout() throws Exception {
+        Path jks = TestKeystores.generate(dir, "store.jks", "JKS", "changeit", "alpha", "beta");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        KeytCli cli = new KeytCli(new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(err, true, StandardCharsets.UTF_8));
+
+        int code = cli.run("report", "--format", "jsonl", "--password", "changeit", jks.toString());
+        assertEquals(0, code, err.toString(StandardCharsets.UTF_8));
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().collect(Collectors.toList());
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\"entryType\":\"Private Key\""), lines.get(0));
+        assertEquals(2, cli.run("report", "--format", "xml", jks.toString()));
+    }
+
+    @Test
+    void filtersWithWhereQuery() throws Exception {
+        Path jks = TestKeystores.generate(dir, "store.jks", "JKS", "changeit", "alpha", "beta");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        KeytCli cli = new KeytCli(new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(err, true, StandardCharsets.UTF_8));
+
+        int code = cli.run("list", "--password", "changeit", "--where", "subject ~ \"CN=beta\" and keySize >= 256 and notAfter > now", jks.toString());
+        assertEquals(0, code, err.toString(StandardCharsets.UTF_8));
+        assertEquals(List.of("beta"), out.toString(StandardCharsets.UTF_8).lines().map(l -> l.split("\t")[0]).collect(Collectors.toList()));
+
+        out.reset();
+        assertEquals(0, cli.run("report", "--password", "changeit", "--where", "notAfter < now+30d", jks.toString()));
+        assertEquals(1, out.toString(StandardCharsets.UTF_8).lines().count(), "header only");
+        assertEquals(2, cli.run("list", "--where", "keySize ~", jks.toString()));
+    }
+
+    @Test
+    void listsPemBundlesWithTrailingText() throws Exception {
+        Path pem = TestKeystores.synthetic(dir, "bundle.pem", "", 2);
+        Files.writeString(pem, "subject=/CN=leaf\n" + Files.readString(pem) + "# written by openssl x509 -text\n");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        KeytCli cli = new KeytCli(new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(err, true, StandardCharsets.UTF_8));
+
+        assertEquals(0, cli.run("list", pem.toString()), err.toString(StandardCharsets.UTF_8));
+        assertEquals(2, out.toString(StandardCharsets.UTF_8).lines().count());
+    }
+
+    @Test
+    void reportsUsageAndFailures() {
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        PrintStream ps = new PrintStream(sink, true, StandardCharsets.UTF_8);
+        KeytCli cli = new KeytCli(ps, ps);
+
+        assertEquals(2, cli.run());
+        assertEquals(2, cli.run("nope"));
+        assertEquals(2, cli.run("list"));
+        assertEquals(1, cli.run("list", dir.resolve("missing.jks").toString()));
+    }
+}
@@ -0,0 +1,103 @@
+package org.openjfx.diagnostics;
+
+import org.junit.jupiter.api.Test;
+import org.openjfx.model.CertificateInfo;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.Date;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InventoryMetricsTest {
+
+    private static final long DAY = 86_400_000L;
+    private static final long NOW = 1_700_000_000_000L;
+
+    private static CertificateInfo info(String sigAlg, String type) {
+        return new CertificateInfo("a", type, "", "", sigAlg, "1");
+    }
+
+    @Test
+    void countsIncrementallyByExpiryAlgorithmAndType() {
+        InventoryMetrics metrics = new InventoryMetrics();
+        InventoryMetrics.Sample expired = InventoryMetrics.sample(info("SHA1withRSA", "Trusted Certificate"), NOW - 2 * DAY);
+        InventoryMetrics.Sample week = InventoryMetrics.sample(info("SHA256withECDSA", "Private Key"), NOW + 5 * DAY);
+        InventoryMetrics.Sample year = InventoryMetrics.sample(info("SHA256withECDSA", "Private Key"), NOW + 200 * DAY);
+        metrics.add(expired);
+        metrics.add(week);
+        metrics.add(year);
+        metrics.add(InventoryMetrics.sample(new CertificateInfo("b", "Certificate", "2023-01-01 00:00 UTC",
+                "2023-12-01 00:00 UTC", "SHA256withRSA", "2")));
+
+        String text = metrics.scrape(NOW);
+        assertTrue(text.contains("keyt_certificates 4\n"), text);
+        assertTrue(text.contains("keyt_certificates_by_expiry{bucket=\"expired\"} 1\n"), text);
+        assertTrue(text.contains("keyt_certificates_by_expiry{bucket=\"7d\"} 1\n"), text);
+        assertTrue(text.contains("keyt_certificates_by_expiry{bucket=\"30d\"} 1\n"), "row parsed from Valid Until: " + text);
+        assertTrue(text.contains("keyt_certificates_by_expiry{bucket=\"365d\"} 1\n"), text);
+        assertTrue(text.contains("keyt_certificates_by_signature_algorithm{algorithm=\"SHA256withECDSA\"} 2\n"), text);
+        assertTrue(text.contains("keyt_certificates_by_entry_type{type=\"Private Key\"} 2\n"), text);
+
+        metrics.remove(week);
+        metrics.remove(expired);
+        text = metrics.scrape(NOW);
+        assertTrue(text.contains("keyt_certificates 2\n"), text);
+        assertTrue(text.contains("keyt_certificates_by_expiry{bucket=\"expired\"} 0\n"), text);
+        assertFalse(text.contains("SHA1withRSA"), "series without certificates are dropped");
+        assertTrue(metrics.scrape(NOW + 160 * DAY).contains("keyt_certificates_by_expiry{bucket=\"90d\"} 1\n"), "buckets move with the clock");
+    }
+
+    @Test
+    void rowsAndCertificatesLandOnTheSameExpiryDay() {
+        // 20:00 UTC is already the next day in the row's zone
+        long notAfter = Instant.parse("2024-06-10T20:00:00Z").toEpochMilli();
+        SimpleDateFormat fmt = new SimpleDateFormat("yyyy-MM-dd HH:mm z");
+        fmt.setTimeZone(TimeZone.getTimeZone("GMT+09:00"));
+        CertificateInfo row = new CertificateInfo("a", "Certificate", "", fmt.format(new Date(notAfter)), "SHA256withRSA", "1");
+        long now = Instant.parse("2024-06-03T12:00:00Z").toEpochMilli(); // the 7d bucket ends with June 10 (UTC)
+
+        InventoryMetrics fromCertificate = new InventoryMetrics();
+        fromCertificate.add(InventoryMetrics.sample(row, notAfter));
+        InventoryMetrics fromRow = new InventoryMetrics();
+        fromRow.add(InventoryMetrics.sample(row));
+        assertTrue(fromCertificate.scrape(now).contains("keyt_certificates_by_expiry{bucket=\"7d\"} 1\n"));
+        assertEquals(fromCertificate.scrape(now), fromRow.scrape(now));
+    }
+
+    @Test
+    void servesHistogramsOverHttp() throws Exception {
+        InventoryMetrics metrics = new InventoryMetrics();
+        PerformanceLog perf = new PerformanceLog(8);
+        try (MetricsServer server = MetricsServer.start(new InetSocketAddress("127.0.0.1", 0), metrics, perf)) {
+            perf.record(new OperationRecord("Keystore Load", "a.p12", 10, 1, 3_000_000L, Instant.now()));
+            perf.record(new OperationRecord("Keystore Load", "b.p12", 10, 1, 2_000_000_000L, Instant.now()));
+
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/metrics")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode());
+            assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/plain; version=0.0.4"));
+            String text = response.body();
+            assertTrue(text.contains("keyt_operation_duration_seconds_bucket{phase=\"keystore_load\",le=\"0.005\"} 1\n"), text);
+            assertTrue(text.contains("keyt_operation_duration_seconds_bucket{phase=\"keystore_load\",le=\"5.0\"} 2\n"), text);
+            assertTrue(text.contains("keyt_operation_duration_seconds_count{phase=\"keystore_load\"} 2\n"), text);
+        }
+        perf.record(new OperationRecord("Keystore Load", "c.p12", 10, 1, 1, Instant.now()));
+        assertTrue(metrics.scrape(NOW).contains("keyt_operation_duration_seconds_count{phase=\"keystore_load\"} 2\n"), "closed server stops listening");
+    }
+
+    @Test
+    void parsesAddresses() {
+        assertEquals(9464, MetricsServer.parseAddress("9464").getPort());
+        assertEquals("127.0.0.1", MetricsServer.parseAddress("127.0.0.1:9464").getHostString());
+        assertThrows(IllegalArgumentException.class, () -> MetricsServer.parseAddress("host:port"));
+        assertThrows(IllegalArgumentException.class, () -> MetricsServer.parseAddress("70000"));
+    }
+}
@@ -0,0 +1,70 @@
+package org.openjfx.diagnostics;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjfx.TestKeystores;
+import org.openjfx.service.KeystoreService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerformanceLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void keepsOnlyTheLastNRecordsAndSummarizesByPhase() {
+        PerformanceLog log = new PerformanceLog(3);
+        for (int i = 1; i <= 5; i++) {
+            log.record(new OperationRecord(i % 2 == 0 ? "Even" : "Odd", "f" + i, i, i, i * 1_000_000L, Instant.now()));
+        }
+        List<OperationRecord> kept = log.snapshot();
+        assertEquals(List.of("f3", "f4", "f5"), kept.stream().map(OperationRecord::getFile).collect(Collectors.toList()));
+
+        List<PerformanceLog.PhaseSummary> summaries = log.summarize();
+        assertEquals("Odd", summaries.get(0).getPhase());
+        assertEquals(2, summaries.get(0).getCount());
+        assertEquals(5.0, summaries.get(0).getMaxMillis(), 1e-9);
+        assertEquals(4.0, summaries.get(0).getAverageMillis(), 1e-9);
+    }
+
+    @Test
+    void keystoreLoadEmitsJfrEventsAndRecordsPhases() throws Exception {
+        Path jks = TestKeystores.generate(dir, "perf.jks", "JKS", "changeit", "one", "two");
+        PerformanceLog.global().clear();
+        Path jfr = dir.resolve("capture.jfr");
+
+        KeystoreService svc = new KeystoreService();
+        try (Recording recording = new Recording()) {
+            recording.enable("org.openjfx.FileRead");
+            recording.enable("org.openjfx.KeystoreLoad");
+            recording.enable("org.openjfx.EntryMapping");
+            recording.start();
+            KeyStore ks = svc.load(jks.toFile(), "changeit".toCharArray());
+            svc.listEntries(ks);
+            recording.stop();
+            recording.dump(jfr);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(jfr);
+        Set<String> names = events.stream().map(e -> e.getEventType().getName()).collect(Collectors.toSet());
+        assertTrue(names.containsAll(Set.of("org.openjfx.FileRead", "org.openjfx.KeystoreLoad", "org.openjfx.EntryMapping")), names.toString());
+        RecordedEvent load = events.stream().filter(e -> e.getEventType().getName().equals("org.openjfx.KeystoreLoad")).findFirst().orElseThrow();
+        assertEquals(Files.size(jks), load.getLong("fileSize"));
+        assertEquals(2, load.getInt("entryCount"));
+
+        List<String> phases = PerformanceLog.global().snapshot().stream().map(OperationRecord::getPhase).collect(Collectors.toList());
+        assertEquals(List.of("File Read", "Keystore Load", "Entry Mapping"), phases);
+    }
+}
@@ -0,0 +1,98 @@
+package org.openjfx.diagnostics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StallDetectorTest {
+
+    private static void blockFor(long millis) {
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        while (System.nanoTime() < end) Thread.onSpinWait();
+    }
+
+    @Test
+    void reportsSlowCallbacksWithTheBlockingStack() throws Exception {
+        AtomicReference<Thread> eventThread = new AtomicReference<>();
+        ExecutorService queue = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "fake-fx");
+            t.setDaemon(true);
+            eventThread.set(t);
+            return t;
+        });
+        queue.submit(() -> { }).get();
+        try (StallDetector detector = new StallDetector(eventThread.get(), queue, 50, 8)) {
+            detector.start();
+            queue.execute(detector.timed("fast", () -> { }));
+            queue.execute(detector.timed("Loader.showRows:42", () -> blockFor(300)));
+            Thread.sleep(150);
+            queue.submit(() -> { }).get(); // let the probe queued behind the stall run
+            Thread.sleep(100);
+            queue.submit(() -> { }).get();
+
+            List<StallDetector.Stall> stalls = detector.snapshot();
+            assertFalse(stalls.isEmpty());
+            StallDetector.Stall stall = stalls.get(0);
+            assertEquals("Loader.showRows:42", stall.getSource());
+            assertTrue(stall.getDurationMillis() >= 300, stall.describe());
+            assertTrue(stall.getStack().stream().anyMatch(e -> e.getMethodName().equals("blockFor")), stall.describe());
+            assertTrue(stalls.stream().noneMatch(s -> s.getSource().equals("fast")));
+            assertTrue(stalls.stream().allMatch(s -> s.getSource().equals("Loader.showRows:42") || s.getDurationMillis() < 300),
+                    "the probe does not report the same stall again");
+
+            detector.clear();
+            queue.execute(() -> blockFor(200)); // untimed work is caught by the probe
+            Thread.sleep(300);
+            queue.submit(() -> { }).get();
+            Thread.sleep(100);
+            assertTrue(detector.snapshot().stream().anyMatch(s -> s.getSource().equals(StallDetector.EVENT_QUEUE)
+                    && s.getStack().stream().anyMatch(e -> e.getMethodName().equals("blockFor"))), detector.snapshot().toString());
+        } finally {
+            queue.shutdownNow();
+        }
+    }
+
+    @Test
+    void doesNotTimeCallbacksWhileTheirNestedLoopRuns() throws Exception {
+        AtomicReference<Thread> eventThread = new AtomicReference<>();
+        ExecutorService queue = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "fake-fx");
+            t.setDaemon(true);
+            eventThread.set(t);
+            return t;
+        });
+        queue.submit(() -> { }).get();
+        AtomicBoolean nested = new AtomicBoolean();
+        try (StallDetector detector = new StallDetector(eventThread.get(), queue, 50, 8, nested::get)) {
+            detector.start();
+            // Stands in for showAndWait: the callback waits in a nested loop until the dialog closes
+            queue.execute(detector.timed("Dialogs.showInfo:1", () -> {
+                nested.set(true);
+                try {
+                    blockFor(300);
+                } finally {
+                    nested.set(false);
+                }
+            }));
+            queue.submit(() -> { }).get();
+            Thread.sleep(100);
+            queue.submit(() -> { }).get();
+            assertTrue(detector.snapshot().stream().noneMatch(s -> s.getSource().equals("Dialogs.showInfo:1")), detector.snapshot().toString());
+
+            nested.set(true); // a callback run from the nested loop is still timed
+            queue.execute(detector.timed("inside", () -> blockFor(300)));
+            queue.submit(() -> { }).get();
+            nested.set(false);
+            assertTrue(detector.snapshot().stream().anyMatch(s -> s.getSource().equals("inside")), detector.snapshot().toString());
+        } finally {
+            queue.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.openjfx.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjfx.TestKeystores;
+import org.openjfx.model.CertificateInfo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArchiveScannerTest {
+
+    @TempDir
+    Path dir;
+
+    private final ArchiveScanner scanner = new ArchiveScanner(new KeystoreService(), new CertificateService());
+
+    private static byte[] zip(Object... nameAndContent) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (int i = 0; i < nameAndContent.length; i += 2) {
+                zip.putNextEntry(new ZipEntry((String) nameAndContent[i]));
+                zip.write((byte[]) nameAndContent[i + 1]);
+                zip.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Minimal ustar writer; names longer than 100 characters get a GNU long-name record. */
+    private static byte[] tar(Object... nameAndContent) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (int i = 0; i < nameAndContent.length; i += 2) {
+            String name = (String) nameAndContent[i];
+            byte[] content = (byte[]) nameAndContent[i + 1];
+            byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            if (nameBytes.length > 100) {
+                tarEntry(bytes, "././@LongLink", 'L', nameBytes);
+                name = name.substring(0, 100);
+            }
+            tarEntry(bytes, name, '0', content);
+        }
+        bytes.write(new byte[1024]);
+        return bytes.toByteArray();
+    }
+
+    private static void tarEntry(OutputStream out, String name, char type, byte[] content) throws IOException {
+        byte[] header = new byte[512];
+        put(header, 0, name);
+        put(header, 100, "0000644");
+        put(header, 124, String.format("%011o", content.length));
+        put(header, 136, String.format("%011o", 0));
+        header[156] = (byte) type;
+        put(header, 257, "ustar");
+        put(header, 263, "00");
+        Arrays.fill(header, 148, 156, (byte) ' ');
+        int sum = 0;
+        for (byte b : header) sum += b & 0xFF;
+        put(header, 148, String.format("%06o", sum));
+        out.write(header);
+        out.write(content);
+        out.write(new byte[(512 - content.length % 512) % 512]);
+    }
+
+    private static void put(byte[] header, int off, String value) {
+        byte[] b = value.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(b, 0, header, off, Math.min(b.length, 100));
+    }
+
+    @Test
+    void findsStoresInNestedArchivesWithoutExtracting() throws Exception {
+        Path jks = TestKeystores.generate(dir, "trust.jks", "JKS", "changeit", "alpha", "beta");
+        Path p12 = TestKeystores.generate(dir, "client.p12", "PKCS12", "changeit", "gamma");
+        Path pem = TestKeystores.exportPem(jks, "changeit", "alpha", dir.resolve("alpha.pem"));
+
+        byte[] jar = zip("META-INF/MANIFEST.MF", "Manifest-Version: 1.0\n".getBytes(StandardCharsets.US_ASCII),
+                "certs/client.p12", Files.readAllBytes(p12));
+        Path war = dir.resolve("app.war");
+        Files.write(war, zip("WEB-INF/classes/trust.jks", Files.readAllBytes(jks),
+                "WEB-INF/lib/client.jar", jar,
+                "WEB-INF/web.xml", "<web-app/>".getBytes(StandardCharsets.UTF_8),
+                "static/alpha.pem", Files.readAllBytes(pem),
+                "static/broken.crt", "not a certificate".getBytes(StandardCharsets.US_ASCII)));
+        long filesBefore;
+        try (var list = Files.list(dir)) {
+            filesBefore = list.count();
+        }
+
+        List<String> rows = Collections.synchronizedList(new ArrayList<>());
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        int found = scanner.scan(war, "changeit".toCharArray(), new ArchiveScanner.ArchiveVisitor() {
+            @Override
+            public void entry(String location, CertificateInfo info, Certificate cert) {
+                assertNotNull(cert);
+                rows.add(location.substring(war.toString().length()) + " " + info.getAlias());
+            }
+
+            @Override
+            public void failed(String location, Exception e) {
+                failures.add(location.substring(war.toString().length()));
+            }
+        });
+        assertEquals(3, found);
+        assertEquals(List.of("!/WEB-INF/classes/trust.jks alpha", "!/WEB-INF/classes/trust.jks beta",
+                "!/WEB-INF/lib/client.jar!/certs/client.p12 gamma", "!/static/alpha.pem CN=alpha,O=KeyT Test"), rows.stream().sorted().toList());
+        assertEquals(List.of("!/static/broken.crt"), failures);
+        try (var list = Files.list(dir)) {
+            assertEquals(filesBefore, list.count(), "nothing was extracted");
+        }
+
+        List<String> snapshotFailures = new ArrayList<>();
+        KeystoreSnapshot snapshot = scanner.snapshot(war, "changeit".toCharArray(), snapshotFailures);
+        assertEquals(4, snapshot.size());
+        assertTrue(snapshot.isKeyEntry("WEB-INF/lib/client.jar!/certs/client.p12#gamma"));
+        assertNotNull(snapshot.certificate("static/alpha.pem#CN=alpha,O=KeyT Test"));
+        assertEquals(1, snapshotFailures.size());
+    }
+
+    @Test
+    void scansTarGzLayersConcurrently() throws Exception {
+        Path jks = TestKeystores.generate(dir, "trust.jks", "JKS", "changeit", "alpha");
+        Path pem = TestKeystores.exportPem(jks, "changeit", "alpha", dir.resolve("alpha.pem"));
+        String deep = "usr/share/" + "very-long-directory-name/".repeat(5) + "ca.pem";
+        Path layer = dir.resolve("layer.tar.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(layer))) {
+            out.write(tar("etc/ssl/trust.jks", Files.readAllBytes(jks), "etc/motd", new byte[700], deep, Files.readAllBytes(pem)));
+        }
+        Path plain = dir.resolve("layer.tar");
+        Files.write(plain, tar("ca.pem", Files.readAllBytes(pem)));
+        Path corrupt = dir.resolve("corrupt.tgz");
+        Files.write(corrupt, "not gzip".getBytes(StandardCharsets.US_ASCII));
+
+        List<String> locations = Collections.synchronizedList(new ArrayList<>());
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        int found = scanner.scanAll(List.of(layer, plain, corrupt), "changeit".toCharArray(), 3, new ArchiveScanner.ArchiveVisitor() {
+            @Override
+            public void entry(String location, CertificateInfo info, Certificate cert) {
+                locations.add(location.substring(dir.toString().length() + 1));
+            }
+
+            @Override
+            public void failed(String location, Exception e) {
+                failures.add(location);
+            }
+        });
+        assertEquals(3, found);
+        assertEquals(List.of("layer.tar!/ca.pem", "layer.tar.gz!/etc/ssl/trust.jks", "layer.tar.gz!/" + deep),
+                locations.stream().sorted().toList());
+        assertEquals(List.of(corrupt.toString()), failures);
+    }
+}
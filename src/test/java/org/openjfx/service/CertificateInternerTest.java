@@ -0,0 +1,82 @@
+package org.openjfx.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjfx.TestKeystores;
+import org.openjfx.model.CertificateInfo;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CertificateInternerTest {
+
+    @TempDir
+    Path dir;
+
+    /** Stand-in certificate; decoded X.509 certificates are also softly cached by the JDK's CertificateFactory. */
+    private static final class Encoded extends Certificate {
+        private final byte[] encoding;
+
+        Encoded(byte[] encoding) {
+            super("X.509");
+            this.encoding = encoding;
+        }
+
+        @Override public byte[] getEncoded() { return encoding.clone(); }
+        @Override public void verify(PublicKey key) { }
+        @Override public void verify(PublicKey key, String sigProvider) { }
+        @Override public String toString() { return "Encoded"; }
+        @Override public PublicKey getPublicKey() { return null; }
+    }
+
+    @Test
+    void copiesFromSeparateStoresShareOneInstanceAndRowStrings() throws Exception {
+        Path first = TestKeystores.generate(dir, "a.p12", "PKCS12", "changeit", "root");
+        Path second = Files.copy(first, dir.resolve("b.p12"));
+        KeystoreService keystoreService = new KeystoreService();
+        KeyStore a = keystoreService.load(first.toFile(), "changeit".toCharArray());
+        KeyStore b = keystoreService.load(second.toFile(), "changeit".toCharArray());
+
+        KeystoreSnapshot sa = keystoreService.snapshot(a);
+        KeystoreSnapshot sb = keystoreService.snapshot(b);
+        assertSame(sa.certificate("root"), sb.certificate("root"));
+        assertSame(sa.entries().get(0).getIssuer(), sb.entries().get(0).getIssuer());
+
+        // Rows of other sources keep their own alias but share the derived strings
+        CertificateInterner interner = new CertificateInterner();
+        Certificate cert = new Encoded(new byte[] {1, 2, 3});
+        Certificate copy = new Encoded(new byte[] {1, 2, 3});
+        CertificateInfo row = new CertificateInfo("root", "Trusted Certificate", new String("2025-01-01"), "2026-01-01", "SHA256withECDSA", "01", "CN=root");
+        CertificateInfo other = new CertificateInfo("cacerts:root", "Trusted Certificate", new String("2025-01-01"), "2026-01-01", "SHA256withECDSA", "01", "CN=root");
+        LoadedEntry e1 = interner.intern(row, cert);
+        LoadedEntry e2 = interner.intern(other, copy);
+        assertSame(cert, e2.getCertificate());
+        assertEquals("cacerts:root", e2.getInfo().getAlias());
+        assertSame(e1.getInfo().getValidFrom(), e2.getInfo().getValidFrom());
+        assertSame(e1.getInfo(), interner.intern(new CertificateInfo("root", "Trusted Certificate", "2025-01-01", "2026-01-01", "SHA256withECDSA", "01", "CN=root"), copy).getInfo());
+        assertEquals(2, interner.deduplicated());
+        assertEquals(1, interner.size());
+    }
+
+    @Test
+    void releasesCertificatesNoLongerReferenced() throws Exception {
+        CertificateInterner interner = new CertificateInterner();
+        List<Certificate> held = new ArrayList<>();
+        for (int i = 0; i < 3; i++) held.add(interner.intern(new Encoded(new byte[] {(byte) i})));
+        assertSame(held.get(1), interner.intern(new Encoded(new byte[] {1})));
+        assertEquals(3, interner.size());
+        held.clear();
+        for (int i = 0; i < 50 && interner.size() > 0; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertEquals(0, interner.size());
+    }
+}
@@ -0,0 +1,92 @@
+package org.openjfx.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjfx.TestKeystores;
+import org.openjfx.model.CertificateInfo;
+
+import java.nio.file.Path;
+import java.security.cert.Certificate;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CertificateQueryTest {
+
+    @TempDir
+    Path dir;
+
+    private static final long NOW = LocalDate.of(2024, 6, 1).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+
+    private static CertificateInfo row(String alias, String until, String sigAlg, String issuer) {
+        return new CertificateInfo(alias, "Trusted Certificate", "2020-01-01 00:00 UTC", until, sigAlg, "0A1B", issuer);
+    }
+
+    private static boolean matches(String query, CertificateInfo info) {
+        return CertificateQuery.compile(query, NOW).test(info, null);
+    }
+
+    @Test
+    void comparesTypedRowFields() {
+        CertificateInfo old = row("legacy", "2024-06-20 00:00 UTC", "SHA1withRSA", "CN=Old CA");
+        CertificateInfo current = row("web", "2026-01-01 00:00 UTC", "SHA256withRSA", "CN=New CA,O=Example");
+
+        String audit = "notAfter < now+30d and sigAlg ~ \"sha1\" and issuer = \"cn=old ca\"";
+        assertTrue(matches(audit, old));
+        assertFalse(matches(audit, current));
+        assertTrue(matches("notAfter >= 2025-01-01 or alias = legacy", old));
+        assertTrue(matches("not (issuer ~ \"^CN=New\") and type = 'Trusted Certificate'", old));
+        assertFalse(matches("issuer !~ \"CN=New CA\"", current));
+        assertTrue(matches("validUntil > now-1y AND serial = 0a1b", current));
+        assertTrue(matches("sigAlg ~ \"SHA(256|384)\"", current));
+        assertTrue(matches("example", current), "bare words search the row");
+        assertFalse(matches("keySize < 2048", old), "certificate-only fields do not match rows without one");
+        assertTrue(matches("a or b and c", row("a", "", "", "")), "and binds tighter than or");
+        assertArrayEquals(new int[] {0}, CertificateQuery.compile("notAfter < now+30d", NOW)
+                .matches(List.of(old, current), i -> { throw new AssertionError("date queries read the row"); }));
+        assertFalse(matches("notAfter < 2024-06-20", old));
+        assertTrue(matches("notAfter > now+19d", row("noon", "2024-06-20 12:00 UTC", "", "")), "row dates keep their time of day");
+    }
+
+    @Test
+    void reportsSyntaxErrorsWithPosition() {
+        assertEquals("Unknown field 'colour' (at position 1)",
+                assertThrows(IllegalArgumentException.class, () -> CertificateQuery.compile("colour = red")).getMessage());
+        assertThrows(IllegalArgumentException.class, () -> CertificateQuery.compile(""));
+        assertThrows(IllegalArgumentException.class, () -> CertificateQuery.compile("alias < b"));
+        assertThrows(IllegalArgumentException.class, () -> CertificateQuery.compile("keySize ~ 12"));
+        assertThrows(IllegalArgumentException.class, () -> CertificateQuery.compile("notAfter < now+3q"));
+        assertThrows(IllegalArgumentException.class, () -> CertificateQuery.compile("(alias = a"));
+        assertThrows(IllegalArgumentException.class, () -> CertificateQuery.compile("alias = \"a"));
+        assertThrows(IllegalArgumentException.class, () -> CertificateQuery.compile("sigAlg ~ \"[\""));
+        assertTrue(assertThrows(IllegalArgumentException.class, () -> CertificateQuery.compile("keySize > big")).getMessage().contains("position 11"));
+    }
+
+    @Test
+    void matchesCertificateFieldsAcrossCores() throws Exception {
+        Path p12 = TestKeystores.synthetic(dir, "many.p12", "changeit", 50);
+        KeystoreService service = new KeystoreService();
+        KeystoreSnapshot snapshot = service.snapshot(service.load(p12.toFile(), "changeit".toCharArray()));
+
+        CertificateQuery ec = CertificateQuery.compile("keyAlg = EC and keySize = 256");
+        assertTrue(ec.needsCertificate());
+        assertFalse(CertificateQuery.compile("alias ~ x").needsCertificate());
+
+        // Repeat the entries so the parallel path is taken, and check order is kept
+        List<CertificateInfo> infos = new ArrayList<>();
+        List<Certificate> certs = new ArrayList<>();
+        for (int r = 0; r < 200; r++) {
+            for (int i = 0; i < snapshot.size(); i++) {
+                infos.add(snapshot.entries().get(i));
+                certs.add(i % 2 == 0 ? snapshot.certificate(i) : null);
+            }
+        }
+        int[] matches = ec.matches(infos, certs::get);
+        assertEquals(infos.size() / 2, matches.length);
+        for (int i = 0; i < matches.length; i++) assertEquals(2 * i, matches[i]);
+        assertEquals(infos.size(), CertificateQuery.compile("alias ~ \"\"").matches(infos, i -> { throw new AssertionError("not needed"); }).length);
+    }
+}
@@ -0,0 +1,55 @@
+package org.openjfx.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjfx.TestKeystores;
+import org.openjfx.model.DecodedCertificate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DetailsCacheTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void decodesOncePerFingerprintAndEvictsLeastRecentlyUsed() throws Exception {
+        Path ksFile = TestKeystores.generate(dir, "store.p12", "PKCS12", "changeit", "a", "b", "c");
+        TestKeystores.keytool("-genkeypair", "-alias", "ca", "-keyalg", "RSA", "-keysize", "2048",
+                "-dname", "CN=ca,O=KeyT Test", "-ext", "bc:c=ca:true,pathlen:1", "-ext", "ku:c=keyCertSign,cRLSign",
+                "-ext", "eku=serverAuth", "-ext", "san=dns:ca.example", "-validity", "365",
+                "-storetype", "PKCS12", "-keystore", ksFile.toString(), "-storepass", "changeit", "-keypass", "changeit");
+        KeyStore ks = new KeystoreService().load(ksFile.toFile(), "changeit".toCharArray());
+        X509Certificate ca = (X509Certificate) ks.getCertificate("ca");
+
+        DetailsCache cache = new DetailsCache(new CertificateService(), 3);
+        DecodedCertificate d = cache.get(ca);
+        assertEquals("CA: true, pathLen=1", d.getBasicConstraints());
+        assertEquals(List.of("keyCertSign", "cRLSign"), d.getKeyUsage());
+        assertEquals(List.of("1.3.6.1.5.5.7.3.1"), d.getExtendedKeyUsage());
+        assertEquals(List.of("DNS:ca.example"), d.getDetails().getSubjectAlternativeNames());
+        assertEquals(2048, d.getDetails().getKeySize());
+        assertEquals(47, d.getMd5Fingerprint().length());
+
+        // An equal certificate decoded from another source hits the same entry
+        X509Certificate copy = (X509Certificate) CertificateFactory.getInstance("X.509")
+                .generateCertificate(new ByteArrayInputStream(ca.getEncoded()));
+        assertSame(d, cache.get(copy));
+
+        cache.get((X509Certificate) ks.getCertificate("a"));
+        cache.get((X509Certificate) ks.getCertificate("b"));
+        cache.get(ca); // most recently used again
+        cache.get((X509Certificate) ks.getCertificate("c"));
+        assertEquals(3, cache.size());
+        assertTrue(cache.contains(ca));
+        assertFalse(cache.contains((X509Certificate) ks.getCertificate("a")));
+        assertEquals("CA: false", cache.get((X509Certificate) ks.getCertificate("a")).getBasicConstraints());
+    }
+}
@@ -0,0 +1,45 @@
+package org.openjfx.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjfx.TestKeystores;
+import org.openjfx.service.InventorySnapshot.FileRecord;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EncodedCertificateStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void servesCertificatesFromMappedSnapshotThroughBoundedCache() throws Exception {
+        Path ksFile = TestKeystores.generate(dir, "store.p12", "PKCS12", "changeit", "a", "b", "c", "d");
+        KeystoreService keystoreService = new KeystoreService();
+        KeyStore ks = keystoreService.load(ksFile.toFile(), "changeit".toCharArray());
+        Path snapshot = dir.resolve("inventory.snap");
+        InventoryService inventory = new InventoryService(snapshot, keystoreService, new CertificateService());
+
+        FileRecord record = inventory.recordAndMap(ksFile.toFile(), ks);
+        assertTrue(Files.size(snapshot) > record.getEncodedSize(), "record was written before it was mapped");
+        EncodedCertificateStore store = new EncodedCertificateStore(record, 2);
+        assertEquals(4, store.size());
+        assertEquals(keystoreService.listEntries(ks), store.entries());
+
+        for (String alias : new String[] {"a", "b", "c", "d"}) {
+            assertEquals(ks.getCertificate(alias), store.certificate(alias), alias);
+        }
+        assertEquals(2, store.cachedCount(), "cache is bounded");
+        X509Certificate d = store.certificate("d");
+        assertSame(d, store.certificate("d"), "recently used certificates stay decoded");
+        assertEquals(ks.getCertificate("a"), store.decode(store.indexOf("a")));
+        assertEquals(2, store.cachedCount(), "decode bypasses the cache");
+        assertNull(store.certificate("missing"));
+        assertEquals(-1, store.indexOf("missing"));
+    }
+}
@@ -0,0 +1,156 @@
+package org.openjfx.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjfx.TestKeystores;
+import org.openjfx.model.CertificateInfo;
+import org.openjfx.service.ServiceExceptions.CertificateLoadException;
+import org.openjfx.service.ServiceExceptions.EntryStreamException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntryPublisherTest {
+
+    @TempDir
+    Path dir;
+
+    /** Requests {@code batch} entries at a time and cancels after {@code limit}. */
+    private static final class Collector implements Flow.Subscriber<LoadedEntry> {
+        final List<String> aliases = new CopyOnWriteArrayList<>();
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        final int batch;
+        final int limit;
+        Flow.Subscription subscription;
+        int outstanding;
+
+        Collector(int batch, int limit) {
+            this.batch = batch;
+            this.limit = limit;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            subscription = s;
+            outstanding = batch;
+            s.request(batch);
+        }
+
+        @Override
+        public void onNext(LoadedEntry item) {
+            aliases.add(item.getInfo().getAlias());
+            if (aliases.size() == limit) {
+                subscription.cancel();
+                done.complete(null);
+                return;
+            }
+            if (--outstanding == 0) {
+                outstanding = batch;
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) { done.completeExceptionally(t); }
+
+        @Override
+        public void onComplete() { done.complete(null); }
+    }
+
+    @Test
+    void streamsMatchListsAndPublishersHonourDemandAndCancellation() throws Exception {
+        Path p12 = TestKeystores.synthetic(dir, "store.p12", "changeit", 40);
+        Path pem = TestKeystores.synthetic(dir, "bundle.pem", "", 40);
+        KeystoreService keystoreService = new KeystoreService();
+        CertificateService certificateService = new CertificateService();
+        KeyStore ks = keystoreService.load(p12.toFile(), "changeit".toCharArray());
+
+        List<CertificateInfo> listed = keystoreService.listEntries(ks);
+        try (Stream<LoadedEntry> s = keystoreService.streamEntries(ks)) {
+            assertEquals(listed, s.map(LoadedEntry::getInfo).collect(Collectors.toList()));
+        }
+        List<CertificateInfo> loaded = certificateService.loadCertificates(pem.toFile());
+        try (Stream<LoadedEntry> s = certificateService.streamCertificates(pem.toFile())) {
+            assertEquals(loaded.get(0), s.findFirst().orElseThrow().getInfo(), "stream stops after the first pull");
+        }
+        try (Stream<LoadedEntry> s = certificateService.streamCertificates(pem.toFile())) {
+            assertEquals(loaded.size(), s.count());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Collector all = new Collector(7, Integer.MAX_VALUE);
+            keystoreService.publishEntries(ks, executor).subscribe(all);
+            all.done.get(10, TimeUnit.SECONDS);
+            assertEquals(listed.stream().map(CertificateInfo::getAlias).collect(Collectors.toList()), all.aliases);
+
+            Collector first = new Collector(3, 5);
+            certificateService.publishCertificates(pem.toFile(), executor).subscribe(first);
+            first.done.get(10, TimeUnit.SECONDS);
+            Thread.sleep(50);
+            assertEquals(5, first.aliases.size(), "nothing is delivered after cancel");
+
+            // One decoding pass feeding two consumers
+            Collector table = new Collector(1, Integer.MAX_VALUE);
+            Collector index = new Collector(16, Integer.MAX_VALUE);
+            long decoded = EntryPublisher.multicast(keystoreService.streamEntries(ks), 4, executor, List.of(table, index));
+            table.done.get(10, TimeUnit.SECONDS);
+            index.done.get(10, TimeUnit.SECONDS);
+            assertEquals(40, decoded);
+            assertEquals(all.aliases, table.aliases);
+            assertEquals(all.aliases, index.aliases);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void reportsParseErrorsThroughStreamAndPublisher() throws Exception {
+        Path bad = Files.writeString(dir.resolve("bad.pem"), "-----BEGIN CERTIFICATE-----\nnot base64\n-----END CERTIFICATE-----\n");
+        CertificateService certificateService = new CertificateService();
+        try (Stream<LoadedEntry> s = certificateService.streamCertificates(bad.toFile())) {
+            EntryStreamException e = assertThrows(EntryStreamException.class, () -> s.forEach(x -> { }));
+            assertInstanceOf(CertificateLoadException.class, e.getCause());
+        }
+
+        Collector c = new Collector(1, Integer.MAX_VALUE);
+        new EntryPublisher(() -> certificateService.streamCertificates(bad.toFile()), Runnable::run).subscribe(c);
+        Exception e = assertThrows(Exception.class, () -> c.done.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(EntryStreamException.class, e.getCause());
+        assertEquals(new ArrayList<>(), c.aliases);
+    }
+
+    @Test
+    void acceptsTextAroundPemBlocks() throws Exception {
+        Path pem = TestKeystores.synthetic(dir, "bundle.pem", "", 3);
+        String blocks = Files.readString(pem);
+        int second = blocks.indexOf("-----BEGIN", 1);
+        Path annotated = Files.writeString(dir.resolve("annotated.pem"), "# exported bundle\nsubject=/CN=first\n"
+                + blocks.substring(0, second) + "issuer=/CN=ca\n" + blocks.substring(second) + "\n# end of bundle -- no more certificates\n");
+        CertificateService certificateService = new CertificateService();
+
+        assertEquals(3, certificateService.loadCertificates(annotated.toFile()).size());
+        try (Stream<LoadedEntry> s = certificateService.streamCertificates(annotated.toFile())) {
+            assertEquals(3, s.count());
+        }
+        List<String> visited = new ArrayList<>();
+        certificateService.forEachCertificate(annotated.toFile(), (info, cert) -> visited.add(info.getAlias()));
+        assertEquals(3, visited.size());
+
+        Path text = Files.writeString(dir.resolve("notes.pem"), "no certificates here\n");
+        assertThrows(CertificateLoadException.class, () -> certificateService.forEachCertificate(text.toFile(), (info, cert) -> { }));
+    }
+}
@@ -0,0 +1,86 @@
+package org.openjfx.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpiryMonitorTest {
+
+    private static final long DAY = Duration.ofDays(1).toMillis();
+    private static final long BASE = 1_700_000_000_000L;
+
+    @TempDir
+    Path dir;
+
+    private Path bundle(String name, int validityDays, long seed) throws Exception {
+        StoreGenerator generator = new StoreGenerator();
+        StoreGenerator.Generated g = generator.generate(new StoreGenerator.Spec().entries(1).validityDays(validityDays).seed(seed).baseTime(BASE), 1);
+        Path out = dir.resolve(name);
+        generator.write(g, out, StoreGenerator.Format.PEM, null);
+        return out;
+    }
+
+    @Test
+    void alertsOncePerCrossedThresholdAndReactsToNewFiles() throws Exception {
+        Path soon = bundle("soon.pem", 20, 1);
+        Path later = bundle("later.pem", 40, 2);
+        AtomicLong offset = new AtomicLong();
+        long start = System.currentTimeMillis();
+        BlockingQueue<ExpiryMonitor.Alert> alerts = new LinkedBlockingQueue<>();
+        ExpiryMonitor monitor = new ExpiryMonitor(new KeystoreService(), new CertificateService(), ExpiryMonitor.DEFAULT_THRESHOLDS,
+                100, () -> BASE + offset.get() + (System.currentTimeMillis() - start), null, alerts::add);
+        try {
+            monitor.add(dir);
+            assertEquals(2, monitor.size());
+            ExpiryMonitor.Alert first = alerts.poll();
+            assertNotNull(first);
+            assertEquals(soon, first.getFile());
+            assertEquals(Duration.ofDays(30), first.getThreshold());
+            assertNull(alerts.poll(), "40 days left is below no threshold");
+
+            offset.set(10 * DAY);
+            monitor.processDue();
+            assertEquals(2, alerts.size(), "soon crossed 14 days, later crossed 30 days");
+            assertTrue(alerts.stream().anyMatch(a -> a.getFile().equals(soon) && a.getThreshold().equals(Duration.ofDays(14))));
+            assertTrue(alerts.stream().anyMatch(a -> a.getFile().equals(later) && a.getThreshold().equals(Duration.ofDays(30))));
+            alerts.clear();
+
+            offset.set(25 * DAY);
+            monitor.processDue();
+            ExpiryMonitor.Alert expired = alerts.poll();
+            assertNotNull(expired);
+            assertTrue(expired.isExpired(), "7 days was skipped over, only the current state is reported");
+            assertNull(alerts.poll());
+
+            monitor.reload(soon);
+            monitor.reload(later);
+            assertNull(alerts.poll(), "reloading unchanged files repeats nothing");
+            assertEquals(2, monitor.size());
+
+            Thread runner = new Thread(monitor::run, "expiry-monitor-test");
+            runner.start();
+            Path sub = Files.createDirectory(dir.resolve("new"));
+            Path tmp = bundle("fresh.tmp", 3, 3);
+            Files.move(tmp, sub.resolve("fresh.pem"));
+            ExpiryMonitor.Alert fresh = alerts.poll(10, TimeUnit.SECONDS);
+            assertNotNull(fresh, "new file in a new subdirectory was picked up");
+            assertEquals(sub.resolve("fresh.pem"), fresh.getFile());
+            assertTrue(fresh.isExpired());
+
+            monitor.close();
+            runner.join(5000);
+            assertFalse(runner.isAlive(), "close stops the loop");
+        } finally {
+            monitor.close();
+        }
+    }
+}
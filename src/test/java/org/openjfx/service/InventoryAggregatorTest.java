@@ -0,0 +1,68 @@
+package org.openjfx.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjfx.TestKeystores;
+import org.openjfx.model.CertificateInfo;
+import org.openjfx.service.InventoryAggregator.Dimension;
+import org.openjfx.service.InventoryAggregator.Group;
+
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InventoryAggregatorTest {
+
+    @TempDir
+    Path dir;
+
+    private static long count(InventoryAggregator aggregator, Dimension d, String key) {
+        return aggregator.top(d, Integer.MAX_VALUE).stream().filter(g -> g.getKey().equals(key)).mapToLong(Group::getCount).sum();
+    }
+
+    @Test
+    void countsWhileMappingAndUncountsRemovedEntries() throws Exception {
+        Path p12 = TestKeystores.generate(dir, "keys.p12", "PKCS12", "changeit", "alpha", "beta", "gamma");
+        KeystoreService service = new KeystoreService();
+        KeyStore ks = service.load(p12.toFile(), "changeit".toCharArray());
+
+        InventoryAggregator aggregator = new InventoryAggregator();
+        long before = aggregator.version();
+        KeystoreSnapshot snapshot = service.snapshot(ks, aggregator.newFeed());
+        assertTrue(aggregator.version() > before);
+        assertEquals(3, aggregator.total());
+        assertEquals(3, count(aggregator, Dimension.KEY, "EC 256"));
+        assertEquals(3, count(aggregator, Dimension.ENTRY_TYPE, "Private Key"));
+        assertEquals(List.of("SHA256withECDSA"), aggregator.top(Dimension.SIGNATURE_ALGORITHM, 5).stream().map(Group::getKey).toList());
+        assertEquals(1, count(aggregator, Dimension.ISSUER, snapshot.entries().get(0).getIssuer()));
+        assertEquals(1, aggregator.top(Dimension.EXPIRY_MONTH, 5).size());
+
+        CertificateInfo alpha = snapshot.entries().get(0);
+        aggregator.remove(alpha, snapshot.certificate(0));
+        assertEquals(2, aggregator.total());
+        assertEquals(0, count(aggregator, Dimension.ISSUER, alpha.getIssuer()), "empty groups disappear");
+        assertEquals(2, aggregator.top(Dimension.ISSUER, 10).size());
+        assertEquals(1, aggregator.top(Dimension.ISSUER, 1).size());
+    }
+
+    @Test
+    void supersededFeedsStopCounting() throws Exception {
+        Path jks = TestKeystores.generate(dir, "trust.jks", "JKS", "changeit", "alpha");
+        KeystoreService service = new KeystoreService();
+        KeystoreSnapshot snapshot = service.snapshot(service.load(jks.toFile(), "changeit".toCharArray()));
+
+        InventoryAggregator aggregator = new InventoryAggregator();
+        InventoryAggregator.Feed stale = aggregator.newFeed();
+        stale.visit(snapshot.entries().get(0), snapshot.certificate(0));
+        InventoryAggregator.Feed current = aggregator.newFeed();
+        assertEquals(0, aggregator.total(), "a new feed starts from zero");
+        stale.visit(snapshot.entries().get(0), snapshot.certificate(0));
+        assertEquals(0, aggregator.total());
+        current.visit(snapshot.entries().get(0), snapshot.certificate(0));
+        current.visit(new CertificateInfo("secret", "Secret Key", "", "", "", ""), null);
+        assertEquals(2, aggregator.total());
+        assertEquals(1, count(aggregator, Dimension.KEY, "(none)"));
+    }
+}
@@ -0,0 +1,82 @@
+package org.openjfx.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjfx.TestKeystores;
+import org.openjfx.service.InventoryService.ScanResult;
+import org.openjfx.service.InventorySnapshot.FileRecord;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyStore;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InventoryServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private InventoryService newService(Path snapshot) {
+        return new InventoryService(snapshot, new KeystoreService(), new CertificateService());
+    }
+
+    @Test
+    void rescanParsesOnlyChangedFiles() throws Exception {
+        Path stores = Files.createDirectories(dir.resolve("stores"));
+        Path a = TestKeystores.generate(stores, "a.jks", "JKS", "changeit", "one", "two");
+        Path b = TestKeystores.generate(stores, "b.p12", "PKCS12", "changeit", "three");
+        TestKeystores.exportPem(a, "changeit", "one", stores.resolve("one.pem"));
+        Files.writeString(stores.resolve("notes.txt"), "ignored");
+        Path snapshot = dir.resolve("inventory.snap");
+        char[] pw = "changeit".toCharArray();
+
+        ScanResult first = newService(snapshot).rescan(List.of(stores), pw, 2);
+        assertEquals(3, first.getParsed());
+        assertEquals(0, first.getReused());
+        assertTrue(first.getFailures().isEmpty(), first.getFailures().toString());
+
+        ScanResult second = newService(snapshot).rescan(List.of(stores), pw, 2);
+        assertEquals(0, second.getParsed());
+        assertEquals(3, second.getReused());
+
+        // Content change re-parses that file only; a touch without changes is settled by the hash
+        Files.delete(b);
+        TestKeystores.generate(stores, "b.p12", "PKCS12", "changeit", "four");
+        Files.setLastModifiedTime(a, FileTime.fromMillis(Files.getLastModifiedTime(a).toMillis() + 5000));
+        ScanResult third = newService(snapshot).rescan(List.of(stores), pw, 2);
+        assertEquals(1, third.getParsed());
+        assertEquals(2, third.getReused());
+        assertEquals("four", third.getFiles().get(b.toFile()).entries().get(0).getAlias());
+
+        Files.delete(stores.resolve("one.pem"));
+        ScanResult fourth = newService(snapshot).rescan(List.of(stores), pw, 2);
+        assertEquals(1, fourth.getRemoved());
+        assertEquals(2, InventorySnapshot.open(snapshot).size());
+    }
+
+    @Test
+    void reopenedSnapshotMatchesKeystore() throws Exception {
+        Path ksFile = TestKeystores.generate(dir, "store.jks", "JKS", "changeit", "alpha", "beta", "gamma");
+        KeystoreService keystoreService = new KeystoreService();
+        KeyStore ks = keystoreService.load(ksFile.toFile(), "changeit".toCharArray());
+        Path snapshot = dir.resolve("inventory.snap");
+        InventoryService inventory = newService(snapshot);
+        inventory.record(ksFile.toFile(), ks);
+        inventory.save();
+
+        FileRecord r = newService(snapshot).lookup(ksFile.toFile());
+        assertNotNull(r);
+        assertEquals("JKS", r.getType());
+        assertEquals(keystoreService.listEntries(ks), r.entries());
+        for (int i = 0; i < r.getEntryCount(); i++) {
+            String alias = r.entries().get(i).getAlias();
+            assertEquals(ks.getCertificate(alias), r.certificate(i), alias);
+        }
+
+        Files.write(snapshot, new byte[] {1, 2, 3}); // foreign content is treated as an empty snapshot
+        assertNull(newService(snapshot).lookup(ksFile.toFile()));
+    }
+}
@@ -0,0 +1,128 @@
+package org.openjfx.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjfx.TestKeystores;
+import org.openjfx.service.ServiceExceptions.KeystoreEditException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeystoreEditServiceTest {
+
+    private static final char[] PWD = "changeit".toCharArray();
+
+    @TempDir
+    Path dir;
+
+    private KeyStore read(Path p) throws Exception {
+        KeyStore ks = KeyStore.getInstance("JKS");
+        try (InputStream in = Files.newInputStream(p)) {
+            ks.load(in, PWD);
+        }
+        return ks;
+    }
+
+    @Test
+    void batchedEditsAreSavedOnceWithBackup() throws Exception {
+        Path ksFile = TestKeystores.generate(dir, "edit.jks", "JKS", "changeit", "a", "b", "c");
+        Path other = TestKeystores.generate(dir, "other.jks", "JKS", "changeit", "x");
+        Certificate foreign = read(other).getCertificate("x");
+        byte[] original = Files.readAllBytes(ksFile);
+
+        KeystoreService ksService = new KeystoreService();
+        KeystoreEditService svc = new KeystoreEditService();
+        KeyStore ks = ksService.load(ksFile.toFile(), PWD);
+
+        KeystoreEditService.EditBatch batch = svc.newBatch(ks)
+                .delete("a")
+                .renameAlias("b", "b-renamed", PWD)
+                .addCertificate("trusted-x", foreign)
+                .replaceCertificate("trusted-x", ks.getCertificate("c"), PWD);
+        assertEquals(4, batch.size());
+        svc.applyAndSave(batch, ksFile, PWD, true);
+
+        KeyStore saved = read(ksFile);
+        assertEquals(List.of("b-renamed", "c", "trusted-x"), Collections.list(saved.aliases()).stream().sorted().collect(Collectors.toList()));
+        assertTrue(saved.isKeyEntry("b-renamed"));
+        assertNotNull(saved.getKey("b-renamed", PWD));
+        assertEquals(saved.getCertificate("c"), saved.getCertificate("trusted-x"));
+
+        assertArrayEquals(original, Files.readAllBytes(AtomicFileWriter.backupPath(ksFile)));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertTrue(files.noneMatch(f -> f.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void invalidBatchIsRejectedBeforeAnyChange() throws Exception {
+        Path ksFile = TestKeystores.generate(dir, "reject.jks", "JKS", "changeit", "a", "b");
+        KeyStore ks = new KeystoreService().load(ksFile.toFile(), PWD);
+        KeystoreEditService.EditBatch batch = new KeystoreEditService().newBatch(ks)
+                .delete("a")
+                .renameAlias("b", "A", PWD) // "a" is free after the delete, case-insensitively
+                .delete("missing");
+
+        assertThrows(KeystoreEditException.class, batch::apply);
+        assertTrue(ks.containsAlias("a"));
+        assertTrue(ks.containsAlias("b"));
+    }
+
+    @Test
+    void replacingKeyEntryCertificateRequiresMatchingKey() throws Exception {
+        Path ksFile = TestKeystores.generate(dir, "match.jks", "JKS", "changeit", "a", "b");
+        KeyStore ks = new KeystoreService().load(ksFile.toFile(), PWD);
+        KeystoreEditService.EditBatch batch = new KeystoreEditService().newBatch(ks)
+                .replaceCertificate("a", ks.getCertificate("b"), PWD);
+        assertThrows(KeystoreEditException.class, batch::apply);
+    }
+
+    @Test
+    void keyChecksRunBeforeEarlierEditsAreApplied() throws Exception {
+        Path ksFile = TestKeystores.generate(dir, "staged.jks", "JKS", "changeit", "a", "b", "c");
+        KeyStore ks = new KeystoreService().load(ksFile.toFile(), PWD);
+        Certificate b = ks.getCertificate("b");
+
+        KeystoreEditService.EditBatch mismatch = new KeystoreEditService().newBatch(ks)
+                .delete("c")
+                .renameAlias("a", "a2", PWD)
+                .replaceCertificate("a2", b, PWD); // checked against the renamed entry
+        assertThrows(KeystoreEditException.class, mismatch::apply);
+        KeystoreEditService.EditBatch wrongPassword = new KeystoreEditService().newBatch(ks)
+                .delete("c")
+                .replaceCertificate("b", b, "wrong".toCharArray());
+        assertThrows(KeystoreEditException.class, wrongPassword::apply);
+        assertEquals(List.of("a", "b", "c"), Collections.list(ks.aliases()).stream().sorted().collect(Collectors.toList()));
+
+        new KeystoreEditService().newBatch(ks)
+                .renameAlias("a", "a2", PWD)
+                .replaceCertificate("a2", ks.getCertificate("a"), PWD)
+                .apply();
+        assertEquals(List.of("a2", "b", "c"), Collections.list(ks.aliases()).stream().sorted().collect(Collectors.toList()));
+        assertNotNull(ks.getKey("a2", PWD));
+    }
+
+    @Test
+    void failedWriteLeavesOriginalUntouched() throws Exception {
+        Path target = dir.resolve("data.bin");
+        Files.write(target, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> AtomicFileWriter.write(target, true, out -> {
+            out.write(new byte[]{9, 9});
+            throw new IOException("disk full");
+        }));
+        assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(target));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(List.of(target), files.collect(Collectors.toList()));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.openjfx.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjfx.TestKeystores;
+import org.openjfx.service.KeystoreMergeService.ConflictPolicy;
+import org.openjfx.service.KeystoreMergeService.MergeResult;
+import org.openjfx.service.ServiceExceptions.KeystoreLoadException;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeystoreMergeServiceTest {
+
+    private static final char[] PWD = "changeit".toCharArray();
+
+    @TempDir
+    Path dir;
+
+    private List<File> sources;
+
+    @BeforeEach
+    void createStores() throws Exception {
+        Path s1 = TestKeystores.generate(dir, "s1.jks", "JKS", "changeit", "a", "b");
+        Path s2 = TestKeystores.generate(dir, "s2.jks", "JKS", "changeit", "a", "c");
+        Path s3 = Files.copy(s1, dir.resolve("s3.jks"));
+        Path broken = Files.writeString(dir.resolve("broken.jks"), "not a keystore");
+        sources = List.of(s1.toFile(), s2.toFile(), s3.toFile(), broken.toFile());
+    }
+
+    private static List<String> aliases(KeyStore ks) throws Exception {
+        return Collections.list(ks.aliases()).stream().sorted().collect(Collectors.toList());
+    }
+
+    @Test
+    void renamesConflictsAndDropsDuplicates() throws Exception {
+        KeystoreMergeService svc = new KeystoreMergeService();
+        MergeResult result = svc.merge(sources, PWD, "PKCS12", PWD, ConflictPolicy.RENAME, 4);
+
+        assertEquals(3, result.getSourcesMerged());
+        assertEquals(4, result.getAdded());
+        assertEquals(2, result.getDuplicates());
+        assertEquals("a-2", result.getRenamed().get("s2.jks:a"));
+        assertEquals(1, result.getFailures().size());
+        assertEquals(List.of("a", "a-2", "b", "c"), aliases(result.getKeyStore()));
+
+        Path out = dir.resolve("merged.p12");
+        svc.write(result, out, PWD);
+        KeyStore reloaded = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(out)) {
+            reloaded.load(in, PWD);
+        }
+        assertEquals(List.of("a", "a-2", "b", "c"), aliases(reloaded));
+        assertNotNull(reloaded.getKey("a-2", PWD));
+    }
+
+    @Test
+    void conflictPoliciesSkipOverwriteAndFail() throws Exception {
+        KeystoreMergeService svc = new KeystoreMergeService();
+        KeyStore s2 = new KeystoreService().load(sources.get(1), PWD);
+
+        MergeResult skipped = svc.merge(sources.subList(0, 2), PWD, "JKS", PWD, ConflictPolicy.SKIP, 2);
+        assertEquals(List.of("a", "b", "c"), aliases(skipped.getKeyStore()));
+        assertNotEquals(s2.getCertificate("a"), skipped.getKeyStore().getCertificate("a"));
+
+        MergeResult overwritten = svc.merge(sources.subList(0, 2), PWD, "JKS", PWD, ConflictPolicy.OVERWRITE, 2);
+        assertEquals(List.of("a", "b", "c"), aliases(overwritten.getKeyStore()));
+        assertEquals(s2.getCertificate("a"), overwritten.getKeyStore().getCertificate("a"));
+
+        assertThrows(KeystoreLoadException.class, () -> svc.merge(sources.subList(0, 2), PWD, "JKS", PWD, ConflictPolicy.FAIL, 2));
+    }
+
+    @Test
+    void keyEntryReplacesTrustedEntryForTheSameCertificate() throws Exception {
+        KeyStore s1 = new KeystoreService().load(sources.get(0), PWD);
+        KeyStore trusted = KeyStore.getInstance("JKS");
+        trusted.load(null, null);
+        trusted.setCertificateEntry("trusted-a", s1.getCertificate("a"));
+        Path trustedPath = dir.resolve("trusted.jks");
+        try (OutputStream out = Files.newOutputStream(trustedPath)) {
+            trusted.store(out, PWD);
+        }
+
+        MergeResult result = new KeystoreMergeService().merge(List.of(trustedPath.toFile(), sources.get(0)), PWD, "PKCS12", PWD,
+                ConflictPolicy.SKIP, 2);
+        assertEquals(List.of("b", "trusted-a"), aliases(result.getKeyStore()));
+        assertTrue(result.getKeyStore().isKeyEntry("trusted-a"));
+        assertEquals(s1.getCertificate("a"), result.getKeyStore().getCertificate("trusted-a"));
+        assertEquals("s1.jks:a", result.getUpgraded().get("trusted-a"));
+        assertEquals(0, result.getDuplicates());
+    }
+}
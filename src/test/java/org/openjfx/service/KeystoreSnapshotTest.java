@@ -0,0 +1,60 @@
+package org.openjfx.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjfx.TestKeystores;
+import org.openjfx.util.HexUtil;
+
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.cert.Certificate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeystoreSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void snapshotIsIndependentOfLaterEditsAndReadableInParallel() throws Exception {
+        Path ksFile = TestKeystores.generate(dir, "store.p12", "PKCS12", "changeit", "alpha", "beta", "gamma");
+        KeystoreService keystoreService = new KeystoreService();
+        KeyStore ks = keystoreService.load(ksFile.toFile(), "changeit".toCharArray());
+        KeystoreSnapshot snapshot = keystoreService.snapshot(ks);
+
+        assertEquals("PKCS12", snapshot.getType());
+        assertEquals(keystoreService.listEntries(ks), snapshot.entries());
+        assertTrue(snapshot.isKeyEntry("ALPHA"), "aliases match case-insensitively");
+        assertEquals(ks.getCertificate("beta"), snapshot.certificate("Beta"));
+        Certificate[] chain = snapshot.chain("gamma");
+        assertArrayEquals(ks.getCertificateChain("gamma"), chain);
+        chain[0] = null;
+        assertNotNull(snapshot.chain("gamma")[0], "chains are returned as copies");
+        assertEquals(HexUtil.toHex(MessageDigest.getInstance("SHA-256").digest(ks.getCertificate("alpha").getEncoded())),
+                snapshot.fingerprint("alpha"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.entries().clear());
+
+        Certificate beta = ks.getCertificate("beta");
+        ks.deleteEntry("beta");
+        assertEquals(3, snapshot.size());
+        assertEquals(beta, snapshot.certificate("beta"));
+        assertNull(snapshot.certificate("missing"));
+        assertNull(snapshot.fingerprint("missing"));
+
+        List<String> fingerprints = IntStream.range(0, 1000).parallel()
+                .mapToObj(i -> {
+                    try {
+                        return snapshot.fingerprint(snapshot.aliases().get(i % 3));
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .distinct().collect(Collectors.toList());
+        assertEquals(3, fingerprints.size());
+    }
+}
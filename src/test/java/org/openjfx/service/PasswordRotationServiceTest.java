@@ -0,0 +1,70 @@
+package org.openjfx.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjfx.TestKeystores;
+import org.openjfx.service.PasswordRotationService.Outcome;
+import org.openjfx.service.PasswordRotationService.Passwords;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordRotationServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private final KeystoreService keystoreService = new KeystoreService();
+
+    @Test
+    void rotatesStoresConcurrentlyAndLeavesFailuresUntouched() throws Exception {
+        Path jks = TestKeystores.generate(dir, "a.jks", "JKS", "changeit", "alpha", "beta");
+        Path p12 = TestKeystores.generate(dir, "b.p12", "PKCS12", "changeit", "gamma");
+        Path other = TestKeystores.generate(dir, "c.p12", "PKCS12", "different", "delta");
+        byte[] otherBefore = Files.readAllBytes(other);
+
+        char[] oldPassword = "changeit".toCharArray();
+        char[] newPassword = "rotated-1".toCharArray();
+        List<Outcome> outcomes = new PasswordRotationService().rotate(List.of(jks.toFile(), p12.toFile(), other.toFile()),
+                new Passwords(oldPassword, null, newPassword, null), false, 2);
+
+        assertEquals(List.of(jks.toFile(), p12.toFile(), other.toFile()), outcomes.stream().map(Outcome::getFile).toList());
+        assertTrue(outcomes.get(0).isSuccess(), outcomes.get(0).getError());
+        assertEquals(2, outcomes.get(0).getKeysRotated());
+        assertTrue(outcomes.get(1).isSuccess(), outcomes.get(1).getError());
+        assertFalse(outcomes.get(2).isSuccess());
+        assertNotNull(outcomes.get(2).getError());
+        assertArrayEquals(otherBefore, Files.readAllBytes(other), "failed store is not rewritten");
+        assertArrayEquals("changeit".toCharArray(), oldPassword, "caller's passwords are only read");
+
+        for (Path rotated : List.of(jks, p12)) {
+            File f = rotated.toFile();
+            assertThrows(Exception.class, () -> keystoreService.load(f, "changeit".toCharArray()));
+            KeyStore ks = keystoreService.load(f, "rotated-1".toCharArray());
+            String alias = ks.aliases().nextElement();
+            assertNotNull(ks.getKey(alias, "rotated-1".toCharArray()));
+        }
+        assertFalse(Files.exists(AtomicFileWriter.backupPath(jks)));
+    }
+
+    @Test
+    void usesSeparateKeyPasswords() throws Exception {
+        Path jks = TestKeystores.generate(dir, "keys.jks", "JKS", "changeit", "alpha");
+        List<Outcome> wrongKey = new PasswordRotationService().rotate(List.of(jks.toFile()),
+                new Passwords("changeit".toCharArray(), "wrong".toCharArray(), "store-2".toCharArray(), null), true, 0);
+        assertFalse(wrongKey.get(0).isSuccess());
+        assertTrue(wrongKey.get(0).getError().contains("alpha"), wrongKey.get(0).getError());
+
+        List<Outcome> ok = new PasswordRotationService().rotate(List.of(jks.toFile()),
+                new Passwords("changeit".toCharArray(), null, "store-2".toCharArray(), "key-2".toCharArray()), true, 0);
+        assertTrue(ok.get(0).isSuccess(), ok.get(0).getError());
+        KeyStore ks = keystoreService.load(jks.toFile(), "store-2".toCharArray());
+        assertNotNull(ks.getKey("alpha", "key-2".toCharArray()));
+        assertTrue(Files.exists(AtomicFileWriter.backupPath(jks)), "backup kept on request");
+    }
+}
@@ -0,0 +1,79 @@
+package org.openjfx.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjfx.TestKeystores;
+import org.openjfx.model.CertificateDetails;
+import org.openjfx.util.HexUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReportServiceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void writesCsvAndJsonLinesForKeystoreEntries() throws Exception {
+        Path jks = TestKeystores.generate(dir, "store.jks", "JKS", "changeit", "alpha", "beta", "gamma");
+        KeystoreService keystoreService = new KeystoreService();
+        KeyStore ks = keystoreService.load(jks.toFile(), "changeit".toCharArray());
+        ReportService reports = new ReportService();
+
+        Path csv = dir.resolve("report.csv");
+        long rows = reports.writeReport(csv, ReportWriter.Format.CSV,
+                w -> keystoreService.forEachEntry(ks, (info, cert) -> w.write("store.jks", info, cert)));
+        assertEquals(3, rows);
+        List<String> lines = Files.readAllLines(csv, StandardCharsets.UTF_8);
+        assertEquals(4, lines.size());
+        assertEquals(String.join(",", ReportWriter.COLUMNS), lines.get(0));
+
+        X509Certificate alpha = (X509Certificate) ks.getCertificate("alpha");
+        String sha256 = HexUtil.toColonHex(MessageDigest.getInstance("SHA-256").digest(alpha.getEncoded()));
+        String alphaLine = lines.stream().filter(l -> l.startsWith("store.jks,alpha,")).findFirst().orElseThrow();
+        // Subject and issuer contain commas and are quoted
+        assertTrue(alphaLine.contains(",\"CN=alpha,O=KeyT Test\",\"CN=alpha,O=KeyT Test\","), alphaLine);
+        assertTrue(alphaLine.contains(",EC,256,"), alphaLine);
+        assertTrue(alphaLine.contains(sha256), alphaLine);
+
+        Path jsonl = dir.resolve("report.jsonl");
+        reports.writeReport(jsonl, ReportWriter.Format.forFileName(jsonl.toString()),
+                w -> keystoreService.forEachEntry(ks, (info, cert) -> w.write("store.jks", info, cert)));
+        List<String> json = Files.readAllLines(jsonl, StandardCharsets.UTF_8);
+        assertEquals(3, json.size());
+        for (String line : json) {
+            assertTrue(line.startsWith("{\"source\":\"store.jks\",\"alias\":"), line);
+            assertTrue(line.contains("\"keySize\":256,\"subjectAlternativeNames\":[]"), line);
+        }
+    }
+
+    @Test
+    void streamsCertificateBundlesOneAtATime() throws Exception {
+        Path jks = TestKeystores.generate(dir, "store.jks", "JKS", "changeit", "a", "b", "c");
+        StringBuilder bundle = new StringBuilder();
+        for (String alias : List.of("a", "b", "c")) {
+            bundle.append(Files.readString(TestKeystores.exportPem(jks, "changeit", alias, dir.resolve(alias + ".pem")))).append("\n\n");
+        }
+        Path bundleFile = Files.writeString(dir.resolve("bundle.pem"), bundle.toString());
+
+        CertificateService svc = new CertificateService();
+        List<String> aliases = new ArrayList<>();
+        svc.forEachCertificate(bundleFile.toFile(), (info, cert) -> aliases.add(info.getAlias()));
+        assertEquals(List.of("CN=a,O=KeyT Test", "CN=b,O=KeyT Test", "CN=c,O=KeyT Test"), aliases);
+
+        X509Certificate a = svc.readCertificates(dir.resolve("a.pem").toFile()).get(0);
+        CertificateDetails d = svc.details(a);
+        assertEquals("EC", d.getKeyAlgorithm());
+        assertEquals(256, d.getKeySize());
+        assertEquals(HexUtil.toColonHex(MessageDigest.getInstance("SHA-1").digest(a.getEncoded())), d.getSha1Fingerprint());
+    }
+}
@@ -0,0 +1,99 @@
+package org.openjfx.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjfx.TestKeystores;
+import org.openjfx.model.CertificateInfo;
+
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyStore;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RevocationServiceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void indexMatchesCrlAndMarksRevokedEntries() throws Exception {
+        Path ksFile = TestKeystores.generate(dir, "store.jks", "JKS", "changeit", "ca", "other");
+        KeyStore ks = new KeystoreService().load(ksFile.toFile(), "changeit".toCharArray());
+        X509Certificate ca = (X509Certificate) ks.getCertificate("ca");
+
+        Random rnd = new Random(31);
+        List<BigInteger> revoked = new ArrayList<>();
+        revoked.add(ca.getSerialNumber());
+        revoked.add(new BigInteger("80", 16)); // needs a leading zero byte in DER
+        for (int i = 0; i < 1500; i++) revoked.add(new BigInteger(1 + rnd.nextInt(159), rnd));
+        Path crlFile = TestKeystores.generateCrl(ksFile, "changeit", "ca", dir.resolve("ca.crl"), revoked.toArray(new BigInteger[0]));
+
+        Path cache = dir.resolve("cache");
+        RevocationService svc = new RevocationService(cache);
+        CrlIndex index = svc.loadCrl(crlFile.toFile());
+
+        X509CRL crl;
+        try (InputStream in = Files.newInputStream(crlFile)) {
+            crl = (X509CRL) CertificateFactory.getInstance("X.509").generateCRL(in);
+        }
+        assertEquals(crl.getRevokedCertificates().size(), index.size());
+        String issuer = CrlIndex.canonicalIssuer(crl.getIssuerX500Principal());
+        assertTrue(index.covers(issuer));
+        for (BigInteger serial : revoked) assertTrue(index.isRevoked(issuer, serial), serial.toString(16));
+        for (int i = 0; i < 5000; i++) {
+            BigInteger serial = new BigInteger(64, rnd);
+            assertEquals(crl.getRevokedCertificate(serial) != null, index.isRevoked(issuer, serial));
+        }
+        assertFalse(index.isRevoked(CrlIndex.canonicalIssuer(((X509Certificate) ks.getCertificate("other")).getIssuerX500Principal()), ca.getSerialNumber()));
+
+        Map<String, String> status = svc.mark(new KeystoreService().listEntries(ks)).stream()
+                .collect(Collectors.toMap(CertificateInfo::getAlias, CertificateInfo::getRevocationStatus));
+        assertEquals(RevocationService.REVOKED, status.get("ca"));
+        assertEquals("", status.get("other"), "no CRL for this issuer");
+        assertEquals(RevocationService.REVOKED, svc.status(ca));
+    }
+
+    @Test
+    void reusesPersistedIndexAndReadsPem() throws Exception {
+        Path ksFile = TestKeystores.generate(dir, "store.p12", "PKCS12", "changeit", "ca");
+        Path crlFile = TestKeystores.generateCrl(ksFile, "changeit", "ca", dir.resolve("ca.crl"), BigInteger.valueOf(7), BigInteger.valueOf(1234567));
+        Path cache = dir.resolve("cache");
+
+        CrlIndex first = new RevocationService(cache).loadCrl(crlFile.toFile());
+        FileTime written = Files.getLastModifiedTime(first.getFile());
+        Thread.sleep(20);
+        CrlIndex second = new RevocationService(cache).loadCrl(crlFile.toFile());
+        assertEquals(first.getFile(), second.getFile());
+        assertEquals(written, Files.getLastModifiedTime(second.getFile()), "index is reused, not rebuilt");
+        assertNotNull(second.getNextUpdate());
+
+        String pem = "-----BEGIN X509 CRL-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(Files.readAllBytes(crlFile))
+                + "\n-----END X509 CRL-----\n";
+        Path pemFile = Files.writeString(dir.resolve("ca.pem"), pem);
+        CrlIndex fromPem = new RevocationService(cache).loadCrl(pemFile.toFile());
+        String issuer = fromPem.getIssuers().iterator().next();
+        assertTrue(fromPem.isRevoked(issuer, BigInteger.valueOf(1234567)));
+        assertFalse(fromPem.isRevoked(issuer, BigInteger.valueOf(1234568)));
+    }
+
+    @Test
+    void rejectsNonCrlInput() throws Exception {
+        Path bogus = Files.writeString(dir.resolve("bogus.crl"), "not a crl");
+        assertThrows(ServiceExceptions.CrlLoadException.class, () -> new RevocationService(dir.resolve("cache")).loadCrl(bogus.toFile()));
+    }
+}
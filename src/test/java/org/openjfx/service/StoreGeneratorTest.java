@@ -0,0 +1,81 @@
+package org.openjfx.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjfx.TestKeystores;
+import org.openjfx.model.CertificateInfo;
+
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StoreGeneratorTest {
+
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void generatesDeterministicChainsWithSansAndSpreadValidity() throws Exception {
+        long base = 1_700_000_000_000L;
+        StoreGenerator.Spec spec = new StoreGenerator.Spec().entries(20).chainDepth(3).sanCount(5)
+                .validityDays(30).validitySpreadDays(60).seed(7).baseTime(base).keyPool(4);
+        StoreGenerator generator = new StoreGenerator();
+        StoreGenerator.Generated a = generator.generate(spec, 4);
+        StoreGenerator.Generated b = generator.generate(spec, 1);
+
+        assertEquals(2, a.getCas().size());
+        for (int i = 0; i < a.size(); i++) {
+            assertArrayEquals(a.getLeaf(i).getEncoded(), b.getLeaf(i).getEncoded(), "same seed, same certificate " + i);
+        }
+        X509Certificate root = a.getCas().get(0);
+        X509Certificate intermediate = a.getCas().get(1);
+        root.verify(root.getPublicKey());
+        intermediate.verify(root.getPublicKey());
+        assertEquals(0, intermediate.getBasicConstraints());
+        for (int i = 0; i < a.size(); i++) {
+            X509Certificate leaf = a.getLeaf(i);
+            leaf.verify(intermediate.getPublicKey());
+            assertEquals(intermediate.getSubjectX500Principal(), leaf.getIssuerX500Principal());
+            assertEquals(5, leaf.getSubjectAlternativeNames().size());
+            assertEquals(-1, leaf.getBasicConstraints());
+            long notBefore = leaf.getNotBefore().getTime();
+            assertTrue(notBefore <= base && notBefore >= base - 60 * DAY, "notBefore within the spread");
+            assertEquals(30 * DAY, leaf.getNotAfter().getTime() - notBefore);
+        }
+        assertEquals(a.getLeafKey(0).getPublic(), a.getLeafKey(4).getPublic(), "key pool reused round-robin");
+
+        StoreGenerator.Generated other = generator.generate(spec.seed(8), 0);
+        assertFalse(Arrays.equals(a.getLeaf(0).getEncoded(), other.getLeaf(0).getEncoded()));
+    }
+
+    @Test
+    void writesLoadableKeystoresAndPemBundles() throws Exception {
+        Path p12 = TestKeystores.synthetic(dir, "synthetic.p12", "changeit", 50);
+        KeystoreService keystoreService = new KeystoreService();
+        KeyStore ks = keystoreService.load(p12.toFile(), "changeit".toCharArray());
+        assertEquals(50, keystoreService.listEntries(ks).size());
+        assertTrue(ks.isCertificateEntry("entry-000049"));
+
+        Path pem = TestKeystores.synthetic(dir, "synthetic.pem", "", 50);
+        List<CertificateInfo> seen = new ArrayList<>();
+        new CertificateService().forEachCertificate(pem.toFile(), (info, cert) -> seen.add(info));
+        assertEquals(50, seen.size());
+
+        StoreGenerator generator = new StoreGenerator();
+        StoreGenerator.Generated rsa = generator.generate(new StoreGenerator.Spec().entries(3).keyType(StoreGenerator.KeyType.RSA)
+                .keySize(1024).chainDepth(2).privateKeys(true), 2);
+        Path jks = dir.resolve("keys.jks");
+        generator.write(rsa, jks, StoreGenerator.Format.JKS, "changeit".toCharArray());
+        KeyStore keys = keystoreService.load(jks.toFile(), "changeit".toCharArray());
+        assertTrue(keys.isKeyEntry("entry-000000"));
+        assertEquals(2, keys.getCertificateChain("entry-000002").length);
+        assertTrue(keys.isCertificateEntry("ca-0"));
+    }
+}
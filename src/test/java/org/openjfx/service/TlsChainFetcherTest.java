@@ -0,0 +1,151 @@
+package org.openjfx.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjfx.TestKeystores;
+import org.openjfx.model.CertificateInfo;
+import org.openjfx.service.TlsChainFetcher.Endpoint;
+import org.openjfx.service.TlsChainFetcher.FetchResult;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLServerSocket;
+import javax.net.ssl.SSLSocket;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TlsChainFetcherTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<ServerSocket> servers = new ArrayList<>();
+    private final ExecutorService serverThreads = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "test-tls-server");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @AfterEach
+    void stopServers() throws Exception {
+        for (ServerSocket s : servers) s.close();
+        serverThreads.shutdownNow();
+    }
+
+    /** Local TLS stand-in that completes handshakes with a keytool-generated certificate. */
+    private int startTlsServer(String... protocols) throws Exception {
+        Path ksFile = TestKeystores.generate(dir, "server.p12", "PKCS12", "changeit", "server");
+        KeyStore ks = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(ksFile)) {
+            ks.load(in, "changeit".toCharArray());
+        }
+        KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        kmf.init(ks, "changeit".toCharArray());
+        SSLContext ctx = SSLContext.getInstance("TLS");
+        ctx.init(kmf.getKeyManagers(), null, null);
+        SSLServerSocket server = (SSLServerSocket) ctx.getServerSocketFactory().createServerSocket(0, 200, InetAddress.getLoopbackAddress());
+        if (protocols.length > 0) server.setEnabledProtocols(protocols);
+        servers.add(server);
+        serverThreads.submit(() -> {
+            while (!server.isClosed()) {
+                Socket s = server.accept();
+                serverThreads.submit(() -> {
+                    try (SSLSocket ssl = (SSLSocket) s) {
+                        ssl.startHandshake();
+                        ssl.getInputStream().read();
+                    }
+                    return null;
+                });
+            }
+            return null;
+        });
+        return server.getLocalPort();
+    }
+
+    @Test
+    void capturesChainFromLocalServer() throws Exception {
+        int port = startTlsServer();
+        TlsChainFetcher fetcher = new TlsChainFetcher(2000, 5000);
+        FetchResult r = fetcher.fetch(new Endpoint("127.0.0.1", port));
+
+        assertTrue(r.isSuccess(), r.getError());
+        assertEquals(1, r.getChain().size());
+        assertTrue(r.getChain().get(0).getSubjectX500Principal().getName().contains("CN=server"));
+        assertNotNull(r.getProtocol());
+
+        List<CertificateInfo> infos = new CertificateService().describe(r.getChain(), r.getEndpoint().toString());
+        assertEquals(1, infos.size());
+        List<CertificateInfo> rows = new KeystoreService().listEntries(fetcher.toKeyStore(List.of(r)));
+        assertEquals("127.0.0.1:" + port + " [0]", rows.get(0).getAlias());
+    }
+
+    @Test
+    void capturesChainOnRepeatedTls12Handshakes() throws Exception {
+        // TLS 1.2 sessions can be resumed by ID, and a resumed handshake never consults the trust manager
+        int port = startTlsServer("TLSv1.2");
+        TlsChainFetcher fetcher = new TlsChainFetcher(2000, 5000);
+        for (int i = 0; i < 2; i++) {
+            FetchResult r = fetcher.fetch(new Endpoint("127.0.0.1", port));
+            assertTrue(r.isSuccess(), r.getError());
+            assertEquals("TLSv1.2", r.getProtocol());
+            assertEquals(1, r.getChain().size(), "fetch " + (i + 1));
+        }
+    }
+
+    @Test
+    void scansManyEndpointsConcurrentlyAndReportsFailures() throws Exception {
+        int port = startTlsServer();
+        ServerSocket silent = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        servers.add(silent);
+        List<Socket> held = Collections.synchronizedList(new ArrayList<>());
+        serverThreads.submit(() -> {
+            // Accepts TCP connections but never answers the ClientHello
+            while (!silent.isClosed()) held.add(silent.accept());
+            return null;
+        });
+        ServerSocket closed = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        int closedPort = closed.getLocalPort();
+        closed.close();
+
+        List<Endpoint> endpoints = new ArrayList<>();
+        for (int i = 0; i < 40; i++) endpoints.add(new Endpoint("127.0.0.1", port));
+        endpoints.add(new Endpoint("127.0.0.1", silent.getLocalPort()));
+        endpoints.add(new Endpoint("127.0.0.1", closedPort));
+
+        long start = System.nanoTime();
+        List<FetchResult> results = new TlsChainFetcher(1000, 5000).fetchAll(endpoints, 16);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(endpoints.size(), results.size());
+        for (int i = 0; i < 40; i++) {
+            assertTrue(results.get(i).isSuccess(), results.get(i).getError());
+            assertEquals(1, results.get(i).getChain().size());
+        }
+        assertFalse(results.get(40).isSuccess(), "handshake timeout expected");
+        assertTrue(results.get(40).getChain().isEmpty());
+        assertFalse(results.get(41).isSuccess(), "connection refused expected");
+        assertTrue(elapsedMs < 20_000, "scan took " + elapsedMs + " ms");
+        for (Socket s : held) s.close();
+    }
+
+    @Test
+    void parsesEndpointSpecs() {
+        assertEquals("example.com:443", TlsChainFetcher.parseEndpoint("example.com").toString());
+        assertEquals("example.com:8443", TlsChainFetcher.parseEndpoint(" example.com:8443 ").toString());
+        assertEquals("[::1]:636", TlsChainFetcher.parseEndpoint("[::1]:636").toString());
+        assertThrows(IllegalArgumentException.class, () -> TlsChainFetcher.parseEndpoint("host:0"));
+    }
+}
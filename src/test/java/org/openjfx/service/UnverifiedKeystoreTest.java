@@ -0,0 +1,72 @@
+package org.openjfx.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjfx.TestKeystores;
+import org.openjfx.service.KeystoreService.UnverifiedKeystore;
+import org.openjfx.service.ServiceExceptions.KeystoreLoadException;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UnverifiedKeystoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void listsJksWithoutPasswordAndVerifiesLater() throws Exception {
+        Path jks = TestKeystores.generate(dir, "keys.jks", "JKS", "changeit", "alpha", "beta");
+        KeystoreService service = new KeystoreService();
+        UnverifiedKeystore opened = service.openUnverified(jks.toFile());
+        assertNotNull(opened);
+        assertEquals(2, opened.getKeyStore().size());
+        assertNotNull(opened.getKeyStore().getCertificate("alpha"));
+        assertEquals(2, service.snapshot(opened.getKeyStore()).entries().size());
+
+        KeyStore verified = service.verify(opened, "changeit".toCharArray());
+        assertNotNull(verified.getKey("alpha", "changeit".toCharArray()));
+        assertThrows(KeystoreLoadException.class, () -> service.verify(opened, "wrong".toCharArray()));
+
+        // The verification covers the bytes that were listed, not what is on disk now
+        byte[] data = Files.readAllBytes(jks);
+        data[data.length - 1] ^= 1; // last byte of the keyed digest
+        Files.write(jks, data);
+        service.verify(opened, "changeit".toCharArray());
+        UnverifiedKeystore tampered = service.openUnverified(jks.toFile());
+        assertEquals(2, tampered.getKeyStore().size(), "listing does not check the digest");
+        assertThrows(KeystoreLoadException.class, () -> service.verify(tampered, "changeit".toCharArray()));
+    }
+
+    @Test
+    void pkcs12NeedsPasswordOnlyWhenCertificatesAreEncrypted() throws Exception {
+        KeystoreService service = new KeystoreService();
+        Path encrypted = TestKeystores.generate(dir, "encrypted.p12", "PKCS12", "changeit", "alpha");
+        assertNull(service.openUnverified(encrypted.toFile()), "keytool encrypts the certificate bags");
+
+        KeyStore source = service.load(encrypted.toFile(), "changeit".toCharArray());
+        Path plain = dir.resolve("plain.p12");
+        String property = "keystore.pkcs12.certProtectionAlgorithm";
+        System.setProperty(property, "NONE");
+        try (OutputStream out = Files.newOutputStream(plain)) {
+            KeyStore p12 = KeyStore.getInstance("PKCS12");
+            p12.load(null, null);
+            p12.setKeyEntry("alpha", source.getKey("alpha", "changeit".toCharArray()), "changeit".toCharArray(), source.getCertificateChain("alpha"));
+            p12.setCertificateEntry("trusted", source.getCertificate("alpha"));
+            p12.store(out, "changeit".toCharArray());
+        } finally {
+            System.clearProperty(property);
+        }
+        assertTrue(KeystoreService.hasOnlyPlainContents(Files.readAllBytes(plain)));
+        UnverifiedKeystore opened = service.openUnverified(plain.toFile());
+        assertNotNull(opened);
+        assertEquals(2, opened.getKeyStore().size());
+        assertEquals(source.getCertificate("alpha"), opened.getKeyStore().getCertificate("alpha"));
+        assertThrows(KeystoreLoadException.class, () -> service.verify(opened, "wrong".toCharArray()));
+        assertEquals(2, service.verify(opened, "changeit".toCharArray()).size());
+    }
+}
@@ -0,0 +1,57 @@
+package org.openjfx.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TarInputStreamTest {
+
+    /** One header block declaring {@code size} bytes, followed by {@code content} padded to the block size. */
+    private static void entry(ByteArrayOutputStream out, String name, char type, long size, byte[] content) {
+        byte[] header = new byte[512];
+        byte[] n = name.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(n, 0, header, 0, n.length);
+        byte[] s = String.format("%011o", size).getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(s, 0, header, 124, s.length);
+        header[156] = (byte) type;
+        out.writeBytes(header);
+        out.writeBytes(content);
+        out.writeBytes(new byte[(512 - content.length % 512) % 512]);
+    }
+
+    private static TarInputStream paxArchive(String records) {
+        byte[] pax = records.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        entry(out, "PaxHeader", 'x', pax.length, pax);
+        entry(out, "short", '0', 2, "ok".getBytes(StandardCharsets.US_ASCII));
+        out.writeBytes(new byte[1024]);
+        return new TarInputStream(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test
+    void readsPaxPathsAndRejectsMalformedRecords() throws Exception {
+        TarInputStream tar = paxArchive("20 path=certs/a.pem\n");
+        TarInputStream.Entry e = tar.nextEntry();
+        assertEquals("certs/a.pem", e.getName());
+        assertEquals("ok", new String(tar.readAllBytes(), StandardCharsets.US_ASCII));
+        assertNull(tar.nextEntry());
+
+        assertThrows(IOException.class, () -> paxArchive("1 x").nextEntry(), "length shorter than its own header");
+        assertThrows(IOException.class, () -> paxArchive("12").nextEntry(), "length without a space");
+        assertThrows(IOException.class, () -> paxArchive("20 path=certs/a.pem!").nextEntry(), "missing newline");
+    }
+
+    @Test
+    void rejectsOversizedHeaderData() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        entry(out, "././@LongLink", 'L', 077777777777L, new byte[0]);
+        TarInputStream tar = new TarInputStream(new ByteArrayInputStream(out.toByteArray()));
+        IOException e = assertThrows(IOException.class, tar::nextEntry);
+        assertTrue(e.getMessage().contains("long name"), e.getMessage());
+    }
+}
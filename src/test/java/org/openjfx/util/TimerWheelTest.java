@@ -0,0 +1,57 @@
+package org.openjfx.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimerWheelTest {
+
+    @Test
+    void firesEachTimerOnceAtItsTickAcrossRotations() {
+        TimerWheel<Long> wheel = new TimerWheel<>(10, 8, 1000);
+        Random rnd = new Random(3);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            long d = 1000 + rnd.nextInt(5000); // spans many rotations of the 80 ms wheel
+            deadlines.add(d);
+            wheel.schedule(d, d);
+        }
+        TimerWheel.Timer<Long> cancelled = wheel.schedule(1500, -1L);
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+        wheel.schedule(10, 10L); // already past: fires on the next tick
+        assertEquals(501, wheel.size());
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = 1000; now <= 7000; now += 7) {
+            long at = now;
+            wheel.advance(now, d -> {
+                assertTrue(d == 10 || (d <= at && at - d < 10 + 7), "fired within a tick of its deadline: " + d + " at " + at);
+                fired.add(d);
+            });
+        }
+        assertEquals(501, fired.size());
+        assertFalse(fired.contains(-1L));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void timersScheduledFromCallbacksFireLater() {
+        TimerWheel<String> wheel = new TimerWheel<>(1000, 4, 0);
+        List<String> fired = new ArrayList<>();
+        wheel.schedule(1000, "first");
+        wheel.advance(1000, s -> {
+            fired.add(s);
+            wheel.schedule(1000, "again"); // in the past by now
+        });
+        assertEquals(List.of("first"), fired);
+        assertEquals(1, wheel.size());
+        assertEquals(2000, wheel.nextTickMillis());
+        wheel.advance(2000, fired::add);
+        assertEquals(List.of("first", "again"), fired);
+    }
+}